@@ -0,0 +1,21 @@
+package com.tjba.comparecimento.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuração do relógio da aplicação (substituído por um relógio fixo nos testes).
+ */
+@Configuration
+public class ClockConfig {
+
+    /**
+     * Relógio do sistema no fuso padrão
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
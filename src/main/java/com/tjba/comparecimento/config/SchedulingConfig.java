@@ -0,0 +1,12 @@
+package com.tjba.comparecimento.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita a execução de tarefas agendadas (@Scheduled e SchedulingConfigurer).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -60,6 +60,9 @@ public class SecurityConfig {
                         .requestMatchers("/health").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
 
+                        // Fila de atendimento entre instâncias (token próprio, conferido no controller)
+                        .requestMatchers("/fila/interno/**").permitAll()
+
                         // Swagger/OpenAPI
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
@@ -1,20 +1,38 @@
 package com.tjba.comparecimento.controller;
 
+import com.tjba.comparecimento.dto.request.AgendarHorarioRequest;
 import com.tjba.comparecimento.dto.request.AtualizarProximoComparecimentoRequest;
+import com.tjba.comparecimento.dto.request.ReagendamentoMassaRequest;
 import com.tjba.comparecimento.dto.request.RegistrarComparecimentoPresencialRequest;
 import com.tjba.comparecimento.dto.request.RegistrarComparecimentoVirtualRequest;
+import com.tjba.comparecimento.dto.request.RegistrarComparecimentosLoteRequest;
 import com.tjba.comparecimento.dto.request.RegistrarJustificativaRequest;
+import com.tjba.comparecimento.dto.response.AgendamentoHorarioResponse;
 import com.tjba.comparecimento.dto.response.ApiResponse;
+import com.tjba.comparecimento.dto.response.ComparecimentoLoteResponse;
 import com.tjba.comparecimento.dto.response.ComparecimentoResponse;
 import com.tjba.comparecimento.dto.response.HistoricoComparecimentoResponse;
+import com.tjba.comparecimento.dto.response.HorarioDisponivel;
+import com.tjba.comparecimento.dto.response.PessoaEsperadaCheckIn;
+import com.tjba.comparecimento.dto.response.ReagendamentoMassaResponse;
 import com.tjba.comparecimento.dto.response.RelatorioComparecimentoResponse;
 import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import com.tjba.comparecimento.service.ComparecimentoService;
+import com.tjba.comparecimento.service.ContingenciaComparecimentoService;
+import com.tjba.comparecimento.service.ExecucaoPorPessoa;
+import com.tjba.comparecimento.service.HorarioComparecimentoService;
+import com.tjba.comparecimento.service.IndiceCheckInService;
+import com.tjba.comparecimento.service.NivelamentoCargaService;
+import com.tjba.comparecimento.service.ReagendamentoMassaService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controller para registro e controle de comparecimentos.
@@ -24,31 +42,110 @@ import java.time.LocalDate;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
 public class ComparecimentoController {
 
-    // TODO: Injetar ComparecimentoService quando implementar
-    // @Autowired private ComparecimentoService comparecimentoService;
+    @Autowired
+    private ComparecimentoService comparecimentoService;
+
+    @Autowired
+    private ContingenciaComparecimentoService contingenciaService;
+
+    @Autowired
+    private IndiceCheckInService indiceCheckInService;
+
+    @Autowired
+    private ExecucaoPorPessoa execucaoPorPessoa;
+
+    @Autowired
+    private ReagendamentoMassaService reagendamentoMassaService;
+
+    @Autowired
+    private NivelamentoCargaService nivelamentoCargaService;
+
+    @Autowired
+    private HorarioComparecimentoService horarioService;
 
     /**
-     * Registrar comparecimento presencial
+     * Registrar comparecimento presencial (Idempotency-Key opcional para repetições seguras).
+     * Com o banco indisponível, o comparecimento é aceito em contingência (202) e sincronizado depois.
      */
     @PostMapping("/presencial")
     public ResponseEntity<ApiResponse<ComparecimentoResponse>> registrarComparecimentoPresencial(
-            @Valid @RequestBody RegistrarComparecimentoPresencialRequest request) {
+            @Valid @RequestBody RegistrarComparecimentoPresencialRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
-        // TODO: comparecimentoService.registrarPresencial(request);
+        ContingenciaComparecimentoService.Registro registro = contingenciaService.registrarPresencial(request, idempotencyKey);
+        if (registro.emContingencia()) {
+            return ResponseEntity.status(202)
+                    .body(ApiResponse.accepted(registro.comparecimento(),
+                            "Comparecimento aceito em contingência; será sincronizado quando o sistema for restabelecido"));
+        }
         return ResponseEntity.status(201)
-                .body(ApiResponse.created(null, "Comparecimento presencial registrado com sucesso"));
+                .body(ApiResponse.created(registro.comparecimento(), "Comparecimento presencial registrado com sucesso"));
+    }
+
+    /**
+     * Situação do journal de contingência (pendências, sincronizados e rejeitados)
+     */
+    @GetMapping("/contingencia")
+    public ResponseEntity<ApiResponse<ContingenciaComparecimentoService.EstadoContingencia>> buscarEstadoContingencia() {
+
+        return ResponseEntity.ok(ApiResponse.success(contingenciaService.getEstado(),
+                "Situação da contingência recuperada com sucesso"));
+    }
+
+    /**
+     * Buscar pessoa para check-in por CPF ou RG (índice em memória das pessoas esperadas no dia)
+     */
+    @GetMapping("/checkin")
+    public ResponseEntity<ApiResponse<PessoaEsperadaCheckIn>> buscarParaCheckIn(@RequestParam String documento) {
+
+        return ResponseEntity.ok(ApiResponse.success(indiceCheckInService.buscarParaCheckIn(documento),
+                "Pessoa encontrada"));
+    }
+
+    /**
+     * Estatísticas do índice de check-in (pessoas carregadas, acertos e consultas ao banco)
+     */
+    @GetMapping("/checkin/indice")
+    public ResponseEntity<ApiResponse<IndiceCheckInService.EstatisticasIndice>> buscarEstatisticasIndiceCheckIn() {
+
+        return ResponseEntity.ok(ApiResponse.success(indiceCheckInService.getEstatisticas(),
+                "Estatísticas do índice recuperadas com sucesso"));
     }
 
     /**
-     * Registrar comparecimento virtual
+     * Métricas de concorrência nas escritas por pessoa (esperas por lock e conflitos de versão)
+     */
+    @GetMapping("/concorrencia")
+    public ResponseEntity<ApiResponse<ExecucaoPorPessoa.MetricasConcorrencia>> buscarMetricasConcorrencia() {
+
+        return ResponseEntity.ok(ApiResponse.success(execucaoPorPessoa.getMetricas(),
+                "Métricas de concorrência recuperadas com sucesso"));
+    }
+
+    /**
+     * Registrar comparecimentos presenciais em lote (resultado individual por item)
+     */
+    @PostMapping("/presencial/lote")
+    public ResponseEntity<ApiResponse<ComparecimentoLoteResponse>> registrarComparecimentosPresenciaisEmLote(
+            @Valid @RequestBody RegistrarComparecimentosLoteRequest request) {
+
+        ComparecimentoLoteResponse resultado = comparecimentoService.registrarPresencialEmLote(request);
+        return ResponseEntity.ok(ApiResponse.success(resultado, String.format(
+                "Lote processado: %d registrado(s), %d com erro",
+                resultado.getTotalRegistrados(), resultado.getTotalErros())));
+    }
+
+    /**
+     * Registrar comparecimento virtual (Idempotency-Key opcional para repetições seguras)
      */
     @PostMapping("/virtual")
     public ResponseEntity<ApiResponse<ComparecimentoResponse>> registrarComparecimentoVirtual(
-            @Valid @RequestBody RegistrarComparecimentoVirtualRequest request) {
+            @Valid @RequestBody RegistrarComparecimentoVirtualRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
-        // TODO: comparecimentoService.registrarVirtual(request);
+        ComparecimentoResponse comparecimento = comparecimentoService.registrarVirtual(request, idempotencyKey);
         return ResponseEntity.status(201)
-                .body(ApiResponse.created(null, "Comparecimento virtual registrado com sucesso"));
+                .body(ApiResponse.created(comparecimento, "Comparecimento virtual registrado com sucesso"));
     }
 
     /**
@@ -90,6 +187,121 @@ public class ComparecimentoController {
         return ResponseEntity.ok(ApiResponse.success("Próximo comparecimento atualizado com sucesso"));
     }
 
+    /**
+     * Reagendar em massa os próximos comparecimentos de uma comarca (ou vara) em um período (fechamento do fórum).
+     * Executado em segundo plano; o progresso é consultado pelo ID retornado.
+     */
+    @PostMapping("/reagendamentos")
+    public ResponseEntity<ApiResponse<ReagendamentoMassaResponse>> reagendarEmMassa(
+            @Valid @RequestBody ReagendamentoMassaRequest request) {
+
+        return ResponseEntity.status(202)
+                .body(ApiResponse.accepted(reagendamentoMassaService.iniciar(request),
+                        "Reagendamento em massa iniciado"));
+    }
+
+    /**
+     * Últimos reagendamentos em massa
+     */
+    @GetMapping("/reagendamentos")
+    public ResponseEntity<ApiResponse<List<ReagendamentoMassaResponse>>> listarReagendamentos() {
+
+        return ResponseEntity.ok(ApiResponse.success(reagendamentoMassaService.listarRecentes(),
+                "Reagendamentos recuperados com sucesso"));
+    }
+
+    /**
+     * Situação e progresso de um reagendamento em massa
+     */
+    @GetMapping("/reagendamentos/{id}")
+    public ResponseEntity<ApiResponse<ReagendamentoMassaResponse>> buscarReagendamento(@PathVariable Long id) {
+
+        return ResponseEntity.ok(ApiResponse.success(reagendamentoMassaService.buscar(id),
+                "Reagendamento recuperado com sucesso"));
+    }
+
+    /**
+     * Estatísticas do nivelamento de carga dos vencimentos
+     */
+    @GetMapping("/nivelamento")
+    public ResponseEntity<ApiResponse<NivelamentoCargaService.EstatisticasNivelamento>> buscarEstatisticasNivelamento() {
+
+        return ResponseEntity.ok(ApiResponse.success(nivelamentoCargaService.getEstatisticas(),
+                "Estatísticas do nivelamento recuperadas com sucesso"));
+    }
+
+    /**
+     * Pessoas esperadas por dia em uma vara (carga usada pelo nivelamento)
+     */
+    @GetMapping("/nivelamento/carga")
+    public ResponseEntity<ApiResponse<Map<LocalDate, Integer>>> buscarCargaVara(
+            @RequestParam String comarca,
+            @RequestParam String vara,
+            @RequestParam LocalDate dataInicio,
+            @RequestParam LocalDate dataFim) {
+
+        return ResponseEntity.ok(ApiResponse.success(
+                nivelamentoCargaService.getCarga(comarca, vara, dataInicio, dataFim),
+                "Carga da vara recuperada com sucesso"));
+    }
+
+    /**
+     * Horários de atendimento da vara no dia, com capacidade e ocupação
+     */
+    @GetMapping("/horarios")
+    public ResponseEntity<ApiResponse<List<HorarioDisponivel>>> listarHorarios(
+            @RequestParam String comarca,
+            @RequestParam String vara,
+            @RequestParam LocalDate data) {
+
+        return ResponseEntity.ok(ApiResponse.success(horarioService.listarHorarios(comarca, vara, data),
+                "Horários recuperados com sucesso"));
+    }
+
+    /**
+     * Primeiro horário com vaga na vara a partir da data (hoje, se omitida)
+     */
+    @GetMapping("/horarios/proximo-livre")
+    public ResponseEntity<ApiResponse<HorarioDisponivel>> buscarProximoHorarioLivre(
+            @RequestParam String comarca,
+            @RequestParam String vara,
+            @RequestParam(required = false) LocalDate aPartirDe) {
+
+        return ResponseEntity.ok(ApiResponse.success(
+                horarioService.proximoHorarioLivre(comarca, vara, aPartirDe != null ? aPartirDe : LocalDate.now()),
+                "Próximo horário livre recuperado com sucesso"));
+    }
+
+    /**
+     * Agendar horário no dia do próximo comparecimento da pessoa
+     */
+    @PostMapping("/horarios")
+    public ResponseEntity<ApiResponse<AgendamentoHorarioResponse>> agendarHorario(
+            @Valid @RequestBody AgendarHorarioRequest request) {
+
+        return ResponseEntity.status(201)
+                .body(ApiResponse.created(horarioService.agendar(request), "Horário agendado com sucesso"));
+    }
+
+    /**
+     * Cancelar agendamento de horário, liberando a vaga
+     */
+    @DeleteMapping("/horarios/{id}")
+    public ResponseEntity<ApiResponse<AgendamentoHorarioResponse>> cancelarHorario(@PathVariable Long id) {
+
+        return ResponseEntity.ok(ApiResponse.success(horarioService.cancelar(id), "Agendamento cancelado com sucesso"));
+    }
+
+    /**
+     * Agendamento de horário ativo da pessoa
+     */
+    @GetMapping("/horarios/pessoa/{pessoaId}")
+    public ResponseEntity<ApiResponse<AgendamentoHorarioResponse>> buscarHorarioPessoa(@PathVariable Long pessoaId) {
+
+        return ResponseEntity.ok(ApiResponse.success(horarioService.buscarAtivo(pessoaId),
+                "Agendamento recuperado com sucesso"));
+    }
+
     /**
      * Gerar relatório de comparecimentos por período
      */
@@ -0,0 +1,28 @@
+package com.tjba.comparecimento.controller;
+
+import com.tjba.comparecimento.dto.response.ApiResponse;
+import com.tjba.comparecimento.event.BarramentoEventos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller para acompanhamento do barramento de eventos.
+ */
+@RestController
+@RequestMapping("/eventos")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class EventoController {
+
+    @Autowired
+    private BarramentoEventos barramentoEventos;
+
+    /**
+     * Métricas por consumidor: pendentes no buffer, processados, descartados por buffer cheio e falhas
+     */
+    @GetMapping("/metricas")
+    public ResponseEntity<ApiResponse<BarramentoEventos.MetricasBarramento>> getMetricas() {
+        return ResponseEntity.ok(ApiResponse.success(barramentoEventos.getMetricas(),
+                "Métricas do barramento de eventos recuperadas com sucesso"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.tjba.comparecimento.controller;
+
+import com.tjba.comparecimento.dto.request.ChamarSenhaRequest;
+import com.tjba.comparecimento.dto.response.ApiResponse;
+import com.tjba.comparecimento.service.FilaAtendimentoService;
+import com.tjba.comparecimento.service.RoteamentoFilaVara;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Controller da fila de atendimento no balcão das varas (senhas emitidas no check-in presencial).
+ */
+@RestController
+@RequestMapping("/fila")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class FilaAtendimentoController {
+
+    @Autowired
+    private FilaAtendimentoService filaAtendimentoService;
+
+    @Autowired
+    private RoteamentoFilaVara roteamento;
+
+    /**
+     * Chamar a próxima senha da vara ao guichê (encaminhado à instância dona da fila da vara)
+     */
+    @PostMapping("/chamar")
+    public ResponseEntity<?> chamarProxima(
+            @Valid @RequestBody ChamarSenhaRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+        String dono = roteamento.dono(request.getComarca(), request.getVara());
+        if (dono != null) {
+            return roteamento.encaminhar(dono, HttpMethod.POST, "/fila/chamar", Map.of(), request, authorization);
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(
+                filaAtendimentoService.chamarProxima(request.getComarca(), request.getVara(), request.getGuiche()),
+                "Senha chamada com sucesso"));
+    }
+
+    /**
+     * Estado atual da fila da vara (encaminhado à instância dona da fila da vara)
+     */
+    @GetMapping("/painel")
+    public ResponseEntity<?> getPainel(
+            @RequestParam String comarca,
+            @RequestParam String vara,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+        String dono = roteamento.dono(comarca, vara);
+        if (dono != null) {
+            return roteamento.encaminhar(dono, HttpMethod.GET, "/fila/painel",
+                    Map.of("comarca", comarca, "vara", vara), null, authorization);
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(filaAtendimentoService.getPainel(comarca, vara),
+                "Fila recuperada com sucesso"));
+    }
+
+    /**
+     * Atualizações da fila da vara para painéis (SSE): evento "painel" com o estado completo a cada alteração.
+     * Vara de outra instância: redirecionamento (307) para a instância dona, que mantém a conexão.
+     */
+    @GetMapping(value = "/painel/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharPainel(
+            @RequestParam String comarca,
+            @RequestParam String vara) {
+
+        String dono = roteamento.dono(comarca, vara);
+        if (dono != null) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
+                    .location(roteamento.urlNoDono(dono, "/fila/painel/stream", Map.of("comarca", comarca, "vara", vara)))
+                    .build();
+        }
+
+        return ResponseEntity.ok(filaAtendimentoService.inscrever(comarca, vara));
+    }
+
+    /**
+     * Reservar número de senha na fila da vara desta instância (check-in recebido por outra instância)
+     */
+    @PostMapping("/interno/reservas")
+    public ResponseEntity<Integer> reservar(
+            @RequestHeader(value = RoteamentoFilaVara.CABECALHO_TOKEN, required = false) String token,
+            @RequestParam String comarca,
+            @RequestParam String vara) {
+
+        if (!roteamento.isTokenValido(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(filaAtendimentoService.reservar(comarca, vara));
+    }
+
+    /**
+     * Colocar na fila da vara desta instância a senha reservada, após o commit do check-in na outra instância
+     */
+    @PostMapping("/interno/confirmacoes")
+    public ResponseEntity<Void> confirmar(
+            @RequestHeader(value = RoteamentoFilaVara.CABECALHO_TOKEN, required = false) String token,
+            @RequestParam String comarca,
+            @RequestParam String vara,
+            @RequestParam int numero,
+            @RequestParam(required = false) Long pessoaId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime emitidaEm) {
+
+        if (!roteamento.isTokenValido(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        filaAtendimentoService.confirmar(comarca, vara, numero, pessoaId, emitidaEm);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tjba.comparecimento.controller;
+
+import com.tjba.comparecimento.dto.response.ApiResponse;
+import com.tjba.comparecimento.service.CoordenadorJobs;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller para acompanhamento dos jobs agendados.
+ */
+@RestController
+@RequestMapping("/jobs")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class JobController {
+
+    @Autowired
+    private CoordenadorJobs coordenadorJobs;
+
+    /**
+     * Últimas execuções (todas as instâncias): partição, instância, duração, linhas e resultado
+     */
+    @GetMapping("/execucoes")
+    public ResponseEntity<ApiResponse<List<CoordenadorJobs.ExecucaoJob>>> getExecucoes(
+            @RequestParam(required = false) String job) {
+        return ResponseEntity.ok(ApiResponse.success(coordenadorJobs.findUltimasExecucoes(job),
+                "Execuções de jobs recuperadas com sucesso"));
+    }
+}
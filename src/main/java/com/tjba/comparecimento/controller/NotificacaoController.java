@@ -0,0 +1,73 @@
+package com.tjba.comparecimento.controller;
+
+import com.tjba.comparecimento.dto.response.ApiResponse;
+import com.tjba.comparecimento.service.EnvioNotificacoesService;
+import com.tjba.comparecimento.service.LembreteComparecimentoService;
+import com.tjba.comparecimento.service.TransporteEmail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller para acompanhamento da fila de notificações.
+ */
+@RestController
+@RequestMapping("/notificacoes")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class NotificacaoController {
+
+    @Autowired
+    private EnvioNotificacoesService envioNotificacoesService;
+
+    @Autowired
+    private LembreteComparecimentoService lembreteService;
+
+    @Autowired
+    private TransporteEmail transporteEmail;
+
+    /**
+     * Situação da fila (pendentes, falhas definitivas) e contadores de envio
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<ApiResponse<EnvioNotificacoesService.EstatisticasEnvio>> getEstatisticas() {
+        return ResponseEntity.ok(ApiResponse.success(envioNotificacoesService.getEstatisticas(),
+                "Estatísticas de notificações recuperadas com sucesso"));
+    }
+
+    /**
+     * Métricas de entrega de e-mail (pool de conexões SMTP, envios, retentativas e limite do provedor)
+     */
+    @GetMapping("/email/metricas")
+    public ResponseEntity<ApiResponse<TransporteEmail.MetricasEmail>> getMetricasEmail() {
+        return ResponseEntity.ok(ApiResponse.success(transporteEmail.getMetricas(),
+                "Métricas de e-mail recuperadas com sucesso"));
+    }
+
+    /**
+     * Devolver à fila as notificações com falha definitiva
+     */
+    @PostMapping("/falhas/reprocessar")
+    public ResponseEntity<ApiResponse<Integer>> reprocessarFalhas() {
+        int reenfileiradas = envioNotificacoesService.reprocessarFalhas();
+        return ResponseEntity.ok(ApiResponse.success(reenfileiradas,
+                reenfileiradas + " notificação(ões) devolvida(s) à fila"));
+    }
+
+    /**
+     * Última execução dos lembretes de comparecimento (janela, lembretes enfileirados e duração)
+     */
+    @GetMapping("/lembretes")
+    public ResponseEntity<ApiResponse<LembreteComparecimentoService.ExecucaoLembretes>> getUltimosLembretes() {
+        return ResponseEntity.ok(ApiResponse.success(lembreteService.getUltimaExecucao(),
+                "Última execução de lembretes recuperada com sucesso"));
+    }
+
+    /**
+     * Enfileirar lembretes de comparecimento fora do horário agendado
+     */
+    @PostMapping("/lembretes")
+    public ResponseEntity<ApiResponse<LembreteComparecimentoService.ExecucaoLembretes>> executarLembretes() {
+        return ResponseEntity.ok(ApiResponse.success(lembreteService.executar(),
+                "Lembretes de comparecimento executados com sucesso"));
+    }
+}
@@ -6,7 +6,10 @@ import com.tjba.comparecimento.dto.response.ApiResponse;
 import com.tjba.comparecimento.dto.response.PessoaDetalheResponse;
 //import com.tjba.comparecimento.dto.response.PessoaDetalheResponse;
 import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+import com.tjba.comparecimento.service.AgendaComparecimentosService;
+import com.tjba.comparecimento.service.AtualizacaoStatusService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +28,12 @@ public class PessoaMonitoradaController {
     // TODO: Injetar PessoaMonitoradaService quando implementar
     // @Autowired private PessoaMonitoradaService pessoaService;
 
+    @Autowired
+    private AtualizacaoStatusService atualizacaoStatusService;
+
+    @Autowired
+    private AgendaComparecimentosService agendaComparecimentos;
+
     /**
      * Listar pessoas com filtros e paginação
      */
@@ -111,4 +120,31 @@ public class PessoaMonitoradaController {
         // TODO: pessoaService.findByNumeroProcesso(numeroProcesso);
         return ResponseEntity.ok(ApiResponse.success(null));
     }
-}
\ No newline at end of file
+
+    /**
+     * Estatísticas da agenda em memória dos próximos comparecimentos (pessoas, vencidos e consultas)
+     */
+    @GetMapping("/agenda")
+    public ResponseEntity<ApiResponse<AgendaComparecimentosService.EstatisticasAgenda>> getEstatisticasAgenda() {
+        return ResponseEntity.ok(ApiResponse.success(agendaComparecimentos.getEstatisticas(),
+                "Estatísticas da agenda recuperadas com sucesso"));
+    }
+
+    /**
+     * Última execução da virada diária de status (pessoas que passaram a inadimplentes, duração e atraso)
+     */
+    @GetMapping("/status/atualizacao")
+    public ResponseEntity<ApiResponse<AtualizacaoStatusService.ExecucaoAtualizacaoStatus>> getUltimaAtualizacaoStatus() {
+        return ResponseEntity.ok(ApiResponse.success(atualizacaoStatusService.getUltimaExecucao(),
+                "Última atualização de status recuperada com sucesso"));
+    }
+
+    /**
+     * Executar a atualização automática de status fora do horário agendado
+     */
+    @PostMapping("/status/atualizacao")
+    public ResponseEntity<ApiResponse<AtualizacaoStatusService.ExecucaoAtualizacaoStatus>> executarAtualizacaoStatus() {
+        return ResponseEntity.ok(ApiResponse.success(atualizacaoStatusService.executar(),
+                "Atualização de status executada com sucesso"));
+    }
+}
@@ -4,6 +4,10 @@ import com.tjba.comparecimento.dto.response.ApiResponse;
 import com.tjba.comparecimento.dto.response.RelatorioComparecimentoResponse;
 import com.tjba.comparecimento.dto.response.RelatorioEstatisticoResponse;
 import com.tjba.comparecimento.dto.response.RelatorioInadimplentesResponse;
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+import com.tjba.comparecimento.service.ArmazenamentoRelatorios;
+import com.tjba.comparecimento.service.DossieService;
+import com.tjba.comparecimento.service.PreGeracaoRelatorioService;
 import com.tjba.comparecimento.service.RelatorioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
@@ -11,9 +15,11 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,18 +34,31 @@ public class RelatorioController {
         @Autowired
         private RelatorioService relatorioService;
 
+        @Autowired
+        private PreGeracaoRelatorioService preGeracaoService;
+
+        @Autowired
+        private ArmazenamentoRelatorios armazenamentoRelatorios;
+
+        @Autowired
+        private DossieService dossieService;
+
         private static final DateTimeFormatter FILENAME_DATE_FORMAT = DateTimeFormatter.ofPattern("ddMMyyyy");
 
         /**
-         * Gerar relatório de comparecimentos em CSV
+         * Gerar relatório de comparecimentos em CSV (escrito em streaming na resposta)
          */
         @GetMapping("/comparecimentos/csv")
-        public ResponseEntity<Resource> gerarRelatorioComparecimentosCSV(
+        public ResponseEntity<StreamingResponseBody> gerarRelatorioComparecimentosCSV(
                         @RequestParam LocalDate dataInicio,
                         @RequestParam LocalDate dataFim,
                         @RequestParam(required = false) String comarca) {
 
-                Resource resource = relatorioService.gerarRelatorioComparecimentosCSV(dataInicio, dataFim, comarca);
+                relatorioService.validatePeriodo(dataInicio, dataFim);
+
+                StreamingResponseBody body = corpoRelatorio(TipoRelatorio.COMPARECIMENTOS_CSV, dataInicio, dataFim,
+                                comarca, out -> relatorioService.escreverRelatorioComparecimentosCSV(
+                                                dataInicio, dataFim, comarca, out));
 
                 String filename = String.format("comparecimentos_%s_%s%s.csv",
                                 dataInicio.format(FILENAME_DATE_FORMAT),
@@ -50,7 +69,32 @@ public class RelatorioController {
                                 .contentType(MediaType.parseMediaType("text/csv"))
                                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                                 .header(HttpHeaders.CONTENT_ENCODING, "UTF-8")
-                                .body(resource);
+                                .body(body);
+        }
+
+        /**
+         * Exportar comparecimentos em formato colunar binário para ferramentas de análise (escrito em streaming)
+         */
+        @GetMapping("/comparecimentos/colunar")
+        public ResponseEntity<StreamingResponseBody> exportarComparecimentosColunar(
+                        @RequestParam LocalDate dataInicio,
+                        @RequestParam LocalDate dataFim,
+                        @RequestParam(required = false) String comarca) {
+
+                relatorioService.validatePeriodo(dataInicio, dataFim);
+
+                StreamingResponseBody body = out -> relatorioService.escreverExportacaoComparecimentosColunar(
+                                dataInicio, dataFim, comarca, out);
+
+                String filename = String.format("comparecimentos_%s_%s%s.tjcol",
+                                dataInicio.format(FILENAME_DATE_FORMAT),
+                                dataFim.format(FILENAME_DATE_FORMAT),
+                                comarca != null ? "_" + comarca.toLowerCase().replaceAll("[^a-zA-Z0-9]", "") : "");
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .body(body);
         }
 
         /**
@@ -76,15 +120,19 @@ public class RelatorioController {
         }
 
         /**
-         * Gerar relatório de comparecimentos em HTML
+         * Gerar relatório de comparecimentos em HTML (escrito em streaming na resposta)
          */
         @GetMapping("/comparecimentos/html")
-        public ResponseEntity<Resource> gerarRelatorioComparecimentosHTML(
+        public ResponseEntity<StreamingResponseBody> gerarRelatorioComparecimentosHTML(
                         @RequestParam LocalDate dataInicio,
                         @RequestParam LocalDate dataFim,
                         @RequestParam(required = false) String comarca) {
 
-                Resource resource = relatorioService.gerarRelatorioComparecimentosHTML(dataInicio, dataFim, comarca);
+                relatorioService.validatePeriodo(dataInicio, dataFim);
+
+                StreamingResponseBody body = corpoRelatorio(TipoRelatorio.COMPARECIMENTOS_HTML, dataInicio, dataFim,
+                                comarca, out -> relatorioService.escreverRelatorioComparecimentosHTML(
+                                                dataInicio, dataFim, comarca, out));
 
                 String filename = String.format("relatorio_comparecimentos_%s_%s%s.html",
                                 dataInicio.format(FILENAME_DATE_FORMAT),
@@ -95,7 +143,7 @@ public class RelatorioController {
                                 .contentType(MediaType.TEXT_HTML)
                                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                                 .header(HttpHeaders.CONTENT_ENCODING, "UTF-8")
-                                .body(resource);
+                                .body(body);
         }
 
         /**
@@ -103,7 +151,10 @@ public class RelatorioController {
          */
         @GetMapping("/inadimplentes")
         public ResponseEntity<ApiResponse<RelatorioInadimplentesResponse>> gerarRelatorioInadimplentes() {
-                RelatorioInadimplentesResponse relatorio = relatorioService.gerarRelatorioInadimplentes();
+                RelatorioInadimplentesResponse relatorio = armazenamentoRelatorios
+                                .buscar(preGeracaoService.chaveInadimplentes(), RelatorioInadimplentesResponse.class,
+                                                preGeracaoService.getValidadeInadimplentes())
+                                .orElseGet(relatorioService::gerarRelatorioInadimplentes);
                 return ResponseEntity
                                 .ok(ApiResponse.success(relatorio, "Relatório de inadimplentes gerado com sucesso"));
         }
@@ -125,17 +176,21 @@ public class RelatorioController {
          * Gerar dados para relatório personalizado (JSON)
          */
         @GetMapping("/personalizado")
-        public ResponseEntity<ApiResponse<Map<String, Object>>> gerarDadosRelatorioPersonalizado(
+        public ResponseEntity<StreamingResponseBody> gerarDadosRelatorioPersonalizado(
                         @RequestParam LocalDate dataInicio,
                         @RequestParam LocalDate dataFim,
                         @RequestParam(required = false) String comarca,
                         @RequestParam(required = false) List<String> tiposValidacao,
                         @RequestParam(defaultValue = "false") boolean incluirEstatisticas) {
 
-                Map<String, Object> dados = relatorioService.gerarDadosRelatorioPersonalizado(
-                                dataInicio, dataFim, comarca, tiposValidacao, incluirEstatisticas);
+                relatorioService.validatePeriodo(dataInicio, dataFim);
 
-                return ResponseEntity.ok(ApiResponse.success(dados, "Dados do relatório gerados com sucesso"));
+                StreamingResponseBody body = out -> relatorioService.escreverDadosRelatorioPersonalizado(
+                                dataInicio, dataFim, comarca, tiposValidacao, incluirEstatisticas, out);
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(body);
         }
 
         /**
@@ -143,27 +198,31 @@ public class RelatorioController {
          * simplificado)
          */
         @GetMapping("/download/comparecimentos")
-        public ResponseEntity<Resource> downloadRelatorioComparecimentos(
+        public ResponseEntity<StreamingResponseBody> downloadRelatorioComparecimentos(
                         @RequestParam LocalDate dataInicio,
                         @RequestParam LocalDate dataFim,
                         @RequestParam(required = false) String comarca,
                         @RequestParam(defaultValue = "csv") String formato) {
 
-                Resource resource;
+                relatorioService.validatePeriodo(dataInicio, dataFim);
+
+                StreamingResponseBody body;
                 MediaType contentType;
                 String extension;
 
                 switch (formato.toLowerCase()) {
                         case "html":
-                                resource = relatorioService.gerarRelatorioComparecimentosHTML(dataInicio, dataFim,
-                                                comarca);
+                                body = corpoRelatorio(TipoRelatorio.COMPARECIMENTOS_HTML, dataInicio, dataFim, comarca,
+                                                out -> relatorioService.escreverRelatorioComparecimentosHTML(dataInicio,
+                                                                dataFim, comarca, out));
                                 contentType = MediaType.TEXT_HTML;
                                 extension = "html";
                                 break;
                         case "csv":
                         default:
-                                resource = relatorioService.gerarRelatorioComparecimentosCSV(dataInicio, dataFim,
-                                                comarca);
+                                body = corpoRelatorio(TipoRelatorio.COMPARECIMENTOS_CSV, dataInicio, dataFim, comarca,
+                                                out -> relatorioService.escreverRelatorioComparecimentosCSV(dataInicio,
+                                                                dataFim, comarca, out));
                                 contentType = MediaType.parseMediaType("text/csv");
                                 extension = "csv";
                                 break;
@@ -179,7 +238,7 @@ public class RelatorioController {
                                 .contentType(contentType)
                                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
                                 .header(HttpHeaders.CONTENT_ENCODING, "UTF-8")
-                                .body(resource);
+                                .body(body);
         }
 
         /**
@@ -213,7 +272,7 @@ public class RelatorioController {
         public ResponseEntity<ApiResponse<Map<String, Object>>> getRelatoriosMetadata() {
                 Map<String, Object> metadata = Map.of(
                                 "formatosSuportados", Map.of(
-                                                "comparecimentos", List.of("csv", "html", "json"),
+                                                "comparecimentos", List.of("csv", "html", "json", "colunar"),
                                                 "pessoas", List.of("csv"),
                                                 "inadimplentes", List.of("json"),
                                                 "estatisticas", List.of("json"),
@@ -246,6 +305,58 @@ public class RelatorioController {
                 return ResponseEntity.ok(ApiResponse.success(metadata, "Metadados dos relatórios obtidos com sucesso"));
         }
 
+        /**
+         * Exportar dossiê de uma pessoa (ZIP escrito em streaming na resposta)
+         */
+        @GetMapping("/dossie/pessoa/{id}")
+        public ResponseEntity<StreamingResponseBody> exportarDossiePessoa(@PathVariable Long id) {
+                dossieService.validarPessoa(id);
+
+                StreamingResponseBody body = out -> dossieService.escreverDossiePessoa(id, out);
+
+                String filename = String.format("dossie_pessoa_%d_%s.zip", id,
+                                LocalDate.now().format(FILENAME_DATE_FORMAT));
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType("application/zip"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .body(body);
+        }
+
+        /**
+         * Exportar dossiê de todas as pessoas de uma vara (ZIP escrito em streaming na resposta)
+         */
+        @GetMapping("/dossie/vara")
+        public ResponseEntity<StreamingResponseBody> exportarDossieVara(
+                        @RequestParam String vara,
+                        @RequestParam(required = false) String comarca) {
+
+                StreamingResponseBody body = out -> dossieService.escreverDossieVara(comarca, vara, out);
+
+                String filename = String.format("dossie_%s%s_%s.zip",
+                                vara.toLowerCase().replaceAll("[^a-zA-Z0-9]", ""),
+                                comarca != null ? "_" + comarca.toLowerCase().replaceAll("[^a-zA-Z0-9]", "") : "",
+                                LocalDate.now().format(FILENAME_DATE_FORMAT));
+
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType("application/zip"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                                .body(body);
+        }
+
+        /**
+         * Situação da pré-geração noturna dos relatórios padrão
+         */
+        @GetMapping("/pre-gerados")
+        public ResponseEntity<ApiResponse<Map<String, Object>>> getSituacaoPreGeracao() {
+                Map<String, Object> situacao = new HashMap<>();
+                situacao.put("relatoriosArmazenados", armazenamentoRelatorios.getTotalArmazenados());
+                situacao.put("bytesArmazenados", armazenamentoRelatorios.getBytesArmazenados());
+                situacao.put("ultimaExecucao", preGeracaoService.getUltimaExecucao());
+
+                return ResponseEntity.ok(ApiResponse.success(situacao, "Situação da pré-geração obtida com sucesso"));
+        }
+
         /**
          * Endpoint de saúde para verificar se o serviço de relatórios está funcionando
          */
@@ -279,4 +390,19 @@ public class RelatorioController {
 
                 return ResponseEntity.ok(ApiResponse.success(estatisticas, "Estatísticas de uso obtidas com sucesso"));
         }
-}
\ No newline at end of file
+
+        /**
+         * Servir o relatório pré-gerado quando os parâmetros coincidem; caso contrário, gerar sob demanda
+         */
+        private StreamingResponseBody corpoRelatorio(TipoRelatorio tipo, LocalDate dataInicio, LocalDate dataFim,
+                        String comarca, StreamingResponseBody gerarSobDemanda) {
+                return armazenamentoRelatorios
+                                .abrirConteudo(new ArmazenamentoRelatorios.Chave(tipo, dataInicio, dataFim, comarca))
+                                .<StreamingResponseBody>map(conteudo -> out -> {
+                                        try (conteudo) {
+                                                conteudo.transferTo(out);
+                                        }
+                                })
+                                .orElse(gerarSobDemanda);
+        }
+}
@@ -0,0 +1,48 @@
+package com.tjba.comparecimento.dto.request;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalTime;
+
+// === AGENDAR HORÁRIO DE COMPARECIMENTO ===
+public class AgendarHorarioRequest {
+
+    @NotNull(message = "Pessoa é obrigatória")
+    private Long pessoaId;
+
+    @NotNull(message = "Horário é obrigatório")
+    private LocalTime horario;
+
+    // === CONSTRUTORES ===
+    public AgendarHorarioRequest() {}
+
+    public AgendarHorarioRequest(Long pessoaId, LocalTime horario) {
+        this.pessoaId = pessoaId;
+        this.horario = horario;
+    }
+
+    // === GETTERS E SETTERS ===
+    public Long getPessoaId() {
+        return pessoaId;
+    }
+
+    public void setPessoaId(Long pessoaId) {
+        this.pessoaId = pessoaId;
+    }
+
+    public LocalTime getHorario() {
+        return horario;
+    }
+
+    public void setHorario(LocalTime horario) {
+        this.horario = horario;
+    }
+
+    @Override
+    public String toString() {
+        return "AgendarHorarioRequest{" +
+                "pessoaId=" + pessoaId +
+                ", horario=" + horario +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package com.tjba.comparecimento.dto.request;
+
+import jakarta.validation.constraints.*;
+
+// === CHAMAR PRÓXIMA SENHA ===
+public class ChamarSenhaRequest {
+
+    @NotBlank(message = "Comarca é obrigatória")
+    @Size(max = 100, message = "Comarca deve ter no máximo 100 caracteres")
+    private String comarca;
+
+    @NotBlank(message = "Vara é obrigatória")
+    @Size(max = 100, message = "Vara deve ter no máximo 100 caracteres")
+    private String vara;
+
+    @NotBlank(message = "Guichê é obrigatório")
+    @Size(max = 20, message = "Guichê deve ter no máximo 20 caracteres")
+    private String guiche;
+
+    // === CONSTRUTORES ===
+    public ChamarSenhaRequest() {}
+
+    public ChamarSenhaRequest(String comarca, String vara, String guiche) {
+        this.comarca = comarca;
+        this.vara = vara;
+        this.guiche = guiche;
+    }
+
+    // === GETTERS E SETTERS ===
+    public String getComarca() {
+        return comarca;
+    }
+
+    public void setComarca(String comarca) {
+        this.comarca = comarca != null ? comarca.trim() : null;
+    }
+
+    public String getVara() {
+        return vara;
+    }
+
+    public void setVara(String vara) {
+        this.vara = vara != null ? vara.trim() : null;
+    }
+
+    public String getGuiche() {
+        return guiche;
+    }
+
+    public void setGuiche(String guiche) {
+        this.guiche = guiche != null ? guiche.trim() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ChamarSenhaRequest{" +
+                "comarca='" + comarca + '\'' +
+                ", vara='" + vara + '\'' +
+                ", guiche='" + guiche + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,143 @@
+package com.tjba.comparecimento.dto.request;
+
+import com.tjba.comparecimento.entity.enums.RegraReagendamento;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+// === REAGENDAMENTO EM MASSA ===
+public class ReagendamentoMassaRequest {
+
+    @NotBlank(message = "Comarca é obrigatória")
+    @Size(max = 100, message = "Comarca deve ter no máximo 100 caracteres")
+    private String comarca;
+
+    @Size(max = 100, message = "Vara deve ter no máximo 100 caracteres")
+    private String vara;
+
+    @NotNull(message = "Data de início é obrigatória")
+    private LocalDate dataInicio;
+
+    @NotNull(message = "Data de fim é obrigatória")
+    private LocalDate dataFim;
+
+    @NotNull(message = "Regra de reagendamento é obrigatória")
+    private RegraReagendamento regra;
+
+    @Min(value = 1, message = "Dias deve ser no mínimo 1")
+    @Max(value = 365, message = "Dias deve ser no máximo 365")
+    private Integer dias;
+
+    @NotBlank(message = "Motivo é obrigatório")
+    @Size(min = 10, max = 200, message = "Motivo deve ter entre 10 e 200 caracteres")
+    private String motivo;
+
+    @NotBlank(message = "Solicitado por é obrigatório")
+    @Size(max = 100, message = "Solicitado por deve ter no máximo 100 caracteres")
+    private String solicitadoPor;
+
+    /**
+     * Cadastrar o período como suspensão de expediente da comarca no calendário forense (somente sem vara)
+     */
+    private boolean registrarSuspensao;
+
+    // === VALIDAÇÃO PERSONALIZADA ===
+    @AssertTrue(message = "Data de fim não pode ser anterior à data de início")
+    public boolean isPeriodoValido() {
+        return dataInicio == null || dataFim == null || !dataFim.isBefore(dataInicio);
+    }
+
+    @AssertTrue(message = "Dias é obrigatório para a regra ADIAR_DIAS")
+    public boolean isDiasInformados() {
+        return regra != RegraReagendamento.ADIAR_DIAS || dias != null;
+    }
+
+    // Constructors
+    public ReagendamentoMassaRequest() {}
+
+    // Getters e Setters
+    public String getComarca() {
+        return comarca;
+    }
+
+    public void setComarca(String comarca) {
+        this.comarca = comarca != null ? comarca.trim() : null;
+    }
+
+    public String getVara() {
+        return vara;
+    }
+
+    public void setVara(String vara) {
+        this.vara = vara != null && !vara.isBlank() ? vara.trim() : null;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public RegraReagendamento getRegra() {
+        return regra;
+    }
+
+    public void setRegra(RegraReagendamento regra) {
+        this.regra = regra;
+    }
+
+    public Integer getDias() {
+        return dias;
+    }
+
+    public void setDias(Integer dias) {
+        this.dias = dias;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public void setMotivo(String motivo) {
+        this.motivo = motivo != null ? motivo.trim() : null;
+    }
+
+    public String getSolicitadoPor() {
+        return solicitadoPor;
+    }
+
+    public void setSolicitadoPor(String solicitadoPor) {
+        this.solicitadoPor = solicitadoPor != null ? solicitadoPor.trim() : null;
+    }
+
+    public boolean isRegistrarSuspensao() {
+        return registrarSuspensao;
+    }
+
+    public void setRegistrarSuspensao(boolean registrarSuspensao) {
+        this.registrarSuspensao = registrarSuspensao;
+    }
+
+    @Override
+    public String toString() {
+        return "ReagendamentoMassaRequest{" +
+                "comarca='" + comarca + '\'' +
+                ", vara='" + vara + '\'' +
+                ", dataInicio=" + dataInicio +
+                ", dataFim=" + dataFim +
+                ", regra=" + regra +
+                ", dias=" + dias +
+                ", registrarSuspensao=" + registrarSuspensao +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.tjba.comparecimento.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// === COMPARECIMENTOS PRESENCIAIS EM LOTE ===
+public class RegistrarComparecimentosLoteRequest {
+
+    @NotEmpty(message = "Informe ao menos um comparecimento")
+    @Size(max = 200, message = "Máximo de 200 comparecimentos por lote")
+    @Valid
+    private List<RegistrarComparecimentoPresencialRequest> comparecimentos = new ArrayList<>();
+
+    // Constructors
+    public RegistrarComparecimentosLoteRequest() {}
+
+    public RegistrarComparecimentosLoteRequest(List<RegistrarComparecimentoPresencialRequest> comparecimentos) {
+        this.comparecimentos = comparecimentos;
+    }
+
+    // Getters e Setters
+    public List<RegistrarComparecimentoPresencialRequest> getComparecimentos() {
+        return comparecimentos;
+    }
+
+    public void setComparecimentos(List<RegistrarComparecimentoPresencialRequest> comparecimentos) {
+        this.comparecimentos = comparecimentos;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistrarComparecimentosLoteRequest{" +
+                "comparecimentos=" + (comparecimentos != null ? comparecimentos.size() : 0) +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.tjba.comparecimento.dto.response;
+
+import com.tjba.comparecimento.entity.AgendamentoHorario;
+import com.tjba.comparecimento.entity.enums.SituacaoAgendamento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Horário agendado por uma pessoa monitorada.
+ */
+public record AgendamentoHorarioResponse(
+        Long id,
+        Long pessoaId,
+        String comarca,
+        String vara,
+        LocalDate data,
+        LocalTime horario,
+        SituacaoAgendamento situacao,
+        LocalDateTime criadoEm,
+        LocalDateTime canceladoEm) {
+
+    public static AgendamentoHorarioResponse de(AgendamentoHorario agendamento) {
+        return new AgendamentoHorarioResponse(agendamento.getId(), agendamento.getPessoaMonitorada().getId(),
+                agendamento.getComarca(), agendamento.getVara(), agendamento.getData(), agendamento.getHorario(),
+                agendamento.getSituacao(), agendamento.getCriadoEm(), agendamento.getCanceladoEm());
+    }
+}
@@ -53,6 +53,15 @@ public class ApiResponse<T> {
         return response;
     }
 
+    public static <T> ApiResponse<T> accepted(T data, String message) {
+        ApiResponse<T> response = new ApiResponse<>();
+        response.success = true;
+        response.data = data;
+        response.message = message;
+        response.statusCode = HttpStatus.ACCEPTED.value();
+        return response;
+    }
+
     // === ERROR RESPONSES ===
     public static <T> ApiResponse<T> error(String message, HttpStatus status) {
         ApiResponse<T> response = new ApiResponse<>();
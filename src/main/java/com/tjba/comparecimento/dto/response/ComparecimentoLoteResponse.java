@@ -0,0 +1,83 @@
+package com.tjba.comparecimento.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO para resposta de registro de comparecimentos em lote (resultado por item).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ComparecimentoLoteResponse {
+
+    private int totalRecebidos;
+    private int totalRegistrados;
+    private int totalErros;
+    private List<ResultadoItem> itens;
+
+    /**
+     * Resultado de um item do lote, na mesma posição da requisição
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ResultadoItem(
+            int indice,
+            Long pessoaId,
+            boolean sucesso,
+            Long historicoId,
+            @JsonFormat(pattern = "dd/MM/yyyy") LocalDate proximoComparecimento,
+            String erro) {
+
+        public static ResultadoItem sucesso(int indice, Long pessoaId, Long historicoId, LocalDate proximoComparecimento) {
+            return new ResultadoItem(indice, pessoaId, true, historicoId, proximoComparecimento, null);
+        }
+
+        public static ResultadoItem erro(int indice, Long pessoaId, String erro) {
+            return new ResultadoItem(indice, pessoaId, false, null, null, erro);
+        }
+    }
+
+    // Constructors
+    public ComparecimentoLoteResponse() {}
+
+    public ComparecimentoLoteResponse(List<ResultadoItem> itens) {
+        this.itens = itens;
+        this.totalRecebidos = itens.size();
+        this.totalRegistrados = (int) itens.stream().filter(ResultadoItem::sucesso).count();
+        this.totalErros = totalRecebidos - totalRegistrados;
+    }
+
+    // Getters e Setters
+    public int getTotalRecebidos() {
+        return totalRecebidos;
+    }
+
+    public void setTotalRecebidos(int totalRecebidos) {
+        this.totalRecebidos = totalRecebidos;
+    }
+
+    public int getTotalRegistrados() {
+        return totalRegistrados;
+    }
+
+    public void setTotalRegistrados(int totalRegistrados) {
+        this.totalRegistrados = totalRegistrados;
+    }
+
+    public int getTotalErros() {
+        return totalErros;
+    }
+
+    public void setTotalErros(int totalErros) {
+        this.totalErros = totalErros;
+    }
+
+    public List<ResultadoItem> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ResultadoItem> itens) {
+        this.itens = itens;
+    }
+}
@@ -0,0 +1,23 @@
+package com.tjba.comparecimento.dto.response;
+
+/**
+ * Item do relatório personalizado de comparecimentos.
+ */
+public record ComparecimentoRelatorioItem(
+        Long id,
+        String data,
+        String horario,
+        Pessoa pessoa,
+        Processo processo,
+        Validacao validacao,
+        String observacoes) {
+
+    public record Pessoa(Long id, String nome, String cpf) {
+    }
+
+    public record Processo(String numero, String vara, String comarca) {
+    }
+
+    public record Validacao(String tipo, String tipoLabel, String validadoPor) {
+    }
+}
@@ -21,6 +21,9 @@ public class ComparecimentoResponse {
     private String observacoes;
     private LocalDate proximoComparecimento;
 
+    // Senha da fila de atendimento da vara (check-in presencial)
+    private String senha;
+
     // Constructors
     public ComparecimentoResponse() {}
 
@@ -102,6 +105,14 @@ public class ComparecimentoResponse {
         this.proximoComparecimento = proximoComparecimento;
     }
 
+    public String getSenha() {
+        return senha;
+    }
+
+    public void setSenha(String senha) {
+        this.senha = senha;
+    }
+
     @Override
     public String toString() {
         return "ComparecimentoResponse{" +
@@ -0,0 +1,14 @@
+package com.tjba.comparecimento.dto.response;
+
+/**
+ * Estatísticas de uma comarca no relatório estatístico.
+ */
+public record EstatisticaComarcaRelatorio(
+        String comarca,
+        long totalPessoas,
+        long emConformidade,
+        long inadimplentes,
+        double percentualConformidade,
+        long comparecimentosPeriodo,
+        double taxaComparecimento) {
+}
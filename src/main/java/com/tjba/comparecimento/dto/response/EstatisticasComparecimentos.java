@@ -0,0 +1,13 @@
+package com.tjba.comparecimento.dto.response;
+
+import java.util.Map;
+
+/**
+ * Estatísticas agregadas dos comparecimentos de um relatório (por tipo, comarca e validador).
+ */
+public record EstatisticasComparecimentos(
+        Map<String, Long> porTipo,
+        Map<String, Long> porComarca,
+        Map<String, Long> porValidador,
+        long totalComparecimentos) {
+}
@@ -0,0 +1,18 @@
+package com.tjba.comparecimento.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Ocupação de um horário de atendimento de uma vara.
+ */
+public record HorarioDisponivel(
+        LocalDate data,
+        LocalTime horario,
+        int capacidade,
+        int ocupados) {
+
+    public int vagas() {
+        return Math.max(0, capacidade - ocupados);
+    }
+}
@@ -0,0 +1,21 @@
+package com.tjba.comparecimento.dto.response;
+
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção de uma linha da exportação colunar de comparecimentos (sem dados pessoais além do ID da pessoa).
+ */
+public record LinhaExportacaoComparecimento(
+        Long id,
+        LocalDate dataComparecimento,
+        LocalTime horaComparecimento,
+        TipoValidacao tipoValidacao,
+        String validadoPor,
+        Long pessoaId,
+        String numeroProcesso,
+        String vara,
+        String comarca) {
+}
@@ -0,0 +1,25 @@
+package com.tjba.comparecimento.dto.response;
+
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Projeção de uma linha do relatório de comparecimentos (histórico + pessoa + processo).
+ * Usada na leitura em streaming, sem carregar entidades no contexto de persistência.
+ */
+public record LinhaRelatorioComparecimento(
+        Long id,
+        LocalDate dataComparecimento,
+        LocalTime horaComparecimento,
+        TipoValidacao tipoValidacao,
+        String validadoPor,
+        String observacoes,
+        Long pessoaId,
+        String nomeCompleto,
+        String cpf,
+        String numeroProcesso,
+        String vara,
+        String comarca) {
+}
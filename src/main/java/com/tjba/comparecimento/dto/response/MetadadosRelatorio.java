@@ -0,0 +1,12 @@
+package com.tjba.comparecimento.dto.response;
+
+/**
+ * Metadados do relatório personalizado.
+ */
+public record MetadadosRelatorio(
+        String dataInicio,
+        String dataFim,
+        String comarca,
+        long totalRegistros,
+        String dataGeracao) {
+}
@@ -0,0 +1,26 @@
+package com.tjba.comparecimento.dto.response;
+
+import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+
+import java.time.LocalDate;
+
+/**
+ * Registro compacto de uma pessoa esperada para check-in (índice em memória e consulta de fallback).
+ */
+public record PessoaEsperadaCheckIn(
+        Long pessoaId,
+        String nomeCompleto,
+        String cpf,
+        String rg,
+        LocalDate proximoComparecimento,
+        Integer periodicidadeDias,
+        StatusComparecimento status) {
+
+    /**
+     * Cópia após comparecimento registrado: novo prazo e situação regular
+     */
+    public PessoaEsperadaCheckIn comComparecimento(LocalDate novoProximoComparecimento) {
+        return new PessoaEsperadaCheckIn(pessoaId, nomeCompleto, cpf, rg, novoProximoComparecimento,
+                periodicidadeDias, StatusComparecimento.EM_CONFORMIDADE);
+    }
+}
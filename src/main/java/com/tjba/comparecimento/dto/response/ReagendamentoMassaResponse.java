@@ -0,0 +1,49 @@
+package com.tjba.comparecimento.dto.response;
+
+import com.tjba.comparecimento.entity.ReagendamentoMassa;
+import com.tjba.comparecimento.entity.enums.RegraReagendamento;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Situação e progresso de um reagendamento em massa.
+ */
+public record ReagendamentoMassaResponse(
+        Long id,
+        String comarca,
+        String vara,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        RegraReagendamento regra,
+        Integer dias,
+        String motivo,
+        String solicitadoPor,
+        ResultadoJob situacao,
+        long totalPrevisto,
+        long totalReagendado,
+        int lotes,
+        double percentual,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        String erro) {
+
+    public static ReagendamentoMassaResponse de(ReagendamentoMassa reagendamento) {
+        long previsto = reagendamento.getTotalPrevisto();
+        long reagendado = reagendamento.getTotalReagendado();
+        // Previsto contado no início: pessoas incluídas no período durante a execução podem passar dele
+        double percentual;
+        if (reagendamento.getSituacao() == ResultadoJob.SUCESSO) {
+            percentual = 100.0;
+        } else {
+            percentual = previsto > 0 ? Math.min(100.0, reagendado * 100.0 / previsto) : 0.0;
+        }
+        return new ReagendamentoMassaResponse(reagendamento.getId(), reagendamento.getComarca(),
+                reagendamento.getVara(), reagendamento.getDataInicio(), reagendamento.getDataFim(),
+                reagendamento.getRegra(), reagendamento.getDias(), reagendamento.getMotivo(),
+                reagendamento.getSolicitadoPor(), reagendamento.getSituacao(), previsto, reagendado,
+                reagendamento.getLotes(), percentual, reagendamento.getInicio(), reagendamento.getFim(),
+                reagendamento.getErro());
+    }
+}
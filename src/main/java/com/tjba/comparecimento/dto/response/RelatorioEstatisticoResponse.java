@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -25,8 +26,8 @@ public class RelatorioEstatisticoResponse {
     @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
     private LocalDateTime dataGeracao;
 
-    private List<Map<String, Object>> estatisticasPorComarca;
-    private Map<String, Object> resumoGeral;
+    private List<EstatisticaComarcaRelatorio> estatisticasPorComarca;
+    private ResumoGeralEstatisticas resumoGeral;
     private Map<String, Object> metadados;
     private List<Map<String, Object>> ranking;
 
@@ -43,8 +44,8 @@ public class RelatorioEstatisticoResponse {
     }
 
     public RelatorioEstatisticoResponse(String tipoRelatorio, LocalDate periodoInicio, LocalDate periodoFim,
-                                        List<Map<String, Object>> estatisticasPorComarca,
-                                        Map<String, Object> resumoGeral) {
+                                        List<EstatisticaComarcaRelatorio> estatisticasPorComarca,
+                                        ResumoGeralEstatisticas resumoGeral) {
         this();
         this.tipoRelatorio = tipoRelatorio;
         this.periodoInicio = periodoInicio;
@@ -79,12 +80,12 @@ public class RelatorioEstatisticoResponse {
             return this;
         }
 
-        public Builder estatisticasPorComarca(List<Map<String, Object>> estatisticasPorComarca) {
+        public Builder estatisticasPorComarca(List<EstatisticaComarcaRelatorio> estatisticasPorComarca) {
             response.estatisticasPorComarca = estatisticasPorComarca;
             return this;
         }
 
-        public Builder resumoGeral(Map<String, Object> resumoGeral) {
+        public Builder resumoGeral(ResumoGeralEstatisticas resumoGeral) {
             response.resumoGeral = resumoGeral;
             return this;
         }
@@ -114,25 +115,19 @@ public class RelatorioEstatisticoResponse {
 
             // Encontrar comarca com maior volume
             this.comarcaMaiorVolume = estatisticasPorComarca.stream()
-                    .max((c1, c2) -> Long.compare(
-                            ((Number) c1.get("comparecimentosPeriodo")).longValue(),
-                            ((Number) c2.get("comparecimentosPeriodo")).longValue()
-                    ))
-                    .map(comarca -> (String) comarca.get("comarca"))
+                    .max(Comparator.comparingLong(EstatisticaComarcaRelatorio::comparecimentosPeriodo))
+                    .map(EstatisticaComarcaRelatorio::comarca)
                     .orElse(null);
 
             // Encontrar comarca com maior conformidade
             this.comarcaMaiorConformidade = estatisticasPorComarca.stream()
-                    .max((c1, c2) -> Double.compare(
-                            ((Number) c1.get("percentualConformidade")).doubleValue(),
-                            ((Number) c2.get("percentualConformidade")).doubleValue()
-                    ))
-                    .map(comarca -> (String) comarca.get("comarca"))
+                    .max(Comparator.comparingDouble(EstatisticaComarcaRelatorio::percentualConformidade))
+                    .map(EstatisticaComarcaRelatorio::comarca)
                     .orElse(null);
 
             // Calcular média de comparecimentos por comarca
-            Double totalComparecimentos = estatisticasPorComarca.stream()
-                    .mapToDouble(comarca -> ((Number) comarca.get("comparecimentosPeriodo")).doubleValue())
+            double totalComparecimentos = estatisticasPorComarca.stream()
+                    .mapToLong(EstatisticaComarcaRelatorio::comparecimentosPeriodo)
                     .sum();
 
             if (totalComarcas > 0) {
@@ -156,16 +151,13 @@ public class RelatorioEstatisticoResponse {
         }
 
         return estatisticasPorComarca.stream()
-                .sorted((c1, c2) -> Long.compare(
-                        ((Number) c2.get("comparecimentosPeriodo")).longValue(),
-                        ((Number) c1.get("comparecimentosPeriodo")).longValue()
-                ))
+                .sorted(Comparator.comparingLong(EstatisticaComarcaRelatorio::comparecimentosPeriodo).reversed())
                 .limit(10) // Top 10
-                .map(comarca -> Map.of(
+                .map(comarca -> Map.<String, Object>of(
                         "posicao", estatisticasPorComarca.indexOf(comarca) + 1,
-                        "comarca", comarca.get("comarca"),
-                        "totalComparecimentos", comarca.get("comparecimentosPeriodo"),
-                        "totalPessoas", comarca.get("totalPessoas")
+                        "comarca", comarca.comarca(),
+                        "totalComparecimentos", comarca.comparecimentosPeriodo(),
+                        "totalPessoas", comarca.totalPessoas()
                 ))
                 .toList();
     }
@@ -179,17 +171,14 @@ public class RelatorioEstatisticoResponse {
         }
 
         return estatisticasPorComarca.stream()
-                .sorted((c1, c2) -> Double.compare(
-                        ((Number) c2.get("percentualConformidade")).doubleValue(),
-                        ((Number) c1.get("percentualConformidade")).doubleValue()
-                ))
+                .sorted(Comparator.comparingDouble(EstatisticaComarcaRelatorio::percentualConformidade).reversed())
                 .limit(10) // Top 10
-                .map(comarca -> Map.of(
+                .map(comarca -> Map.<String, Object>of(
                         "posicao", estatisticasPorComarca.indexOf(comarca) + 1,
-                        "comarca", comarca.get("comarca"),
-                        "percentualConformidade", comarca.get("percentualConformidade"),
-                        "emConformidade", comarca.get("emConformidade"),
-                        "totalPessoas", comarca.get("totalPessoas")
+                        "comarca", comarca.comarca(),
+                        "percentualConformidade", comarca.percentualConformidade(),
+                        "emConformidade", comarca.emConformidade(),
+                        "totalPessoas", comarca.totalPessoas()
                 ))
                 .toList();
     }
@@ -215,16 +204,8 @@ public class RelatorioEstatisticoResponse {
         }
 
         if (resumoGeral != null) {
-            Object totalPessoas = resumoGeral.get("totalPessoas");
-            Object totalComparecimentos = resumoGeral.get("totalComparecimentosPeriodo");
-
-            if (totalPessoas != null) {
-                resumo.append("Total de pessoas monitoradas: ").append(totalPessoas).append("\n");
-            }
-
-            if (totalComparecimentos != null) {
-                resumo.append("Total de comparecimentos no período: ").append(totalComparecimentos).append("\n");
-            }
+            resumo.append("Total de pessoas monitoradas: ").append(resumoGeral.totalPessoas()).append("\n");
+            resumo.append("Total de comparecimentos no período: ").append(resumoGeral.totalComparecimentosPeriodo()).append("\n");
         }
 
         if (comarcaMaiorVolume != null) {
@@ -252,48 +233,56 @@ public class RelatorioEstatisticoResponse {
     /**
      * Obter estatísticas de uma comarca específica
      */
-    public Map<String, Object> getEstatisticasComarca(String nomeComarca) {
+    public EstatisticaComarcaRelatorio getEstatisticasComarca(String nomeComarca) {
         if (estatisticasPorComarca == null || nomeComarca == null) {
             return null;
         }
 
         return estatisticasPorComarca.stream()
-                .filter(comarca -> nomeComarca.equals(comarca.get("comarca")))
+                .filter(comarca -> nomeComarca.equals(comarca.comarca()))
                 .findFirst()
                 .orElse(null);
     }
 
     /**
      * Calcular percentual de uma comarca em relação ao total
+     * (campos: totalPessoas, emConformidade, inadimplentes, comparecimentosPeriodo)
      */
     public Double getPercentualComarcaEmRelacaoTotal(String nomeComarca, String campo) {
-        Map<String, Object> estatisticasComarca = getEstatisticasComarca(nomeComarca);
-        if (estatisticasComarca == null || resumoGeral == null) {
+        EstatisticaComarcaRelatorio estatisticasComarca = getEstatisticasComarca(nomeComarca);
+        if (estatisticasComarca == null || resumoGeral == null || campo == null) {
             return null;
         }
 
-        Object valorComarca = estatisticasComarca.get(campo);
-        Object valorTotal = resumoGeral.get("total" + capitalizeFirst(campo));
-
-        if (valorComarca == null || valorTotal == null) {
-            return null;
+        long comarcaValue;
+        long totalValue;
+        switch (campo) {
+            case "totalPessoas" -> {
+                comarcaValue = estatisticasComarca.totalPessoas();
+                totalValue = resumoGeral.totalPessoas();
+            }
+            case "emConformidade" -> {
+                comarcaValue = estatisticasComarca.emConformidade();
+                totalValue = resumoGeral.totalConformidade();
+            }
+            case "inadimplentes" -> {
+                comarcaValue = estatisticasComarca.inadimplentes();
+                totalValue = resumoGeral.totalInadimplentes();
+            }
+            case "comparecimentosPeriodo" -> {
+                comarcaValue = estatisticasComarca.comparecimentosPeriodo();
+                totalValue = resumoGeral.totalComparecimentosPeriodo();
+            }
+            default -> {
+                return null;
+            }
         }
 
-        double comarcaValue = ((Number) valorComarca).doubleValue();
-        double totalValue = ((Number) valorTotal).doubleValue();
-
         if (totalValue == 0) {
             return 0.0;
         }
 
-        return Math.round((comarcaValue / totalValue) * 100.0 * 100.0) / 100.0;
-    }
-
-    private String capitalizeFirst(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
+        return Math.round(((double) comarcaValue / totalValue) * 100.0 * 100.0) / 100.0;
     }
 
     // Getters e Setters
@@ -331,20 +320,20 @@ public class RelatorioEstatisticoResponse {
         this.dataGeracao = dataGeracao;
     }
 
-    public List<Map<String, Object>> getEstatisticasPorComarca() {
+    public List<EstatisticaComarcaRelatorio> getEstatisticasPorComarca() {
         return estatisticasPorComarca;
     }
 
-    public void setEstatisticasPorComarca(List<Map<String, Object>> estatisticasPorComarca) {
+    public void setEstatisticasPorComarca(List<EstatisticaComarcaRelatorio> estatisticasPorComarca) {
         this.estatisticasPorComarca = estatisticasPorComarca;
         calcularEstatisticasDerivadas();
     }
 
-    public Map<String, Object> getResumoGeral() {
+    public ResumoGeralEstatisticas getResumoGeral() {
         return resumoGeral;
     }
 
-    public void setResumoGeral(Map<String, Object> resumoGeral) {
+    public void setResumoGeral(ResumoGeralEstatisticas resumoGeral) {
         this.resumoGeral = resumoGeral;
     }
 
@@ -0,0 +1,13 @@
+package com.tjba.comparecimento.dto.response;
+
+/**
+ * Totais gerais do relatório estatístico por comarca.
+ */
+public record ResumoGeralEstatisticas(
+        long totalPessoas,
+        long totalConformidade,
+        long totalInadimplentes,
+        double percentualGeralConformidade,
+        long totalComparecimentosPeriodo,
+        int totalComarcas) {
+}
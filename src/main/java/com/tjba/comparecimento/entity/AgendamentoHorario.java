@@ -0,0 +1,129 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import com.tjba.comparecimento.entity.enums.SituacaoAgendamento;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Entidade que representa o horário escolhido pela pessoa monitorada para o seu próximo comparecimento.
+ * Cada pessoa tem no máximo um agendamento ativo (índice único parcial).
+ */
+@Entity
+@Table(name = "agendamentos_horario",
+        indexes = {
+                @Index(name = "idx_agendamento_horario_pessoa", columnList = "pessoa_monitorada_id"),
+                @Index(name = "idx_agendamento_horario_data", columnList = "data, horario")
+        }
+)
+public class AgendamentoHorario extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pessoa_monitorada_id", nullable = false)
+    private PessoaMonitorada pessoaMonitorada;
+
+    @Column(name = "comarca", nullable = false, length = 100)
+    private String comarca;
+
+    @Column(name = "vara", nullable = false, length = 100)
+    private String vara;
+
+    @Column(name = "data", nullable = false)
+    private LocalDate data;
+
+    @Column(name = "horario", nullable = false)
+    private LocalTime horario;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "situacao", nullable = false, length = 20)
+    private SituacaoAgendamento situacao = SituacaoAgendamento.ATIVO;
+
+    @Column(name = "cancelado_em")
+    private LocalDateTime canceladoEm;
+
+    // === CONSTRUTORES ===
+    public AgendamentoHorario() {
+        super();
+    }
+
+    public AgendamentoHorario(PessoaMonitorada pessoaMonitorada, String comarca, String vara, LocalDate data,
+                              LocalTime horario) {
+        this();
+        this.pessoaMonitorada = pessoaMonitorada;
+        this.comarca = comarca;
+        this.vara = vara;
+        this.data = data;
+        this.horario = horario;
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+    public void cancelar() {
+        this.situacao = SituacaoAgendamento.CANCELADO;
+        this.canceladoEm = LocalDateTime.now();
+    }
+
+    public void realizar() {
+        this.situacao = SituacaoAgendamento.REALIZADO;
+    }
+
+    public boolean isAtivo() {
+        return situacao == SituacaoAgendamento.ATIVO;
+    }
+
+    // === GETTERS E SETTERS ===
+    public PessoaMonitorada getPessoaMonitorada() {
+        return pessoaMonitorada;
+    }
+
+    public String getComarca() {
+        return comarca;
+    }
+
+    public String getVara() {
+        return vara;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public LocalTime getHorario() {
+        return horario;
+    }
+
+    public SituacaoAgendamento getSituacao() {
+        return situacao;
+    }
+
+    public LocalDateTime getCanceladoEm() {
+        return canceladoEm;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AgendamentoHorario that = (AgendamentoHorario) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "AgendamentoHorario{" +
+                "id=" + getId() +
+                ", data=" + data +
+                ", horario=" + horario +
+                ", situacao=" + situacao +
+                '}';
+    }
+}
@@ -0,0 +1,120 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Entidade que registra uma alteração de próximo comparecimento: um lote do reagendamento em massa (todas as pessoas
+ * movidas de uma data para outra em um comando) ou um reagendamento individual.
+ */
+@Entity
+@Table(name = "auditoria_reagendamentos",
+        indexes = {
+                @Index(name = "idx_auditoria_reagendamento_operacao", columnList = "reagendamento_id"),
+                @Index(name = "idx_auditoria_reagendamento_criado", columnList = "criado_em")
+        }
+)
+public class AuditoriaReagendamento extends BaseEntity {
+
+    /**
+     * Reagendamento em massa de origem; nulo = alteração individual
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reagendamento_id")
+    private ReagendamentoMassa reagendamento;
+
+    @Column(name = "data_anterior")
+    private LocalDate dataAnterior;
+
+    @Column(name = "nova_data", nullable = false)
+    private LocalDate novaData;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "pessoa_ids", nullable = false)
+    private Long[] pessoaIds;
+
+    @Column(name = "quantidade", nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "motivo", nullable = false, length = 200)
+    private String motivo;
+
+    @Column(name = "validado_por", nullable = false, length = 100)
+    private String validadoPor;
+
+    // === CONSTRUTORES ===
+    public AuditoriaReagendamento() {
+        super();
+    }
+
+    public AuditoriaReagendamento(ReagendamentoMassa reagendamento, LocalDate dataAnterior, LocalDate novaData,
+                                  Collection<Long> pessoaIds, String motivo, String validadoPor) {
+        this();
+        this.reagendamento = reagendamento;
+        this.dataAnterior = dataAnterior;
+        this.novaData = novaData;
+        this.pessoaIds = pessoaIds.toArray(Long[]::new);
+        this.quantidade = pessoaIds.size();
+        this.motivo = motivo;
+        this.validadoPor = validadoPor;
+    }
+
+    // === GETTERS E SETTERS ===
+    public ReagendamentoMassa getReagendamento() {
+        return reagendamento;
+    }
+
+    public LocalDate getDataAnterior() {
+        return dataAnterior;
+    }
+
+    public LocalDate getNovaData() {
+        return novaData;
+    }
+
+    public Long[] getPessoaIds() {
+        return pessoaIds;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public String getValidadoPor() {
+        return validadoPor;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AuditoriaReagendamento that = (AuditoriaReagendamento) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "AuditoriaReagendamento{" +
+                "id=" + getId() +
+                ", dataAnterior=" + dataAnterior +
+                ", novaData=" + novaData +
+                ", quantidade=" + quantidade +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Entidade que guarda a capacidade e a ocupação de um horário de atendimento de uma vara em um dia.
+ * A ocupação só é alterada por comandos condicionais (ocupados &lt; capacidade), o que impede reservas acima
+ * da capacidade mesmo com vários terminais e instâncias simultâneos.
+ */
+@Entity
+@Table(name = "capacidade_horarios",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_capacidade_horario",
+                        columnNames = {"comarca", "vara", "data", "horario"})
+        }
+)
+public class CapacidadeHorario extends BaseEntity {
+
+    @Column(name = "comarca", nullable = false, length = 100)
+    private String comarca;
+
+    @Column(name = "vara", nullable = false, length = 100)
+    private String vara;
+
+    @Column(name = "data", nullable = false)
+    private LocalDate data;
+
+    @Column(name = "horario", nullable = false)
+    private LocalTime horario;
+
+    @Column(name = "capacidade", nullable = false)
+    private Integer capacidade;
+
+    @Column(name = "ocupados", nullable = false)
+    private Integer ocupados = 0;
+
+    // === CONSTRUTORES ===
+    public CapacidadeHorario() {
+        super();
+    }
+
+    // === GETTERS E SETTERS ===
+    public String getComarca() {
+        return comarca;
+    }
+
+    public String getVara() {
+        return vara;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public LocalTime getHorario() {
+        return horario;
+    }
+
+    public Integer getCapacidade() {
+        return capacidade;
+    }
+
+    public Integer getOcupados() {
+        return ocupados;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CapacidadeHorario that = (CapacidadeHorario) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "CapacidadeHorario{" +
+                "id=" + getId() +
+                ", comarca='" + comarca + '\'' +
+                ", vara='" + vara + '\'' +
+                ", data=" + data +
+                ", horario=" + horario +
+                ", ocupados=" + ocupados + "/" + capacidade +
+                '}';
+    }
+}
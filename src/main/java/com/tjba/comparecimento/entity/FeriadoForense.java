@@ -0,0 +1,136 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidade que representa uma suspensão de expediente forense cadastrada (feriado municipal, ponto facultativo,
+ * suspensão por portaria). Feriados nacionais, estaduais e o recesso de fim de ano são calculados por regra
+ * no {@link com.tjba.comparecimento.service.CalendarioForenseService}.
+ */
+@Entity
+@Table(name = "feriados_forenses",
+        indexes = {
+                @Index(name = "idx_feriado_forense_data", columnList = "data_inicio")
+        }
+)
+public class FeriadoForense extends BaseEntity {
+
+    @NotNull(message = "Data de início é obrigatória")
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDate dataInicio;
+
+    @NotNull(message = "Data de fim é obrigatória")
+    @Column(name = "data_fim", nullable = false)
+    private LocalDate dataFim;
+
+    @NotBlank(message = "Descrição é obrigatória")
+    @Size(max = 150, message = "Descrição deve ter no máximo 150 caracteres")
+    @Column(name = "descricao", nullable = false, length = 150)
+    private String descricao;
+
+    /**
+     * Comarca afetada; nula = todas as comarcas
+     */
+    @Size(max = 100, message = "Comarca deve ter no máximo 100 caracteres")
+    @Column(name = "comarca", length = 100)
+    private String comarca;
+
+    /**
+     * Repete todos os anos no mesmo dia e mês (o ano das datas é ignorado)
+     */
+    @Column(name = "anual", nullable = false)
+    private Boolean anual = false;
+
+    // === CONSTRUTORES ===
+    public FeriadoForense() {
+        super();
+    }
+
+    public FeriadoForense(LocalDate dataInicio, LocalDate dataFim, String descricao, String comarca, boolean anual) {
+        this();
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.descricao = descricao;
+        this.comarca = comarca;
+        this.anual = anual;
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+    public boolean isGeral() {
+        return comarca == null || comarca.isBlank();
+    }
+
+    // === GETTERS E SETTERS ===
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getComarca() {
+        return comarca;
+    }
+
+    public void setComarca(String comarca) {
+        this.comarca = comarca;
+    }
+
+    public Boolean getAnual() {
+        return anual;
+    }
+
+    public void setAnual(Boolean anual) {
+        this.anual = anual;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FeriadoForense that = (FeriadoForense) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "FeriadoForense{" +
+                "id=" + getId() +
+                ", dataInicio=" + dataInicio +
+                ", dataFim=" + dataFim +
+                ", descricao='" + descricao + '\'' +
+                ", comarca='" + comarca + '\'' +
+                ", anual=" + anual +
+                '}';
+    }
+}
@@ -14,6 +14,8 @@ import java.util.Objects;
 
 /**
  * Entidade que representa o histórico de comparecimentos de uma pessoa.
+ * Comparecimentos presenciais e online são únicos por pessoa e dia (índice parcial
+ * uk_historico_comparecimento_dia, criado no script do banco).
  */
 @Entity
 @Table(name = "historico_comparecimentos",
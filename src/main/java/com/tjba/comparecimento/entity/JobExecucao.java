@@ -0,0 +1,190 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que registra a execução de um job agendado (ou de uma partição dele) por uma instância da aplicação.
+ * A referência identifica o período agendado (ex.: o dia), de modo que uma partição concluída com sucesso
+ * não é executada novamente pelas demais instâncias.
+ */
+@Entity
+@Table(name = "job_execucoes",
+        indexes = {
+                @Index(name = "idx_job_execucao_referencia", columnList = "job, referencia, particao"),
+                @Index(name = "idx_job_execucao_inicio", columnList = "inicio")
+        }
+)
+public class JobExecucao extends BaseEntity {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    @Column(name = "job", nullable = false, length = 60)
+    private String job;
+
+    @Column(name = "referencia", nullable = false, length = 40)
+    private String referencia;
+
+    @Column(name = "particao", nullable = false)
+    private Integer particao;
+
+    @Column(name = "total_particoes", nullable = false)
+    private Integer totalParticoes;
+
+    @Column(name = "instancia", nullable = false, length = 100)
+    private String instancia;
+
+    @Column(name = "inicio", nullable = false)
+    private LocalDateTime inicio;
+
+    @Column(name = "fim")
+    private LocalDateTime fim;
+
+    @Column(name = "linhas")
+    private Long linhas;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resultado", nullable = false, length = 20)
+    private ResultadoJob resultado = ResultadoJob.EM_ANDAMENTO;
+
+    @Column(name = "erro", length = TAMANHO_MAXIMO_ERRO)
+    private String erro;
+
+    // === CONSTRUTORES ===
+    public JobExecucao() {
+        super();
+    }
+
+    public JobExecucao(String job, String referencia, int particao, int totalParticoes, String instancia) {
+        this();
+        this.job = job;
+        this.referencia = referencia;
+        this.particao = particao;
+        this.totalParticoes = totalParticoes;
+        this.instancia = instancia;
+        this.inicio = LocalDateTime.now();
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+    public void concluir(long linhas) {
+        this.resultado = ResultadoJob.SUCESSO;
+        this.linhas = linhas;
+        this.fim = LocalDateTime.now();
+    }
+
+    public void registrarFalha(String erro) {
+        this.resultado = ResultadoJob.FALHA;
+        this.erro = erro != null && erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro;
+        this.fim = LocalDateTime.now();
+    }
+
+    // === GETTERS E SETTERS ===
+    public String getJob() {
+        return job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public String getReferencia() {
+        return referencia;
+    }
+
+    public void setReferencia(String referencia) {
+        this.referencia = referencia;
+    }
+
+    public Integer getParticao() {
+        return particao;
+    }
+
+    public void setParticao(Integer particao) {
+        this.particao = particao;
+    }
+
+    public Integer getTotalParticoes() {
+        return totalParticoes;
+    }
+
+    public void setTotalParticoes(Integer totalParticoes) {
+        this.totalParticoes = totalParticoes;
+    }
+
+    public String getInstancia() {
+        return instancia;
+    }
+
+    public void setInstancia(String instancia) {
+        this.instancia = instancia;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public Long getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(Long linhas) {
+        this.linhas = linhas;
+    }
+
+    public ResultadoJob getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(ResultadoJob resultado) {
+        this.resultado = resultado;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public void setErro(String erro) {
+        this.erro = erro;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobExecucao that = (JobExecucao) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "JobExecucao{" +
+                "id=" + getId() +
+                ", job='" + job + '\'' +
+                ", referencia='" + referencia + '\'' +
+                ", particao=" + particao + "/" + totalParticoes +
+                ", resultado=" + resultado +
+                '}';
+    }
+}
@@ -0,0 +1,148 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import jakarta.persistence.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidade que registra os lembretes já enfileirados para uma data de comparecimento, em uma partição do job
+ * de lembretes: IDs das pessoas lembradas em ordem crescente, gravados como diferenças entre IDs vizinhos
+ * (varint). Os IDs vêm da sequência global e ficam espaçados, então o tamanho depende da quantidade de pessoas
+ * lembradas (2 a 3 bytes por pessoa com milhões de IDs), não do maior ID, e há uma linha por data e partição
+ * em vez de uma linha por lembrete.
+ */
+@Entity
+@Table(name = "lembretes_enviados",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_lembretes_enviados_particao",
+                        columnNames = {"data_comparecimento", "particao", "total_particoes"})
+        }
+)
+public class LembretesEnviados extends BaseEntity {
+
+    @Column(name = "data_comparecimento", nullable = false)
+    private LocalDate dataComparecimento;
+
+    @Column(name = "particao", nullable = false)
+    private Integer particao;
+
+    @Column(name = "total_particoes", nullable = false)
+    private Integer totalParticoes;
+
+    @Column(name = "pessoas", nullable = false)
+    private byte[] pessoas = new byte[0];
+
+    @Column(name = "quantidade", nullable = false)
+    private Integer quantidade = 0;
+
+    // === CONSTRUTORES ===
+    public LembretesEnviados() {
+        super();
+    }
+
+    public LembretesEnviados(LocalDate dataComparecimento, int particao, int totalParticoes) {
+        this();
+        this.dataComparecimento = dataComparecimento;
+        this.particao = particao;
+        this.totalParticoes = totalParticoes;
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+
+    /**
+     * IDs das pessoas lembradas, em ordem crescente
+     */
+    public long[] getPessoaIds() {
+        long[] ids = new long[quantidade];
+        long anterior = 0;
+        int posicao = 0;
+        for (int i = 0; i < ids.length; i++) {
+            long diferenca = 0;
+            int b;
+            int deslocamento = 0;
+            do {
+                b = pessoas[posicao++];
+                diferenca |= (long) (b & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((b & 0x80) != 0);
+            anterior += diferenca;
+            ids[i] = anterior;
+        }
+        return ids;
+    }
+
+    /**
+     * Gravar os IDs das pessoas lembradas (em ordem crescente, sem repetição)
+     */
+    public void setPessoaIds(long[] ids) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ids.length * 3);
+        long anterior = 0;
+        for (long id : ids) {
+            long diferenca = id - anterior;
+            anterior = id;
+            while ((diferenca & ~0x7FL) != 0) {
+                out.write((int) (diferenca & 0x7F) | 0x80);
+                diferenca >>>= 7;
+            }
+            out.write((int) diferenca);
+        }
+        this.pessoas = out.toByteArray();
+        this.quantidade = ids.length;
+    }
+
+    // === GETTERS E SETTERS ===
+    public LocalDate getDataComparecimento() {
+        return dataComparecimento;
+    }
+
+    public void setDataComparecimento(LocalDate dataComparecimento) {
+        this.dataComparecimento = dataComparecimento;
+    }
+
+    public Integer getParticao() {
+        return particao;
+    }
+
+    public void setParticao(Integer particao) {
+        this.particao = particao;
+    }
+
+    public Integer getTotalParticoes() {
+        return totalParticoes;
+    }
+
+    public void setTotalParticoes(Integer totalParticoes) {
+        this.totalParticoes = totalParticoes;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LembretesEnviados that = (LembretesEnviados) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "LembretesEnviados{" +
+                "id=" + getId() +
+                ", dataComparecimento=" + dataComparecimento +
+                ", particao=" + particao + "/" + totalParticoes +
+                ", quantidade=" + quantidade +
+                '}';
+    }
+}
@@ -0,0 +1,221 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import com.tjba.comparecimento.entity.enums.CanalNotificacao;
+import com.tjba.comparecimento.entity.enums.StatusNotificacao;
+import com.tjba.comparecimento.entity.enums.TipoNotificacao;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade da fila de notificações (outbox): gravada na mesma transação da alteração que a originou
+ * e enviada depois pelo despacho assíncrono. O índice parcial idx_notificacao_pendente
+ * (proxima_tentativa WHERE status = 'PENDENTE') é mantido pelo script do banco.
+ */
+@Entity
+@Table(name = "notificacoes_pendentes")
+public class NotificacaoPendente extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "canal", nullable = false, length = 10)
+    private CanalNotificacao canal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 40)
+    private TipoNotificacao tipo;
+
+    // Nulo quando o contato é resolvido no envio (pessoa monitorada)
+    @Column(name = "destinatario", length = 150)
+    private String destinatario;
+
+    @Column(name = "pessoa_monitorada_id")
+    private Long pessoaMonitoradaId;
+
+    @Column(name = "assunto", length = 200)
+    private String assunto;
+
+    @Column(name = "conteudo", columnDefinition = "TEXT")
+    private String conteudo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusNotificacao status = StatusNotificacao.PENDENTE;
+
+    @Column(name = "tentativas", nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    @Column(name = "enviada_em")
+    private LocalDateTime enviadaEm;
+
+    // === CONSTRUTORES ===
+    public NotificacaoPendente() {
+        super();
+    }
+
+    public NotificacaoPendente(TipoNotificacao tipo, String destinatario, Long pessoaMonitoradaId,
+                               String assunto, String conteudo) {
+        this();
+        this.canal = tipo.getCanal();
+        this.tipo = tipo;
+        this.destinatario = destinatario;
+        this.pessoaMonitoradaId = pessoaMonitoradaId;
+        this.assunto = assunto;
+        this.conteudo = conteudo;
+        this.proximaTentativa = LocalDateTime.now();
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+    public void marcarEnviada() {
+        this.status = StatusNotificacao.ENVIADA;
+        this.tentativas++;
+        this.enviadaEm = LocalDateTime.now();
+        this.ultimoErro = null;
+        descartarConteudoConfidencial();
+    }
+
+    public void registrarFalha(String erro, LocalDateTime proximaTentativa, boolean definitiva) {
+        this.tentativas++;
+        this.ultimoErro = erro != null && erro.length() > 500 ? erro.substring(0, 500) : erro;
+        if (definitiva) {
+            // Senhas e tokens não ficam na fila de mensagens mortas: não são reenviados
+            this.status = StatusNotificacao.FALHA;
+            descartarConteudoConfidencial();
+        } else {
+            this.proximaTentativa = proximaTentativa;
+        }
+    }
+
+    public void cancelar(String motivo) {
+        this.status = StatusNotificacao.CANCELADA;
+        this.ultimoErro = motivo;
+        descartarConteudoConfidencial();
+    }
+
+    private void descartarConteudoConfidencial() {
+        if (tipo.isConfidencial()) {
+            this.conteudo = null;
+        }
+    }
+
+    // === GETTERS E SETTERS ===
+    public CanalNotificacao getCanal() {
+        return canal;
+    }
+
+    public void setCanal(CanalNotificacao canal) {
+        this.canal = canal;
+    }
+
+    public TipoNotificacao getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoNotificacao tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public void setDestinatario(String destinatario) {
+        this.destinatario = destinatario;
+    }
+
+    public Long getPessoaMonitoradaId() {
+        return pessoaMonitoradaId;
+    }
+
+    public void setPessoaMonitoradaId(Long pessoaMonitoradaId) {
+        this.pessoaMonitoradaId = pessoaMonitoradaId;
+    }
+
+    public String getAssunto() {
+        return assunto;
+    }
+
+    public void setAssunto(String assunto) {
+        this.assunto = assunto;
+    }
+
+    public String getConteudo() {
+        return conteudo;
+    }
+
+    public void setConteudo(String conteudo) {
+        this.conteudo = conteudo;
+    }
+
+    public StatusNotificacao getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusNotificacao status) {
+        this.status = status;
+    }
+
+    public Integer getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(Integer tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    public void setProximaTentativa(LocalDateTime proximaTentativa) {
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro;
+    }
+
+    public LocalDateTime getEnviadaEm() {
+        return enviadaEm;
+    }
+
+    public void setEnviadaEm(LocalDateTime enviadaEm) {
+        this.enviadaEm = enviadaEm;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NotificacaoPendente that = (NotificacaoPendente) o;
+        return getId() != null && Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NotificacaoPendente{" +
+                "id=" + getId() +
+                ", canal=" + canal +
+                ", tipo=" + tipo +
+                ", status=" + status +
+                ", tentativas=" + tentativas +
+                '}';
+    }
+}
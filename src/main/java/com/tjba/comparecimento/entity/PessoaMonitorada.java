@@ -20,7 +20,7 @@ import java.util.Objects;
         indexes = {
                 @Index(name = "idx_pessoa_cpf", columnList = "cpf"),
                 @Index(name = "idx_pessoa_rg", columnList = "rg"),
-                @Index(name = "idx_pessoa_status", columnList = "status"),
+                @Index(name = "idx_pessoa_status_manual", columnList = "status_manual"),
                 @Index(name = "idx_pessoa_nome", columnList = "nome_completo")
         },
         uniqueConstraints = {
@@ -53,10 +53,10 @@ public class PessoaMonitorada extends BaseEntity {
     @Column(name = "contato_emergencia", length = 20)
     private String contatoEmergencia;
 
-    @NotNull(message = "Status é obrigatório")
+    // Definição manual (ex.: suspensão); nulo = status calculado pelo próximo comparecimento
     @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false)
-    private StatusComparecimento status;
+    @Column(name = "status_manual", length = 20)
+    private StatusComparecimento statusManual;
 
     @Size(max = 500, message = "Observações deve ter no máximo 500 caracteres")
     @Column(name = "observacoes", length = 500)
@@ -89,7 +89,6 @@ public class PessoaMonitorada extends BaseEntity {
     // === CONSTRUTORES ===
     public PessoaMonitorada() {
         super();
-        this.status = StatusComparecimento.EM_CONFORMIDADE;
     }
 
     public PessoaMonitorada(String nomeCompleto, String contato) {
@@ -114,19 +113,15 @@ public class PessoaMonitorada extends BaseEntity {
     }
 
     /**
-     * Método para atualizar automaticamente o status baseado no regime de comparecimento
+     * Status atual: definição manual, se houver; caso contrário, calculado pela data do próximo comparecimento
      */
-    public void atualizarStatusAutomatico() {
-        if (regimeComparecimento != null && regimeComparecimento.getProximoComparecimento() != null) {
-            LocalDate hoje = LocalDate.now();
-            LocalDate proximoComparecimento = regimeComparecimento.getProximoComparecimento();
-
-            if (proximoComparecimento.isBefore(hoje)) {
-                this.status = StatusComparecimento.INADIMPLENTE;
-            } else {
-                this.status = StatusComparecimento.EM_CONFORMIDADE;
-            }
+    public StatusComparecimento getStatus() {
+        if (statusManual != null) {
+            return statusManual;
         }
+        LocalDate proximoComparecimento = regimeComparecimento != null
+                ? regimeComparecimento.getProximoComparecimento() : null;
+        return StatusComparecimento.calcular(proximoComparecimento, LocalDate.now());
     }
 
     // === FORMATAÇÃO AUTOMÁTICA ===
@@ -183,12 +178,12 @@ public class PessoaMonitorada extends BaseEntity {
         this.contatoEmergencia = contatoEmergencia;
     }
 
-    public StatusComparecimento getStatus() {
-        return status;
+    public StatusComparecimento getStatusManual() {
+        return statusManual;
     }
 
-    public void setStatus(StatusComparecimento status) {
-        this.status = status;
+    public void setStatusManual(StatusComparecimento statusManual) {
+        this.statusManual = statusManual;
     }
 
     public ProcessoJudicial getProcessoJudicial() {
@@ -241,7 +236,7 @@ public class PessoaMonitorada extends BaseEntity {
         return "PessoaMonitorada{" +
                 "id=" + getId() +
                 ", nomeCompleto='" + nomeCompleto + '\'' +
-                ", status=" + status +
+                ", statusManual=" + statusManual +
                 '}';
     }
 
@@ -0,0 +1,204 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import com.tjba.comparecimento.entity.enums.RegraReagendamento;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que representa um reagendamento em massa dos próximos comparecimentos de uma comarca (ou vara) em um
+ * período, com o progresso da execução (atualizado a cada lote).
+ */
+@Entity
+@Table(name = "reagendamentos_massa",
+        indexes = {
+                @Index(name = "idx_reagendamento_massa_comarca", columnList = "comarca, situacao")
+        }
+)
+public class ReagendamentoMassa extends BaseEntity {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    @Column(name = "comarca", nullable = false, length = 100)
+    private String comarca;
+
+    @Column(name = "vara", length = 100)
+    private String vara;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDate dataInicio;
+
+    @Column(name = "data_fim", nullable = false)
+    private LocalDate dataFim;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "regra", nullable = false, length = 20)
+    private RegraReagendamento regra;
+
+    @Column(name = "dias")
+    private Integer dias;
+
+    @Column(name = "motivo", nullable = false, length = 200)
+    private String motivo;
+
+    @Column(name = "solicitado_por", nullable = false, length = 100)
+    private String solicitadoPor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "situacao", nullable = false, length = 20)
+    private ResultadoJob situacao = ResultadoJob.EM_ANDAMENTO;
+
+    @Column(name = "total_previsto", nullable = false)
+    private Long totalPrevisto = 0L;
+
+    @Column(name = "total_reagendado", nullable = false)
+    private Long totalReagendado = 0L;
+
+    @Column(name = "lotes", nullable = false)
+    private Integer lotes = 0;
+
+    @Column(name = "inicio", nullable = false)
+    private LocalDateTime inicio;
+
+    @Column(name = "fim")
+    private LocalDateTime fim;
+
+    @Column(name = "erro", length = TAMANHO_MAXIMO_ERRO)
+    private String erro;
+
+    // === CONSTRUTORES ===
+    public ReagendamentoMassa() {
+        super();
+    }
+
+    public ReagendamentoMassa(String comarca, String vara, LocalDate dataInicio, LocalDate dataFim,
+                              RegraReagendamento regra, Integer dias, String motivo, String solicitadoPor) {
+        this();
+        this.comarca = comarca;
+        this.vara = vara;
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.regra = regra;
+        this.dias = dias;
+        this.motivo = motivo;
+        this.solicitadoPor = solicitadoPor;
+        this.inicio = LocalDateTime.now();
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+    public void registrarLote(int reagendados) {
+        this.lotes++;
+        this.totalReagendado += reagendados;
+    }
+
+    public void concluir() {
+        this.situacao = ResultadoJob.SUCESSO;
+        this.fim = LocalDateTime.now();
+    }
+
+    public void registrarFalha(String erro) {
+        this.situacao = ResultadoJob.FALHA;
+        this.erro = erro != null && erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro;
+        this.fim = LocalDateTime.now();
+    }
+
+    public boolean isEmAndamento() {
+        return situacao == ResultadoJob.EM_ANDAMENTO;
+    }
+
+    // === GETTERS E SETTERS ===
+    public String getComarca() {
+        return comarca;
+    }
+
+    public String getVara() {
+        return vara;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public RegraReagendamento getRegra() {
+        return regra;
+    }
+
+    public Integer getDias() {
+        return dias;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public String getSolicitadoPor() {
+        return solicitadoPor;
+    }
+
+    public ResultadoJob getSituacao() {
+        return situacao;
+    }
+
+    public Long getTotalPrevisto() {
+        return totalPrevisto;
+    }
+
+    public void setTotalPrevisto(Long totalPrevisto) {
+        this.totalPrevisto = totalPrevisto;
+    }
+
+    public Long getTotalReagendado() {
+        return totalReagendado;
+    }
+
+    public Integer getLotes() {
+        return lotes;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReagendamentoMassa that = (ReagendamentoMassa) o;
+        return Objects.equals(getId(), that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "ReagendamentoMassa{" +
+                "id=" + getId() +
+                ", comarca='" + comarca + '\'' +
+                ", vara='" + vara + '\'' +
+                ", periodo=" + dataInicio + " a " + dataFim +
+                ", regra=" + regra +
+                ", situacao=" + situacao +
+                ", totalReagendado=" + totalReagendado + "/" + totalPrevisto +
+                '}';
+    }
+}
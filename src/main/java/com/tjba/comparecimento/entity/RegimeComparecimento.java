@@ -15,7 +15,7 @@ import java.util.Objects;
 @Table(name = "regimes_comparecimento",
         indexes = {
                 @Index(name = "idx_regime_pessoa", columnList = "pessoa_monitorada_id"),
-                @Index(name = "idx_regime_proximo_comparecimento", columnList = "proximo_comparecimento")
+                @Index(name = "idx_regime_proximo_comparecimento", columnList = "proximo_comparecimento, pessoa_monitorada_id")
         }
 )
 public class RegimeComparecimento extends BaseEntity {
@@ -55,11 +55,6 @@ public class RegimeComparecimento extends BaseEntity {
     public void calcularProximoComparecimento() {
         if (dataComparecimentoInicial != null && periodicidadeDias != null) {
             this.proximoComparecimento = dataComparecimentoInicial.plusDays(periodicidadeDias);
-
-            // Atualizar o status da pessoa automaticamente
-            if (pessoaMonitorada != null) {
-                pessoaMonitorada.atualizarStatusAutomatico();
-            }
         }
     }
 
@@ -0,0 +1,102 @@
+package com.tjba.comparecimento.entity;
+
+import com.tjba.comparecimento.entity.base.BaseEntity;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que registra a resposta de uma requisição identificada por Idempotency-Key,
+ * permitindo que repetições do cliente recebam o resultado original.
+ */
+@Entity
+@Table(name = "requisicoes_idempotentes",
+        indexes = {
+                @Index(name = "idx_idempotencia_expira_em", columnList = "expira_em")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_idempotencia_chave", columnNames = "chave")
+        }
+)
+public class RequisicaoIdempotente extends BaseEntity {
+
+    @Column(name = "chave", nullable = false, length = 100)
+    private String chave;
+
+    @Column(name = "operacao", nullable = false, length = 50)
+    private String operacao;
+
+    @Column(name = "resposta", columnDefinition = "TEXT")
+    private String resposta;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    // === CONSTRUTORES ===
+    public RequisicaoIdempotente() {
+        super();
+    }
+
+    // === MÉTODOS UTILITÁRIOS ===
+    public boolean isConcluida() {
+        return resposta != null;
+    }
+
+    // === GETTERS E SETTERS ===
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public String getOperacao() {
+        return operacao;
+    }
+
+    public void setOperacao(String operacao) {
+        this.operacao = operacao;
+    }
+
+    public String getResposta() {
+        return resposta;
+    }
+
+    public void setResposta(String resposta) {
+        this.resposta = resposta;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    // === EQUALS E HASHCODE ===
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RequisicaoIdempotente that = (RequisicaoIdempotente) o;
+        return Objects.equals(chave, that.chave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chave);
+    }
+
+    @Override
+    public String toString() {
+        return "RequisicaoIdempotente{" +
+                "id=" + getId() +
+                ", chave='" + chave + '\'' +
+                ", operacao='" + operacao + '\'' +
+                ", expiraEm=" + expiraEm +
+                '}';
+    }
+}
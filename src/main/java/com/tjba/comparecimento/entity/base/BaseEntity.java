@@ -16,8 +16,10 @@ import java.util.Objects;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
 
+    // Sequência compartilhada com otimizador pooled: blocos de 50 IDs por chamada, permitindo batch de INSERT
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entidades_id_seq")
+    @SequenceGenerator(name = "entidades_id_seq", sequenceName = "entidades_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
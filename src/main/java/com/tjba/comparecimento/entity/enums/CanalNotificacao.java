@@ -0,0 +1,31 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define os canais de envio de notificações.
+ */
+public enum CanalNotificacao {
+
+    EMAIL("email", "E-mail"),
+    SMS("sms", "SMS");
+
+    private final String code;
+    private final String label;
+
+    CanalNotificacao(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,31 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define a regra de um reagendamento em massa (fechamento de fórum, greve, recesso).
+ */
+public enum RegraReagendamento {
+
+    PROXIMO_DIA_UTIL("proximo_dia_util", "Próximo dia útil após o fechamento"),
+    ADIAR_DIAS("adiar_dias", "Adiar N dias");
+
+    private final String code;
+    private final String label;
+
+    RegraReagendamento(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
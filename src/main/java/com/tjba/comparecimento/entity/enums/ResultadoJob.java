@@ -0,0 +1,32 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define o resultado da execução de um job agendado.
+ */
+public enum ResultadoJob {
+
+    EM_ANDAMENTO("em_andamento", "Em andamento"),
+    SUCESSO("sucesso", "Sucesso"),
+    FALHA("falha", "Falha");
+
+    private final String code;
+    private final String label;
+
+    ResultadoJob(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define a situação de um agendamento de horário de comparecimento.
+ */
+public enum SituacaoAgendamento {
+
+    ATIVO("ativo", "Ativo"),
+    REALIZADO("realizado", "Realizado"),
+    CANCELADO("cancelado", "Cancelado");
+
+    private final String code;
+    private final String label;
+
+    SituacaoAgendamento(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
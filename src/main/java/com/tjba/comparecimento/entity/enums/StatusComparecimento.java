@@ -1,5 +1,7 @@
 package com.tjba.comparecimento.entity.enums;
 
+import java.time.LocalDate;
+
 /**
  * Enum que define os status de comparecimento de uma pessoa.
  */
@@ -39,6 +41,13 @@ public enum StatusComparecimento {
         throw new IllegalArgumentException("Status inválido: " + value);
     }
 
+    /**
+     * Status calculado a partir do próximo comparecimento: inadimplente quando a data já passou
+     */
+    public static StatusComparecimento calcular(LocalDate proximoComparecimento, LocalDate hoje) {
+        return proximoComparecimento != null && proximoComparecimento.isBefore(hoje) ? INADIMPLENTE : EM_CONFORMIDADE;
+    }
+
     /**
      * Verifica se está em conformidade
      */
@@ -0,0 +1,40 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define a situação de uma notificação na fila de envio.
+ */
+public enum StatusNotificacao {
+
+    PENDENTE("pendente", "Pendente"),
+    ENVIADA("enviada", "Enviada"),
+    FALHA("falha", "Falha definitiva"),
+    CANCELADA("cancelada", "Cancelada");
+
+    private final String code;
+    private final String label;
+
+    StatusNotificacao(String code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Verifica se a notificação não será mais processada
+     */
+    public boolean isFinal() {
+        return this != PENDENTE;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
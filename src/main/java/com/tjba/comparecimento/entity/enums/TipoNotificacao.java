@@ -0,0 +1,35 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define os tipos de notificação, com o canal de envio.
+ * Tipos confidenciais (senhas e tokens) têm o conteúdo apagado ao sair da fila (enviados, cancelados ou com
+ * falha definitiva).
+ */
+public enum TipoNotificacao {
+
+    COMPARECIMENTO_REGISTRADO(CanalNotificacao.SMS, false),
+    JUSTIFICATIVA_REGISTRADA(CanalNotificacao.SMS, false),
+    COMPARECIMENTO_REAGENDADO(CanalNotificacao.SMS, false),
+    CADASTRO_PESSOA(CanalNotificacao.SMS, false),
+    INADIMPLENCIA(CanalNotificacao.SMS, false),
+    LEMBRETE_COMPARECIMENTO(CanalNotificacao.SMS, false),
+    BOAS_VINDAS_USUARIO(CanalNotificacao.EMAIL, true),
+    SENHA_TEMPORARIA(CanalNotificacao.EMAIL, true),
+    RESET_SENHA(CanalNotificacao.EMAIL, true);
+
+    private final CanalNotificacao canal;
+    private final boolean confidencial;
+
+    TipoNotificacao(CanalNotificacao canal, boolean confidencial) {
+        this.canal = canal;
+        this.confidencial = confidencial;
+    }
+
+    public CanalNotificacao getCanal() {
+        return canal;
+    }
+
+    public boolean isConfidencial() {
+        return confidencial;
+    }
+}
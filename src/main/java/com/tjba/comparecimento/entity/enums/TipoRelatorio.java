@@ -0,0 +1,58 @@
+package com.tjba.comparecimento.entity.enums;
+
+/**
+ * Enum que define os tipos de relatório gerados pelo sistema.
+ */
+public enum TipoRelatorio {
+
+    COMPARECIMENTOS_CSV("comparecimentos-csv", "Comparecimentos (CSV)", 180),
+    COMPARECIMENTOS_HTML("comparecimentos-html", "Comparecimentos (HTML)", 120),
+    COMPARECIMENTOS_COLUNAR("comparecimentos-colunar", "Comparecimentos (colunar)", 180),
+    PESSOAS_CSV("pessoas-csv", "Pessoas (CSV)", 120),
+    INADIMPLENTES("inadimplentes", "Inadimplentes", 60),
+    ESTATISTICAS_COMARCA("estatisticas-comarca", "Estatísticas por Comarca", 60),
+    PERSONALIZADO("personalizado", "Personalizado", 90),
+    DOSSIE("dossie", "Dossiê (ZIP)", 180);
+
+    private final String code;
+    private final String label;
+    private final int prazoPadraoSegundos;
+
+    TipoRelatorio(String code, String label, int prazoPadraoSegundos) {
+        this.code = code;
+        this.label = label;
+        this.prazoPadraoSegundos = prazoPadraoSegundos;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getPrazoPadraoSegundos() {
+        return prazoPadraoSegundos;
+    }
+
+    /**
+     * Converte string para enum (case insensitive)
+     */
+    public static TipoRelatorio fromString(String value) {
+        if (value == null) return null;
+
+        for (TipoRelatorio tipo : TipoRelatorio.values()) {
+            if (tipo.code.equalsIgnoreCase(value) ||
+                    tipo.name().equalsIgnoreCase(value)) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de relatório inválido: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
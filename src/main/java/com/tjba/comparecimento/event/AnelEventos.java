@@ -0,0 +1,81 @@
+package com.tjba.comparecimento.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular pré-alocado, com vários produtores e um único consumidor, sem lock.
+ * Produtores reservam a posição por CAS e a publicam gravando sua sequência; o consumidor lê
+ * posições publicadas em sequência contínua e as libera de uma vez ao final do lote.
+ */
+final class AnelEventos {
+
+    private final EventoDominio[] posicoes;
+    private final AtomicLongArray publicadas;
+    private final int mascara;
+
+    private final AtomicLong proximaEscrita = new AtomicLong();
+    private final AtomicLong proximaLeitura = new AtomicLong();
+
+    AnelEventos(int capacidade) {
+        if (Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2: " + capacidade);
+        }
+        this.posicoes = new EventoDominio[capacidade];
+        this.publicadas = new AtomicLongArray(capacidade);
+        this.mascara = capacidade - 1;
+    }
+
+    /**
+     * Inserir evento; retorna false com o buffer cheio (consumidor atrasado)
+     */
+    boolean oferecer(EventoDominio evento) {
+        long sequencia;
+        do {
+            sequencia = proximaEscrita.get();
+            if (sequencia - proximaLeitura.get() >= posicoes.length) {
+                return false;
+            }
+        } while (!proximaEscrita.compareAndSet(sequencia, sequencia + 1));
+
+        int indice = (int) sequencia & mascara;
+        posicoes[indice] = evento;
+        // Publicação: a gravação volátil torna o evento visível ao consumidor
+        publicadas.set(indice, sequencia + 1);
+        return true;
+    }
+
+    /**
+     * Mover para o destino até {@code maximo} eventos publicados, em ordem (somente a thread consumidora)
+     */
+    int drenar(List<EventoDominio> destino, int maximo) {
+        long inicio = proximaLeitura.get();
+        int lidos = 0;
+
+        while (lidos < maximo) {
+            long sequencia = inicio + lidos;
+            int indice = (int) sequencia & mascara;
+            // Posição reservada mas ainda não publicada: o lote termina aqui para preservar a ordem
+            if (publicadas.get(indice) != sequencia + 1) {
+                break;
+            }
+            destino.add(posicoes[indice]);
+            posicoes[indice] = null;
+            lidos++;
+        }
+
+        if (lidos > 0) {
+            proximaLeitura.lazySet(inicio + lidos);
+        }
+        return lidos;
+    }
+
+    int getCapacidade() {
+        return posicoes.length;
+    }
+
+    long getPendentes() {
+        return Math.max(0, proximaEscrita.get() - proximaLeitura.get());
+    }
+}
@@ -0,0 +1,230 @@
+package com.tjba.comparecimento.event;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Barramento de eventos de domínio em memória.
+ * Eventos publicados dentro de uma transação são retidos e entregues somente após o commit (descartados no rollback).
+ * Cada consumidor tem um buffer circular pré-alocado e uma thread própria que processa os eventos em lotes;
+ * com o buffer de um consumidor cheio, o evento é descartado apenas para ele e contabilizado nas métricas,
+ * sem bloquear quem publica.
+ */
+@Component
+public class BarramentoEventos implements SmartInitializingSingleton {
+
+    // Resolvidos após a criação dos singletons: consumidores podem depender de services que publicam eventos
+    @Autowired
+    private ObjectProvider<ConsumidorEventos> consumidores;
+
+    @Value("${eventos.capacidade:4096}")
+    private int capacidade;
+
+    @Value("${eventos.lote:256}")
+    private int tamanhoLote;
+
+    @Value("${eventos.espera-ociosa:50ms}")
+    private Duration esperaOciosa;
+
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong descartadosRollback = new AtomicLong();
+    private volatile List<Assinatura> assinaturas = List.of();
+
+    private volatile boolean ativo;
+
+    /**
+     * Métricas de um consumidor
+     */
+    public record MetricasConsumidor(String nome,
+                                     int capacidade,
+                                     long pendentes,
+                                     long recebidos,
+                                     long processados,
+                                     long descartados,
+                                     long falhas,
+                                     long lotes,
+                                     int maiorLote,
+                                     LocalDateTime ultimoProcessamento,
+                                     String ultimoErro) {
+    }
+
+    /**
+     * Métricas do barramento
+     */
+    public record MetricasBarramento(long publicados, long descartadosRollback, List<MetricasConsumidor> consumidores) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ativo = true;
+        List<Assinatura> iniciadas = new ArrayList<>();
+        consumidores.orderedStream().forEach(consumidor -> {
+            Assinatura assinatura = new Assinatura(consumidor, new AnelEventos(capacidade));
+            assinatura.thread = new Thread(assinatura::executar, "eventos-" + consumidor.getNome());
+            assinatura.thread.setDaemon(true);
+            iniciadas.add(assinatura);
+            assinatura.thread.start();
+        });
+        assinaturas = List.copyOf(iniciadas);
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        // Consumidores drenam o que já foi publicado antes de encerrar
+        ativo = false;
+        for (Assinatura assinatura : assinaturas) {
+            LockSupport.unpark(assinatura.thread);
+        }
+        for (Assinatura assinatura : assinaturas) {
+            assinatura.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Publicar evento: após o commit, se houver transação ativa; imediatamente, caso contrário
+     */
+    public void publicar(EventoDominio evento) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventosDaTransacao().add(evento);
+        } else {
+            entregar(evento);
+        }
+    }
+
+    public MetricasBarramento getMetricas() {
+        List<MetricasConsumidor> metricas = new ArrayList<>();
+        for (Assinatura assinatura : assinaturas) {
+            metricas.add(assinatura.getMetricas());
+        }
+        return new MetricasBarramento(publicados.get(), descartadosRollback.get(), metricas);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    @SuppressWarnings("unchecked")
+    private List<EventoDominio> eventosDaTransacao() {
+        List<EventoDominio> eventos = (List<EventoDominio>) TransactionSynchronizationManager.getResource(this);
+        if (eventos != null) {
+            return eventos;
+        }
+
+        // Primeiro evento da transação: reter até a conclusão
+        List<EventoDominio> novos = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, novos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BarramentoEventos.this);
+                if (status == STATUS_COMMITTED) {
+                    novos.forEach(BarramentoEventos.this::entregar);
+                } else {
+                    descartadosRollback.addAndGet(novos.size());
+                }
+            }
+        });
+        return novos;
+    }
+
+    private void entregar(EventoDominio evento) {
+        publicados.incrementAndGet();
+        for (Assinatura assinatura : assinaturas) {
+            assinatura.oferecer(evento);
+        }
+    }
+
+    /**
+     * Consumidor com seu buffer, thread e contadores
+     */
+    private final class Assinatura {
+
+        private final ConsumidorEventos consumidor;
+        private final Set<Class<? extends EventoDominio>> tiposEvento;
+        private final AnelEventos anel;
+        private Thread thread;
+
+        private volatile boolean aguardando;
+        private final AtomicLong recebidos = new AtomicLong();
+        private final AtomicLong descartados = new AtomicLong();
+        private volatile long processados;
+        private volatile long falhas;
+        private volatile long lotes;
+        private volatile int maiorLote;
+        private volatile LocalDateTime ultimoProcessamento;
+        private volatile String ultimoErro;
+
+        Assinatura(ConsumidorEventos consumidor, AnelEventos anel) {
+            this.consumidor = consumidor;
+            this.tiposEvento = Set.copyOf(consumidor.getTiposEvento());
+            this.anel = anel;
+        }
+
+        void oferecer(EventoDominio evento) {
+            if (!tiposEvento.contains(evento.getClass())) {
+                return;
+            }
+            if (!anel.oferecer(evento)) {
+                descartados.incrementAndGet();
+                return;
+            }
+            recebidos.incrementAndGet();
+            if (aguardando) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        void executar() {
+            List<EventoDominio> lote = new ArrayList<>(tamanhoLote);
+
+            while (true) {
+                lote.clear();
+                if (anel.drenar(lote, tamanhoLote) == 0) {
+                    if (!ativo) {
+                        return;
+                    }
+                    // Sem eventos: aguardar sinal do produtor; posição reservada e ainda não publicada: ceder a CPU
+                    aguardando = true;
+                    if (anel.getPendentes() == 0) {
+                        LockSupport.parkNanos(this, esperaOciosa.toNanos());
+                    } else {
+                        Thread.yield();
+                    }
+                    aguardando = false;
+                    continue;
+                }
+
+                try {
+                    consumidor.processar(lote);
+                } catch (RuntimeException e) {
+                    // Erro isolado neste consumidor: o lote é descartado e o processamento continua
+                    falhas++;
+                    ultimoErro = e.getMessage();
+                }
+                processados += lote.size();
+                lotes++;
+                maiorLote = Math.max(maiorLote, lote.size());
+                ultimoProcessamento = LocalDateTime.now();
+            }
+        }
+
+        MetricasConsumidor getMetricas() {
+            return new MetricasConsumidor(consumidor.getNome(), anel.getCapacidade(), anel.getPendentes(),
+                    recebidos.get(), processados, descartados.get(), falhas, lotes, maiorLote,
+                    ultimoProcessamento, ultimoErro);
+        }
+    }
+}
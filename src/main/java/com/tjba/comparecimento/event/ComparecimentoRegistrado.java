@@ -0,0 +1,11 @@
+package com.tjba.comparecimento.event;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado quando um comparecimento (presencial ou online) é registrado.
+ * Implica status EM_CONFORMIDADE e o novo próximo comparecimento informado.
+ */
+public record ComparecimentoRegistrado(Long pessoaId, Long historicoId, LocalDate dataComparecimento,
+                                       LocalDate proximoComparecimento) implements EventoDominio {
+}
@@ -0,0 +1,26 @@
+package com.tjba.comparecimento.event;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consumidor do {@link BarramentoEventos}. Cada consumidor tem fila e thread próprias:
+ * lentidão ou erro em um deles não afeta os demais nem quem publica.
+ */
+public interface ConsumidorEventos {
+
+    /**
+     * Nome do consumidor (thread e métricas)
+     */
+    String getNome();
+
+    /**
+     * Tipos de evento recebidos
+     */
+    Set<Class<? extends EventoDominio>> getTiposEvento();
+
+    /**
+     * Processar lote de eventos, na ordem de publicação
+     */
+    void processar(List<EventoDominio> lote);
+}
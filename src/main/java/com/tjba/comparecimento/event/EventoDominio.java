@@ -0,0 +1,12 @@
+package com.tjba.comparecimento.event;
+
+/**
+ * Evento de domínio publicado no {@link BarramentoEventos} após o commit da transação que o originou.
+ */
+public interface EventoDominio {
+
+    /**
+     * Pessoa monitorada afetada
+     */
+    Long pessoaId();
+}
@@ -0,0 +1,7 @@
+package com.tjba.comparecimento.event;
+
+/**
+ * Evento publicado quando os dados cadastrais de uma pessoa monitorada são alterados.
+ */
+public record PessoaAtualizada(Long pessoaId) implements EventoDominio {
+}
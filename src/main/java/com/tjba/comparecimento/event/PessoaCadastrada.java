@@ -0,0 +1,7 @@
+package com.tjba.comparecimento.event;
+
+/**
+ * Evento publicado quando uma pessoa monitorada é cadastrada.
+ */
+public record PessoaCadastrada(Long pessoaId) implements EventoDominio {
+}
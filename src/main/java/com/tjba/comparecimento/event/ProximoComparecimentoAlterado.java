@@ -0,0 +1,9 @@
+package com.tjba.comparecimento.event;
+
+import java.time.LocalDate;
+
+/**
+ * Evento publicado quando a data do próximo comparecimento é alterada (reagendamento ou justificativa).
+ */
+public record ProximoComparecimentoAlterado(Long pessoaId, LocalDate proximoComparecimento) implements EventoDominio {
+}
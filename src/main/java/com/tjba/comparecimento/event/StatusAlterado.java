@@ -0,0 +1,10 @@
+package com.tjba.comparecimento.event;
+
+import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+
+/**
+ * Evento publicado quando o status de comparecimento de uma pessoa muda (fora do registro de comparecimento).
+ */
+public record StatusAlterado(Long pessoaId, StatusComparecimento statusAnterior,
+                             StatusComparecimento novoStatus) implements EventoDominio {
+}
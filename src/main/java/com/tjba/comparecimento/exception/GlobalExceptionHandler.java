@@ -1,6 +1,7 @@
 package com.tjba.comparecimento.exception;
 
 import com.tjba.comparecimento.dto.response.ApiResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -36,6 +37,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * Tratamento para RelatorioCanceladoException (prazo excedido ou cliente desconectado)
+     */
+    @ExceptionHandler(RelatorioCanceladoException.class)
+    public ResponseEntity<ApiResponse<String>> handleRelatorioCanceladoException(RelatorioCanceladoException ex) {
+        ApiResponse<String> response = ApiResponse.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    /**
+     * Tratamento para OptimisticLockingFailureException (registro alterado por outra operação; tentativas esgotadas)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ApiResponse<String> response = ApiResponse.error("Registro alterado por outra operação; tente novamente", HttpStatus.CONFLICT);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * Tratamento para BadCredentialsException
      */
@@ -0,0 +1,44 @@
+package com.tjba.comparecimento.exception;
+
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+
+/**
+ * Exceção para relatórios interrompidos antes do fim (prazo excedido ou cliente desconectado).
+ */
+public class RelatorioCanceladoException extends RuntimeException {
+
+    public enum Motivo {
+        PRAZO_EXCEDIDO,
+        CLIENTE_DESCONECTADO
+    }
+
+    private final TipoRelatorio tipoRelatorio;
+    private final Motivo motivo;
+
+    public RelatorioCanceladoException(TipoRelatorio tipoRelatorio, Motivo motivo) {
+        super(buildMessage(tipoRelatorio, motivo));
+        this.tipoRelatorio = tipoRelatorio;
+        this.motivo = motivo;
+    }
+
+    public RelatorioCanceladoException(TipoRelatorio tipoRelatorio, Motivo motivo, Throwable cause) {
+        super(buildMessage(tipoRelatorio, motivo), cause);
+        this.tipoRelatorio = tipoRelatorio;
+        this.motivo = motivo;
+    }
+
+    private static String buildMessage(TipoRelatorio tipoRelatorio, Motivo motivo) {
+        return switch (motivo) {
+            case PRAZO_EXCEDIDO -> "Prazo de geração do relatório " + tipoRelatorio.getLabel() + " excedido";
+            case CLIENTE_DESCONECTADO -> "Geração do relatório " + tipoRelatorio.getLabel() + " cancelada: cliente desconectado";
+        };
+    }
+
+    public TipoRelatorio getTipoRelatorio() {
+        return tipoRelatorio;
+    }
+
+    public Motivo getMotivo() {
+        return motivo;
+    }
+}
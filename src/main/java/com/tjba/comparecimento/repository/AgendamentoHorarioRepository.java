@@ -0,0 +1,32 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.AgendamentoHorario;
+import com.tjba.comparecimento.entity.enums.SituacaoAgendamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para entidade AgendamentoHorario.
+ */
+@Repository
+public interface AgendamentoHorarioRepository extends JpaRepository<AgendamentoHorario, Long> {
+
+    /**
+     * Buscar o agendamento ativo da pessoa
+     */
+    @Query("SELECT a FROM AgendamentoHorario a WHERE a.pessoaMonitorada.id = :pessoaId AND a.situacao = :situacao")
+    Optional<AgendamentoHorario> findByPessoaAndSituacao(@Param("pessoaId") Long pessoaId,
+                                                         @Param("situacao") SituacaoAgendamento situacao);
+
+    /**
+     * Buscar os agendamentos ativos de um conjunto de pessoas
+     */
+    @Query("SELECT a FROM AgendamentoHorario a WHERE a.pessoaMonitorada.id IN :pessoaIds AND a.situacao = 'ATIVO'")
+    List<AgendamentoHorario> findAtivosByPessoaIds(@Param("pessoaIds") Collection<Long> pessoaIds);
+}
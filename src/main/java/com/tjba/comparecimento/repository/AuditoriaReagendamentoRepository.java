@@ -0,0 +1,19 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.AuditoriaReagendamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository para entidade AuditoriaReagendamento.
+ */
+@Repository
+public interface AuditoriaReagendamentoRepository extends JpaRepository<AuditoriaReagendamento, Long> {
+
+    /**
+     * Lotes de um reagendamento em massa, na ordem de execução
+     */
+    List<AuditoriaReagendamento> findByReagendamentoIdOrderByIdAsc(Long reagendamentoId);
+}
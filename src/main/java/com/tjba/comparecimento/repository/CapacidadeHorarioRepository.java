@@ -0,0 +1,75 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.CapacidadeHorario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Repository para entidade CapacidadeHorario.
+ */
+@Repository
+public interface CapacidadeHorarioRepository extends JpaRepository<CapacidadeHorario, Long> {
+
+    /**
+     * Horários já utilizados da vara no dia (ausentes = capacidade padrão, nenhum ocupado)
+     */
+    List<CapacidadeHorario> findByComarcaAndVaraAndData(String comarca, String vara, LocalDate data);
+
+    /**
+     * Criar o horário com a capacidade padrão, se ainda não existir
+     */
+    @Modifying
+    @Query(value = "INSERT INTO capacidade_horarios (comarca, vara, data, horario, capacidade, ocupados, " +
+            "criado_em, version) VALUES (:comarca, :vara, :data, :horario, :capacidade, 0, CURRENT_TIMESTAMP, 0) " +
+            "ON CONFLICT ON CONSTRAINT uk_capacidade_horario DO NOTHING", nativeQuery = true)
+    int inserirSeAusente(@Param("comarca") String comarca,
+                         @Param("vara") String vara,
+                         @Param("data") LocalDate data,
+                         @Param("horario") LocalTime horario,
+                         @Param("capacidade") int capacidade);
+
+    /**
+     * Ocupar uma vaga somente se houver vaga. Retorna [ocupados, capacidade] após o comando, ou nenhuma linha
+     * se o horário está lotado.
+     */
+    @Query(value = "WITH ocupado AS (" +
+            "    UPDATE capacidade_horarios SET ocupados = ocupados + 1, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(version, 0) + 1 " +
+            "    WHERE comarca = :comarca AND vara = :vara AND data = :data AND horario = :horario " +
+            "    AND ocupados < capacidade " +
+            "    RETURNING ocupados, capacidade" +
+            ") SELECT ocupados, capacidade FROM ocupado", nativeQuery = true)
+    List<Object[]> ocupar(@Param("comarca") String comarca,
+                          @Param("vara") String vara,
+                          @Param("data") LocalDate data,
+                          @Param("horario") LocalTime horario);
+
+    /**
+     * Liberar uma vaga. Retorna [ocupados, capacidade] após o comando.
+     */
+    @Query(value = "WITH liberado AS (" +
+            "    UPDATE capacidade_horarios SET ocupados = ocupados - 1, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(version, 0) + 1 " +
+            "    WHERE comarca = :comarca AND vara = :vara AND data = :data AND horario = :horario " +
+            "    AND ocupados > 0 " +
+            "    RETURNING ocupados, capacidade" +
+            ") SELECT ocupados, capacidade FROM liberado", nativeQuery = true)
+    List<Object[]> liberar(@Param("comarca") String comarca,
+                           @Param("vara") String vara,
+                           @Param("data") LocalDate data,
+                           @Param("horario") LocalTime horario);
+
+    /**
+     * Remover horários de dias já passados
+     */
+    @Modifying
+    @Query("DELETE FROM CapacidadeHorario c WHERE c.data < :data")
+    int deleteByDataAntes(@Param("data") LocalDate data);
+}
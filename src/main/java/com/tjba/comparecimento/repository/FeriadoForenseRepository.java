@@ -0,0 +1,24 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.FeriadoForense;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository para entidade FeriadoForense.
+ */
+@Repository
+public interface FeriadoForenseRepository extends JpaRepository<FeriadoForense, Long> {
+
+    /**
+     * Buscar suspensões anuais e as que tocam o intervalo de datas
+     */
+    @Query("SELECT f FROM FeriadoForense f " +
+            "WHERE f.anual = true OR (f.dataInicio <= :fim AND f.dataFim >= :inicio)")
+    List<FeriadoForense> findVigentesEntre(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
@@ -1,18 +1,25 @@
 package com.tjba.comparecimento.repository;
 
+import com.tjba.comparecimento.dto.response.LinhaExportacaoComparecimento;
+import com.tjba.comparecimento.dto.response.LinhaRelatorioComparecimento;
 import com.tjba.comparecimento.entity.HistoricoComparecimento;
 import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para entidade HistoricoComparecimento.
@@ -37,6 +44,93 @@ public interface HistoricoComparecimentoRepository extends JpaRepository<Histori
             "ORDER BY h.dataComparecimento DESC, h.horaComparecimento DESC")
     Optional<HistoricoComparecimento> findLastComparecimentoByPessoa(@Param("pessoaId") Long pessoaId);
 
+    /**
+     * Buscar históricos de um lote de pessoas, agrupados por pessoa e do mais recente ao mais antigo
+     */
+    @Query("SELECT h FROM HistoricoComparecimento h WHERE h.pessoaMonitorada.id IN :pessoaIds " +
+            "ORDER BY h.pessoaMonitorada.id, h.dataComparecimento DESC, h.horaComparecimento DESC")
+    List<HistoricoComparecimento> findByPessoaIdsOrdenado(@Param("pessoaIds") Collection<Long> pessoaIds);
+
+    /**
+     * Inserir comparecimentos presenciais de um lote em um único comando (arrays alinhados por posição).
+     * Pessoas que já compareceram na data (índice único uk_historico_comparecimento_dia) são ignoradas sem abortar
+     * o comando; o agendamento de horário ativo da data dos inseridos é concluído.
+     * Retorna [id do histórico, ID da pessoa] apenas dos inseridos.
+     */
+    @Query(value = "WITH novo AS (" +
+            "    INSERT INTO historico_comparecimentos (pessoa_monitorada_id, data_comparecimento, " +
+            "        hora_comparecimento, tipo_validacao, validado_por, observacoes, criado_em, version) " +
+            "    SELECT item.pessoa_id, :data, :hora, 'PRESENCIAL', item.validado_por, item.observacoes, " +
+            "        CURRENT_TIMESTAMP, 0 " +
+            "    FROM unnest(CAST(:pessoaIds AS bigint[]), CAST(:validadores AS text[]), " +
+            "        CAST(:observacoes AS text[])) AS item(pessoa_id, validado_por, observacoes) " +
+            "    ON CONFLICT (pessoa_monitorada_id, data_comparecimento) " +
+            "    WHERE tipo_validacao IN ('PRESENCIAL', 'ONLINE') DO NOTHING " +
+            "    RETURNING id, pessoa_monitorada_id" +
+            "), realizados AS (" +
+            "    UPDATE agendamentos_horario a SET situacao = 'REALIZADO', " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(a.version, 0) + 1 " +
+            "    FROM novo WHERE a.pessoa_monitorada_id = novo.pessoa_monitorada_id AND a.situacao = 'ATIVO' " +
+            "    AND a.data = :data" +
+            ") " +
+            "SELECT novo.id, novo.pessoa_monitorada_id FROM novo",
+            nativeQuery = true)
+    List<Object[]> inserirPresenciaisEmLote(@Param("data") LocalDate data,
+                                            @Param("hora") LocalTime hora,
+                                            @Param("pessoaIds") Long[] pessoaIds,
+                                            @Param("validadores") String[] validadores,
+                                            @Param("observacoes") String[] observacoes);
+
+    /**
+     * Registrar comparecimento (presencial ou online) em um único comando: insere o histórico, grava o próximo
+     * comparecimento (já calculado pelo calendário forense e nivelamento), remove a definição manual de status
+     * (o status passa a decorrer da nova data) e encerra o agendamento de horário ativo: concluído se for da data
+     * do comparecimento; senão (comparecimento antecipado), cancelado com a vaga liberada.
+     * Retorna o id do histórico, ou nenhuma linha se a pessoa não tem regime ou já compareceu na data
+     * (índice único uk_historico_comparecimento_dia).
+     */
+    @Query(value = "WITH novo AS (" +
+            "    INSERT INTO historico_comparecimentos (pessoa_monitorada_id, data_comparecimento, " +
+            "        hora_comparecimento, tipo_validacao, validado_por, observacoes, criado_em, version) " +
+            "    SELECT rc.pessoa_monitorada_id, :data, :hora, :tipoValidacao, :validadoPor, :observacoes, " +
+            "        CURRENT_TIMESTAMP, 0 " +
+            "    FROM regimes_comparecimento rc WHERE rc.pessoa_monitorada_id = :pessoaId " +
+            "    ON CONFLICT (pessoa_monitorada_id, data_comparecimento) " +
+            "    WHERE tipo_validacao IN ('PRESENCIAL', 'ONLINE') DO NOTHING " +
+            "    RETURNING id, pessoa_monitorada_id" +
+            "), regime AS (" +
+            "    UPDATE regimes_comparecimento rc " +
+            "    SET proximo_comparecimento = :proximoComparecimento, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(rc.version, 0) + 1 " +
+            "    FROM novo WHERE rc.pessoa_monitorada_id = novo.pessoa_monitorada_id " +
+            "    RETURNING rc.pessoa_monitorada_id" +
+            "), status AS (" +
+            "    UPDATE pessoas_monitoradas p SET status_manual = NULL " +
+            "    FROM novo WHERE p.id = novo.pessoa_monitorada_id AND p.status_manual IS NOT NULL" +
+            "), agendamento AS (" +
+            "    UPDATE agendamentos_horario a " +
+            "    SET situacao = CASE WHEN a.data = :data THEN 'REALIZADO' ELSE 'CANCELADO' END, " +
+            "        cancelado_em = CASE WHEN a.data = :data THEN NULL ELSE CURRENT_TIMESTAMP END, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(a.version, 0) + 1 " +
+            "    FROM novo WHERE a.pessoa_monitorada_id = novo.pessoa_monitorada_id AND a.situacao = 'ATIVO' " +
+            "    AND a.data <> :proximoComparecimento " +
+            "    RETURNING a.comarca, a.vara, a.data, a.horario, a.situacao" +
+            "), vaga AS (" +
+            "    UPDATE capacidade_horarios c SET ocupados = c.ocupados - 1, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(c.version, 0) + 1 " +
+            "    FROM agendamento a WHERE a.situacao = 'CANCELADO' AND c.comarca = a.comarca AND c.vara = a.vara " +
+            "    AND c.data = a.data AND c.horario = a.horario AND c.ocupados > 0" +
+            ") " +
+            "SELECT novo.id FROM novo JOIN regime ON regime.pessoa_monitorada_id = novo.pessoa_monitorada_id",
+            nativeQuery = true)
+    List<Long> registrarComparecimentoComReagendamento(@Param("pessoaId") Long pessoaId,
+                                                       @Param("data") LocalDate data,
+                                                       @Param("hora") LocalTime hora,
+                                                       @Param("tipoValidacao") String tipoValidacao,
+                                                       @Param("validadoPor") String validadoPor,
+                                                       @Param("observacoes") String observacoes,
+                                                       @Param("proximoComparecimento") LocalDate proximoComparecimento);
+
     /**
      * Verificar se existe comparecimento na data para pessoa
      */
@@ -83,6 +177,60 @@ public interface HistoricoComparecimentoRepository extends JpaRepository<Histori
                                                                     @Param("dataFim") LocalDate dataFim,
                                                                     @Param("comarca") String comarca);
 
+    /**
+     * Percorrer comparecimentos por período para relatório em streaming (cursor, sem entidades gerenciadas)
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.tjba.comparecimento.dto.response.LinhaRelatorioComparecimento(" +
+            "h.id, h.dataComparecimento, h.horaComparecimento, h.tipoValidacao, h.validadoPor, h.observacoes, " +
+            "p.id, p.nomeCompleto, p.cpf, pj.numeroProcesso, pj.vara, pj.comarca) " +
+            "FROM HistoricoComparecimento h " +
+            "JOIN h.pessoaMonitorada p " +
+            "JOIN p.processoJudicial pj " +
+            "WHERE h.dataComparecimento BETWEEN :dataInicio AND :dataFim " +
+            "AND (:comarca IS NULL OR pj.comarca = :comarca) " +
+            "ORDER BY h.dataComparecimento DESC, h.horaComparecimento DESC")
+    Stream<LinhaRelatorioComparecimento> streamByPeriodoForReport(@Param("dataInicio") LocalDate dataInicio,
+                                                                  @Param("dataFim") LocalDate dataFim,
+                                                                  @Param("comarca") String comarca);
+
+    /**
+     * Percorrer comparecimentos por período para exportação colunar (cursor), ordenados por data, comarca e vara
+     * para formar sequências longas nas colunas codificadas por repetição
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.tjba.comparecimento.dto.response.LinhaExportacaoComparecimento(" +
+            "h.id, h.dataComparecimento, h.horaComparecimento, h.tipoValidacao, h.validadoPor, " +
+            "p.id, pj.numeroProcesso, pj.vara, pj.comarca) " +
+            "FROM HistoricoComparecimento h " +
+            "JOIN h.pessoaMonitorada p " +
+            "JOIN p.processoJudicial pj " +
+            "WHERE h.dataComparecimento BETWEEN :dataInicio AND :dataFim " +
+            "AND (:comarca IS NULL OR pj.comarca = :comarca) " +
+            "ORDER BY h.dataComparecimento, pj.comarca, pj.vara, h.id")
+    Stream<LinhaExportacaoComparecimento> streamByPeriodoForExport(@Param("dataInicio") LocalDate dataInicio,
+                                                                   @Param("dataFim") LocalDate dataFim,
+                                                                   @Param("comarca") String comarca);
+
+    /**
+     * Contar comparecimentos por tipo no período com filtro de comarca
+     */
+    @Query("SELECT h.tipoValidacao, COUNT(h) FROM HistoricoComparecimento h " +
+            "JOIN h.pessoaMonitorada p " +
+            "JOIN p.processoJudicial pj " +
+            "WHERE h.dataComparecimento BETWEEN :dataInicio AND :dataFim " +
+            "AND (:comarca IS NULL OR pj.comarca = :comarca) " +
+            "GROUP BY h.tipoValidacao")
+    List<Object[]> countByTipoInPeriodAndComarca(@Param("dataInicio") LocalDate dataInicio,
+                                                 @Param("dataFim") LocalDate dataFim,
+                                                 @Param("comarca") String comarca);
+
     /**
      * Contar comparecimentos por período
      */
@@ -0,0 +1,64 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.JobExecucao;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para entidade JobExecucao.
+ */
+@Repository
+public interface JobExecucaoRepository extends JpaRepository<JobExecucao, Long> {
+
+    /**
+     * Verificar se a partição do job já foi executada no período de referência
+     */
+    boolean existsByJobAndReferenciaAndParticaoAndResultado(String job, String referencia, Integer particao,
+                                                            ResultadoJob resultado);
+
+    /**
+     * Encerrar como falha execuções da partição que ficaram em andamento (instância interrompida).
+     * Chamado com o lock da partição obtido, quando nenhuma outra instância pode estar executando-a.
+     */
+    @Modifying
+    @Query("UPDATE JobExecucao j SET j.resultado = com.tjba.comparecimento.entity.enums.ResultadoJob.FALHA, " +
+            "j.fim = :agora, j.erro = 'Execução interrompida', j.atualizadoEm = :agora, j.version = j.version + 1 " +
+            "WHERE j.job = :job AND j.particao = :particao " +
+            "AND j.resultado = com.tjba.comparecimento.entity.enums.ResultadoJob.EM_ANDAMENTO")
+    int encerrarInterrompidas(@Param("job") String job,
+                              @Param("particao") Integer particao,
+                              @Param("agora") LocalDateTime agora);
+
+    /**
+     * Referências do job (a partir da informada) com todas as partições concluídas com sucesso
+     */
+    @Query("SELECT j.referencia FROM JobExecucao j WHERE j.job = :job AND j.referencia >= :desde " +
+            "AND j.resultado = com.tjba.comparecimento.entity.enums.ResultadoJob.SUCESSO " +
+            "GROUP BY j.referencia HAVING COUNT(DISTINCT j.particao) >= :totalParticoes")
+    List<String> findReferenciasConcluidas(@Param("job") String job,
+                                           @Param("desde") String desde,
+                                           @Param("totalParticoes") long totalParticoes);
+
+    /**
+     * Primeira referência registrada pelo job (nula se nunca executado)
+     */
+    @Query("SELECT MIN(j.referencia) FROM JobExecucao j WHERE j.job = :job")
+    String findPrimeiraReferencia(@Param("job") String job);
+
+    /**
+     * Últimas execuções (todos os jobs)
+     */
+    List<JobExecucao> findTop100ByOrderByInicioDesc();
+
+    /**
+     * Últimas execuções de um job
+     */
+    List<JobExecucao> findTop100ByJobOrderByInicioDesc(String job);
+}
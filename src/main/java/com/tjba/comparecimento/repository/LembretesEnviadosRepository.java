@@ -0,0 +1,32 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.LembretesEnviados;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repository para entidade LembretesEnviados.
+ */
+@Repository
+public interface LembretesEnviadosRepository extends JpaRepository<LembretesEnviados, Long> {
+
+    /**
+     * Buscar os lembretes enviados da data na partição
+     */
+    Optional<LembretesEnviados> findByDataComparecimentoAndParticaoAndTotalParticoes(LocalDate dataComparecimento,
+                                                                                    Integer particao,
+                                                                                    Integer totalParticoes);
+
+    /**
+     * Remover os registros de datas de comparecimento já passadas
+     */
+    @Modifying
+    @Query("DELETE FROM LembretesEnviados l WHERE l.dataComparecimento < :data")
+    int deleteByDataComparecimentoAntes(@Param("data") LocalDate data);
+}
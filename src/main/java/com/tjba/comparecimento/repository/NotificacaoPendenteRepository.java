@@ -0,0 +1,54 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.enums.StatusNotificacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para entidade NotificacaoPendente.
+ */
+@Repository
+public interface NotificacaoPendenteRepository extends JpaRepository<NotificacaoPendente, Long> {
+
+    /**
+     * Bloquear lote de notificações prontas para envio.
+     * SKIP LOCKED: instâncias concorrentes do despacho recebem lotes disjuntos sem esperar umas pelas outras.
+     */
+    @Query(value = "SELECT * FROM notificacoes_pendentes " +
+            "WHERE status = 'PENDENTE' AND proxima_tentativa <= :agora " +
+            "ORDER BY proxima_tentativa LIMIT :limite FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<NotificacaoPendente> findProntasParaEnvio(@Param("agora") LocalDateTime agora,
+                                                   @Param("limite") int limite);
+
+    /**
+     * Contar notificações por status
+     */
+    long countByStatus(StatusNotificacao status);
+
+    /**
+     * Devolver à fila as notificações com falha definitiva; as confidenciais, já sem conteúdo, ficam fora
+     * (a senha ou o token deve ser gerado novamente)
+     */
+    @Modifying
+    @Query("UPDATE NotificacaoPendente n SET n.status = com.tjba.comparecimento.entity.enums.StatusNotificacao.PENDENTE, " +
+            "n.tentativas = 0, n.proximaTentativa = :agora, n.atualizadoEm = :agora, n.version = n.version + 1 " +
+            "WHERE n.status = com.tjba.comparecimento.entity.enums.StatusNotificacao.FALHA AND n.conteudo IS NOT NULL")
+    int reenfileirarFalhas(@Param("agora") LocalDateTime agora);
+
+    /**
+     * Remover notificações encerradas antes do limite
+     */
+    @Modifying
+    @Query("DELETE FROM NotificacaoPendente n WHERE n.status IN :status AND n.atualizadoEm < :limite")
+    int deleteEncerradasAntes(@Param("status") Collection<StatusNotificacao> status,
+                              @Param("limite") LocalDateTime limite);
+}
@@ -1,5 +1,6 @@
 package com.tjba.comparecimento.repository;
 
+import com.tjba.comparecimento.dto.response.PessoaEsperadaCheckIn;
 import com.tjba.comparecimento.entity.PessoaMonitorada;
 import com.tjba.comparecimento.entity.enums.StatusComparecimento;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,14 @@ import java.util.Optional;
 @Repository
 public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitorada, Long> {
 
+    /**
+     * Status calculado na consulta: definição manual, se houver; senão, inadimplente quando o próximo
+     * comparecimento é anterior a :hoje. Requer p.regimeComparecimento associado como rc.
+     */
+    String STATUS_CALCULADO = "COALESCE(p.statusManual, CASE WHEN rc.proximoComparecimento < :hoje " +
+            "THEN com.tjba.comparecimento.entity.enums.StatusComparecimento.INADIMPLENTE " +
+            "ELSE com.tjba.comparecimento.entity.enums.StatusComparecimento.EM_CONFORMIDADE END)";
+
     /**
      * Buscar pessoa por CPF
      */
@@ -75,7 +85,7 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
             "WHERE (:nome IS NULL OR LOWER(p.nomeCompleto) LIKE LOWER(CONCAT('%', :nome, '%'))) AND " +
             "(:cpf IS NULL OR p.cpf = :cpf) AND " +
             "(:rg IS NULL OR p.rg = :rg) AND " +
-            "(:status IS NULL OR p.status = :status) AND " +
+            "(:status IS NULL OR " + STATUS_CALCULADO + " = :status) AND " +
             "(:comarca IS NULL OR LOWER(pj.comarca) LIKE LOWER(CONCAT('%', :comarca, '%'))) AND " +
             "(:proximoComparecimento IS NULL OR rc.proximoComparecimento = :proximoComparecimento)")
     Page<PessoaMonitorada> findAllWithFilters(@Param("nome") String nome,
@@ -84,17 +94,24 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
                                               @Param("status") StatusComparecimento status,
                                               @Param("comarca") String comarca,
                                               @Param("proximoComparecimento") LocalDate proximoComparecimento,
+                                              @Param("hoje") LocalDate hoje,
                                               Pageable pageable);
 
     /**
-     * Buscar pessoas por status
+     * Buscar pessoas inadimplentes: definidas manualmente ou, sem definição manual, com próximo comparecimento
+     * anterior a hoje (intervalo no índice idx_regime_proximo_comparecimento)
      */
-    List<PessoaMonitorada> findByStatus(StatusComparecimento status);
+    @Query("SELECT p FROM PessoaMonitorada p LEFT JOIN p.regimeComparecimento rc " +
+            "WHERE p.statusManual = com.tjba.comparecimento.entity.enums.StatusComparecimento.INADIMPLENTE " +
+            "OR (p.statusManual IS NULL AND rc.proximoComparecimento < :hoje)")
+    List<PessoaMonitorada> findInadimplentes(@Param("hoje") LocalDate hoje);
 
     /**
-     * Contar pessoas por status
+     * Contar pessoas por status (calculado na data informada)
      */
-    Long countByStatus(StatusComparecimento status);
+    @Query("SELECT COUNT(p) FROM PessoaMonitorada p LEFT JOIN p.regimeComparecimento rc " +
+            "WHERE " + STATUS_CALCULADO + " = :status")
+    Long countByStatus(@Param("status") StatusComparecimento status, @Param("hoje") LocalDate hoje);
 
     /**
      * Buscar pessoas com próximo comparecimento na data
@@ -108,6 +125,37 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
     @Query("SELECT COUNT(p) FROM PessoaMonitorada p JOIN p.regimeComparecimento rc WHERE rc.proximoComparecimento = :data")
     Long countByProximoComparecimento(@Param("data") LocalDate data);
 
+    /**
+     * Projeção compacta para check-in das pessoas com comparecimento previsto até a data (inclusive atrasadas)
+     */
+    @Query("SELECT new com.tjba.comparecimento.dto.response.PessoaEsperadaCheckIn(" +
+            "p.id, p.nomeCompleto, p.cpf, p.rg, rc.proximoComparecimento, rc.periodicidadeDias, " +
+            STATUS_CALCULADO + ") " +
+            "FROM PessoaMonitorada p JOIN p.regimeComparecimento rc WHERE rc.proximoComparecimento <= :hoje")
+    List<PessoaEsperadaCheckIn> findEsperadasCheckInAte(@Param("hoje") LocalDate hoje);
+
+    /**
+     * Projeção compacta para check-in de um conjunto de pessoas
+     */
+    @Query("SELECT new com.tjba.comparecimento.dto.response.PessoaEsperadaCheckIn(" +
+            "p.id, p.nomeCompleto, p.cpf, p.rg, rc.proximoComparecimento, rc.periodicidadeDias, " +
+            STATUS_CALCULADO + ") " +
+            "FROM PessoaMonitorada p LEFT JOIN p.regimeComparecimento rc WHERE p.id IN :ids")
+    List<PessoaEsperadaCheckIn> findEsperadaCheckInByIds(@Param("ids") Collection<Long> ids,
+                                                         @Param("hoje") LocalDate hoje);
+
+    /**
+     * Projeção compacta para check-in por CPF (aceita o CPF com ou sem formatação) ou RG
+     */
+    @Query("SELECT new com.tjba.comparecimento.dto.response.PessoaEsperadaCheckIn(" +
+            "p.id, p.nomeCompleto, p.cpf, p.rg, rc.proximoComparecimento, rc.periodicidadeDias, " +
+            STATUS_CALCULADO + ") " +
+            "FROM PessoaMonitorada p LEFT JOIN p.regimeComparecimento rc " +
+            "WHERE p.cpf IN :cpfs OR p.rg = :rg")
+    List<PessoaEsperadaCheckIn> findEsperadaCheckInByDocumento(@Param("cpfs") Collection<String> cpfs,
+                                                               @Param("rg") String rg,
+                                                               @Param("hoje") LocalDate hoje);
+
     /**
      * Buscar pessoas em atraso (próximo comparecimento vencido)
      */
@@ -121,12 +169,26 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
     Long countByProximoComparecimentoVencido(@Param("data") LocalDate data);
 
     /**
-     * Buscar pessoas com próximo comparecimento vencido (para atualização automática)
+     * Menor e maior ID das pessoas sem definição manual de status com próximo comparecimento na data
+     * (limites das faixas da virada diária de status)
      */
-    @Query("SELECT p FROM PessoaMonitorada p JOIN p.regimeComparecimento rc " +
-            "WHERE rc.proximoComparecimento < :data AND p.status = :status")
-    List<PessoaMonitorada> findComProximoComparecimentoVencido(@Param("data") LocalDate data,
-                                                               @Param("status") StatusComparecimento status);
+    @Query("SELECT MIN(p.id), MAX(p.id) FROM PessoaMonitorada p JOIN p.regimeComparecimento rc " +
+            "WHERE p.statusManual IS NULL AND rc.proximoComparecimento = :vencimento")
+    List<Object[]> findLimitesIdVencidosEm(@Param("vencimento") LocalDate vencimento);
+
+    /**
+     * IDs das pessoas da faixa e da partição (id % totalParticoes = particao), sem definição manual de status,
+     * com próximo comparecimento na data: as que passaram a inadimplentes no dia seguinte a ela
+     */
+    @Query("SELECT p.id FROM PessoaMonitorada p JOIN p.regimeComparecimento rc " +
+            "WHERE rc.proximoComparecimento = :vencimento AND p.statusManual IS NULL " +
+            "AND p.id BETWEEN :idInicial AND :idFinal AND MOD(p.id, :totalParticoes) = :particao " +
+            "ORDER BY p.id")
+    List<Long> findIdsVencidosEm(@Param("vencimento") LocalDate vencimento,
+                                 @Param("idInicial") Long idInicial,
+                                 @Param("idFinal") Long idFinal,
+                                 @Param("particao") int particao,
+                                 @Param("totalParticoes") int totalParticoes);
 
     /**
      * Buscar pessoas com próximo comparecimento entre datas
@@ -161,8 +223,11 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
      * Contar pessoas por comarca e status
      */
     @Query("SELECT COUNT(p) FROM PessoaMonitorada p JOIN p.processoJudicial pj " +
-            "WHERE pj.comarca = :comarca AND p.status = :status")
-    Long countByComarcaAndStatus(@Param("comarca") String comarca, @Param("status") StatusComparecimento status);
+            "LEFT JOIN p.regimeComparecimento rc " +
+            "WHERE pj.comarca = :comarca AND " + STATUS_CALCULADO + " = :status")
+    Long countByComarcaAndStatus(@Param("comarca") String comarca,
+                                 @Param("status") StatusComparecimento status,
+                                 @Param("hoje") LocalDate hoje);
 
     /**
      * Buscar comarcas distintas
@@ -190,9 +255,11 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
             "LEFT JOIN FETCH p.regimeComparecimento rc " +
             "LEFT JOIN FETCH p.endereco e " +
             "WHERE (:comarca IS NULL OR pj.comarca = :comarca) AND " +
-            "(:status IS NULL OR p.status = :status) " +
+            "(:status IS NULL OR " + STATUS_CALCULADO + " = :status) " +
             "ORDER BY p.nomeCompleto")
-    List<PessoaMonitorada> findForRelatorio(@Param("comarca") String comarca, @Param("status") String status);
+    List<PessoaMonitorada> findForRelatorio(@Param("comarca") String comarca,
+                                            @Param("status") StatusComparecimento status,
+                                            @Param("hoje") LocalDate hoje);
 
     /**
      * Contar comparecimentos esperados em período
@@ -230,4 +297,39 @@ public interface PessoaMonitoradaRepository extends JpaRepository<PessoaMonitora
      */
     @Query("SELECT p FROM PessoaMonitorada p WHERE p.endereco IS NULL")
     List<PessoaMonitorada> findSemEndereco();
-}
\ No newline at end of file
+
+    /**
+     * IDs das pessoas de uma vara em ordem crescente, a partir de um ID (paginação por chave)
+     */
+    @Query("SELECT p.id FROM PessoaMonitorada p JOIN p.processoJudicial pj " +
+            "WHERE pj.vara = :vara AND (:comarca IS NULL OR pj.comarca = :comarca) AND p.id > :aposId " +
+            "ORDER BY p.id")
+    List<Long> findIdsByVaraAposId(@Param("vara") String vara,
+                                   @Param("comarca") String comarca,
+                                   @Param("aposId") Long aposId,
+                                   Pageable pageable);
+
+    /**
+     * Buscar lote de pessoas com processo, regime e endereço em uma única consulta
+     */
+    @Query("SELECT p FROM PessoaMonitorada p " +
+            "LEFT JOIN FETCH p.processoJudicial " +
+            "LEFT JOIN FETCH p.regimeComparecimento " +
+            "LEFT JOIN FETCH p.endereco " +
+            "WHERE p.id IN :ids " +
+            "ORDER BY p.id")
+    List<PessoaMonitorada> findByIdInWithDetails(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Buscar ID, periodicidade do regime (nula se não configurado), comarca e vara do processo de um conjunto de pessoas
+     */
+    @Query("SELECT p.id, rc.periodicidadeDias, pj.comarca, pj.vara FROM PessoaMonitorada p " +
+            "LEFT JOIN p.regimeComparecimento rc LEFT JOIN p.processoJudicial pj WHERE p.id IN :ids")
+    List<Object[]> findDadosAgendamentoByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Buscar ID e contato de um conjunto de pessoas
+     */
+    @Query("SELECT p.id, p.contato FROM PessoaMonitorada p WHERE p.id IN :ids")
+    List<Object[]> findContatoByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,25 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.ReagendamentoMassa;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository para entidade ReagendamentoMassa.
+ */
+@Repository
+public interface ReagendamentoMassaRepository extends JpaRepository<ReagendamentoMassa, Long> {
+
+    /**
+     * Buscar reagendamentos da comarca na situação
+     */
+    List<ReagendamentoMassa> findByComarcaAndSituacao(String comarca, ResultadoJob situacao);
+
+    /**
+     * Últimos reagendamentos solicitados
+     */
+    List<ReagendamentoMassa> findTop20ByOrderByInicioDesc();
+}
@@ -4,11 +4,14 @@ import com.tjba.comparecimento.entity.RegimeComparecimento;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -171,4 +174,137 @@ public interface RegimeComparecimentoRepository extends JpaRepository<RegimeComp
                                                          @Param("trimestral") boolean trimestral,
                                                          @Param("semestral") boolean semestral,
                                                          Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Definir a mesma data de próximo comparecimento para várias pessoas em um único comando
+     * (remove a definição manual de status, que passa a decorrer da nova data, e cancela os agendamentos de horário
+     * ativos de outra data, liberando as vagas)
+     */
+    @Modifying
+    @Query(value = "WITH status AS (" +
+            "    UPDATE pessoas_monitoradas SET status_manual = NULL " +
+            "    WHERE id IN (:pessoaIds) AND status_manual IS NOT NULL" +
+            "), cancelados AS (" +
+            "    UPDATE agendamentos_horario a SET situacao = 'CANCELADO', cancelado_em = CURRENT_TIMESTAMP, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(a.version, 0) + 1 " +
+            "    WHERE a.pessoa_monitorada_id IN (:pessoaIds) AND a.situacao = 'ATIVO' " +
+            "    AND a.data <> :data " +
+            "    RETURNING a.comarca, a.vara, a.data, a.horario" +
+            "), vagas AS (" +
+            "    UPDATE capacidade_horarios c SET ocupados = GREATEST(c.ocupados - liberadas.quantidade, 0), " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(c.version, 0) + 1 " +
+            "    FROM (SELECT comarca, vara, data, horario, COUNT(*) AS quantidade FROM cancelados " +
+            "        GROUP BY comarca, vara, data, horario) liberadas " +
+            "    WHERE c.comarca = liberadas.comarca AND c.vara = liberadas.vara AND c.data = liberadas.data " +
+            "    AND c.horario = liberadas.horario" +
+            ") " +
+            "UPDATE regimes_comparecimento " +
+            "SET proximo_comparecimento = :data, " +
+            "atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(version, 0) + 1 " +
+            "WHERE pessoa_monitorada_id IN (:pessoaIds)", nativeQuery = true)
+    int definirProximoComparecimento(@Param("data") LocalDate data, @Param("pessoaIds") Collection<Long> pessoaIds);
+
+    /**
+     * Buscar ID da pessoa, comarca, vara e próximo comparecimento a partir da data (carga por vara e dia)
+     */
+    @Query("SELECT p.id, pj.comarca, pj.vara, rc.proximoComparecimento FROM RegimeComparecimento rc " +
+            "JOIN rc.pessoaMonitorada p JOIN p.processoJudicial pj WHERE rc.proximoComparecimento >= :data")
+    List<Object[]> findCargaAPartirDe(@Param("data") LocalDate data);
+
+    /**
+     * Buscar ID da pessoa, comarca, vara e próximo comparecimento de um conjunto de pessoas
+     */
+    @Query("SELECT p.id, pj.comarca, pj.vara, rc.proximoComparecimento FROM RegimeComparecimento rc " +
+            "JOIN rc.pessoaMonitorada p JOIN p.processoJudicial pj WHERE p.id IN :pessoaIds")
+    List<Object[]> findCargaByPessoaIds(@Param("pessoaIds") Collection<Long> pessoaIds);
+
+    /**
+     * Contar pessoas da comarca (e vara, se informada) com próximo comparecimento no período
+     */
+    @Query(value = "SELECT COUNT(*) FROM regimes_comparecimento rc " +
+            "JOIN processos_judiciais pj ON pj.pessoa_monitorada_id = rc.pessoa_monitorada_id " +
+            "WHERE rc.proximo_comparecimento BETWEEN :dataInicio AND :dataFim AND pj.comarca = :comarca " +
+            "AND (CAST(:vara AS VARCHAR) IS NULL OR pj.vara = CAST(:vara AS VARCHAR))", nativeQuery = true)
+    long countParaReagendamento(@Param("comarca") String comarca,
+                                @Param("vara") String vara,
+                                @Param("dataInicio") LocalDate dataInicio,
+                                @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Mover para a nova data, em um único comando, até :lote pessoas da comarca (e vara, se informada) com próximo
+     * comparecimento na data anterior, removendo a definição manual de status das movidas e cancelando os
+     * agendamentos de horário ativos delas (liberando as vagas).
+     * Retorna os IDs movidos; as pessoas movidas deixam de atender ao filtro,
+     * de modo que o comando é repetido até retornar menos que :lote.
+     */
+    @Query(value = "WITH movidos AS (" +
+            "    UPDATE regimes_comparecimento rc " +
+            "    SET proximo_comparecimento = :novaData, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(rc.version, 0) + 1 " +
+            "    WHERE rc.pessoa_monitorada_id IN (" +
+            "        SELECT r.pessoa_monitorada_id FROM regimes_comparecimento r " +
+            "        JOIN processos_judiciais pj ON pj.pessoa_monitorada_id = r.pessoa_monitorada_id " +
+            "        WHERE r.proximo_comparecimento = :dataAnterior AND pj.comarca = :comarca " +
+            "        AND (CAST(:vara AS VARCHAR) IS NULL OR pj.vara = CAST(:vara AS VARCHAR)) " +
+            "        ORDER BY r.pessoa_monitorada_id LIMIT :lote) " +
+            "    AND rc.proximo_comparecimento = :dataAnterior " +
+            "    RETURNING rc.pessoa_monitorada_id" +
+            "), status AS (" +
+            "    UPDATE pessoas_monitoradas p SET status_manual = NULL " +
+            "    FROM movidos WHERE p.id = movidos.pessoa_monitorada_id AND p.status_manual IS NOT NULL" +
+            "), cancelados AS (" +
+            "    UPDATE agendamentos_horario a SET situacao = 'CANCELADO', cancelado_em = CURRENT_TIMESTAMP, " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(a.version, 0) + 1 " +
+            "    FROM movidos WHERE a.pessoa_monitorada_id = movidos.pessoa_monitorada_id AND a.situacao = 'ATIVO' " +
+            "    AND a.data <> :novaData " +
+            "    RETURNING a.comarca, a.vara, a.data, a.horario" +
+            "), vagas AS (" +
+            "    UPDATE capacidade_horarios c SET ocupados = GREATEST(c.ocupados - liberadas.quantidade, 0), " +
+            "        atualizado_em = CURRENT_TIMESTAMP, version = COALESCE(c.version, 0) + 1 " +
+            "    FROM (SELECT comarca, vara, data, horario, COUNT(*) AS quantidade FROM cancelados " +
+            "        GROUP BY comarca, vara, data, horario) liberadas " +
+            "    WHERE c.comarca = liberadas.comarca AND c.vara = liberadas.vara AND c.data = liberadas.data " +
+            "    AND c.horario = liberadas.horario" +
+            ") SELECT pessoa_monitorada_id FROM movidos", nativeQuery = true)
+    List<Long> reagendarLote(@Param("comarca") String comarca,
+                             @Param("vara") String vara,
+                             @Param("dataAnterior") LocalDate dataAnterior,
+                             @Param("novaData") LocalDate novaData,
+                             @Param("lote") int lote);
+
+    /**
+     * IDs das pessoas da partição (id % totalParticoes = particao) com próximo comparecimento na data, após o
+     * último ID lido (paginação por chave, servida pelo índice (proximo_comparecimento, pessoa_monitorada_id))
+     */
+    @Query("SELECT rc.pessoaMonitorada.id FROM RegimeComparecimento rc " +
+            "WHERE rc.proximoComparecimento = :data AND rc.pessoaMonitorada.id > :ultimoId " +
+            "AND MOD(rc.pessoaMonitorada.id, :totalParticoes) = :particao " +
+            "ORDER BY rc.pessoaMonitorada.id")
+    List<Long> findPessoaIdsComComparecimentoEm(@Param("data") LocalDate data,
+                                                @Param("ultimoId") Long ultimoId,
+                                                @Param("particao") int particao,
+                                                @Param("totalParticoes") int totalParticoes,
+                                                Pageable pageable);
+
+    /**
+     * ID da pessoa e próximo comparecimento de todos os regimes com data definida (carga da agenda em memória)
+     */
+    @Query("SELECT rc.pessoaMonitorada.id, rc.proximoComparecimento FROM RegimeComparecimento rc " +
+            "WHERE rc.proximoComparecimento IS NOT NULL")
+    List<Object[]> findProximosComparecimentos();
+
+    /**
+     * ID da pessoa, próximo comparecimento e data de atualização dos regimes alterados a partir do instante
+     * (sincronização da agenda em memória)
+     */
+    @Query("SELECT rc.pessoaMonitorada.id, rc.proximoComparecimento, rc.atualizadoEm FROM RegimeComparecimento rc " +
+            "WHERE rc.atualizadoEm >= :desde")
+    List<Object[]> findProximosComparecimentosAlteradosDesde(@Param("desde") LocalDateTime desde);
+
+    /**
+     * ID da pessoa e próximo comparecimento de um conjunto de pessoas
+     */
+    @Query("SELECT rc.pessoaMonitorada.id, rc.proximoComparecimento FROM RegimeComparecimento rc " +
+            "WHERE rc.pessoaMonitorada.id IN :pessoaIds")
+    List<Object[]> findProximosComparecimentosByPessoaIds(@Param("pessoaIds") Collection<Long> pessoaIds);
+}
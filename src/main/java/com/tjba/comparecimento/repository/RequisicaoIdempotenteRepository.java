@@ -0,0 +1,53 @@
+package com.tjba.comparecimento.repository;
+
+import com.tjba.comparecimento.entity.RequisicaoIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository para entidade RequisicaoIdempotente.
+ */
+@Repository
+public interface RequisicaoIdempotenteRepository extends JpaRepository<RequisicaoIdempotente, Long> {
+
+    /**
+     * Buscar requisição pela chave informada pelo cliente
+     */
+    Optional<RequisicaoIdempotente> findByChave(String chave);
+
+    /**
+     * Reservar a chave (retorna 1 se reservada, 0 se já utilizada e ainda válida).
+     * Em conflito com uma transação concorrente ainda aberta, o INSERT aguarda o término dela.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO requisicoes_idempotentes (chave, operacao, expira_em, criado_em, version) " +
+            "VALUES (:chave, :operacao, :expiraEm, CURRENT_TIMESTAMP, 0) " +
+            "ON CONFLICT (chave) DO UPDATE SET operacao = EXCLUDED.operacao, resposta = NULL, " +
+            "expira_em = EXCLUDED.expira_em, criado_em = CURRENT_TIMESTAMP " +
+            "WHERE requisicoes_idempotentes.expira_em < CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int reservar(@Param("chave") String chave,
+                 @Param("operacao") String operacao,
+                 @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Gravar a resposta da requisição reservada
+     */
+    @Modifying
+    @Query("UPDATE RequisicaoIdempotente r SET r.resposta = :resposta, r.atualizadoEm = CURRENT_TIMESTAMP " +
+            "WHERE r.chave = :chave")
+    int registrarResposta(@Param("chave") String chave, @Param("resposta") String resposta);
+
+    /**
+     * Remover chaves expiradas
+     */
+    @Modifying
+    @Query("DELETE FROM RequisicaoIdempotente r WHERE r.expiraEm < :agora")
+    int deleteExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,310 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.event.BarramentoEventos;
+import com.tjba.comparecimento.event.ComparecimentoRegistrado;
+import com.tjba.comparecimento.event.ConsumidorEventos;
+import com.tjba.comparecimento.event.EventoDominio;
+import com.tjba.comparecimento.event.PessoaAtualizada;
+import com.tjba.comparecimento.event.PessoaCadastrada;
+import com.tjba.comparecimento.event.ProximoComparecimentoAlterado;
+import com.tjba.comparecimento.repository.RegimeComparecimentoRepository;
+import com.tjba.comparecimento.util.RodaDias;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Agenda em memória dos próximos comparecimentos: roda de tempo com um balde de IDs por dia do horizonte
+ * (hoje + 365 dias por padrão), balde de vencidos e transbordo ({@link RodaDias}).
+ * Carregada na subida e mantida pelos eventos do barramento (alterações de regime chegam com a nova data;
+ * cadastros e atualizações consultam o regime da pessoa). Como o barramento é local e descarta eventos com o buffer
+ * cheio, a agenda também relê periodicamente os regimes alterados desde a última sincronização (alterações de outras
+ * instâncias) e é recarregada quando este consumidor perde eventos. A roda avança ao virar o dia e é reconciliada
+ * com o banco uma vez por dia. Contagens e listas por data custam o tamanho dos baldes do intervalo; enquanto a agenda
+ * não estiver carregada, as consultas retornam vazio e quem chama usa o banco.
+ */
+@Service
+public class AgendaComparecimentosService implements ConsumidorEventos {
+
+    private static final Set<Class<? extends EventoDominio>> TIPOS_EVENTO = Set.of(
+            ComparecimentoRegistrado.class, ProximoComparecimentoAlterado.class,
+            PessoaCadastrada.class, PessoaAtualizada.class);
+
+    @Autowired
+    private RegimeComparecimentoRepository regimeRepository;
+
+    @Autowired
+    private BarramentoEventos barramento;
+
+    @Value("${agenda.horizonte-dias:366}")
+    private int horizonte;
+
+    // Recuo da sincronização: cobre transações longas (atualizado_em é o início da transação) e relógios diferentes
+    @Value("${agenda.sincronizacao.margem:1m}")
+    private Duration margem;
+
+    // Escritas (eventos, virada do dia) alteram poucos baldes no lugar; leituras concorrentes entre si
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private RodaDias roda;
+    private LocalDateTime carregadaEm;
+    private volatile LocalDate hojeDaRoda;
+
+    // Instante até o qual as alterações de regime já foram lidas e eventos perdidos (descartados ou em lotes com
+    // falha) já cobertos pela última carga
+    private LocalDateTime sincronizadaAte;
+    private long perdasConhecidas;
+
+    // Pessoas alteradas durante uma recarga: reaplicadas sobre a agenda recém-carregada
+    private Set<Long> alteradasDuranteCarga;
+
+    private final AtomicLong consultas = new AtomicLong();
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    /**
+     * Estatísticas da agenda
+     */
+    public record EstatisticasAgenda(LocalDate hoje, int pessoas, long vencidos, long consultas, long alteracoes,
+                                     LocalDateTime carregadaEm) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarAoIniciar() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            // Banco indisponível na subida: consultas seguem pelo banco até a próxima recarga
+        }
+    }
+
+    /**
+     * Reconciliar a agenda com o banco (3h por padrão)
+     */
+    @Scheduled(cron = "${agenda.recarga.cron:0 0 3 * * *}")
+    public synchronized void recarregar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        long perdas = perdasDoConsumidor();
+        escrever(() -> alteradasDuranteCarga = new HashSet<>());
+
+        Set<Long> alteradas = null;
+        try {
+            // 1. Carregar fora do lock: eventos continuam sendo aplicados à agenda atual
+            List<Object[]> proximos = regimeRepository.findProximosComparecimentos();
+            RodaDias nova = new RodaDias(LocalDate.now(), horizonte, proximos.size());
+            for (Object[] row : proximos) {
+                nova.definir((Long) row[0], (LocalDate) row[1]);
+            }
+
+            // 2. Publicar
+            lock.writeLock().lock();
+            try {
+                roda = nova;
+                hojeDaRoda = nova.getHoje();
+                carregadaEm = LocalDateTime.now();
+                alteradas = alteradasDuranteCarga;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            escrever(() -> alteradasDuranteCarga = null);
+        }
+
+        // 3. Reaplicar alterações ocorridas durante a carga
+        if (!alteradas.isEmpty()) {
+            aplicar(consultarDatas(alteradas));
+        }
+        sincronizadaAte = inicio;
+        perdasConhecidas = perdas;
+    }
+
+    /**
+     * Sincronizar a agenda com o banco (30s por padrão): recarregar se este consumidor perdeu eventos; senão,
+     * aplicar os regimes alterados desde a última sincronização, inclusive por outras instâncias
+     */
+    @Scheduled(fixedDelayString = "${agenda.sincronizacao.intervalo:30s}")
+    public synchronized void sincronizar() {
+        // 1. Agenda ainda não carregada: a próxima carga já lê tudo
+        if (sincronizadaAte == null) {
+            return;
+        }
+
+        // 2. Eventos descartados (buffer cheio) ou perdidos em lote com falha desde a última carga
+        if (perdasDoConsumidor() > perdasConhecidas) {
+            recarregar();
+            return;
+        }
+
+        // 3. Regimes alterados desde a última sincronização (menos a margem; reaplicar a mesma data não altera)
+        LocalDateTime ate = sincronizadaAte;
+        Map<Long, LocalDate> datas = new HashMap<>();
+        for (Object[] row : regimeRepository.findProximosComparecimentosAlteradosDesde(sincronizadaAte.minus(margem))) {
+            datas.put((Long) row[0], (LocalDate) row[1]);
+            if (row[2] != null && ((LocalDateTime) row[2]).isAfter(ate)) {
+                ate = (LocalDateTime) row[2];
+            }
+        }
+        if (!datas.isEmpty()) {
+            aplicar(datas);
+        }
+        sincronizadaAte = ate;
+    }
+
+    /**
+     * Corrigir a data de pessoas cuja data real (lida do banco) difere da agenda (nulo = remover)
+     */
+    public void atualizar(Map<Long, LocalDate> datas) {
+        aplicar(datas);
+    }
+
+    /**
+     * Contar pessoas com próximo comparecimento entre as datas (inclusive)
+     */
+    public Optional<Long> contar(LocalDate de, LocalDate ate) {
+        return ler(atual -> atual.contar(de, ate));
+    }
+
+    /**
+     * Contar pessoas com próximo comparecimento vencido (antes de hoje)
+     */
+    public Optional<Long> contarVencidos() {
+        return ler(RodaDias::contarVencidos);
+    }
+
+    /**
+     * IDs das pessoas com próximo comparecimento entre as datas (inclusive), em ordem de data
+     */
+    public Optional<List<Long>> listar(LocalDate de, LocalDate ate) {
+        return ler(atual -> Arrays.stream(atual.listar(de, ate)).boxed().toList());
+    }
+
+    /**
+     * IDs das pessoas com próximo comparecimento vencido
+     */
+    public Optional<List<Long>> listarVencidos() {
+        return ler(atual -> Arrays.stream(atual.listarVencidos()).boxed().toList());
+    }
+
+    public EstatisticasAgenda getEstatisticas() {
+        lock.readLock().lock();
+        try {
+            return roda == null
+                    ? new EstatisticasAgenda(null, 0, 0, consultas.get(), alteracoes.get(), null)
+                    : new EstatisticasAgenda(roda.getHoje(), roda.tamanho(), roda.contarVencidos(),
+                    consultas.get(), alteracoes.get(), carregadaEm);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // === EVENTOS ===
+
+    @Override
+    public String getNome() {
+        return "agenda-comparecimentos";
+    }
+
+    @Override
+    public Set<Class<? extends EventoDominio>> getTiposEvento() {
+        return TIPOS_EVENTO;
+    }
+
+    @Override
+    public void processar(List<EventoDominio> lote) {
+        // Alterações de regime trazem a nova data; demais eventos consultam o regime no banco
+        Map<Long, LocalDate> datas = new HashMap<>();
+        Set<Long> consultar = new HashSet<>();
+        for (EventoDominio evento : lote) {
+            if (evento instanceof ComparecimentoRegistrado comparecimento) {
+                datas.put(comparecimento.pessoaId(), comparecimento.proximoComparecimento());
+            } else if (evento instanceof ProximoComparecimentoAlterado alterado) {
+                datas.put(alterado.pessoaId(), alterado.proximoComparecimento());
+            } else {
+                consultar.add(evento.pessoaId());
+            }
+        }
+
+        if (!consultar.isEmpty()) {
+            datas.putAll(consultarDatas(consultar));
+        }
+        aplicar(datas);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private long perdasDoConsumidor() {
+        return barramento.getMetricas().consumidores().stream()
+                .filter(consumidor -> consumidor.nome().equals(getNome()))
+                .mapToLong(consumidor -> consumidor.descartados() + consumidor.falhas())
+                .sum();
+    }
+
+    private Map<Long, LocalDate> consultarDatas(Set<Long> pessoaIds) {
+        // Pessoas sem regime (ou sem data) saem da agenda
+        Map<Long, LocalDate> datas = new HashMap<>();
+        pessoaIds.forEach(pessoaId -> datas.put(pessoaId, null));
+        for (Object[] row : regimeRepository.findProximosComparecimentosByPessoaIds(pessoaIds)) {
+            datas.put((Long) row[0], (LocalDate) row[1]);
+        }
+        return datas;
+    }
+
+    private void aplicar(Map<Long, LocalDate> datas) {
+        escrever(() -> {
+            if (alteradasDuranteCarga != null) {
+                alteradasDuranteCarga.addAll(datas.keySet());
+            }
+            if (roda != null) {
+                datas.forEach(roda::definir);
+                alteracoes.addAndGet(datas.size());
+            }
+        });
+    }
+
+    private <T> Optional<T> ler(Function<RodaDias, T> consulta) {
+        // Virada do dia: ontem passa para os vencidos antes da leitura
+        LocalDate hoje = LocalDate.now();
+        LocalDate atual = hojeDaRoda;
+        if (atual != null && atual.isBefore(hoje)) {
+            escrever(() -> {
+                roda.avancar(hoje);
+                hojeDaRoda = roda.getHoje();
+            });
+        }
+
+        lock.readLock().lock();
+        try {
+            if (roda == null) {
+                return Optional.empty();
+            }
+            consultas.incrementAndGet();
+            return Optional.of(consulta.apply(roda));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void escrever(Runnable alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento dos relatórios pré-gerados, indexados pelos parâmetros da requisição.
+ * Conteúdos binários (CSV/HTML) são gravados em arquivos no diretório "relatorio.pregeracao.diretorio", sem
+ * passar pelo heap, e o total em disco é limitado por "relatorio.pregeracao.limite-armazenamento": ao atingir o
+ * limite, os relatórios de ciclos anteriores são descartados e, se ainda faltar espaço, o relatório em gravação é
+ * abandonado (o endpoint o gera sob demanda). Relatórios estruturados (JSON) ficam em memória.
+ */
+@Component
+public class ArmazenamentoRelatorios {
+
+    private static final String PREFIXO_ARQUIVO = "relatorio-";
+
+    /**
+     * Parâmetros que identificam um relatório (comarca nula = todas)
+     */
+    public record Chave(TipoRelatorio tipo, LocalDate dataInicio, LocalDate dataFim, String comarca) {
+    }
+
+    /**
+     * Relatório armazenado: objeto em memória ou arquivo em disco (com o tamanho reservado no limite)
+     */
+    public record RelatorioArmazenado(Object conteudo, Path arquivo, long tamanho, LocalDateTime geradoEm) {
+    }
+
+    /**
+     * Escrita do conteúdo binário do relatório
+     */
+    @FunctionalInterface
+    public interface EscritaConteudo {
+        void escrever(OutputStream out) throws IOException;
+    }
+
+    @Value("${relatorio.pregeracao.diretorio:./data/relatorios}")
+    private Path diretorio;
+
+    @Value("${relatorio.pregeracao.limite-armazenamento:512MB}")
+    private DataSize limite;
+
+    private final Map<Chave, RelatorioArmazenado> relatorios = new ConcurrentHashMap<>();
+    private final AtomicLong bytesArmazenados = new AtomicLong();
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        // Arquivos de execuções anteriores do processo não estão indexados: descartar
+        Files.createDirectories(diretorio);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : arquivos.filter(a -> a.getFileName().toString().startsWith(PREFIXO_ARQUIVO)).toList()) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    /**
+     * Armazenar relatório estruturado (em memória)
+     */
+    public void armazenar(Chave chave, Object conteudo) {
+        descartar(relatorios.put(chave, new RelatorioArmazenado(conteudo, null, 0, LocalDateTime.now())));
+    }
+
+    /**
+     * Gravar o conteúdo binário do relatório em arquivo, reservando o espaço à medida que é escrito; relatórios
+     * gerados antes do início do ciclo podem ser descartados para liberar espaço.
+     * Lança IOException se o relatório não couber no limite de armazenamento.
+     */
+    public void armazenarConteudo(Chave chave, LocalDateTime inicioCiclo, EscritaConteudo escrita) throws IOException {
+        Path arquivo = Files.createTempFile(diretorio, PREFIXO_ARQUIVO, ".tmp");
+        SaidaLimitada saida = null;
+
+        try {
+            saida = new SaidaLimitada(Files.newOutputStream(arquivo), inicioCiclo);
+            try (OutputStream out = new BufferedOutputStream(saida)) {
+                escrita.escrever(out);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (saida != null) {
+                bytesArmazenados.addAndGet(-saida.reservados);
+            }
+            Files.deleteIfExists(arquivo);
+            throw e;
+        }
+
+        descartar(relatorios.put(chave, new RelatorioArmazenado(null, arquivo, saida.reservados, LocalDateTime.now())));
+    }
+
+    /**
+     * Abrir o conteúdo binário (CSV/HTML) pré-gerado para os parâmetros informados.
+     * O arquivo é aberto na chamada: continua legível mesmo que seja descartado durante o envio.
+     */
+    public Optional<InputStream> abrirConteudo(Chave chave) {
+        RelatorioArmazenado armazenado = relatorios.get(chave);
+        if (armazenado == null || armazenado.arquivo() == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.newInputStream(armazenado.arquivo()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            relatorios.remove(chave, armazenado);
+            descartar(armazenado);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Buscar relatório estruturado pré-gerado; quando informada, a validade limita a idade do conteúdo servido
+     */
+    public <T> Optional<T> buscar(Chave chave, Class<T> tipo, Duration validade) {
+        RelatorioArmazenado armazenado = relatorios.get(chave);
+        if (armazenado == null || !tipo.isInstance(armazenado.conteudo())) {
+            return Optional.empty();
+        }
+
+        if (validade != null && armazenado.geradoEm().plus(validade).isBefore(LocalDateTime.now())) {
+            relatorios.remove(chave, armazenado);
+            return Optional.empty();
+        }
+
+        return Optional.of(tipo.cast(armazenado.conteudo()));
+    }
+
+    /**
+     * Remover relatórios gerados antes do instante informado (ciclos anteriores)
+     */
+    public void removerGeradosAntesDe(LocalDateTime instante) {
+        relatorios.forEach((chave, armazenado) -> {
+            if (armazenado.geradoEm().isBefore(instante) && relatorios.remove(chave, armazenado)) {
+                descartar(armazenado);
+            }
+        });
+    }
+
+    public int getTotalArmazenados() {
+        return relatorios.size();
+    }
+
+    public long getBytesArmazenados() {
+        return bytesArmazenados.get();
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    /**
+     * Reservar espaço no limite; se faltar, descarta relatórios gerados antes do início do ciclo,
+     * dos mais antigos para os mais novos
+     */
+    private boolean reservar(long bytes, LocalDateTime inicioCiclo) {
+        if (bytesArmazenados.addAndGet(bytes) <= limite.toBytes()) {
+            return true;
+        }
+
+        List<Map.Entry<Chave, RelatorioArmazenado>> antigos = relatorios.entrySet().stream()
+                .filter(entrada -> entrada.getValue().arquivo() != null
+                        && entrada.getValue().geradoEm().isBefore(inicioCiclo))
+                .sorted(Comparator.comparing(entrada -> entrada.getValue().geradoEm()))
+                .toList();
+
+        for (Map.Entry<Chave, RelatorioArmazenado> antigo : antigos) {
+            if (relatorios.remove(antigo.getKey(), antigo.getValue())) {
+                descartar(antigo.getValue());
+            }
+            if (bytesArmazenados.get() <= limite.toBytes()) {
+                return true;
+            }
+        }
+
+        bytesArmazenados.addAndGet(-bytes);
+        return false;
+    }
+
+    private void descartar(RelatorioArmazenado armazenado) {
+        if (armazenado == null || armazenado.arquivo() == null) {
+            return;
+        }
+        bytesArmazenados.addAndGet(-armazenado.tamanho());
+        try {
+            Files.deleteIfExists(armazenado.arquivo());
+        } catch (IOException ignored) {
+            // Removido na próxima inicialização
+        }
+    }
+
+    /**
+     * Saída do arquivo que reserva no limite cada bloco antes de gravá-lo
+     */
+    private class SaidaLimitada extends FilterOutputStream {
+        private final LocalDateTime inicioCiclo;
+        private long reservados;
+
+        SaidaLimitada(OutputStream out, LocalDateTime inicioCiclo) {
+            super(out);
+            this.inicioCiclo = inicioCiclo;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!reservar(len, inicioCiclo)) {
+                throw new IOException("Limite de armazenamento de relatórios pré-gerados excedido");
+            }
+            reservados += len;
+            out.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+import com.tjba.comparecimento.event.BarramentoEventos;
+import com.tjba.comparecimento.event.StatusAlterado;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.repository.JobExecucaoRepository;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Virada diária de status. O status é calculado na leitura a partir do próximo comparecimento
+ * ({@link StatusComparecimento#calcular}), então nenhuma linha é alterada: o job apenas identifica as pessoas
+ * cujo comparecimento venceu (sem definição manual de status), enfileira as notificações de inadimplência
+ * e publica os eventos de status. A busca usa o índice de próximo comparecimento, por faixas de ID, cada faixa
+ * em uma transação curta; as partições (id % total) são distribuídas entre as instâncias pelo {@link CoordenadorJobs}.
+ * Cada data de vencimento é a referência do job em job_execucoes: a execução percorre todas as datas desde a
+ * primeira registrada (limitada a "status.atualizacao.dias-retroativos") que ainda não tenham todas as partições
+ * concluídas, de modo que dias sem execução e faixas com falha são refeitos nas execuções seguintes.
+ */
+@Service
+public class AtualizacaoStatusService {
+
+    private static final String JOB = "status.vencimento";
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private BarramentoEventos barramentoEventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CoordenadorJobs coordenadorJobs;
+
+    @Autowired
+    private JobExecucaoRepository jobExecucaoRepository;
+
+    @Value("${status.atualizacao.faixa:5000}")
+    private long tamanhoFaixa;
+
+    @Value("${status.atualizacao.particoes:4}")
+    private int totalParticoes;
+
+    @Value("${status.atualizacao.dias-retroativos:7}")
+    private int diasRetroativos;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+    private TransactionTemplate transactionTemplate;
+
+    private volatile ExecucaoAtualizacaoStatus ultimaExecucao;
+
+    /**
+     * Resumo de uma execução: datas de vencimento percorridas, pessoas que passaram a inadimplentes, duração,
+     * atraso desde a virada do dia até o fim da execução e erro da última faixa com falha
+     */
+    public record ExecucaoAtualizacaoStatus(LocalDateTime inicio,
+                                            LocalDateTime fim,
+                                            List<LocalDate> vencimentos,
+                                            long duracaoMs,
+                                            int faixas,
+                                            int faixasComFalha,
+                                            long pessoasAlteradas,
+                                            long atrasoMs,
+                                            String ultimoErro) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Executar a atualização (5 minutos após a meia-noite por padrão); as partições ainda não concluídas de cada
+     * vencimento pendente são divididas entre as instâncias
+     */
+    @Scheduled(cron = "${status.atualizacao.cron:0 5 0 * * *}")
+    public void executarAgendado() {
+        executar();
+    }
+
+    public ExecucaoAtualizacaoStatus getUltimaExecucao() {
+        return ultimaExecucao;
+    }
+
+    /**
+     * Executar a atualização de status fora do agendamento: vencimentos pendentes, nas partições livres
+     * (partições já concluídas não são repetidas)
+     */
+    public ExecucaoAtualizacaoStatus executar() {
+        if (!execucao.tryLock()) {
+            return ultimaExecucao;
+        }
+
+        try {
+            LocalDateTime inicio = LocalDateTime.now();
+            LocalDate hoje = inicio.toLocalDate();
+            Totais totais = new Totais();
+
+            // 1. Vencimentos ainda não concluídos em todas as partições
+            List<LocalDate> vencimentos = vencimentosPendentes(hoje);
+
+            for (LocalDate vencimento : vencimentos) {
+                // 2. Limites de ID das pessoas com comparecimento vencido na data
+                List<Object[]> limites = pessoaRepository.findLimitesIdVencidosEm(vencimento);
+                Object[] limite = limites.isEmpty() ? null : limites.get(0);
+
+                // 3. Partições por ID (coordenadas entre instâncias), cada uma percorrida em faixas; sem pessoas
+                // vencidas as partições são apenas registradas como concluídas
+                coordenadorJobs.executarParticionado(JOB, vencimento.toString(), totalParticoes,
+                        particao -> limite == null || limite[0] == null ? 0
+                                : atualizarParticao(particao, (Long) limite[0], (Long) limite[1], vencimento, totais));
+            }
+
+            // 4. Métricas da execução nesta instância
+            LocalDateTime fim = LocalDateTime.now();
+            ultimaExecucao = new ExecucaoAtualizacaoStatus(inicio, fim, vencimentos,
+                    Duration.between(inicio, fim).toMillis(),
+                    totais.faixas,
+                    totais.faixasComFalha,
+                    totais.pessoasAlteradas,
+                    Duration.between(hoje.atStartOfDay(), fim).toMillis(),
+                    totais.ultimoErro);
+            return ultimaExecucao;
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    /**
+     * Datas de vencimento até ontem com partições pendentes, desde a primeira registrada pelo job (na primeira
+     * execução, apenas ontem) e no máximo "dias-retroativos" para trás
+     */
+    private List<LocalDate> vencimentosPendentes(LocalDate hoje) {
+        LocalDate ontem = hoje.minusDays(1);
+        LocalDate limite = hoje.minusDays(diasRetroativos);
+        String primeira = jobExecucaoRepository.findPrimeiraReferencia(JOB);
+        LocalDate desde = primeira == null ? ontem : LocalDate.parse(primeira);
+        if (desde.isBefore(limite)) {
+            desde = limite;
+        }
+
+        Set<String> concluidas = new HashSet<>(
+                jobExecucaoRepository.findReferenciasConcluidas(JOB, desde.toString(), totalParticoes));
+
+        List<LocalDate> pendentes = new ArrayList<>();
+        for (LocalDate data = desde; !data.isAfter(ontem); data = data.plusDays(1)) {
+            if (!concluidas.contains(data.toString())) {
+                pendentes.add(data);
+            }
+        }
+        return pendentes;
+    }
+
+    private long atualizarParticao(CoordenadorJobs.Particao particao, long idMinimo, long idMaximo,
+                                   LocalDate vencimento, Totais totais) {
+        long alteradasNaParticao = 0;
+        int falhasNaParticao = 0;
+
+        // Uma transação por faixa: bloqueios curtos e falha isolada (a faixa é refeita na próxima execução)
+        for (long inicioFaixa = idMinimo; inicioFaixa <= idMaximo; inicioFaixa += tamanhoFaixa) {
+            long idInicial = inicioFaixa;
+            long idFinal = Math.min(idInicial + tamanhoFaixa - 1, idMaximo);
+            totais.faixas++;
+            try {
+                int alteradas = transactionTemplate.execute(
+                        status -> notificarFaixa(idInicial, idFinal, particao, vencimento));
+                alteradasNaParticao += alteradas;
+                totais.pessoasAlteradas += alteradas;
+            } catch (RuntimeException e) {
+                falhasNaParticao++;
+                totais.faixasComFalha++;
+                totais.ultimoErro = "Faixa " + idInicial + "-" + idFinal + ": " + e.getMessage();
+            }
+        }
+
+        // Partição com faixas pendentes fica registrada como falha em job_execucoes
+        if (falhasNaParticao > 0) {
+            throw new BusinessException(alteradasNaParticao + " pessoas alteradas; " + falhasNaParticao
+                    + " faixas com falha (" + totais.ultimoErro + ")");
+        }
+        return alteradasNaParticao;
+    }
+
+    private int notificarFaixa(long idInicial, long idFinal, CoordenadorJobs.Particao particao,
+                               LocalDate vencimento) {
+        List<Long> pessoaIds = pessoaRepository.findIdsVencidosEm(vencimento, idInicial, idFinal,
+                particao.indice(), particao.total());
+        if (pessoaIds.isEmpty()) {
+            return 0;
+        }
+
+        for (Long pessoaId : pessoaIds) {
+            barramentoEventos.publicar(new StatusAlterado(pessoaId,
+                    StatusComparecimento.EM_CONFORMIDADE, StatusComparecimento.INADIMPLENTE));
+        }
+
+        // Notificações gravadas na transação da faixa (outbox, INSERTs em batch)
+        notificationService.sendInadimplenciaNotifications(pessoaIds);
+        return pessoaIds.size();
+    }
+
+    /**
+     * Totais acumulados pelas partições executadas nesta instância
+     */
+    private static final class Totais {
+
+        private int faixas;
+        private int faixasComFalha;
+        private long pessoasAlteradas;
+        private String ultimoErro;
+    }
+}
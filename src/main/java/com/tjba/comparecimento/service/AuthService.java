@@ -40,6 +40,9 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private NotificationService notificationService;
+
     // TODO: Implementar BlacklistService para tokens invalidados
     // @Autowired private BlacklistService blacklistService;
 
@@ -252,8 +255,8 @@ public class AuthService {
         // 2. Gerar token de reset
         String resetToken = jwtUtil.generatePasswordResetToken(user);
 
-        // 3. Enviar email com token
-        // TODO: emailService.sendPasswordResetEmail(email, resetToken);
+        // 3. Enfileirar email com token
+        notificationService.sendPasswordResetEmail(user.getEmail(), resetToken);
 
         // 4. Log da ação
         // TODO: auditService.logPasswordResetRequest(email);
@@ -0,0 +1,169 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.FeriadoForense;
+import com.tjba.comparecimento.repository.FeriadoForenseRepository;
+import com.tjba.comparecimento.util.CalendarioForense;
+import com.tjba.comparecimento.util.CalendarioForense.Suspensao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calendário forense da aplicação: feriados nacionais, estaduais (Bahia), móveis (a partir da Páscoa) e o
+ * recesso forense são calculados por regra; feriados municipais e suspensões por portaria vêm da tabela
+ * feriados_forenses. Tudo é pré-calculado em bitsets de dias úteis ({@link CalendarioForense}) para o intervalo
+ * de anos configurado e republicado na recarga diária; consultas não acessam o banco.
+ */
+@Service
+public class CalendarioForenseService {
+
+    // Feriados nacionais, Dia da Justiça (8/12) e Independência da Bahia (2/7)
+    private static final List<MonthDay> FERIADOS_FIXOS = List.of(
+            MonthDay.of(1, 1), MonthDay.of(4, 21), MonthDay.of(5, 1), MonthDay.of(7, 2), MonthDay.of(9, 7),
+            MonthDay.of(10, 12), MonthDay.of(11, 2), MonthDay.of(11, 15), MonthDay.of(11, 20), MonthDay.of(12, 8),
+            MonthDay.of(12, 25));
+
+    // Carnaval (segunda e terça), quinta e sexta-feira santas e Corpus Christi, em dias a partir da Páscoa
+    private static final int[] FERIADOS_MOVEIS = {-48, -47, -3, -2, 60};
+
+    @Autowired
+    private FeriadoForenseRepository feriadoRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${calendario.anos-anteriores:1}")
+    private int anosAnteriores;
+
+    @Value("${calendario.anos-posteriores:3}")
+    private int anosPosteriores;
+
+    private volatile CalendarioForense calendario;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarAoIniciar() {
+        recarregar();
+    }
+
+    /**
+     * Recalcular o calendário (intervalo de anos a partir do ano atual e feriados cadastrados)
+     */
+    @Scheduled(cron = "${calendario.recarga.cron:0 30 2 * * *}")
+    public void recarregar() {
+        calendario = construir(LocalDate.now(clock).getYear());
+    }
+
+    public CalendarioForense getCalendario() {
+        CalendarioForense atual = calendario;
+        if (atual == null) {
+            // Consulta antes da carga da subida
+            atual = construir(LocalDate.now(clock).getYear());
+            calendario = atual;
+        }
+        return atual;
+    }
+
+    /**
+     * Próximo dia útil na comarca a partir da data (a própria data, se útil)
+     */
+    public LocalDate proximoDiaUtil(String comarca, LocalDate data) {
+        return getCalendario().proximoDiaUtil(comarca, data);
+    }
+
+    public boolean isDiaUtil(String comarca, LocalDate data) {
+        return getCalendario().isDiaUtil(comarca, data);
+    }
+
+    /**
+     * Vencimento a partir da data base: base + periodicidade, adiado para o próximo dia útil da comarca
+     */
+    public LocalDate calcularVencimento(String comarca, LocalDate base, int periodicidadeDias) {
+        return getCalendario().calcularVencimento(comarca, base, periodicidadeDias);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private CalendarioForense construir(int anoAtual) {
+        int primeiroAno = anoAtual - anosAnteriores;
+        int ultimoAno = anoAtual + anosPosteriores;
+        LocalDate inicio = LocalDate.of(primeiroAno, 1, 1);
+        LocalDate fim = LocalDate.of(ultimoAno, 12, 31);
+
+        // 1. Suspensões calculadas por regra
+        List<Suspensao> gerais = new ArrayList<>();
+        for (int ano = primeiroAno; ano <= ultimoAno; ano++) {
+            for (MonthDay feriado : FERIADOS_FIXOS) {
+                gerais.add(Suspensao.dia(feriado.atYear(ano)));
+            }
+            LocalDate pascoa = pascoa(ano);
+            for (int dias : FERIADOS_MOVEIS) {
+                gerais.add(Suspensao.dia(pascoa.plusDays(dias)));
+            }
+            // Recesso forense: 20/12 a 6/1
+            gerais.add(new Suspensao(LocalDate.of(ano, 12, 20), LocalDate.of(ano + 1, 1, 6)));
+        }
+        gerais.add(new Suspensao(LocalDate.of(primeiroAno, 1, 1), LocalDate.of(primeiroAno, 1, 6)));
+
+        // 2. Suspensões cadastradas (sem banco, o calendário segue apenas com as regras)
+        Map<String, List<Suspensao>> porComarca = new HashMap<>();
+        List<FeriadoForense> cadastrados;
+        try {
+            cadastrados = feriadoRepository.findVigentesEntre(inicio, fim);
+        } catch (RuntimeException e) {
+            cadastrados = List.of();
+        }
+        for (FeriadoForense feriado : cadastrados) {
+            List<Suspensao> destino = feriado.isGeral()
+                    ? gerais
+                    : porComarca.computeIfAbsent(feriado.getComarca(), comarca -> new ArrayList<>());
+            if (Boolean.TRUE.equals(feriado.getAnual())) {
+                for (int ano = primeiroAno; ano <= ultimoAno; ano++) {
+                    destino.add(repetirNoAno(feriado, ano));
+                }
+            } else {
+                destino.add(new Suspensao(feriado.getDataInicio(), feriado.getDataFim()));
+            }
+        }
+
+        return new CalendarioForense(inicio, fim, gerais, porComarca);
+    }
+
+    private Suspensao repetirNoAno(FeriadoForense feriado, int ano) {
+        // Suspensão anual que atravessa a virada do ano termina no ano seguinte
+        LocalDate inicio = MonthDay.from(feriado.getDataInicio()).atYear(ano);
+        LocalDate fim = MonthDay.from(feriado.getDataFim()).atYear(ano);
+        return new Suspensao(inicio, fim.isBefore(inicio) ? fim.plusYears(1) : fim);
+    }
+
+    /**
+     * Domingo de Páscoa (algoritmo de Meeus/Jones/Butcher, calendário gregoriano)
+     */
+    private static LocalDate pascoa(int ano) {
+        int a = ano % 19;
+        int b = ano / 100;
+        int c = ano % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int mes = (h + l - 7 * m + 114) / 31;
+        int dia = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(ano, mes, dia);
+    }
+}
@@ -5,6 +5,10 @@ import com.tjba.comparecimento.dto.response.*;
 import com.tjba.comparecimento.entity.*;
 import com.tjba.comparecimento.entity.enums.StatusComparecimento;
 import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import com.tjba.comparecimento.event.ComparecimentoRegistrado;
+import com.tjba.comparecimento.event.BarramentoEventos;
+import com.tjba.comparecimento.event.ProximoComparecimentoAlterado;
+import com.tjba.comparecimento.event.StatusAlterado;
 import com.tjba.comparecimento.exception.BusinessException;
 import com.tjba.comparecimento.exception.ResourceNotFoundException;
 import com.tjba.comparecimento.repository.*;
@@ -14,10 +18,21 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service para registro e controle de comparecimentos.
@@ -35,96 +50,245 @@ public class ComparecimentoService {
     @Autowired
     private RegimeComparecimentoRepository regimeRepository;
 
-    // TODO: Injetar NotificationService quando implementar
-    // @Autowired private NotificationService notificationService;
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private BarramentoEventos barramentoEventos;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ExecucaoPorPessoa execucaoPorPessoa;
 
-    // TODO: Injetar EmailService quando implementar
-    // @Autowired private EmailService emailService;
+    @Autowired
+    private CalendarioForenseService calendarioForense;
+
+    @Autowired
+    private AuditoriaReagendamentoRepository auditoriaReagendamentoRepository;
+
+    @Autowired
+    private NivelamentoCargaService nivelamentoCarga;
+
+    @Autowired
+    private FilaAtendimentoService filaAtendimento;
+
+    @Autowired
+    private HorarioComparecimentoService horarioComparecimento;
+
+    private static final String OPERACAO_PRESENCIAL = "comparecimento.presencial";
+    private static final String OPERACAO_VIRTUAL = "comparecimento.virtual";
 
     /**
      * Registrar comparecimento presencial
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ComparecimentoResponse registrarPresencial(RegistrarComparecimentoPresencialRequest request) {
-        // 1. Buscar pessoa
-        PessoaMonitorada pessoa = pessoaRepository.findById(request.getPessoaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + request.getPessoaId()));
+        return registrarPresencial(request, null);
+    }
 
-        // 2. Validar se não há comparecimento duplicado no dia
-        validateComparecimentoDuplicado(request.getPessoaId(), LocalDate.now());
+    /**
+     * Registrar comparecimento presencial, emitindo a senha da fila de atendimento da vara; repetições com a mesma
+     * Idempotency-Key devolvem a resposta original
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ComparecimentoResponse registrarPresencial(RegistrarComparecimentoPresencialRequest request,
+                                                      String idempotencyKey) {
+        return execucaoPorPessoa.executar(request.getPessoaId(),
+                () -> efetivarPresencial(request, idempotencyKey, LocalDateTime.now(), true));
+    }
 
-        // 3. Criar histórico de comparecimento
-        HistoricoComparecimento historico = new HistoricoComparecimento();
-        historico.setPessoaMonitorada(pessoa);
-        historico.setDataComparecimento(LocalDate.now());
-        historico.setHoraComparecimento(LocalTime.now());
-        historico.setTipoValidacao(TipoValidacao.PRESENCIAL);
-        historico.setValidadoPor(request.getValidadoPor());
-        historico.setObservacoes(request.getObservacoes());
+    /**
+     * Registrar comparecimento presencial ocorrido no momento informado (sincronização do journal de contingência,
+     * sem senha na fila). Serializado por pessoa, em transação própria (refeita em conflito de versão).
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ComparecimentoResponse registrarPresencialOcorridoEm(RegistrarComparecimentoPresencialRequest request,
+                                                                String idempotencyKey, LocalDateTime momento) {
+        return execucaoPorPessoa.executar(request.getPessoaId(),
+                () -> efetivarPresencial(request, idempotencyKey, momento, false));
+    }
 
-        HistoricoComparecimento savedHistorico = historicoRepository.save(historico);
+    private ComparecimentoResponse efetivarPresencial(RegistrarComparecimentoPresencialRequest request,
+                                                      String idempotencyKey, LocalDateTime momento,
+                                                      boolean emitirSenha) {
+        // 1. Requisição repetida: devolver resposta original
+        Optional<ComparecimentoResponse> respostaOriginal = idempotenciaService.reservar(
+                idempotencyKey, OPERACAO_PRESENCIAL, ComparecimentoResponse.class);
+        if (respostaOriginal.isPresent()) {
+            return respostaOriginal.get();
+        }
 
-        // 4. Atualizar regime de comparecimento
-        LocalDate proximoComparecimento = calcularProximoComparecimento(pessoa);
-        atualizarRegimeComparecimento(pessoa, proximoComparecimento);
+        // 2. Ler periodicidade, comarca e vara; inserir histórico, reagendar regime e liberar o status manual em um
+        // segundo comando
+        ComparecimentoResponse response = registrarComparecimento(request.getPessoaId(), TipoValidacao.PRESENCIAL,
+                request.getValidadoPor(), request.getObservacoes(), momento, emitirSenha);
 
-        // 5. Atualizar status da pessoa para em conformidade
-        pessoa.setStatus(StatusComparecimento.EM_CONFORMIDADE);
-        pessoaRepository.save(pessoa);
+        // 3. Enfileirar notificação de comparecimento registrado (enviada após o commit)
+        notificationService.sendComparecimentoRegistradoNotification(response);
 
-        // 6. Enviar notificação de comparecimento registrado
-        // TODO: notificationService.sendComparecimentoRegistradoNotification(pessoa, savedHistorico);
+        // 4. Log da ação
+        // TODO: auditService.logComparecimentoRegistrado(response.getId(), response.getPessoaId());
 
-        // 7. Log da ação
-        // TODO: auditService.logComparecimentoRegistrado(savedHistorico.getId(), pessoa.getNomeCompleto());
+        // 5. Guardar resposta para repetições da requisição
+        idempotenciaService.registrarResposta(idempotencyKey, response);
 
-        return convertToComparecimentoResponse(savedHistorico, proximoComparecimento);
+        return response;
     }
 
     /**
-     * Registrar comparecimento virtual
+     * Registrar comparecimentos presenciais em lote.
+     * Validação com uma consulta IN e inserção dos históricos em um único comando (ON CONFLICT DO NOTHING), com as
+     * faixas das pessoas do lote travadas; itens inválidos ou já registrados na data retornam erro sem afetar os demais.
      */
-    public ComparecimentoResponse registrarVirtual(RegistrarComparecimentoVirtualRequest request) {
-        // 1. Buscar pessoa
-        PessoaMonitorada pessoa = pessoaRepository.findById(request.getPessoaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + request.getPessoaId()));
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ComparecimentoLoteResponse registrarPresencialEmLote(RegistrarComparecimentosLoteRequest request) {
+        List<RegistrarComparecimentoPresencialRequest> itens = request.getComparecimentos();
+        Set<Long> pessoaIds = itens.stream()
+                .map(RegistrarComparecimentoPresencialRequest::getPessoaId)
+                .collect(Collectors.toSet());
+
+        return execucaoPorPessoa.executar(pessoaIds, () -> efetivarLote(itens, pessoaIds));
+    }
 
-        // 2. Validar se não há comparecimento duplicado no dia
-        validateComparecimentoDuplicado(request.getPessoaId(), LocalDate.now());
+    private ComparecimentoLoteResponse efetivarLote(List<RegistrarComparecimentoPresencialRequest> itens,
+                                                    Set<Long> pessoaIds) {
+        LocalDate hoje = LocalDate.now();
+        LocalTime agora = LocalTime.now();
+
+        // 1. Buscar periodicidade, comarca e vara das pessoas do lote (ausente = pessoa inexistente)
+        Map<Long, Integer> periodicidades = new HashMap<>();
+        Map<Long, Object[]> processos = new HashMap<>();
+        for (Object[] row : pessoaRepository.findDadosAgendamentoByIds(pessoaIds)) {
+            periodicidades.put((Long) row[0], (Integer) row[1]);
+            processos.put((Long) row[0], row);
+        }
 
-        // 3. Validar dados específicos do virtual
-        validateComparecimentoVirtual(request);
+        // 2. Validar itens; duplicados dentro do próprio lote também são rejeitados
+        ComparecimentoLoteResponse.ResultadoItem[] resultados = new ComparecimentoLoteResponse.ResultadoItem[itens.size()];
+        List<Integer> indicesValidos = new ArrayList<>();
+        Set<Long> vistos = new HashSet<>();
+
+        for (int i = 0; i < itens.size(); i++) {
+            Long pessoaId = itens.get(i).getPessoaId();
+
+            if (!periodicidades.containsKey(pessoaId)) {
+                resultados[i] = ComparecimentoLoteResponse.ResultadoItem.erro(i, pessoaId,
+                        "Pessoa não encontrada com ID: " + pessoaId);
+            } else if (periodicidades.get(pessoaId) == null) {
+                resultados[i] = ComparecimentoLoteResponse.ResultadoItem.erro(i, pessoaId,
+                        "Regime de comparecimento não configurado para a pessoa");
+            } else if (!vistos.add(pessoaId)) {
+                resultados[i] = erroJaRegistrado(i, pessoaId, hoje);
+            } else {
+                indicesValidos.add(i);
+            }
+        }
 
-        // 4. Criar histórico de comparecimento
-        HistoricoComparecimento historico = new HistoricoComparecimento();
-        historico.setPessoaMonitorada(pessoa);
-        historico.setDataComparecimento(LocalDate.now());
-        historico.setHoraComparecimento(LocalTime.now());
-        historico.setTipoValidacao(TipoValidacao.ONLINE);
-        historico.setValidadoPor(request.getValidadoPor());
+        if (indicesValidos.isEmpty()) {
+            return new ComparecimentoLoteResponse(Arrays.asList(resultados));
+        }
 
-        // Montar observações com detalhes do virtual
-        String observacoes = buildObservacoesVirtual(request);
-        historico.setObservacoes(observacoes);
+        // 3. Inserir históricos em um comando; quem já compareceu hoje não volta no RETURNING
+        Long[] ids = new Long[indicesValidos.size()];
+        String[] validadores = new String[ids.length];
+        String[] observacoes = new String[ids.length];
+        for (int j = 0; j < ids.length; j++) {
+            RegistrarComparecimentoPresencialRequest item = itens.get(indicesValidos.get(j));
+            ids[j] = item.getPessoaId();
+            validadores[j] = item.getValidadoPor();
+            observacoes[j] = item.getObservacoes();
+        }
 
-        HistoricoComparecimento savedHistorico = historicoRepository.save(historico);
+        Map<Long, Long> historicos = new HashMap<>();
+        for (Object[] row : historicoRepository.inserirPresenciaisEmLote(hoje, agora, ids, validadores, observacoes)) {
+            historicos.put(((Number) row[1]).longValue(), ((Number) row[0]).longValue());
+        }
+
+        // 4. Vencimentos pelo calendário forense (e nivelamento) da vara; um comando por data distinta
+        Map<Long, LocalDate> proximos = new HashMap<>();
+        Map<LocalDate, List<Long>> pessoasPorData = new HashMap<>();
+        for (Long pessoaId : historicos.keySet()) {
+            Object[] processo = processos.get(pessoaId);
+            LocalDate proximo = nivelamentoCarga.calcularVencimento(pessoaId, (String) processo[2],
+                    (String) processo[3], hoje, periodicidades.get(pessoaId));
+            proximos.put(pessoaId, proximo);
+            pessoasPorData.computeIfAbsent(proximo, data -> new ArrayList<>()).add(pessoaId);
+        }
+        pessoasPorData.forEach(regimeRepository::definirProximoComparecimento);
+
+        for (int i : indicesValidos) {
+            Long pessoaId = itens.get(i).getPessoaId();
+            Long historicoId = historicos.get(pessoaId);
+            if (historicoId == null) {
+                resultados[i] = erroJaRegistrado(i, pessoaId, hoje);
+                continue;
+            }
+
+            LocalDate proximo = proximos.get(pessoaId);
+            resultados[i] = ComparecimentoLoteResponse.ResultadoItem.sucesso(i, pessoaId, historicoId, proximo);
+            barramentoEventos.publicar(new ComparecimentoRegistrado(pessoaId, historicoId, hoje, proximo));
+
+            // 5. Enfileirar notificação (enviada após o commit)
+            notificationService.sendComparecimentoRegistradoNotification(pessoaId, hoje, proximo);
+        }
+
+        return new ComparecimentoLoteResponse(Arrays.asList(resultados));
+    }
 
-        // 5. Atualizar regime e status
-        LocalDate proximoComparecimento = calcularProximoComparecimento(pessoa);
-        atualizarRegimeComparecimento(pessoa, proximoComparecimento);
+    /**
+     * Registrar comparecimento virtual
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ComparecimentoResponse registrarVirtual(RegistrarComparecimentoVirtualRequest request) {
+        return registrarVirtual(request, null);
+    }
 
-        pessoa.setStatus(StatusComparecimento.EM_CONFORMIDADE);
-        pessoaRepository.save(pessoa);
+    /**
+     * Registrar comparecimento virtual; repetições com a mesma Idempotency-Key devolvem a resposta original
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ComparecimentoResponse registrarVirtual(RegistrarComparecimentoVirtualRequest request,
+                                                   String idempotencyKey) {
+        return execucaoPorPessoa.executar(request.getPessoaId(), () -> efetivarVirtual(request, idempotencyKey));
+    }
 
-        // 6. Enviar notificação
-        // TODO: notificationService.sendComparecimentoVirtualRegistradoNotification(pessoa, savedHistorico);
+    private ComparecimentoResponse efetivarVirtual(RegistrarComparecimentoVirtualRequest request,
+                                                   String idempotencyKey) {
+        // 1. Requisição repetida: devolver resposta original
+        Optional<ComparecimentoResponse> respostaOriginal = idempotenciaService.reservar(
+                idempotencyKey, OPERACAO_VIRTUAL, ComparecimentoResponse.class);
+        if (respostaOriginal.isPresent()) {
+            return respostaOriginal.get();
+        }
 
-        return convertToComparecimentoResponse(savedHistorico, proximoComparecimento);
+        // 2. Validar dados específicos do virtual
+        validateComparecimentoVirtual(request);
+
+        // 3. Ler periodicidade, comarca e vara; inserir histórico, reagendar regime e liberar o status manual em um
+        // segundo comando
+        ComparecimentoResponse response = registrarComparecimento(request.getPessoaId(), TipoValidacao.ONLINE,
+                request.getValidadoPor(), buildObservacoesVirtual(request), LocalDateTime.now(), false);
+
+        // 4. Enfileirar notificação
+        notificationService.sendComparecimentoRegistradoNotification(response);
+
+        // 5. Guardar resposta para repetições da requisição
+        idempotenciaService.registrarResposta(idempotencyKey, response);
+
+        return response;
     }
 
     /**
      * Registrar justificativa de ausência
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ComparecimentoResponse registrarJustificativa(RegistrarJustificativaRequest request) {
+        return execucaoPorPessoa.executar(request.getPessoaId(), () -> efetivarJustificativa(request));
+    }
+
+    private ComparecimentoResponse efetivarJustificativa(RegistrarJustificativaRequest request) {
         // 1. Buscar pessoa
         PessoaMonitorada pessoa = pessoaRepository.findById(request.getPessoaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + request.getPessoaId()));
@@ -152,16 +316,19 @@ public class ComparecimentoService {
         // 5. Reagendar próximo comparecimento se solicitado
         LocalDate proximoComparecimento = null;
         if (request.isReagendarProximo()) {
+            StatusComparecimento statusAnterior = pessoa.getStatus();
             proximoComparecimento = calcularProximoComparecimento(pessoa);
             atualizarRegimeComparecimento(pessoa, proximoComparecimento);
 
-            // Atualizar status para em conformidade
-            pessoa.setStatus(StatusComparecimento.EM_CONFORMIDADE);
-            pessoaRepository.save(pessoa);
+            // Status calculado pela nova data (sem gravação na pessoa)
+            barramentoEventos.publicar(new ProximoComparecimentoAlterado(pessoa.getId(), proximoComparecimento));
+            if (pessoa.getStatus() != statusAnterior) {
+                barramentoEventos.publicar(new StatusAlterado(pessoa.getId(), statusAnterior, pessoa.getStatus()));
+            }
         }
 
-        // 6. Enviar notificação
-        // TODO: notificationService.sendJustificativaRegistradaNotification(pessoa, savedHistorico);
+        // 6. Enfileirar notificação
+        notificationService.sendJustificativaRegistradaNotification(pessoa, savedHistorico);
 
         return convertToComparecimentoResponse(savedHistorico, proximoComparecimento);
     }
@@ -192,22 +359,36 @@ public class ComparecimentoService {
     /**
      * Atualizar próximo comparecimento
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void atualizarProximoComparecimento(Long pessoaId, AtualizarProximoComparecimentoRequest request) {
+        execucaoPorPessoa.executar(pessoaId, () -> efetivarProximoComparecimento(pessoaId, request));
+    }
+
+    private void efetivarProximoComparecimento(Long pessoaId, AtualizarProximoComparecimentoRequest request) {
         // 1. Buscar pessoa
         PessoaMonitorada pessoa = pessoaRepository.findById(pessoaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + pessoaId));
 
-        // 2. Validar nova data
+        // 2. Validar nova data (deve ser dia útil na comarca do processo)
         validateNovaDataComparecimento(request.getNovaData());
+        validateDiaUtil(comarcaDe(pessoa), request.getNovaData());
 
-        // 3. Atualizar regime de comparecimento
+        // 3. Atualizar regime de comparecimento (o status calculado acompanha a nova data)
+        StatusComparecimento statusAnterior = pessoa.getStatus();
+        LocalDate dataAnterior = pessoa.getRegimeComparecimento() != null
+                ? pessoa.getRegimeComparecimento().getProximoComparecimento() : null;
         atualizarRegimeComparecimento(pessoa, request.getNovaData());
 
-        // 4. Registrar histórico da alteração
-        registrarAlteracaoComparecimento(pessoa, request);
+        // 4. Registrar a alteração na auditoria de reagendamentos (não é um comparecimento)
+        auditoriaReagendamentoRepository.save(new AuditoriaReagendamento(null, dataAnterior, request.getNovaData(),
+                List.of(pessoaId), request.getMotivoAlteracao(), request.getValidadoPor()));
+        barramentoEventos.publicar(new ProximoComparecimentoAlterado(pessoaId, request.getNovaData()));
+        if (pessoa.getStatus() != statusAnterior) {
+            barramentoEventos.publicar(new StatusAlterado(pessoaId, statusAnterior, pessoa.getStatus()));
+        }
 
-        // 5. Enviar notificação
-        // TODO: notificationService.sendComparecimentoReagendadoNotification(pessoa, request.getNovaData());
+        // 5. Enfileirar notificação
+        notificationService.sendComparecimentoReagendadoNotification(pessoa, request.getNovaData());
     }
 
     /**
@@ -271,7 +452,13 @@ public class ComparecimentoService {
             throw new BusinessException("Regime de comparecimento não configurado para a pessoa");
         }
 
-        return LocalDate.now().plusDays(regime.getPeriodicidadeDias());
+        ProcessoJudicial processo = pessoa.getProcessoJudicial();
+        return nivelamentoCarga.calcularVencimento(pessoa.getId(), processo != null ? processo.getComarca() : null,
+                processo != null ? processo.getVara() : null, LocalDate.now(), regime.getPeriodicidadeDias());
+    }
+
+    private String comarcaDe(PessoaMonitorada pessoa) {
+        return pessoa.getProcessoJudicial() != null ? pessoa.getProcessoJudicial().getComarca() : null;
     }
 
     private void atualizarRegimeComparecimento(PessoaMonitorada pessoa, LocalDate proximoComparecimento) {
@@ -279,14 +466,59 @@ public class ComparecimentoService {
         if (regime != null) {
             regime.setProximoComparecimento(proximoComparecimento);
             regimeRepository.save(regime);
+            horarioComparecimento.cancelarForaDaData(pessoa.getId(), proximoComparecimento);
+
+            // Definição manual de status vale até a próxima alteração da data
+            pessoa.setStatusManual(null);
         }
     }
 
-    private void validateComparecimentoDuplicado(Long pessoaId, LocalDate data) {
-        boolean existe = historicoRepository.existsByPessoaMonitoradaIdAndDataComparecimento(pessoaId, data);
-        if (existe) {
-            throw new BusinessException("Já existe um comparecimento registrado para esta pessoa na data: " + data);
+    private ComparecimentoResponse registrarComparecimento(Long pessoaId, TipoValidacao tipoValidacao,
+                                                           String validadoPor, String observacoes,
+                                                           LocalDateTime momento, boolean emitirSenha) {
+        LocalDate hoje = momento.toLocalDate();
+        LocalTime agora = momento.toLocalTime();
+
+        // 1. Periodicidade, comarca e vara (pessoa inexistente ou sem regime é rejeitada antes do comando)
+        List<Object[]> dados = pessoaRepository.findDadosAgendamentoByIds(List.of(pessoaId));
+        if (dados.isEmpty()) {
+            throw new ResourceNotFoundException("Pessoa não encontrada com ID: " + pessoaId);
+        }
+        Object[] row = dados.get(0);
+        if (row[1] == null) {
+            throw new BusinessException("Regime de comparecimento não configurado para a pessoa");
+        }
+
+        // 2. Vencimento pelo calendário forense da comarca (e nivelamento de carga da vara)
+        LocalDate proximoComparecimento = nivelamentoCarga.calcularVencimento(pessoaId, (String) row[2],
+                (String) row[3], hoje, (Integer) row[1]);
+
+        // 3. Inserir histórico, gravar o vencimento, liberar o status manual e encerrar o agendamento de horário
+        // em um único comando (segunda ida ao banco, após a leitura do passo 1)
+        List<Long> resultado = historicoRepository.registrarComparecimentoComReagendamento(
+                pessoaId, hoje, agora, tipoValidacao.name(), validadoPor, observacoes, proximoComparecimento);
+
+        if (resultado.isEmpty()) {
+            throw new BusinessException("Já existe um comparecimento registrado para esta pessoa na data: " + hoje);
+        }
+        Long historicoId = resultado.get(0);
+
+        // Entregue aos ouvintes somente após o commit
+        barramentoEventos.publicar(new ComparecimentoRegistrado(pessoaId, historicoId, hoje, proximoComparecimento));
+
+        ComparecimentoResponse response = new ComparecimentoResponse(historicoId, pessoaId, hoje, agora, tipoValidacao,
+                validadoPor, observacoes, proximoComparecimento);
+
+        // Senha na fila da vara (em memória, entra na fila após o commit)
+        if (emitirSenha) {
+            response.setSenha(filaAtendimento.emitir((String) row[2], (String) row[3], pessoaId));
         }
+        return response;
+    }
+
+    private ComparecimentoLoteResponse.ResultadoItem erroJaRegistrado(int indice, Long pessoaId, LocalDate data) {
+        return ComparecimentoLoteResponse.ResultadoItem.erro(indice, pessoaId,
+                "Já existe um comparecimento registrado para esta pessoa na data: " + data);
     }
 
     private void validateComparecimentoVirtual(RegistrarComparecimentoVirtualRequest request) {
@@ -332,6 +564,13 @@ public class ComparecimentoService {
         }
     }
 
+    private void validateDiaUtil(String comarca, LocalDate data) {
+        if (!calendarioForense.isDiaUtil(comarca, data)) {
+            throw new BusinessException("Data " + data + " não é dia útil forense na comarca; próximo dia útil: "
+                    + calendarioForense.proximoDiaUtil(comarca, data));
+        }
+    }
+
     private void validatePeriodoRelatorio(LocalDate dataInicio, LocalDate dataFim) {
         if (dataInicio.isAfter(dataFim)) {
             throw new BusinessException("Data de início não pode ser posterior à data de fim");
@@ -378,19 +617,6 @@ public class ComparecimentoService {
         return obs.toString();
     }
 
-    private void registrarAlteracaoComparecimento(PessoaMonitorada pessoa, AtualizarProximoComparecimentoRequest request) {
-        HistoricoComparecimento historico = new HistoricoComparecimento();
-        historico.setPessoaMonitorada(pessoa);
-        historico.setDataComparecimento(LocalDate.now());
-        historico.setHoraComparecimento(LocalTime.now());
-        historico.setTipoValidacao(TipoValidacao.JUSTIFICADO);
-        historico.setValidadoPor(request.getValidadoPor());
-        historico.setObservacoes("Alteração de data de comparecimento: " + request.getMotivoAlteracao() +
-                " - Nova data: " + request.getNovaData());
-
-        historicoRepository.save(historico);
-    }
-
     private Double calcularPercentualConformidade(String comarca) {
         Long totalPessoas = comarca != null ?
                 pessoaRepository.countByComarca(comarca) :
@@ -400,9 +626,10 @@ public class ComparecimentoService {
             return 0.0;
         }
 
+        LocalDate hoje = LocalDate.now();
         Long pessoasConformes = comarca != null ?
-                pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.EM_CONFORMIDADE) :
-                pessoaRepository.countByStatus(StatusComparecimento.EM_CONFORMIDADE);
+                pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.EM_CONFORMIDADE, hoje) :
+                pessoaRepository.countByStatus(StatusComparecimento.EM_CONFORMIDADE, hoje);
 
         return (pessoasConformes.doubleValue() / totalPessoas.doubleValue()) * 100.0;
     }
@@ -44,6 +44,8 @@ public class ConfigService {
         configs.put("relatorio.max_registros", "10000");
         configs.put("backup.automatico", "true");
         configs.put("backup.horario", "02:00");
+        configs.put("relatorio.pregeracao.automatica", "true");
+        configs.put("relatorio.pregeracao.horario", "04:00");
         configs.put("audit.log_ativo", "true");
         configs.put("seguranca.sessao_timeout_minutos", "60");
         configs.put("seguranca.tentativas_login_max", "5");
@@ -254,11 +256,13 @@ public class ConfigService {
             case "notificacao.email.ativo":
             case "notificacao.sms.ativo":
             case "backup.automatico":
+            case "relatorio.pregeracao.automatica":
             case "audit.log_ativo":
                 validateBooleanValue(chave, valor);
                 break;
 
             case "backup.horario":
+            case "relatorio.pregeracao.horario":
                 validateTimeValue(chave, valor);
                 break;
 
@@ -327,6 +331,8 @@ public class ConfigService {
             case "relatorio.max_registros" -> "Máximo de registros em relatórios";
             case "backup.automatico" -> "Ativa/desativa backup automático";
             case "backup.horario" -> "Horário para execução do backup automático";
+            case "relatorio.pregeracao.automatica" -> "Ativa/desativa pré-geração noturna dos relatórios padrão";
+            case "relatorio.pregeracao.horario" -> "Horário para pré-geração dos relatórios padrão";
             case "audit.log_ativo" -> "Ativa/desativa log de auditoria";
             case "seguranca.sessao_timeout_minutos" -> "Timeout da sessão em minutos";
             case "seguranca.tentativas_login_max" -> "Máximo de tentativas de login";
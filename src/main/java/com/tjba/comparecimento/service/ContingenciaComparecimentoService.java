@@ -0,0 +1,203 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.dto.request.RegistrarComparecimentoPresencialRequest;
+import com.tjba.comparecimento.dto.response.ComparecimentoResponse;
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import com.tjba.comparecimento.exception.BusinessException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.net.ConnectException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service de contingência do check-in presencial: com o banco indisponível, o comparecimento é aceito no
+ * journal local e sincronizado depois, em lotes, pelo registro idempotente (cada entrada leva uma
+ * Idempotency-Key, de modo que reprocessar uma entrada após falha não duplica o comparecimento).
+ */
+@Service
+public class ContingenciaComparecimentoService {
+
+    private static final String PREFIXO_CHAVE_JOURNAL = "journal-";
+
+    @Autowired
+    private ComparecimentoService comparecimentoService;
+
+    @Autowired
+    private JournalComparecimentos journal;
+
+    @Value("${journal.replay.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${journal.prazo-gravacao:2s}")
+    private Duration prazoGravacao;
+
+    private final ReentrantLock sincronizacao = new ReentrantLock();
+    private final AtomicLong sincronizados = new AtomicLong();
+    private final AtomicLong rejeitados = new AtomicLong();
+    private volatile LocalDateTime ultimaSincronizacao;
+    private volatile String ultimoErro;
+
+    /**
+     * Resultado do registro: comparecimento efetivado ou aceito em contingência (sem ID até a sincronização)
+     */
+    public record Registro(ComparecimentoResponse comparecimento, boolean emContingencia) {
+    }
+
+    /**
+     * Situação do journal de contingência
+     */
+    public record EstadoContingencia(boolean ativo,
+                                     boolean pendentes,
+                                     JournalComparecimentos.Posicao posicaoEscrita,
+                                     JournalComparecimentos.Posicao posicaoSincronizada,
+                                     long sincronizados,
+                                     long rejeitados,
+                                     long registrosCorrompidos,
+                                     LocalDateTime ultimaSincronizacao,
+                                     String ultimoErro) {
+    }
+
+    /**
+     * Registrar comparecimento presencial; com o banco indisponível, aceitar no journal
+     */
+    public Registro registrarPresencial(RegistrarComparecimentoPresencialRequest request, String idempotencyKey) {
+        try {
+            return new Registro(comparecimentoService.registrarPresencial(request, idempotencyKey), false);
+        } catch (RuntimeException e) {
+            if (!journal.isAtivo() || !isBancoIndisponivel(e)) {
+                throw e;
+            }
+            return registrarNoJournal(request, idempotencyKey);
+        }
+    }
+
+    /**
+     * Sincronizar entradas pendentes do journal (a cada 30s por padrão)
+     */
+    @Scheduled(fixedDelayString = "${journal.replay.intervalo:30s}")
+    public void sincronizar() {
+        if (!journal.possuiPendentes() || !sincronizacao.tryLock()) {
+            return;
+        }
+
+        try {
+            JournalComparecimentos.Posicao posicao = journal.getCheckpoint();
+            JournalComparecimentos.Leitura leitura = journal.ler(posicao, tamanhoLote);
+
+            while (!leitura.entradas().isEmpty() || leitura.fim().compareTo(posicao) > 0) {
+                // 1. Cada entrada em sua própria transação: uma rejeição não desfaz as demais
+                for (JournalComparecimentos.EntradaLida lida : leitura.entradas()) {
+                    JournalComparecimentos.Entrada entrada = lida.entrada();
+                    try {
+                        comparecimentoService.registrarPresencialOcorridoEm(
+                                toRequest(entrada), entrada.idempotencyKey(), entrada.ocorridoEm());
+                        sincronizados.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (isBancoIndisponivel(e)) {
+                            // 2. Banco caiu novamente: confirmar o que já foi sincronizado e tentar depois
+                            journal.confirmar(posicao);
+                            ultimoErro = e.getMessage();
+                            return;
+                        }
+                        // Pessoa inexistente, comparecimento já registrado no dia etc.: guardar para conferência
+                        journal.registrarRejeitada(entrada, e.getMessage());
+                        rejeitados.incrementAndGet();
+                    }
+                    posicao = lida.proxima();
+                }
+
+                // 3. Lote concluído: avançar checkpoint e compactar
+                journal.confirmar(leitura.fim());
+                posicao = journal.getCheckpoint();
+                ultimaSincronizacao = LocalDateTime.now();
+                leitura = journal.ler(posicao, tamanhoLote);
+            }
+            ultimoErro = null;
+
+        } finally {
+            sincronizacao.unlock();
+        }
+    }
+
+    public EstadoContingencia getEstado() {
+        if (!journal.isAtivo()) {
+            return new EstadoContingencia(false, false, null, null, 0, 0, 0, null, null);
+        }
+        return new EstadoContingencia(
+                true,
+                journal.possuiPendentes(),
+                journal.getPosicaoEscrita(),
+                journal.getCheckpoint(),
+                sincronizados.get(),
+                rejeitados.get(),
+                journal.getRegistrosCorrompidos(),
+                ultimaSincronizacao,
+                ultimoErro);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private Registro registrarNoJournal(RegistrarComparecimentoPresencialRequest request, String idempotencyKey) {
+        LocalDateTime agora = LocalDateTime.now();
+        String chave = idempotencyKey != null && !idempotencyKey.isBlank()
+                ? idempotencyKey
+                : PREFIXO_CHAVE_JOURNAL + UUID.randomUUID();
+
+        // Resposta somente após o registro estar gravado em disco
+        aguardarGravacao(journal.anexar(new JournalComparecimentos.Entrada(
+                chave, request.getPessoaId(), request.getValidadoPor(), request.getObservacoes(), agora)));
+
+        return new Registro(new ComparecimentoResponse(null, request.getPessoaId(), agora.toLocalDate(),
+                agora.toLocalTime(), TipoValidacao.PRESENCIAL, request.getValidadoPor(), request.getObservacoes(),
+                null), true);
+    }
+
+    private void aguardarGravacao(CompletableFuture<Void> gravado) {
+        try {
+            gravado.get(prazoGravacao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Registro em contingência interrompido");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new BusinessException("Não foi possível gravar o comparecimento em contingência");
+        }
+    }
+
+    private RegistrarComparecimentoPresencialRequest toRequest(JournalComparecimentos.Entrada entrada) {
+        RegistrarComparecimentoPresencialRequest request = new RegistrarComparecimentoPresencialRequest();
+        request.setPessoaId(entrada.pessoaId());
+        request.setValidadoPor(entrada.validadoPor());
+        request.setObservacoes(entrada.observacoes());
+        return request;
+    }
+
+    static boolean isBancoIndisponivel(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof CannotCreateTransactionException
+                    || causa instanceof DataAccessResourceFailureException
+                    || causa instanceof RecoverableDataAccessException
+                    || causa instanceof JDBCConnectionException
+                    || causa instanceof SQLTransientConnectionException
+                    || causa instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+import com.tjba.comparecimento.exception.RelatorioCanceladoException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Controle de prazo e cancelamento cooperativo da geração de relatórios.
+ * O prazo de cada tipo é lido de "relatorio.timeout.{tipo}" e aplicado no banco via statement_timeout.
+ */
+@Component
+public class ControleExecucaoRelatorio {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private Environment environment;
+
+    /**
+     * Iniciar execução de relatório na transação corrente.
+     * O statement_timeout vale apenas até o fim da transação (set_config local).
+     */
+    public Execucao iniciar(TipoRelatorio tipo) {
+        Duration prazo = getPrazo(tipo);
+
+        entityManager.createNativeQuery("SELECT set_config('statement_timeout', :valor, true)")
+                .setParameter("valor", prazo.toMillis() + "ms")
+                .getSingleResult();
+
+        return new Execucao(tipo, System.nanoTime() + prazo.toNanos());
+    }
+
+    /**
+     * Obter prazo configurado para o tipo de relatório
+     */
+    public Duration getPrazo(TipoRelatorio tipo) {
+        return environment.getProperty("relatorio.timeout." + tipo.getCode(), Duration.class,
+                Duration.ofSeconds(tipo.getPrazoPadraoSegundos()));
+    }
+
+    /**
+     * Converter falha durante a geração em exceção de cancelamento, quando aplicável.
+     * Retorna null se a falha não corresponde a cancelamento.
+     */
+    public RelatorioCanceladoException traduzirCancelamento(TipoRelatorio tipo, Exception e) {
+        if (e instanceof RelatorioCanceladoException cancelado) {
+            return cancelado;
+        }
+
+        if (e instanceof IOException) {
+            return new RelatorioCanceladoException(tipo, RelatorioCanceladoException.Motivo.CLIENTE_DESCONECTADO, e);
+        }
+
+        if (e instanceof org.springframework.dao.QueryTimeoutException ||
+                e instanceof jakarta.persistence.QueryTimeoutException) {
+            return new RelatorioCanceladoException(tipo, RelatorioCanceladoException.Motivo.PRAZO_EXCEDIDO, e);
+        }
+
+        return null;
+    }
+
+    // === CLASSES AUXILIARES ===
+
+    /**
+     * Execução em andamento com prazo absoluto (verificação cooperativa)
+     */
+    public static class Execucao {
+        private final TipoRelatorio tipo;
+        private final long prazoNanos;
+
+        public Execucao(TipoRelatorio tipo, long prazoNanos) {
+            this.tipo = tipo;
+            this.prazoNanos = prazoNanos;
+        }
+
+        /**
+         * Lançar exceção se o prazo da execução já passou
+         */
+        public void verificarPrazo() {
+            if (System.nanoTime() - prazoNanos > 0) {
+                throw new RelatorioCanceladoException(tipo, RelatorioCanceladoException.Motivo.PRAZO_EXCEDIDO);
+            }
+        }
+
+        public TipoRelatorio getTipo() {
+            return tipo;
+        }
+    }
+}
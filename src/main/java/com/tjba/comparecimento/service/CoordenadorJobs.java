@@ -0,0 +1,195 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.JobExecucao;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+import com.tjba.comparecimento.repository.JobExecucaoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Coordenação de jobs agendados entre as instâncias da aplicação.
+ * Cada partição de um job é protegida por um advisory lock do PostgreSQL (pg_try_advisory_lock), mantido em
+ * uma conexão dedicada durante a execução: se a instância cair, a conexão fecha e o lock é liberado.
+ * A instância que não obtém o lock pula a partição; a que obtém confere em job_execucoes se a partição já foi
+ * concluída no período de referência (instâncias com o agendamento atrasado não repetem o trabalho).
+ * Jobs particionados são divididos por chave (ex.: id % total): cada instância começa por uma partição
+ * diferente e segue pelas restantes, de modo que o trabalho se distribui entre as instâncias ativas.
+ */
+@Component
+public class CoordenadorJobs {
+
+    // Chave do lock: (hash do nome do job, índice da partição)
+    private static final String SQL_LOCK = "SELECT pg_try_advisory_lock(hashtext(?), ?)";
+    private static final String SQL_UNLOCK = "SELECT pg_advisory_unlock(hashtext(?), ?)";
+
+    @Autowired
+    private JobExecucaoRepository jobExecucaoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final String instancia = ManagementFactory.getRuntimeMXBean().getName();
+
+    private TransactionTemplate registro;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Partição de um job: chaves com {@code chave % total == indice}
+     */
+    public record Particao(int indice, int total) {
+
+        public boolean contem(long chave) {
+            return Math.floorMod(chave, total) == indice;
+        }
+    }
+
+    /**
+     * Resumo da execução de uma partição
+     */
+    public record ExecucaoJob(String job,
+                              String referencia,
+                              int particao,
+                              int totalParticoes,
+                              String instancia,
+                              LocalDateTime inicio,
+                              LocalDateTime fim,
+                              Long linhas,
+                              ResultadoJob resultado,
+                              String erro) {
+
+        static ExecucaoJob de(JobExecucao execucao) {
+            return new ExecucaoJob(execucao.getJob(), execucao.getReferencia(), execucao.getParticao(),
+                    execucao.getTotalParticoes(), execucao.getInstancia(), execucao.getInicio(), execucao.getFim(),
+                    execucao.getLinhas(), execucao.getResultado(), execucao.getErro());
+        }
+    }
+
+    @PostConstruct
+    void iniciar() {
+        // Registro das execuções sempre em transação própria, visível às demais instâncias ao iniciar
+        registro = new TransactionTemplate(transactionManager);
+        registro.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Referência do período agendado (ex.: ChronoUnit.DAYS para jobs diários)
+     */
+    public static String referencia(ChronoUnit periodo) {
+        return LocalDateTime.now().truncatedTo(periodo).toString();
+    }
+
+    /**
+     * Executar job não particionado em uma única instância; a tarefa roda em transação e retorna as linhas afetadas
+     */
+    public ExecucaoJob executarEmTransacao(String job, String referencia, LongSupplier tarefa) {
+        return executar(job, referencia, () -> transactionTemplate.execute(status -> tarefa.getAsLong()));
+    }
+
+    /**
+     * Executar job não particionado em uma única instância; a tarefa controla as próprias transações
+     */
+    public ExecucaoJob executar(String job, String referencia, LongSupplier tarefa) {
+        List<ExecucaoJob> execucoes = executarParticionado(job, referencia, 1, particao -> tarefa.getAsLong());
+        return execucoes.isEmpty() ? null : execucoes.get(0);
+    }
+
+    /**
+     * Executar as partições do job ainda não concluídas no período e não bloqueadas por outra instância.
+     * Retorna as execuções feitas por esta instância.
+     */
+    public List<ExecucaoJob> executarParticionado(String job, String referencia, int totalParticoes,
+                                                  ToLongFunction<Particao> tarefa) {
+        List<ExecucaoJob> execucoes = new ArrayList<>();
+        int primeira = Math.floorMod(instancia.hashCode(), totalParticoes);
+
+        for (int i = 0; i < totalParticoes; i++) {
+            Particao particao = new Particao((primeira + i) % totalParticoes, totalParticoes);
+            ExecucaoJob execucao = executarParticao(job, referencia, particao, tarefa);
+            if (execucao != null) {
+                execucoes.add(execucao);
+            }
+        }
+        return execucoes;
+    }
+
+    /**
+     * Últimas execuções registradas (de todas as instâncias)
+     */
+    public List<ExecucaoJob> findUltimasExecucoes(String job) {
+        List<JobExecucao> execucoes = job != null && !job.isBlank()
+                ? jobExecucaoRepository.findTop100ByJobOrderByInicioDesc(job)
+                : jobExecucaoRepository.findTop100ByOrderByInicioDesc();
+        return execucoes.stream().map(ExecucaoJob::de).toList();
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private ExecucaoJob executarParticao(String job, String referencia, Particao particao,
+                                         ToLongFunction<Particao> tarefa) {
+        try (Connection conexao = dataSource.getConnection()) {
+            // 1. Lock da partição (outra instância executando: pular)
+            if (!advisoryLock(conexao, SQL_LOCK, job, particao.indice())) {
+                return null;
+            }
+
+            try {
+                // 2. Partição já concluída no período por outra instância
+                if (jobExecucaoRepository.existsByJobAndReferenciaAndParticaoAndResultado(
+                        job, referencia, particao.indice(), ResultadoJob.SUCESSO)) {
+                    return null;
+                }
+
+                // 3. Registrar início (e encerrar execuções interrompidas por queda de instância)
+                JobExecucao execucao = registro.execute(status -> {
+                    jobExecucaoRepository.encerrarInterrompidas(job, particao.indice(), LocalDateTime.now());
+                    return jobExecucaoRepository.save(
+                            new JobExecucao(job, referencia, particao.indice(), particao.total(), instancia));
+                });
+
+                // 4. Executar e registrar o resultado
+                try {
+                    execucao.concluir(tarefa.applyAsLong(particao));
+                } catch (RuntimeException e) {
+                    execucao.registrarFalha(e.getMessage());
+                }
+                return ExecucaoJob.de(registro.execute(status -> jobExecucaoRepository.save(execucao)));
+            } finally {
+                advisoryLock(conexao, SQL_UNLOCK, job, particao.indice());
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Erro no lock do job " + job + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean advisoryLock(Connection conexao, String sql, String job, int particao) throws SQLException {
+        try (PreparedStatement statement = conexao.prepareStatement(sql)) {
+            statement.setString(1, job);
+            statement.setInt(2, particao);
+            try (ResultSet resultado = statement.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+}
@@ -37,6 +37,9 @@ public class DashboardService {
     @Autowired
     private ProcessoJudicialRepository processoRepository;
 
+    @Autowired
+    private AgendaComparecimentosService agendaComparecimentos;
+
     // TODO: Injetar AuditService quando implementar
     // @Autowired private AuditService auditService;
 
@@ -49,14 +52,16 @@ public class DashboardService {
 
         // 1. Estatísticas de pessoas
         long totalPessoas = pessoaRepository.count();
-        long emConformidade = pessoaRepository.countByStatus(StatusComparecimento.EM_CONFORMIDADE);
-        long inadimplentes = pessoaRepository.countByStatus(StatusComparecimento.INADIMPLENTE);
+        long emConformidade = pessoaRepository.countByStatus(StatusComparecimento.EM_CONFORMIDADE, hoje);
+        long inadimplentes = pessoaRepository.countByStatus(StatusComparecimento.INADIMPLENTE, hoje);
 
         // 2. Comparecimentos hoje
-        long comparecimentosHoje = pessoaRepository.countByProximoComparecimento(hoje);
+        long comparecimentosHoje = agendaComparecimentos.contar(hoje, hoje)
+                .orElseGet(() -> pessoaRepository.countByProximoComparecimento(hoje));
 
         // 3. Pessoas atrasadas (próximo comparecimento vencido)
-        long atrasados = pessoaRepository.countByProximoComparecimentoVencido(hoje);
+        long atrasados = agendaComparecimentos.contarVencidos()
+                .orElseGet(() -> pessoaRepository.countByProximoComparecimentoVencido(hoje));
 
         // 4. Comparecimentos este mês
         long comparecimentosMes = historicoRepository.countByPeriodo(inicioMes, hoje, null, null);
@@ -104,7 +109,8 @@ public class DashboardService {
 
         for (int i = 0; i < dias; i++) {
             LocalDate data = hoje.plusDays(i);
-            long quantidade = pessoaRepository.countByProximoComparecimento(data);
+            long quantidade = agendaComparecimentos.contar(data, data)
+                    .orElseGet(() -> pessoaRepository.countByProximoComparecimento(data));
 
             // Criar ProximoComparecimentoResponse usando construtor padrão e setters
             ProximoComparecimentoResponse proximoComparecimento = new ProximoComparecimentoResponse();
@@ -165,7 +171,8 @@ public class DashboardService {
         LocalDate hoje = LocalDate.now();
 
         // 1. Alerta de pessoas em atraso
-        long pessoasAtrasadas = pessoaRepository.countByProximoComparecimentoVencido(hoje);
+        long pessoasAtrasadas = agendaComparecimentos.contarVencidos()
+                .orElseGet(() -> pessoaRepository.countByProximoComparecimentoVencido(hoje));
         if (pessoasAtrasadas > 0) {
             alertas.add(new AlertaResponse(
                     "warning",
@@ -177,7 +184,8 @@ public class DashboardService {
         }
 
         // 2. Alerta de comparecimentos hoje
-        long comparecimentosHoje = pessoaRepository.countByProximoComparecimento(hoje);
+        long comparecimentosHoje = agendaComparecimentos.contar(hoje, hoje)
+                .orElseGet(() -> pessoaRepository.countByProximoComparecimento(hoje));
         if (comparecimentosHoje > 0) {
             alertas.add(new AlertaResponse(
                     "info",
@@ -189,8 +197,8 @@ public class DashboardService {
         }
 
         // 3. Alerta de comparecimentos próximos (próximos 3 dias)
-        long proximosComparecimentos = pessoaRepository.countByProximoComparecimentoEntre(
-                hoje.plusDays(1), hoje.plusDays(3));
+        long proximosComparecimentos = agendaComparecimentos.contar(hoje.plusDays(1), hoje.plusDays(3))
+                .orElseGet(() -> pessoaRepository.countByProximoComparecimentoEntre(hoje.plusDays(1), hoje.plusDays(3)));
         if (proximosComparecimentos > 0) {
             alertas.add(new AlertaResponse(
                     "info",
@@ -306,9 +314,10 @@ public class DashboardService {
     // === MÉTODOS AUXILIARES ===
 
     private EstatisticaComarcaResponse calcularEstatisticasComarca(String comarca) {
+        LocalDate hoje = LocalDate.now();
         long totalPessoas = pessoaRepository.countByComarca(comarca);
-        long emConformidade = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.EM_CONFORMIDADE);
-        long inadimplentes = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.INADIMPLENTE);
+        long emConformidade = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.EM_CONFORMIDADE, hoje);
+        long inadimplentes = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.INADIMPLENTE, hoje);
 
         Double percentualConformidade = totalPessoas > 0 ?
                 ((double) emConformidade / (double) totalPessoas) * 100.0 : 0.0;
@@ -325,10 +334,11 @@ public class DashboardService {
     private List<String> findComarcasAltaInadimplencia() {
         List<String> comarcas = processoRepository.findDistinctComarcas();
         List<String> comarcasProblematicas = new ArrayList<>();
+        LocalDate hoje = LocalDate.now();
 
         for (String comarca : comarcas) {
             long totalPessoas = pessoaRepository.countByComarca(comarca);
-            long inadimplentes = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.INADIMPLENTE);
+            long inadimplentes = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.INADIMPLENTE, hoje);
 
             if (totalPessoas > 0) {
                 double percentualInadimplencia = ((double) inadimplentes / (double) totalPessoas) * 100.0;
@@ -0,0 +1,187 @@
+package com.tjba.comparecimento.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tjba.comparecimento.entity.HistoricoComparecimento;
+import com.tjba.comparecimento.entity.PessoaMonitorada;
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.exception.RelatorioCanceladoException;
+import com.tjba.comparecimento.exception.ResourceNotFoundException;
+import com.tjba.comparecimento.repository.HistoricoComparecimentoRepository;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import com.tjba.comparecimento.util.CsvUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service para exportação do dossiê de pessoas monitoradas (ZIP com uma pasta por pessoa).
+ * Pessoas são processadas em lotes: cada lote usa uma consulta com fetch join para os dados
+ * cadastrais e outra para os históricos, e o contexto de persistência é limpo ao final do lote.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DossieService {
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    @Autowired
+    private HistoricoComparecimentoRepository historicoRepository;
+
+    @Autowired
+    private PessoaMonitoradaService pessoaService;
+
+    @Autowired
+    private ControleExecucaoRelatorio controleExecucao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int PESSOAS_POR_LOTE = 100;
+    private static final int TAMANHO_BUFFER_SAIDA = 64 * 1024;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Validar existência da pessoa (usado antes de iniciar a resposta em streaming)
+     */
+    public void validarPessoa(Long pessoaId) {
+        if (!pessoaRepository.existsById(pessoaId)) {
+            throw new ResourceNotFoundException("Pessoa não encontrada com ID: " + pessoaId);
+        }
+    }
+
+    /**
+     * Escrever dossiê de uma pessoa como ZIP no stream de saída
+     */
+    public void escreverDossiePessoa(Long pessoaId, OutputStream out) {
+        try {
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.DOSSIE);
+            ZipOutputStream zip = novoZip(out);
+
+            escreverLote(List.of(pessoaId), zip, execucao);
+
+            zip.finish();
+            zip.flush();
+
+        } catch (Exception e) {
+            throw tratarFalha(e);
+        }
+    }
+
+    /**
+     * Escrever dossiê de todas as pessoas de uma vara como ZIP no stream de saída
+     */
+    public void escreverDossieVara(String comarca, String vara, OutputStream out) {
+        try {
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.DOSSIE);
+            ZipOutputStream zip = novoZip(out);
+
+            // Paginação por chave: cada lote começa após o último ID do lote anterior
+            Long ultimoId = 0L;
+            List<Long> ids = pessoaRepository.findIdsByVaraAposId(vara, comarca, ultimoId, PageRequest.of(0, PESSOAS_POR_LOTE));
+
+            while (!ids.isEmpty()) {
+                escreverLote(ids, zip, execucao);
+                zip.flush();
+
+                ultimoId = ids.get(ids.size() - 1);
+                ids = pessoaRepository.findIdsByVaraAposId(vara, comarca, ultimoId, PageRequest.of(0, PESSOAS_POR_LOTE));
+            }
+
+            zip.finish();
+            zip.flush();
+
+        } catch (Exception e) {
+            throw tratarFalha(e);
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void escreverLote(List<Long> ids, ZipOutputStream zip, ControleExecucaoRelatorio.Execucao execucao)
+            throws IOException {
+        // 1. Dados cadastrais (processo, regime, endereço) e históricos do lote: duas consultas
+        List<PessoaMonitorada> pessoas = pessoaRepository.findByIdInWithDetails(ids);
+        List<HistoricoComparecimento> historicos = historicoRepository.findByPessoaIdsOrdenado(ids);
+
+        // 2. Ambas as listas estão ordenadas por pessoa: percorrer em paralelo
+        Iterator<HistoricoComparecimento> iterator = historicos.iterator();
+        HistoricoComparecimento atual = iterator.hasNext() ? iterator.next() : null;
+
+        for (PessoaMonitorada pessoa : pessoas) {
+            execucao.verificarPrazo();
+            String pasta = nomePasta(pessoa);
+
+            zip.putNextEntry(new ZipEntry(pasta + "pessoa.json"));
+            zip.write(objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValueAsBytes(pessoaService.convertToPessoaDetalheResponse(pessoa)));
+            zip.closeEntry();
+
+            StringBuilder csv = new StringBuilder();
+            csv.append("ID,Data,Horário,Tipo Validação,Validado Por,Observações\n");
+
+            while (atual != null && atual.getPessoaMonitorada().getId() < pessoa.getId()) {
+                atual = iterator.hasNext() ? iterator.next() : null;
+            }
+            while (atual != null && atual.getPessoaMonitorada().getId().equals(pessoa.getId())) {
+                csv.append(atual.getId())
+                        .append(",")
+                        .append(atual.getDataComparecimento().format(DATE_FORMATTER))
+                        .append(",")
+                        .append(atual.getHoraComparecimento() != null ? atual.getHoraComparecimento().toString() : "")
+                        .append(",")
+                        .append(atual.getTipoValidacao().getLabel())
+                        .append(",")
+                        .append(CsvUtil.formatValue(atual.getValidadoPor()))
+                        .append(",")
+                        .append(CsvUtil.formatValue(atual.getObservacoes()))
+                        .append("\n");
+                atual = iterator.hasNext() ? iterator.next() : null;
+            }
+
+            zip.putNextEntry(new ZipEntry(pasta + "historico_comparecimentos.csv"));
+            zip.write(csv.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        // 3. Liberar entidades do lote: memória constante independentemente do tamanho da vara
+        entityManager.clear();
+    }
+
+    private ZipOutputStream novoZip(OutputStream out) {
+        return new ZipOutputStream(new BufferedOutputStream(out, TAMANHO_BUFFER_SAIDA), StandardCharsets.UTF_8);
+    }
+
+    private String nomePasta(PessoaMonitorada pessoa) {
+        String nome = Normalizer.normalize(pessoa.getNomeCompleto(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("[^A-Za-z0-9]+", "_");
+        return pessoa.getId() + "_" + nome + "/";
+    }
+
+    private RuntimeException tratarFalha(Exception e) {
+        RelatorioCanceladoException cancelamento = controleExecucao.traduzirCancelamento(TipoRelatorio.DOSSIE, e);
+        if (cancelamento != null) {
+            return cancelamento;
+        }
+        return new BusinessException("Erro ao gerar dossiê: " + e.getMessage());
+    }
+}
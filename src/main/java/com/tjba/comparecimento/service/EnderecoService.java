@@ -13,6 +13,7 @@ import com.tjba.comparecimento.util.CepUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
@@ -36,6 +37,9 @@ public class EnderecoService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ExecucaoPorPessoa execucaoPorPessoa;
+
     @Value("${viacep.api.url:https://viacep.com.br/ws}")
     private String viaCepApiUrl;
 
@@ -97,7 +101,12 @@ public class EnderecoService {
     /**
      * Atualizar endereço de uma pessoa
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EnderecoResponse updateEnderecoPessoa(Long pessoaId, UpdateEnderecoRequest request) {
+        return execucaoPorPessoa.executar(pessoaId, () -> atualizarEndereco(pessoaId, request));
+    }
+
+    private EnderecoResponse atualizarEndereco(Long pessoaId, UpdateEnderecoRequest request) {
         // 1. Buscar pessoa
         PessoaMonitorada pessoa = pessoaRepository.findById(pessoaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + pessoaId));
@@ -0,0 +1,274 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.enums.CanalNotificacao;
+import com.tjba.comparecimento.entity.enums.StatusNotificacao;
+import com.tjba.comparecimento.repository.NotificacaoPendenteRepository;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Despacho assíncrono da fila de notificações (outbox).
+ * Cada lote é bloqueado com FOR UPDATE SKIP LOCKED, agrupado por canal e enviado em paralelo pelos transportes;
+ * falhas são reagendadas com backoff exponencial e, esgotadas as tentativas, ficam com status FALHA
+ * (fila de mensagens mortas) até serem reprocessadas. O envio é "ao menos uma vez": uma queda no meio do lote
+ * desfaz a transação e as notificações voltam a ser enviadas.
+ */
+@Service
+public class EnvioNotificacoesService {
+
+    private static final Set<StatusNotificacao> STATUS_ENCERRADOS = Set.of(StatusNotificacao.ENVIADA, StatusNotificacao.CANCELADA);
+
+    @Autowired
+    private NotificacaoPendenteRepository notificacaoRepository;
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private List<TransporteNotificacao> transportes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CoordenadorJobs coordenadorJobs;
+
+    @Value("${notificacao.envio.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${notificacao.envio.max-tentativas:6}")
+    private int maxTentativas;
+
+    @Value("${notificacao.envio.backoff-inicial:30s}")
+    private Duration backoffInicial;
+
+    @Value("${notificacao.envio.backoff-maximo:1h}")
+    private Duration backoffMaximo;
+
+    @Value("${notificacao.envio.retencao:30d}")
+    private Duration retencao;
+
+    private final Map<CanalNotificacao, TransporteNotificacao> transportePorCanal = new EnumMap<>(CanalNotificacao.class);
+    private final ReentrantLock despacho = new ReentrantLock();
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong reagendadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong canceladas = new AtomicLong();
+
+    private ExecutorService executor;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Situação da fila e contadores desde o início da aplicação
+     */
+    public record EstatisticasEnvio(long pendentes, long falhas, long enviadas, long reagendadas,
+                                    long descartadas, long canceladas) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        transportes.forEach(transporte -> transportePorCanal.put(transporte.getCanal(), transporte));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Uma thread por canal: um transporte lento não atrasa os demais
+        AtomicInteger sequencia = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, transportePorCanal.size()), runnable -> {
+            Thread thread = new Thread(runnable, "notificacao-envio-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Enviar notificações pendentes (a cada 5s por padrão), em lotes enquanto houver fila
+     */
+    @Scheduled(fixedDelayString = "${notificacao.envio.intervalo:5s}")
+    public void despachar() {
+        if (!despacho.tryLock()) {
+            return;
+        }
+
+        try {
+            Integer processadas;
+            do {
+                processadas = transactionTemplate.execute(status -> despacharLote());
+            } while (processadas != null && processadas == tamanhoLote);
+        } finally {
+            despacho.unlock();
+        }
+    }
+
+    /**
+     * Devolver à fila as notificações com falha definitiva
+     */
+    @Transactional
+    public int reprocessarFalhas() {
+        return notificacaoRepository.reenfileirarFalhas(LocalDateTime.now());
+    }
+
+    /**
+     * Remover notificações enviadas ou canceladas após o período de retenção (em uma única instância)
+     */
+    @Scheduled(cron = "${notificacao.limpeza.cron:0 30 3 * * *}")
+    public void removerEncerradas() {
+        coordenadorJobs.executarEmTransacao("notificacao.limpeza", CoordenadorJobs.referencia(ChronoUnit.DAYS),
+                () -> notificacaoRepository.deleteEncerradasAntes(STATUS_ENCERRADOS, LocalDateTime.now().minus(retencao)));
+    }
+
+    @Transactional(readOnly = true)
+    public EstatisticasEnvio getEstatisticas() {
+        return new EstatisticasEnvio(
+                notificacaoRepository.countByStatus(StatusNotificacao.PENDENTE),
+                notificacaoRepository.countByStatus(StatusNotificacao.FALHA),
+                enviadas.get(),
+                reagendadas.get(),
+                descartadas.get(),
+                canceladas.get());
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private int despacharLote() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // 1. Bloquear lote (instâncias concorrentes pulam as linhas já bloqueadas)
+        List<NotificacaoPendente> lote = notificacaoRepository.findProntasParaEnvio(agora, tamanhoLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        // 2. Resolver contato das pessoas monitoradas com uma consulta IN
+        resolverDestinatarios(lote);
+
+        // 3. Agrupar por canal, cancelando canais desativados na configuração
+        ConfigService.NotificationConfig config = configService.getNotificationConfig();
+        Map<CanalNotificacao, List<NotificacaoPendente>> porCanal = new EnumMap<>(CanalNotificacao.class);
+
+        for (NotificacaoPendente notificacao : lote) {
+            if (!isCanalAtivo(config, notificacao.getCanal())) {
+                notificacao.cancelar("Canal " + notificacao.getCanal() + " desativado");
+                canceladas.incrementAndGet();
+            } else if (notificacao.getDestinatario() == null || notificacao.getDestinatario().isBlank()) {
+                registrarFalha(notificacao, "Destinatário sem contato cadastrado", agora, true);
+            } else if (!transportePorCanal.containsKey(notificacao.getCanal())) {
+                registrarFalha(notificacao, "Transporte indisponível para o canal " + notificacao.getCanal(), agora, true);
+            } else {
+                porCanal.computeIfAbsent(notificacao.getCanal(), canal -> new ArrayList<>()).add(notificacao);
+            }
+        }
+
+        // 4. Enviar canais em paralelo
+        Map<CanalNotificacao, CompletableFuture<Map<Long, String>>> envios = new EnumMap<>(CanalNotificacao.class);
+        porCanal.forEach((canal, notificacoes) -> envios.put(canal, CompletableFuture.supplyAsync(
+                () -> transportePorCanal.get(canal).enviar(notificacoes), executor)));
+
+        // 5. Registrar resultado (gravado em batch no commit)
+        envios.forEach((canal, envio) -> {
+            List<NotificacaoPendente> notificacoes = porCanal.get(canal);
+            Map<Long, String> falhas = aguardar(envio, notificacoes);
+
+            for (NotificacaoPendente notificacao : notificacoes) {
+                String erro = falhas.get(notificacao.getId());
+                if (erro == null) {
+                    notificacao.marcarEnviada();
+                    enviadas.incrementAndGet();
+                } else {
+                    registrarFalha(notificacao, erro, agora, notificacao.getTentativas() + 1 >= maxTentativas);
+                }
+            }
+        });
+
+        return lote.size();
+    }
+
+    private void resolverDestinatarios(List<NotificacaoPendente> lote) {
+        Set<Long> pessoaIds = lote.stream()
+                .filter(notificacao -> notificacao.getDestinatario() == null && notificacao.getPessoaMonitoradaId() != null)
+                .map(NotificacaoPendente::getPessoaMonitoradaId)
+                .collect(Collectors.toSet());
+        if (pessoaIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, String> contatos = new HashMap<>();
+        for (Object[] row : pessoaRepository.findContatoByIds(pessoaIds)) {
+            contatos.put((Long) row[0], (String) row[1]);
+        }
+
+        for (NotificacaoPendente notificacao : lote) {
+            if (notificacao.getDestinatario() == null && notificacao.getPessoaMonitoradaId() != null) {
+                notificacao.setDestinatario(contatos.get(notificacao.getPessoaMonitoradaId()));
+            }
+        }
+    }
+
+    private Map<Long, String> aguardar(CompletableFuture<Map<Long, String>> envio, List<NotificacaoPendente> notificacoes) {
+        try {
+            return envio.join();
+        } catch (RuntimeException e) {
+            // Erro inesperado no transporte: todo o lote do canal conta como falha
+            Map<Long, String> falhas = new HashMap<>();
+            notificacoes.forEach(notificacao -> falhas.put(notificacao.getId(), String.valueOf(e.getCause())));
+            return falhas;
+        }
+    }
+
+    private void registrarFalha(NotificacaoPendente notificacao, String erro, LocalDateTime agora, boolean definitiva) {
+        notificacao.registrarFalha(erro, agora.plus(calcularBackoff(notificacao.getTentativas() + 1)), definitiva);
+        if (definitiva) {
+            descartadas.incrementAndGet();
+        } else {
+            reagendadas.incrementAndGet();
+        }
+    }
+
+    private Duration calcularBackoff(int tentativa) {
+        // Exponencial com teto; metade do intervalo aleatória para espalhar reenvios simultâneos
+        long maximo = backoffMaximo.toMillis();
+        long intervalo = Math.min(maximo, backoffInicial.toMillis() << Math.min(tentativa - 1, 20));
+        long metade = intervalo / 2;
+        return Duration.ofMillis(metade + ThreadLocalRandom.current().nextLong(metade + 1));
+    }
+
+    private boolean isCanalAtivo(ConfigService.NotificationConfig config, CanalNotificacao canal) {
+        return switch (canal) {
+            case EMAIL -> Boolean.TRUE.equals(config.getEmailAtivo());
+            case SMS -> Boolean.TRUE.equals(config.getSmsAtivo());
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.StaleStateException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Execução serializada de escritas sobre uma pessoa monitorada.
+ * No nó, locks em faixas (hash do ID da pessoa) serializam escritas sobre a mesma pessoa sem bloquear as demais;
+ * entre nós, conflitos de versão (@Version) são refeitos em nova transação, com espera aleatória crescente.
+ * A transação é aberta e confirmada dentro do lock. Chamada já dentro de uma transação apenas participa dela
+ * (sem nova tentativa, pois o commit não é controlado aqui).
+ */
+@Component
+public class ExecucaoPorPessoa {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${concorrencia.pessoa.faixas:256}")
+    private int quantidadeFaixas;
+
+    @Value("${concorrencia.pessoa.espera-maxima:5s}")
+    private Duration esperaMaxima;
+
+    @Value("${concorrencia.retry.max-tentativas:4}")
+    private int maxTentativas;
+
+    @Value("${concorrencia.retry.espera-base:25ms}")
+    private Duration esperaBase;
+
+    private ReentrantLock[] faixas;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong execucoes = new AtomicLong();
+    private final AtomicLong esperasPorLock = new AtomicLong();
+    private final AtomicLong conflitos = new AtomicLong();
+    private final AtomicLong retentativas = new AtomicLong();
+    private final AtomicLong tentativasEsgotadas = new AtomicLong();
+    private final AtomicLong maiorEsperaMs = new AtomicLong();
+
+    /**
+     * Métricas de contenção desde o início da aplicação
+     */
+    public record MetricasConcorrencia(long execucoes,
+                                       long esperasPorLock,
+                                       long maiorEsperaMs,
+                                       long conflitos,
+                                       long retentativas,
+                                       long tentativasEsgotadas) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        faixas = new ReentrantLock[Integer.highestOneBit(Math.max(1, quantidadeFaixas - 1)) << 1];
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i] = new ReentrantLock();
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Executar operação de escrita sobre a pessoa (em transação própria, com novas tentativas em conflito)
+     */
+    public <T> T executar(Long pessoaId, Supplier<T> operacao) {
+        return executar(Collections.singleton(pessoaId), operacao);
+    }
+
+    /**
+     * Executar operação de escrita sobre um lote de pessoas: as faixas são adquiridas em ordem crescente (lotes
+     * concorrentes não se bloqueiam mutuamente) e mantidas até o fim da transação
+     */
+    public <T> T executar(Collection<Long> pessoaIds, Supplier<T> operacao) {
+        execucoes.incrementAndGet();
+        List<ReentrantLock> locks = adquirir(pessoaIds);
+
+        try {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return operacao.get();
+            }
+
+            for (int tentativa = 1; ; tentativa++) {
+                try {
+                    return transactionTemplate.execute(status -> operacao.get());
+                } catch (RuntimeException e) {
+                    if (!isConflitoVersao(e)) {
+                        throw e;
+                    }
+                    conflitos.incrementAndGet();
+                    if (tentativa >= maxTentativas) {
+                        tentativasEsgotadas.incrementAndGet();
+                        throw e;
+                    }
+                    retentativas.incrementAndGet();
+                    aguardar(tentativa);
+                }
+            }
+        } finally {
+            liberar(locks);
+        }
+    }
+
+    public void executar(Long pessoaId, Runnable operacao) {
+        executar(pessoaId, () -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    public MetricasConcorrencia getMetricas() {
+        return new MetricasConcorrencia(execucoes.get(), esperasPorLock.get(), maiorEsperaMs.get(),
+                conflitos.get(), retentativas.get(), tentativasEsgotadas.get());
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private List<ReentrantLock> adquirir(Collection<Long> pessoaIds) {
+        Set<Integer> indices = new TreeSet<>();
+        for (Long pessoaId : pessoaIds) {
+            indices.add(faixa(pessoaId));
+        }
+
+        List<ReentrantLock> locks = new ArrayList<>(indices.size());
+        try {
+            for (int indice : indices) {
+                locks.add(adquirir(faixas[indice]));
+            }
+        } catch (RuntimeException e) {
+            liberar(locks);
+            throw e;
+        }
+        return locks;
+    }
+
+    private void liberar(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private ReentrantLock adquirir(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return lock;
+        }
+
+        // Outra escrita sobre a mesma faixa em andamento
+        esperasPorLock.incrementAndGet();
+        long inicio = System.nanoTime();
+        try {
+            if (!lock.tryLock(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new BusinessException("Pessoa em atualização por outra operação; tente novamente");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Operação interrompida aguardando atualização da pessoa");
+        }
+        maiorEsperaMs.accumulateAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), Math::max);
+        return lock;
+    }
+
+    private int faixa(Long pessoaId) {
+        long h = (pessoaId != null ? pessoaId : 0L) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (faixas.length - 1);
+    }
+
+    private void aguardar(int tentativa) {
+        // Espera crescente com metade aleatória: nós em conflito não repetem ao mesmo tempo
+        long intervalo = esperaBase.toMillis() << Math.min(tentativa - 1, 10);
+        long espera = intervalo / 2 + ThreadLocalRandom.current().nextLong(intervalo / 2 + 1);
+        try {
+            Thread.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Operação interrompida");
+        }
+    }
+
+    static boolean isConflitoVersao(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockingFailureException
+                    || causa instanceof OptimisticLockException
+                    || causa instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
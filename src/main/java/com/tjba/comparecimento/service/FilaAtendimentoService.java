@@ -0,0 +1,516 @@
+package com.tjba.comparecimento.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tjba.comparecimento.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Fila de atendimento no balcão de cada vara: o check-in presencial emite uma senha e o servidor chama a próxima,
+ * com o painel (TV) atualizado por SSE.
+ * A fila fica somente em memória e sem locks (numeração por contador atômico, senhas em fila não bloqueante): a
+ * emissão não acessa o banco e a senha entra na fila após o commit do check-in. Cada emissão e chamada é anexada a
+ * um journal diário local (uma linha JSON por registro, gravado em disco em grupo por uma thread dedicada) e
+ * reaplicada na subida, para que um reinício não perca a fila do dia.
+ * Os painéis recebem o estado completo da fila a cada alteração, serializado uma vez e enviado por uma thread
+ * própria, de modo que clientes lentos não atrasam check-ins nem chamadas.
+ * Com várias instâncias, a fila de cada vara fica somente na instância dona ({@link RoteamentoFilaVara}): check-ins
+ * recebidos por outra instância reservam o número e confirmam a senha na dona por HTTP, também sem acesso ao banco.
+ */
+@Service
+public class FilaAtendimentoService {
+
+    private static final String EMITIDA = "EMITIDA";
+    private static final String CHAMADA = "CHAMADA";
+    private static final String PREFIXO_JOURNAL = "fila-";
+    private static final String EXTENSAO_JOURNAL = ".log";
+    private static final int CHAMADAS_NO_PAINEL = 5;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoteamentoFilaVara roteamento;
+
+    @Value("${fila.ativo:true}")
+    private boolean ativo;
+
+    @Value("${fila.diretorio:./data/fila}")
+    private Path diretorio;
+
+    @Value("${fila.fsync-intervalo:50ms}")
+    private Duration intervaloFsync;
+
+    @Value("${fila.retencao-dias:7}")
+    private int retencaoDias;
+
+    // Conexões SSE são encerradas após o prazo (o EventSource do painel reconecta sozinho)
+    @Value("${fila.sse.timeout:30m}")
+    private Duration timeoutSse;
+
+    @Value("${fila.sse.heartbeat:15s}")
+    private Duration heartbeat;
+
+    private final Map<String, FilaVara> filas = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> paineis = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService gravador;
+    private ScheduledExecutorService transmissor;
+    private FileChannel canalJournal;
+    private LocalDate diaJournal;
+    private boolean pendenteDisco;
+
+    /**
+     * Senha emitida no check-in
+     */
+    public record Senha(int numero, String codigo, Long pessoaId, LocalDateTime emitidaEm) {
+    }
+
+    /**
+     * Senha chamada ao balcão
+     */
+    public record Chamada(int numero, String codigo, String guiche, LocalDateTime chamadaEm) {
+    }
+
+    /**
+     * Estado exibido no painel da vara (sem dados pessoais)
+     */
+    public record PainelFila(String comarca, String vara, LocalDate data, int aguardando,
+                             String ultimaSenhaEmitida, List<Chamada> ultimasChamadas) {
+    }
+
+    /**
+     * Registro do journal da fila (uma linha por emissão ou chamada)
+     */
+    public record RegistroFila(String tipo, String comarca, String vara, LocalDate data, int numero, Long pessoaId,
+                               String guiche, LocalDateTime momento) {
+    }
+
+    /**
+     * Fila de um dia da vara
+     */
+    private static final class FilaVara {
+
+        private final String comarca;
+        private final String vara;
+        private final LocalDate data;
+        private final AtomicInteger ultimoNumero = new AtomicInteger();
+        private final ConcurrentLinkedQueue<Senha> aguardando = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger quantidadeAguardando = new AtomicInteger();
+        private final AtomicReference<List<Chamada>> ultimasChamadas = new AtomicReference<>(List.of());
+
+        private FilaVara(String comarca, String vara, LocalDate data) {
+            this.comarca = comarca;
+            this.vara = vara;
+            this.data = data;
+        }
+
+        private void enfileirar(Senha senha) {
+            aguardando.offer(senha);
+            quantidadeAguardando.incrementAndGet();
+            ultimoNumero.accumulateAndGet(senha.numero(), Math::max);
+        }
+
+        private Senha retirar() {
+            Senha senha = aguardando.poll();
+            if (senha != null) {
+                quantidadeAguardando.decrementAndGet();
+            }
+            return senha;
+        }
+
+        private void registrarChamada(Chamada chamada) {
+            ultimasChamadas.updateAndGet(anteriores -> {
+                List<Chamada> novas = new ArrayList<>(CHAMADAS_NO_PAINEL);
+                novas.add(chamada);
+                novas.addAll(anteriores.subList(0, Math.min(anteriores.size(), CHAMADAS_NO_PAINEL - 1)));
+                return List.copyOf(novas);
+            });
+        }
+
+        private PainelFila painel() {
+            int ultimo = ultimoNumero.get();
+            return new PainelFila(comarca, vara, data, Math.max(0, quantidadeAguardando.get()),
+                    ultimo > 0 ? codigo(ultimo) : null, ultimasChamadas.get());
+        }
+    }
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        if (!ativo) {
+            return;
+        }
+
+        // 1. Reaplicar o journal do dia
+        Files.createDirectories(diretorio);
+        reaplicarJournal(LocalDate.now());
+
+        // 2. Gravação em disco agrupada
+        gravador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fila-atendimento-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = intervaloFsync.toMillis();
+        gravador.scheduleWithFixedDelay(this::gravarEmDisco, intervalo, intervalo, TimeUnit.MILLISECONDS);
+
+        // 3. Envio aos painéis e heartbeat (detecta conexões encerradas pelo cliente)
+        transmissor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fila-atendimento-paineis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervaloHeartbeat = heartbeat.toMillis();
+        transmissor.scheduleWithFixedDelay(this::enviarHeartbeat, intervaloHeartbeat, intervaloHeartbeat,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException, IOException {
+        if (!ativo) {
+            return;
+        }
+        transmissor.shutdownNow();
+        paineis.values().forEach(emissores -> emissores.forEach(SseEmitter::complete));
+
+        gravador.shutdown();
+        gravador.awaitTermination(5, TimeUnit.SECONDS);
+        gravarEmDisco();
+        if (canalJournal != null) {
+            canalJournal.close();
+        }
+    }
+
+    /**
+     * Emitir senha para a pessoa na fila da vara (check-in presencial). Sem acesso ao banco: o número é reservado
+     * na hora e a senha entra na fila após o commit do check-in (números de check-ins desfeitos não são chamados).
+     * Vara de outra instância: reserva e confirmação na dona; dona indisponível = check-in sem senha.
+     */
+    public String emitir(String comarca, String vara, Long pessoaId) {
+        if (!ativo || comarca == null || vara == null) {
+            return null;
+        }
+
+        String dono = roteamento.dono(comarca, vara);
+        Integer numero = dono == null ? reservar(comarca, vara) : roteamento.reservar(dono, comarca, vara);
+        if (numero == null) {
+            return null;
+        }
+
+        LocalDateTime emitidaEm = LocalDateTime.now();
+        Runnable enfileirar = dono == null
+                ? () -> confirmar(comarca, vara, numero, pessoaId, emitidaEm)
+                : () -> roteamento.confirmar(dono, comarca, vara, numero, pessoaId, emitidaEm);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar.run();
+                }
+            });
+        } else {
+            enfileirar.run();
+        }
+        return codigo(numero);
+    }
+
+    /**
+     * Reservar o próximo número da fila da vara nesta instância (dona da vara)
+     */
+    public int reservar(String comarca, String vara) {
+        if (!ativo) {
+            throw new BusinessException("Fila de atendimento desativada");
+        }
+        return filaDoDia(comarca, vara, LocalDate.now()).ultimoNumero.incrementAndGet();
+    }
+
+    /**
+     * Colocar na fila da vara a senha de número já reservado, após o commit do check-in
+     */
+    public void confirmar(String comarca, String vara, int numero, Long pessoaId, LocalDateTime emitidaEm) {
+        if (!ativo) {
+            throw new BusinessException("Fila de atendimento desativada");
+        }
+
+        FilaVara fila = filaDoDia(comarca, vara, LocalDate.now());
+        Senha emitida = new Senha(numero, codigo(numero), pessoaId, emitidaEm);
+        gravar(new RegistroFila(EMITIDA, fila.comarca, fila.vara, fila.data, emitida.numero(), pessoaId,
+                null, emitida.emitidaEm()));
+        fila.enfileirar(emitida);
+        publicar(fila);
+    }
+
+    /**
+     * Chamar a próxima senha da vara ao guichê informado
+     */
+    public Chamada chamarProxima(String comarca, String vara, String guiche) {
+        if (!ativo) {
+            throw new BusinessException("Fila de atendimento desativada");
+        }
+
+        FilaVara fila = filaDoDia(comarca, vara, LocalDate.now());
+        Senha senha = fila.retirar();
+        if (senha == null) {
+            throw new BusinessException("Nenhuma senha aguardando na vara");
+        }
+
+        Chamada chamada = new Chamada(senha.numero(), senha.codigo(), guiche, LocalDateTime.now());
+        gravar(new RegistroFila(CHAMADA, fila.comarca, fila.vara, fila.data, senha.numero(), senha.pessoaId(),
+                guiche, chamada.chamadaEm()));
+        fila.registrarChamada(chamada);
+        publicar(fila);
+        return chamada;
+    }
+
+    /**
+     * Estado atual da fila da vara
+     */
+    public PainelFila getPainel(String comarca, String vara) {
+        FilaVara fila = filas.get(chave(comarca, vara));
+        if (fila == null || !fila.data.equals(LocalDate.now())) {
+            return new PainelFila(comarca, vara, LocalDate.now(), 0, null, List.of());
+        }
+        return fila.painel();
+    }
+
+    /**
+     * Inscrever um painel nas atualizações da fila da vara (recebe o estado atual ao conectar)
+     */
+    public SseEmitter inscrever(String comarca, String vara) {
+        if (!ativo) {
+            throw new BusinessException("Fila de atendimento desativada");
+        }
+
+        String chave = chave(comarca, vara);
+        SseEmitter emissor = new SseEmitter(timeoutSse.toMillis());
+        List<SseEmitter> emissores = paineis.computeIfAbsent(chave, k -> new CopyOnWriteArrayList<>());
+        emissores.add(emissor);
+        emissor.onCompletion(() -> emissores.remove(emissor));
+        emissor.onTimeout(() -> emissores.remove(emissor));
+        emissor.onError(erro -> emissores.remove(emissor));
+
+        String estado = serializar(getPainel(comarca, vara));
+        transmissor.execute(() -> enviar(emissores, List.of(emissor), estado));
+        return emissor;
+    }
+
+    public int getPaineisConectados() {
+        return paineis.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Descartar filas de dias anteriores e journals fora da retenção
+     */
+    @Scheduled(cron = "${fila.limpeza.cron:0 45 3 * * *}")
+    public void limparDiasAnteriores() {
+        if (!ativo) {
+            return;
+        }
+        LocalDate hoje = LocalDate.now();
+        filas.values().removeIf(fila -> fila.data.isBefore(hoje));
+
+        LocalDate limite = hoje.minusDays(retencaoDias);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.filter(arquivo -> diaDoJournal(arquivo) != null && diaDoJournal(arquivo).isBefore(limite))
+                    .forEach(arquivo -> {
+                        try {
+                            Files.deleteIfExists(arquivo);
+                        } catch (IOException e) {
+                            // Removido na próxima limpeza
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private FilaVara filaDoDia(String comarca, String vara, LocalDate hoje) {
+        String chave = chave(comarca, vara);
+        FilaVara fila = filas.get(chave);
+        if (fila != null && fila.data.equals(hoje)) {
+            return fila;
+        }
+        // Primeira senha da vara no dia: a fila do dia anterior é substituída
+        return filas.compute(chave, (k, atual) ->
+                atual != null && atual.data.equals(hoje) ? atual : new FilaVara(comarca.trim(), vara.trim(), hoje));
+    }
+
+    private void publicar(FilaVara fila) {
+        List<SseEmitter> emissores = paineis.get(chave(fila.comarca, fila.vara));
+        if (emissores == null || emissores.isEmpty()) {
+            return;
+        }
+        // Serializado uma vez por alteração, enviado a todos os painéis da vara
+        String estado = serializar(fila.painel());
+        transmissor.execute(() -> enviar(emissores, emissores, estado));
+    }
+
+    private void enviar(List<SseEmitter> inscritos, List<SseEmitter> destinos, String estado) {
+        for (SseEmitter emissor : destinos) {
+            try {
+                emissor.send(SseEmitter.event().name("painel").data(estado, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Painel desconectado
+                inscritos.remove(emissor);
+                emissor.completeWithError(e);
+            }
+        }
+    }
+
+    private void enviarHeartbeat() {
+        for (List<SseEmitter> emissores : paineis.values()) {
+            for (SseEmitter emissor : emissores) {
+                try {
+                    emissor.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    emissores.remove(emissor);
+                    emissor.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    private void gravar(RegistroFila registro) {
+        byte[] linha = (serializar(registro) + "\n").getBytes(StandardCharsets.UTF_8);
+        gravador.execute(() -> anexar(registro.data(), linha));
+    }
+
+    private void anexar(LocalDate dia, byte[] linha) {
+        try {
+            // Um arquivo por dia: a fila não passa de um dia para o outro
+            if (!dia.equals(diaJournal)) {
+                if (canalJournal != null) {
+                    canalJournal.force(false);
+                    canalJournal.close();
+                }
+                canalJournal = FileChannel.open(caminhoJournal(dia), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                diaJournal = dia;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(linha);
+            while (buffer.hasRemaining()) {
+                canalJournal.write(buffer);
+            }
+            pendenteDisco = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void gravarEmDisco() {
+        // Executado na thread do journal: um único force para os registros acumulados no intervalo
+        if (!pendenteDisco || canalJournal == null) {
+            return;
+        }
+        try {
+            canalJournal.force(false);
+            pendenteDisco = false;
+        } catch (IOException e) {
+            // Nova tentativa no próximo intervalo (exceção aqui cancelaria o agendamento)
+        }
+    }
+
+    private void reaplicarJournal(LocalDate hoje) throws IOException {
+        Path caminho = caminhoJournal(hoje);
+        if (!Files.exists(caminho)) {
+            return;
+        }
+
+        // Chamadas removem as senhas da fila na ordem em que foram registradas
+        Map<String, Map<Integer, Senha>> pendentes = new HashMap<>();
+        for (String linha : Files.readAllLines(caminho, StandardCharsets.UTF_8)) {
+            RegistroFila registro;
+            try {
+                registro = objectMapper.readValue(linha, RegistroFila.class);
+            } catch (IOException e) {
+                // Linha incompleta de uma escrita interrompida
+                continue;
+            }
+
+            FilaVara fila = filaDoDia(registro.comarca(), registro.vara(), hoje);
+            Map<Integer, Senha> senhas = pendentes.computeIfAbsent(chave(registro.comarca(), registro.vara()),
+                    k -> new LinkedHashMap<>());
+            if (EMITIDA.equals(registro.tipo())) {
+                senhas.put(registro.numero(), new Senha(registro.numero(), codigo(registro.numero()),
+                        registro.pessoaId(), registro.momento()));
+                fila.ultimoNumero.accumulateAndGet(registro.numero(), Math::max);
+            } else if (CHAMADA.equals(registro.tipo())) {
+                senhas.remove(registro.numero());
+                fila.registrarChamada(new Chamada(registro.numero(), codigo(registro.numero()), registro.guiche(),
+                        registro.momento()));
+            }
+        }
+
+        pendentes.forEach((chave, senhas) -> senhas.values().forEach(filas.get(chave)::enfileirar));
+    }
+
+    private String serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar estado da fila", e);
+        }
+    }
+
+    private Path caminhoJournal(LocalDate dia) {
+        return diretorio.resolve(PREFIXO_JOURNAL + dia + EXTENSAO_JOURNAL);
+    }
+
+    private static LocalDate diaDoJournal(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        if (!nome.startsWith(PREFIXO_JOURNAL) || !nome.endsWith(EXTENSAO_JOURNAL)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(nome.substring(PREFIXO_JOURNAL.length(), nome.length() - EXTENSAO_JOURNAL.length()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String codigo(int numero) {
+        return String.format("%03d", numero);
+    }
+
+    static String chave(String comarca, String vara) {
+        return comarca.trim().toUpperCase(Locale.ROOT) + "|" + vara.trim().toUpperCase(Locale.ROOT);
+    }
+}
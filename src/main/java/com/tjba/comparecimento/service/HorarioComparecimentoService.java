@@ -0,0 +1,376 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.dto.request.AgendarHorarioRequest;
+import com.tjba.comparecimento.dto.response.AgendamentoHorarioResponse;
+import com.tjba.comparecimento.dto.response.HorarioDisponivel;
+import com.tjba.comparecimento.entity.AgendamentoHorario;
+import com.tjba.comparecimento.entity.CapacidadeHorario;
+import com.tjba.comparecimento.entity.PessoaMonitorada;
+import com.tjba.comparecimento.entity.enums.SituacaoAgendamento;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.exception.ResourceNotFoundException;
+import com.tjba.comparecimento.repository.AgendamentoHorarioRepository;
+import com.tjba.comparecimento.repository.CapacidadeHorarioRepository;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Agendamento de horários de comparecimento no balcão da vara (janelas de atendimento no dia do próximo
+ * comparecimento, ex.: 15 minutos com até N pessoas).
+ * A garantia contra reservas acima da capacidade é do banco: cada reserva é um UPDATE condicional
+ * (ocupados &lt; capacidade) na linha do horário, então terminais e instâncias concorrentes nunca ultrapassam a
+ * capacidade. A ocupação de cada dia da vara é mantida também em memória, em contadores atômicos por horário,
+ * para responder às consultas de horários e de próximo horário livre sem ir ao banco: os contadores recebem os
+ * ajustes confirmados (após o commit) e são recarregados quando expiram, cobrindo reservas de outras instâncias.
+ * Ao mudar o próximo comparecimento, o agendamento ativo de outra data é cancelado, com a vaga liberada, no mesmo
+ * comando ou transação que grava a nova data (comparecimento, lote, reagendamento em massa ou alteração manual);
+ * vagas liberadas nos comandos em lote chegam à memória quando a ocupação do dia expira.
+ */
+@Service
+public class HorarioComparecimentoService {
+
+    @Autowired
+    private CapacidadeHorarioRepository capacidadeRepository;
+
+    @Autowired
+    private AgendamentoHorarioRepository agendamentoRepository;
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    @Autowired
+    private CalendarioForenseService calendarioForense;
+
+    @Autowired
+    private ExecucaoPorPessoa execucaoPorPessoa;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${agendamento.expediente.inicio:08:00}")
+    private LocalTime inicioExpediente;
+
+    @Value("${agendamento.expediente.fim:18:00}")
+    private LocalTime fimExpediente;
+
+    @Value("${agendamento.intervalo:15m}")
+    private Duration intervalo;
+
+    @Value("${agendamento.capacidade-por-horario:4}")
+    private int capacidadePadrao;
+
+    @Value("${agendamento.busca-maxima-dias:30}")
+    private int buscaMaximaDias;
+
+    // Ocupação em memória mais antiga que isso é relida do banco (reservas feitas por outras instâncias)
+    @Value("${agendamento.validade-ocupacao:1m}")
+    private Duration validadeOcupacao;
+
+    private TransactionTemplate transactionTemplate;
+    private int quantidadeHorarios;
+
+    private final Map<String, OcupacaoDia> ocupacoes = new ConcurrentHashMap<>();
+
+    /**
+     * Ocupação de um dia da vara: contadores por horário (índice = posição da janela no expediente)
+     */
+    private static final class OcupacaoDia {
+
+        private final AtomicIntegerArray ocupados;
+        private final AtomicIntegerArray capacidade;
+        private final long carregadaEm = System.nanoTime();
+
+        private OcupacaoDia(int horarios, int capacidadePadrao) {
+            ocupados = new AtomicIntegerArray(horarios);
+            capacidade = new AtomicIntegerArray(horarios);
+            for (int i = 0; i < horarios; i++) {
+                capacidade.set(i, capacidadePadrao);
+            }
+        }
+
+        private boolean temVaga(int indice) {
+            return ocupados.get(indice) < capacidade.get(indice);
+        }
+
+        private void ajustar(int indice, int delta) {
+            int atual;
+            do {
+                atual = ocupados.get(indice);
+            } while (!ocupados.compareAndSet(indice, atual, Math.max(0, Math.min(capacidade.get(indice), atual + delta))));
+        }
+    }
+
+    /**
+     * Ajuste de ocupação aplicado à memória após o commit
+     */
+    private record Ajuste(String comarca, String vara, LocalDate data, LocalTime horario, int delta) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (intervalo.isZero() || intervalo.isNegative() || !fimExpediente.isAfter(inicioExpediente)) {
+            throw new IllegalStateException("Expediente ou intervalo de agendamento inválido");
+        }
+        quantidadeHorarios = (int) (Duration.between(inicioExpediente, fimExpediente).toMinutes() / intervalo.toMinutes());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Horários da vara no dia, com capacidade e ocupação
+     */
+    public List<HorarioDisponivel> listarHorarios(String comarca, String vara, LocalDate data) {
+        if (!calendarioForense.isDiaUtil(comarca, data)) {
+            throw new BusinessException("Data informada não é dia útil na comarca: " + data);
+        }
+
+        OcupacaoDia ocupacao = ocupacao(comarca, vara, data);
+        List<HorarioDisponivel> horarios = new ArrayList<>(quantidadeHorarios);
+        for (int i = 0; i < quantidadeHorarios; i++) {
+            horarios.add(new HorarioDisponivel(data, horario(i), ocupacao.capacidade.get(i), ocupacao.ocupados.get(i)));
+        }
+        return horarios;
+    }
+
+    /**
+     * Primeiro horário com vaga na vara a partir da data (dias úteis, até o limite de busca)
+     */
+    public HorarioDisponivel proximoHorarioLivre(String comarca, String vara, LocalDate aPartirDe) {
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDate data = calendarioForense.proximoDiaUtil(comarca, aPartirDe.isBefore(agora.toLocalDate())
+                ? agora.toLocalDate() : aPartirDe);
+        LocalDate limite = data.plusDays(buscaMaximaDias);
+
+        while (!data.isAfter(limite)) {
+            OcupacaoDia ocupacao = ocupacao(comarca, vara, data);
+            for (int i = primeiroHorario(data, agora); i < quantidadeHorarios; i++) {
+                if (ocupacao.temVaga(i)) {
+                    return new HorarioDisponivel(data, horario(i), ocupacao.capacidade.get(i), ocupacao.ocupados.get(i));
+                }
+            }
+            data = calendarioForense.proximoDiaUtil(comarca, data.plusDays(1));
+        }
+
+        throw new BusinessException("Nenhum horário livre nos próximos " + buscaMaximaDias + " dias");
+    }
+
+    /**
+     * Agendar horário no dia do próximo comparecimento da pessoa (substitui o agendamento ativo anterior)
+     */
+    public AgendamentoHorarioResponse agendar(AgendarHorarioRequest request) {
+        return execucaoPorPessoa.executar(request.getPessoaId(), () -> {
+            // 1. Pessoa, vara e data do próximo comparecimento
+            PessoaMonitorada pessoa = pessoaRepository.findByIdWithDetails(request.getPessoaId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + request.getPessoaId()));
+            if (pessoa.getProcessoJudicial() == null || pessoa.getProcessoJudicial().getVara() == null
+                    || pessoa.getRegimeComparecimento() == null
+                    || pessoa.getRegimeComparecimento().getProximoComparecimento() == null) {
+                throw new BusinessException("Pessoa sem vara ou próximo comparecimento definido");
+            }
+            String comarca = pessoa.getProcessoJudicial().getComarca();
+            String vara = pessoa.getProcessoJudicial().getVara();
+            LocalDate data = pessoa.getRegimeComparecimento().getProximoComparecimento();
+
+            // 2. Validar horário
+            int indice = validarHorario(comarca, data, request.getHorario());
+
+            // 3. Mesmo horário já agendado: nada a fazer
+            AgendamentoHorario anterior = agendamentoRepository
+                    .findByPessoaAndSituacao(pessoa.getId(), SituacaoAgendamento.ATIVO).orElse(null);
+            if (anterior != null && anterior.getData().equals(data) && anterior.getHorario().equals(request.getHorario())) {
+                return AgendamentoHorarioResponse.de(anterior);
+            }
+
+            // 4. Recusa rápida pela memória; a vaga é garantida pelo UPDATE condicional
+            if (!ocupacao(comarca, vara, data).temVaga(indice)) {
+                throw new BusinessException("Horário " + request.getHorario() + " lotado");
+            }
+            capacidadeRepository.inserirSeAusente(comarca, vara, data, request.getHorario(), capacidadePadrao);
+            if (capacidadeRepository.ocupar(comarca, vara, data, request.getHorario()).isEmpty()) {
+                invalidar(comarca, vara, data);
+                throw new BusinessException("Horário " + request.getHorario() + " lotado");
+            }
+            List<Ajuste> ajustes = new ArrayList<>();
+            ajustes.add(new Ajuste(comarca, vara, data, request.getHorario(), 1));
+
+            // 5. Liberar o horário anterior
+            if (anterior != null) {
+                ajustes.add(liberar(anterior));
+                anterior.cancelar();
+                agendamentoRepository.saveAndFlush(anterior);
+            }
+
+            // 6. Registrar agendamento e aplicar à memória após o commit
+            AgendamentoHorario agendamento = agendamentoRepository.save(
+                    new AgendamentoHorario(pessoa, comarca, vara, data, request.getHorario()));
+            aplicarAposCommit(ajustes);
+            return AgendamentoHorarioResponse.de(agendamento);
+        });
+    }
+
+    /**
+     * Cancelar agendamento ativo, liberando a vaga
+     */
+    public AgendamentoHorarioResponse cancelar(Long id) {
+        AgendamentoHorario encontrado = agendamentoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Agendamento não encontrado com ID: " + id));
+
+        return execucaoPorPessoa.executar(encontrado.getPessoaMonitorada().getId(), () -> {
+            AgendamentoHorario agendamento = agendamentoRepository.findById(id).orElseThrow();
+            if (!agendamento.isAtivo()) {
+                throw new BusinessException("Agendamento não está ativo: " + agendamento.getSituacao());
+            }
+
+            Ajuste ajuste = liberar(agendamento);
+            agendamento.cancelar();
+            agendamentoRepository.save(agendamento);
+            aplicarAposCommit(List.of(ajuste));
+            return AgendamentoHorarioResponse.de(agendamento);
+        });
+    }
+
+    /**
+     * Agendamento ativo da pessoa
+     */
+    public AgendamentoHorarioResponse buscarAtivo(Long pessoaId) {
+        return agendamentoRepository.findByPessoaAndSituacao(pessoaId, SituacaoAgendamento.ATIVO)
+                .map(AgendamentoHorarioResponse::de)
+                .orElseThrow(() -> new ResourceNotFoundException("Nenhum agendamento ativo para a pessoa com ID: " + pessoaId));
+    }
+
+    /**
+     * Cancelar o agendamento ativo da pessoa que não seja da data informada, liberando a vaga
+     * (na transação de quem grava a nova data do próximo comparecimento)
+     */
+    public void cancelarForaDaData(Long pessoaId, LocalDate data) {
+        agendamentoRepository.findByPessoaAndSituacao(pessoaId, SituacaoAgendamento.ATIVO)
+                .filter(agendamento -> !agendamento.getData().equals(data))
+                .ifPresent(agendamento -> {
+                    Ajuste ajuste = liberar(agendamento);
+                    agendamento.cancelar();
+                    agendamentoRepository.save(agendamento);
+                    aplicarAposCommit(List.of(ajuste));
+                });
+    }
+
+    /**
+     * Remover ocupação de dias passados (banco e memória)
+     */
+    @Scheduled(cron = "${agendamento.limpeza.cron:0 30 3 * * *}")
+    public void limparDiasPassados() {
+        LocalDate hoje = LocalDate.now();
+        transactionTemplate.executeWithoutResult(status -> capacidadeRepository.deleteByDataAntes(hoje));
+        ocupacoes.keySet().removeIf(chave -> LocalDate.parse(chave.substring(chave.lastIndexOf('|') + 1)).isBefore(hoje));
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private int validarHorario(String comarca, LocalDate data, LocalTime horario) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (data.isBefore(agora.toLocalDate()) || !calendarioForense.isDiaUtil(comarca, data)) {
+            throw new BusinessException("Próximo comparecimento não é um dia útil futuro: " + data);
+        }
+
+        long minutos = Duration.between(inicioExpediente, horario).toMinutes();
+        if (horario.isBefore(inicioExpediente) || !horario.isBefore(fimExpediente)
+                || minutos % intervalo.toMinutes() != 0 || horario.getSecond() != 0) {
+            throw new BusinessException("Horário deve estar entre " + inicioExpediente + " e " + fimExpediente
+                    + " em intervalos de " + intervalo.toMinutes() + " minutos");
+        }
+
+        int indice = (int) (minutos / intervalo.toMinutes());
+        if (indice < primeiroHorario(data, agora)) {
+            throw new BusinessException("Horário já passou: " + horario);
+        }
+        return indice;
+    }
+
+    private Ajuste liberar(AgendamentoHorario agendamento) {
+        capacidadeRepository.liberar(agendamento.getComarca(), agendamento.getVara(), agendamento.getData(),
+                agendamento.getHorario());
+        return new Ajuste(agendamento.getComarca(), agendamento.getVara(), agendamento.getData(),
+                agendamento.getHorario(), -1);
+    }
+
+    private void aplicarAposCommit(List<Ajuste> ajustes) {
+        if (ajustes.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Ajuste ajuste : ajustes) {
+                    // Dia ainda não carregado: a leitura do banco já inclui o ajuste
+                    OcupacaoDia ocupacao = ocupacoes.get(chave(ajuste.comarca(), ajuste.vara(), ajuste.data()));
+                    int indice = indice(ajuste.horario());
+                    if (ocupacao != null && indice >= 0 && indice < quantidadeHorarios) {
+                        ocupacao.ajustar(indice, ajuste.delta());
+                    }
+                }
+            }
+        });
+    }
+
+    private OcupacaoDia ocupacao(String comarca, String vara, LocalDate data) {
+        String chave = chave(comarca, vara, data);
+        OcupacaoDia atual = ocupacoes.get(chave);
+        if (atual != null && System.nanoTime() - atual.carregadaEm < validadeOcupacao.toNanos()) {
+            return atual;
+        }
+
+        // Leitura fora do mapa: consultas concorrentes do mesmo dia podem ler juntas, a última prevalece
+        OcupacaoDia carregada = new OcupacaoDia(quantidadeHorarios, capacidadePadrao);
+        for (CapacidadeHorario capacidade : capacidadeRepository.findByComarcaAndVaraAndData(comarca, vara, data)) {
+            int indice = indice(capacidade.getHorario());
+            if (indice >= 0 && indice < quantidadeHorarios) {
+                carregada.capacidade.set(indice, capacidade.getCapacidade());
+                carregada.ocupados.set(indice, capacidade.getOcupados());
+            }
+        }
+        ocupacoes.put(chave, carregada);
+        return carregada;
+    }
+
+    private void invalidar(String comarca, String vara, LocalDate data) {
+        ocupacoes.remove(chave(comarca, vara, data));
+    }
+
+    private int primeiroHorario(LocalDate data, LocalDateTime agora) {
+        if (!data.equals(agora.toLocalDate()) || agora.toLocalTime().isBefore(inicioExpediente)) {
+            return 0;
+        }
+        // Hoje: somente janelas que ainda não começaram
+        long minutos = Duration.between(inicioExpediente, agora.toLocalTime()).toMinutes();
+        return (int) (minutos / intervalo.toMinutes()) + 1;
+    }
+
+    private int indice(LocalTime horario) {
+        return (int) Math.floorDiv(Duration.between(inicioExpediente, horario).toMinutes(), intervalo.toMinutes());
+    }
+
+    private LocalTime horario(int indice) {
+        return inicioExpediente.plusMinutes(indice * intervalo.toMinutes());
+    }
+
+    private static String chave(String comarca, String vara, LocalDate data) {
+        return comarca.trim().toUpperCase(Locale.ROOT) + "|" + vara.trim().toUpperCase(Locale.ROOT) + "|" + data;
+    }
+}
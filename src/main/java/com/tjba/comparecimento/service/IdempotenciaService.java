@@ -0,0 +1,108 @@
+package com.tjba.comparecimento.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tjba.comparecimento.entity.RequisicaoIdempotente;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.repository.RequisicaoIdempotenteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Service para requisições com Idempotency-Key: a primeira requisição reserva a chave na mesma
+ * transação da operação e grava a resposta ao final; repetições recebem a resposta original.
+ * Se a operação falhar, a reserva é desfeita junto com ela e a chave pode ser reutilizada.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class IdempotenciaService {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    @Autowired
+    private RequisicaoIdempotenteRepository requisicaoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CoordenadorJobs coordenadorJobs;
+
+    @Value("${idempotencia.validade:24h}")
+    private Duration validade;
+
+    /**
+     * Reservar a chave para a operação. Retorna a resposta original se a chave já foi utilizada,
+     * ou vazio se a operação deve ser executada (inclusive quando nenhuma chave foi informada).
+     */
+    public <T> Optional<T> reservar(String chave, String operacao, Class<T> tipoResposta) {
+        if (chave == null || chave.isBlank()) {
+            return Optional.empty();
+        }
+        validateChave(chave);
+
+        // 1. Reservar; com uma requisição concorrente de mesma chave, aguarda o commit dela
+        if (requisicaoRepository.reservar(chave, operacao, LocalDateTime.now().plus(validade)) > 0) {
+            return Optional.empty();
+        }
+
+        // 2. Chave já utilizada: devolver a resposta gravada
+        RequisicaoIdempotente requisicao = requisicaoRepository.findByChave(chave)
+                .orElseThrow(() -> new BusinessException("Idempotency-Key em uso por outra requisição"));
+
+        if (!operacao.equals(requisicao.getOperacao())) {
+            throw new BusinessException("Idempotency-Key já utilizada em outra operação");
+        }
+        if (!requisicao.isConcluida()) {
+            throw new BusinessException("Requisição com esta Idempotency-Key ainda em processamento");
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(requisicao.getResposta(), tipoResposta));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Erro ao recuperar resposta da requisição: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gravar a resposta da operação para a chave reservada
+     */
+    public void registrarResposta(String chave, Object resposta) {
+        if (chave == null || chave.isBlank()) {
+            return;
+        }
+
+        try {
+            requisicaoRepository.registrarResposta(chave, objectMapper.writeValueAsString(resposta));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Erro ao registrar resposta da requisição: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Remover chaves expiradas (executado a cada hora, em uma única instância)
+     */
+    @Scheduled(cron = "${idempotencia.limpeza.cron:0 0 * * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void removerExpiradas() {
+        coordenadorJobs.executarEmTransacao("idempotencia.limpeza", CoordenadorJobs.referencia(ChronoUnit.HOURS),
+                () -> requisicaoRepository.deleteExpiradas(LocalDateTime.now()));
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void validateChave(String chave) {
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new BusinessException("Idempotency-Key deve ter no máximo " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.dto.response.PessoaEsperadaCheckIn;
+import com.tjba.comparecimento.event.ComparecimentoRegistrado;
+import com.tjba.comparecimento.event.ConsumidorEventos;
+import com.tjba.comparecimento.event.EventoDominio;
+import com.tjba.comparecimento.event.PessoaAtualizada;
+import com.tjba.comparecimento.event.PessoaCadastrada;
+import com.tjba.comparecimento.event.ProximoComparecimentoAlterado;
+import com.tjba.comparecimento.event.StatusAlterado;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.exception.ResourceNotFoundException;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import com.tjba.comparecimento.util.CpfUtil;
+import com.tjba.comparecimento.util.MapaLongInt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Índice em memória das pessoas esperadas para check-in no dia (previstas para hoje ou atrasadas),
+ * por CPF (dígitos como long) e RG, em tabelas hash primitivas de endereçamento aberto.
+ * Recarregado à meia-noite e mantido atualizado pelos eventos do barramento, aplicados em lote.
+ * Leituras não usam lock: cada lote de alterações publica uma nova versão do índice.
+ */
+@Service
+public class IndiceCheckInService implements ConsumidorEventos {
+
+    private static final Set<Class<? extends EventoDominio>> TIPOS_EVENTO = Set.of(
+            ComparecimentoRegistrado.class, PessoaCadastrada.class, PessoaAtualizada.class,
+            StatusAlterado.class, ProximoComparecimentoAlterado.class);
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    private volatile Indice indice = new Indice(LocalDate.MIN, 0, null);
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+
+    // Pessoas alteradas durante uma recarga: reaplicadas sobre o índice recém-carregado
+    private Set<Long> alteradasDuranteCarga;
+
+    /**
+     * Estatísticas do índice
+     */
+    public record EstatisticasIndice(LocalDate data, int pessoas, long acertos, long faltas, LocalDateTime carregadoEm) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarAoIniciar() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            // Banco indisponível na subida: consultas seguem pelo banco até a próxima recarga
+        }
+    }
+
+    /**
+     * Recarregar o índice com as pessoas esperadas no dia (meia-noite por padrão)
+     */
+    @Scheduled(cron = "${checkin.indice.cron:0 0 0 * * *}")
+    public void recarregar() {
+        synchronized (this) {
+            alteradasDuranteCarga = new HashSet<>();
+        }
+
+        Set<Long> alteradas;
+        try {
+            // 1. Carregar fora do lock: eventos continuam sendo aplicados ao índice atual
+            LocalDate hoje = LocalDate.now();
+            List<PessoaEsperadaCheckIn> esperadas = pessoaRepository.findEsperadasCheckInAte(hoje);
+
+            Indice novo = new Indice(hoje, esperadas.size(), LocalDateTime.now());
+            esperadas.forEach(novo::incluir);
+
+            // 2. Publicar
+            synchronized (this) {
+                indice = novo;
+                alteradas = alteradasDuranteCarga;
+            }
+        } finally {
+            synchronized (this) {
+                alteradasDuranteCarga = null;
+            }
+        }
+
+        // 3. Reaplicar alterações ocorridas durante a carga
+        if (!alteradas.isEmpty()) {
+            aplicar(alteradas, List.of());
+        }
+    }
+
+    /**
+     * Buscar pessoa para check-in por CPF ou RG: índice em memória, com fallback para o banco
+     */
+    public PessoaEsperadaCheckIn buscarParaCheckIn(String documento) {
+        if (documento == null || documento.isBlank()) {
+            throw new BusinessException("Documento é obrigatório");
+        }
+
+        // 1. Índice do dia
+        Indice atual = indice;
+        if (atual.data.equals(LocalDate.now())) {
+            PessoaEsperadaCheckIn pessoa = atual.buscarPorDocumento(documento);
+            if (pessoa != null) {
+                acertos.incrementAndGet();
+                return pessoa;
+            }
+        }
+        faltas.incrementAndGet();
+
+        // 2. Fora do índice (cadastro posterior, comparecimento antecipado, índice não carregado)
+        String cpf = CpfUtil.normalize(documento);
+        List<String> cpfs = cpf.length() == 11 ? List.of(cpf, CpfUtil.format(cpf)) : List.of(documento.trim());
+        return pessoaRepository.findEsperadaCheckInByDocumento(cpfs, documento.trim(), LocalDate.now()).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com documento: " + documento));
+    }
+
+    public EstatisticasIndice getEstatisticas() {
+        Indice atual = indice;
+        return new EstatisticasIndice(atual.data, atual.quantidade, acertos.get(), faltas.get(), atual.carregadoEm);
+    }
+
+    // === EVENTOS ===
+
+    @Override
+    public String getNome() {
+        return "indice-checkin";
+    }
+
+    @Override
+    public Set<Class<? extends EventoDominio>> getTiposEvento() {
+        return TIPOS_EVENTO;
+    }
+
+    @Override
+    public void processar(List<EventoDominio> lote) {
+        // Comparecimentos trazem o novo estado; demais eventos recarregam a pessoa do banco
+        Set<Long> recarregar = new HashSet<>();
+        List<ComparecimentoRegistrado> comparecimentos = new ArrayList<>();
+        for (EventoDominio evento : lote) {
+            if (evento instanceof ComparecimentoRegistrado comparecimento) {
+                comparecimentos.add(comparecimento);
+            } else {
+                recarregar.add(evento.pessoaId());
+            }
+        }
+        aplicar(recarregar, comparecimentos);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void aplicar(Set<Long> recarregar, List<ComparecimentoRegistrado> comparecimentos) {
+        // 1. Uma consulta para todas as pessoas alteradas no lote
+        Map<Long, PessoaEsperadaCheckIn> atualizadas = new HashMap<>();
+        if (!recarregar.isEmpty()) {
+            pessoaRepository.findEsperadaCheckInByIds(recarregar, LocalDate.now())
+                    .forEach(pessoa -> atualizadas.put(pessoa.pessoaId(), pessoa));
+        }
+
+        // 2. Uma única versão nova do índice para o lote inteiro
+        Set<Long> alteradas = new HashSet<>(recarregar);
+        comparecimentos.forEach(comparecimento -> alteradas.add(comparecimento.pessoaId()));
+
+        publicarVersao(alteradas, atual -> {
+            for (ComparecimentoRegistrado comparecimento : comparecimentos) {
+                PessoaEsperadaCheckIn pessoa = atual.buscarPorPessoa(comparecimento.pessoaId());
+                if (pessoa != null && !recarregar.contains(comparecimento.pessoaId())) {
+                    atual.incluir(pessoa.comComparecimento(comparecimento.proximoComparecimento()));
+                }
+            }
+            for (Long pessoaId : recarregar) {
+                atualizarPessoa(atual, pessoaId, atualizadas.get(pessoaId));
+            }
+        });
+    }
+
+    private void atualizarPessoa(Indice atual, Long pessoaId, PessoaEsperadaCheckIn pessoa) {
+        boolean esperada = pessoa != null && pessoa.proximoComparecimento() != null
+                && !pessoa.proximoComparecimento().isAfter(atual.data);
+
+        // Mantém quem já está no índice (ex.: compareceu hoje) e inclui quem passou a ser esperado
+        if (pessoa != null && (esperada || atual.buscarPorPessoa(pessoaId) != null)) {
+            atual.incluir(pessoa);
+        } else {
+            atual.remover(pessoaId);
+        }
+    }
+
+    private synchronized void publicarVersao(Set<Long> pessoaIds, Consumer<Indice> alteracao) {
+        if (alteradasDuranteCarga != null) {
+            alteradasDuranteCarga.addAll(pessoaIds);
+        }
+
+        // Cópia na escrita: leitores continuam na versão anterior até a publicação
+        Indice copia = indice.copia();
+        alteracao.accept(copia);
+        indice = copia;
+    }
+
+    private static long chaveRg(String rg) {
+        // FNV-1a 64 bits do RG normalizado; colisões são descartadas na conferência do RG
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : rg.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static String normalizarRg(String rg) {
+        return rg == null ? "" : rg.toUpperCase().replaceAll("[^0-9A-Z]", "");
+    }
+
+    /**
+     * Versão do índice: registros em um vetor e tabelas primitivas (ID, CPF, RG) apontando para a posição
+     */
+    private static final class Indice {
+
+        private final LocalDate data;
+        private final LocalDateTime carregadoEm;
+        private PessoaEsperadaCheckIn[] pessoas;
+        private int quantidade;
+        private MapaLongInt porPessoa;
+        private MapaLongInt porCpf;
+        private MapaLongInt porRg;
+
+        Indice(LocalDate data, int capacidade, LocalDateTime carregadoEm) {
+            this.data = data;
+            this.carregadoEm = carregadoEm;
+            this.pessoas = new PessoaEsperadaCheckIn[Math.max(capacidade, 16)];
+            this.porPessoa = new MapaLongInt(capacidade);
+            this.porCpf = new MapaLongInt(capacidade);
+            this.porRg = new MapaLongInt(capacidade);
+        }
+
+        private Indice(Indice origem) {
+            this.data = origem.data;
+            this.carregadoEm = origem.carregadoEm;
+            this.pessoas = origem.pessoas.clone();
+            this.quantidade = origem.quantidade;
+            this.porPessoa = origem.porPessoa.copia();
+            this.porCpf = origem.porCpf.copia();
+            this.porRg = origem.porRg.copia();
+        }
+
+        Indice copia() {
+            return new Indice(this);
+        }
+
+        PessoaEsperadaCheckIn buscarPorPessoa(Long pessoaId) {
+            int posicao = porPessoa.get(pessoaId);
+            return posicao == MapaLongInt.AUSENTE ? null : pessoas[posicao];
+        }
+
+        PessoaEsperadaCheckIn buscarPorDocumento(String documento) {
+            String cpf = CpfUtil.normalize(documento);
+            if (cpf.length() == 11) {
+                int posicao = porCpf.get(Long.parseLong(cpf));
+                if (posicao != MapaLongInt.AUSENTE) {
+                    return pessoas[posicao];
+                }
+            }
+
+            String rg = normalizarRg(documento);
+            if (rg.isEmpty()) {
+                return null;
+            }
+            int posicao = porRg.get(chaveRg(rg));
+            return posicao != MapaLongInt.AUSENTE && rg.equals(normalizarRg(pessoas[posicao].rg()))
+                    ? pessoas[posicao]
+                    : null;
+        }
+
+        void incluir(PessoaEsperadaCheckIn pessoa) {
+            int posicao = porPessoa.get(pessoa.pessoaId());
+
+            if (posicao == MapaLongInt.AUSENTE) {
+                if (quantidade == pessoas.length) {
+                    pessoas = Arrays.copyOf(pessoas, quantidade + (quantidade >> 1));
+                }
+                posicao = quantidade++;
+                porPessoa.put(pessoa.pessoaId(), posicao);
+            } else {
+                removerDocumentos(pessoas[posicao]);
+            }
+
+            pessoas[posicao] = pessoa;
+            indexarDocumentos(pessoa, posicao);
+        }
+
+        void remover(Long pessoaId) {
+            int posicao = porPessoa.get(pessoaId);
+            if (posicao == MapaLongInt.AUSENTE) {
+                return;
+            }
+
+            removerDocumentos(pessoas[posicao]);
+            porPessoa.remove(pessoaId);
+
+            // Mover o último registro para a posição liberada (vetor sem lacunas)
+            int ultima = --quantidade;
+            if (posicao != ultima) {
+                PessoaEsperadaCheckIn movida = pessoas[ultima];
+                pessoas[posicao] = movida;
+                porPessoa.put(movida.pessoaId(), posicao);
+                indexarDocumentos(movida, posicao);
+            }
+            pessoas[ultima] = null;
+        }
+
+        private void indexarDocumentos(PessoaEsperadaCheckIn pessoa, int posicao) {
+            String cpf = CpfUtil.normalize(pessoa.cpf());
+            if (cpf != null && cpf.length() == 11) {
+                porCpf.put(Long.parseLong(cpf), posicao);
+            }
+            String rg = normalizarRg(pessoa.rg());
+            if (!rg.isEmpty()) {
+                porRg.put(chaveRg(rg), posicao);
+            }
+        }
+
+        private void removerDocumentos(PessoaEsperadaCheckIn pessoa) {
+            String cpf = CpfUtil.normalize(pessoa.cpf());
+            if (cpf != null && cpf.length() == 11) {
+                porCpf.remove(Long.parseLong(cpf));
+            }
+            String rg = normalizarRg(pessoa.rg());
+            if (!rg.isEmpty()) {
+                porRg.remove(chaveRg(rg));
+            }
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.tjba.comparecimento.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal local (append-only) dos check-ins aceitos enquanto o banco está indisponível.
+ * Segmentos de tamanho fixo mapeados em memória; cada registro é [tamanho][CRC32C][JSON da entrada].
+ * A gravação em disco (force) é feita em grupo por uma thread dedicada a cada poucos milissegundos.
+ * O checkpoint guarda a posição seguinte ao último registro sincronizado; segmentos anteriores são removidos.
+ */
+@Component
+public class JournalComparecimentos {
+
+    private static final String PREFIXO_SEGMENTO = "segmento-";
+    private static final String EXTENSAO_SEGMENTO = ".journal";
+    private static final String ARQUIVO_CHECKPOINT = "checkpoint";
+    private static final String ARQUIVO_REJEITADAS = "rejeitadas.log";
+    private static final int TAMANHO_CABECALHO = 8;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${journal.ativo:true}")
+    private boolean ativo;
+
+    @Value("${journal.diretorio:./data/journal}")
+    private Path diretorio;
+
+    @Value("${journal.tamanho-segmento:4MB}")
+    private DataSize tamanhoSegmento;
+
+    @Value("${journal.fsync-intervalo:20ms}")
+    private Duration intervaloFsync;
+
+    private final Object lock = new Object();
+    private final AtomicLong registrosCorrompidos = new AtomicLong();
+
+    private long segmentoAtivo;
+    private FileChannel canalAtivo;
+    private MappedByteBuffer bufferAtivo;
+    private List<CompletableFuture<Void>> aguardandoDisco = new ArrayList<>();
+    private volatile Posicao checkpoint;
+    private ScheduledExecutorService gravador;
+
+    /**
+     * Check-in aceito em contingência
+     */
+    public record Entrada(String idempotencyKey, Long pessoaId, String validadoPor, String observacoes,
+                          LocalDateTime ocorridoEm) {
+    }
+
+    /**
+     * Posição no journal (segmento e deslocamento do próximo registro)
+     */
+    public record Posicao(long segmento, int offset) implements Comparable<Posicao> {
+        @Override
+        public int compareTo(Posicao outra) {
+            return Comparator.comparingLong(Posicao::segmento).thenComparingInt(Posicao::offset).compare(this, outra);
+        }
+    }
+
+    /**
+     * Entrada lida e posição do registro seguinte
+     */
+    public record EntradaLida(Entrada entrada, Posicao proxima) {
+    }
+
+    /**
+     * Resultado de uma leitura: entradas e posição alcançada (inclui segmentos percorridos sem entradas)
+     */
+    public record Leitura(List<EntradaLida> entradas, Posicao fim) {
+    }
+
+    @PostConstruct
+    void abrir() throws IOException {
+        if (!ativo) {
+            return;
+        }
+
+        // 1. Checkpoint (ausente ou inválido: sincronizar desde o primeiro segmento, a chave evita duplicidade)
+        Files.createDirectories(diretorio);
+        List<Long> segmentos = listarSegmentos();
+        long primeiro = segmentos.isEmpty() ? 1 : segmentos.get(0);
+        checkpoint = lerCheckpoint(new Posicao(primeiro, 0));
+
+        // 2. Reabrir o último segmento descartando registros incompletos de uma escrita interrompida
+        abrirSegmento(segmentos.isEmpty() ? Math.max(1, checkpoint.segmento()) : segmentos.get(segmentos.size() - 1), true);
+
+        // 3. Gravação em disco agrupada
+        gravador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-comparecimentos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = intervaloFsync.toMillis();
+        gravador.scheduleWithFixedDelay(this::gravarEmDisco, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void fechar() throws IOException {
+        if (!ativo) {
+            return;
+        }
+        gravador.shutdown();
+        gravarEmDisco();
+        synchronized (lock) {
+            canalAtivo.close();
+        }
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Anexar entrada; o futuro é concluído quando o registro estiver gravado em disco
+     */
+    public CompletableFuture<Void> anexar(Entrada entrada) {
+        if (!ativo) {
+            throw new IllegalStateException("Journal de comparecimentos desativado");
+        }
+
+        byte[] payload = serializar(entrada);
+        int necessario = TAMANHO_CABECALHO + payload.length;
+        if (necessario > tamanhoSegmento.toBytes()) {
+            throw new IllegalArgumentException("Entrada maior que o tamanho do segmento do journal");
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        CompletableFuture<Void> gravado = new CompletableFuture<>();
+
+        synchronized (lock) {
+            if (bufferAtivo.remaining() < necessario) {
+                rolarSegmento();
+            }
+            bufferAtivo.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            aguardandoDisco.add(gravado);
+        }
+        return gravado;
+    }
+
+    /**
+     * Ler até {@code maximo} entradas a partir da posição informada
+     */
+    public Leitura ler(Posicao desde, int maximo) {
+        long ultimoSegmento;
+        int limiteAtivo;
+        synchronized (lock) {
+            ultimoSegmento = segmentoAtivo;
+            limiteAtivo = bufferAtivo.position();
+        }
+
+        List<EntradaLida> lidas = new ArrayList<>();
+        Posicao posicao = desde;
+
+        while (true) {
+            int limite = posicao.segmento() == ultimoSegmento ? limiteAtivo : (int) tamanhoSegmento.toBytes();
+            posicao = lerSegmento(posicao, limite, maximo, lidas);
+
+            if (lidas.size() >= maximo || posicao.segmento() >= ultimoSegmento) {
+                break;
+            }
+            // Segmento encerrado (completo ou com registro corrompido): seguir para o próximo
+            posicao = new Posicao(posicao.segmento() + 1, 0);
+        }
+        return new Leitura(lidas, posicao);
+    }
+
+    public Posicao getCheckpoint() {
+        return checkpoint;
+    }
+
+    public Posicao getPosicaoEscrita() {
+        synchronized (lock) {
+            return new Posicao(segmentoAtivo, bufferAtivo.position());
+        }
+    }
+
+    public boolean possuiPendentes() {
+        return ativo && checkpoint.compareTo(getPosicaoEscrita()) < 0;
+    }
+
+    public long getRegistrosCorrompidos() {
+        return registrosCorrompidos.get();
+    }
+
+    /**
+     * Confirmar sincronização até a posição informada e compactar o journal
+     */
+    public void confirmar(Posicao posicao) {
+        synchronized (lock) {
+            // Journal totalmente sincronizado: iniciar segmento vazio para liberar o atual
+            if (posicao.segmento() == segmentoAtivo && posicao.offset() == bufferAtivo.position() && posicao.offset() > 0) {
+                rolarSegmento();
+                posicao = new Posicao(segmentoAtivo, 0);
+            }
+        }
+
+        gravarCheckpoint(posicao);
+        checkpoint = posicao;
+
+        // Remover segmentos inteiramente sincronizados
+        for (Long segmento : listarSegmentos()) {
+            if (segmento < posicao.segmento()) {
+                excluir(caminhoSegmento(segmento));
+            }
+        }
+    }
+
+    /**
+     * Registrar entrada recusada na sincronização (para conferência manual)
+     */
+    public synchronized void registrarRejeitada(Entrada entrada, String motivo) {
+        try {
+            byte[] linha = objectMapper.writeValueAsBytes(Map.of(
+                    "entrada", entrada,
+                    "motivo", motivo != null ? motivo : "",
+                    "rejeitadaEm", LocalDateTime.now()));
+            Files.write(diretorio.resolve(ARQUIVO_REJEITADAS), concatenar(linha, "\n".getBytes(StandardCharsets.UTF_8)),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    void gravarEmDisco() {
+        List<CompletableFuture<Void>> pendentes;
+        MappedByteBuffer buffer;
+        synchronized (lock) {
+            if (aguardandoDisco.isEmpty()) {
+                return;
+            }
+            pendentes = aguardandoDisco;
+            aguardandoDisco = new ArrayList<>();
+            buffer = bufferAtivo;
+        }
+
+        // Um único force para todos os registros acumulados no intervalo
+        try {
+            buffer.force();
+            pendentes.forEach(gravado -> gravado.complete(null));
+        } catch (RuntimeException e) {
+            pendentes.forEach(gravado -> gravado.completeExceptionally(e));
+        }
+    }
+
+    private void rolarSegmento() {
+        try {
+            // Registros do segmento anterior ficam gravados antes da troca
+            bufferAtivo.force();
+            canalAtivo.close();
+            abrirSegmento(segmentoAtivo + 1, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void abrirSegmento(long numero, boolean recuperar) throws IOException {
+        long tamanho = tamanhoSegmento.toBytes();
+        canalAtivo = FileChannel.open(caminhoSegmento(numero),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        bufferAtivo = canalAtivo.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+        segmentoAtivo = numero;
+
+        if (recuperar) {
+            int fim = fimRegistrosValidos(bufferAtivo.duplicate(), (int) tamanho);
+            // Zerar o restante: páginas gravadas fora de ordem não podem reaparecer como registros válidos
+            for (int i = fim; i < tamanho; i++) {
+                bufferAtivo.put(i, (byte) 0);
+            }
+            bufferAtivo.force();
+            bufferAtivo.position(fim);
+        }
+    }
+
+    private int fimRegistrosValidos(ByteBuffer buffer, int limite) {
+        int offset = 0;
+        while (offset + TAMANHO_CABECALHO <= limite) {
+            int tamanho = buffer.getInt(offset);
+            if (tamanho <= 0 || offset + TAMANHO_CABECALHO + tamanho > limite
+                    || crc(buffer, offset + TAMANHO_CABECALHO, tamanho) != buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += TAMANHO_CABECALHO + tamanho;
+        }
+        return offset;
+    }
+
+    private Posicao lerSegmento(Posicao desde, int limite, int maximo, List<EntradaLida> lidas) {
+        Path caminho = caminhoSegmento(desde.segmento());
+        if (!Files.exists(caminho) || desde.offset() >= limite) {
+            return desde;
+        }
+
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, limite);
+            int offset = desde.offset();
+
+            while (lidas.size() < maximo && offset + TAMANHO_CABECALHO <= limite) {
+                int tamanho = buffer.getInt(offset);
+                if (tamanho == 0) {
+                    break;
+                }
+                if (tamanho < 0 || offset + TAMANHO_CABECALHO + tamanho > limite
+                        || crc(buffer, offset + TAMANHO_CABECALHO, tamanho) != buffer.getInt(offset + 4)) {
+                    // Registro corrompido: o restante do segmento não é confiável
+                    registrosCorrompidos.incrementAndGet();
+                    break;
+                }
+
+                byte[] payload = new byte[tamanho];
+                buffer.get(offset + TAMANHO_CABECALHO, payload);
+                offset += TAMANHO_CABECALHO + tamanho;
+
+                try {
+                    Entrada entrada = objectMapper.readValue(payload, Entrada.class);
+                    lidas.add(new EntradaLida(entrada, new Posicao(desde.segmento(), offset)));
+                } catch (IOException e) {
+                    registrosCorrompidos.incrementAndGet();
+                }
+            }
+            return new Posicao(desde.segmento(), offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int crc(ByteBuffer buffer, int offset, int tamanho) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, tamanho));
+        return (int) crc.getValue();
+    }
+
+    private Posicao lerCheckpoint(Posicao padrao) throws IOException {
+        Path caminho = diretorio.resolve(ARQUIVO_CHECKPOINT);
+        if (!Files.exists(caminho)) {
+            return padrao;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(caminho));
+        if (buffer.remaining() != 16 || crc(buffer, 0, 12) != buffer.getInt(12)) {
+            return padrao;
+        }
+        return new Posicao(buffer.getLong(0), buffer.getInt(8));
+    }
+
+    private void gravarCheckpoint(Posicao posicao) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(0, posicao.segmento()).putInt(8, posicao.offset()).putInt(12, crc(buffer, 0, 12));
+
+        // Escrita em arquivo temporário + renomeação atômica: o checkpoint nunca fica parcialmente gravado
+        Path temporario = diretorio.resolve(ARQUIVO_CHECKPOINT + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            canal.write(buffer);
+            canal.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temporario, diretorio.resolve(ARQUIVO_CHECKPOINT),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> listarSegmentos() {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.startsWith(PREFIXO_SEGMENTO) && nome.endsWith(EXTENSAO_SEGMENTO))
+                    .map(nome -> Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(),
+                            nome.length() - EXTENSAO_SEGMENTO.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path caminhoSegmento(long numero) {
+        return diretorio.resolve(String.format("%s%016d%s", PREFIXO_SEGMENTO, numero, EXTENSAO_SEGMENTO));
+    }
+
+    private void excluir(Path caminho) {
+        try {
+            Files.deleteIfExists(caminho);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] serializar(Entrada entrada) {
+        try {
+            return objectMapper.writeValueAsBytes(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] concatenar(byte[] primeiro, byte[] segundo) {
+        byte[] resultado = new byte[primeiro.length + segundo.length];
+        System.arraycopy(primeiro, 0, resultado, 0, primeiro.length);
+        System.arraycopy(segundo, 0, resultado, primeiro.length, segundo.length);
+        return resultado;
+    }
+}
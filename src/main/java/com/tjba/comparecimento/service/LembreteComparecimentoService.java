@@ -0,0 +1,251 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.LembretesEnviados;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.repository.LembretesEnviadosRepository;
+import com.tjba.comparecimento.repository.RegimeComparecimentoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lembretes de comparecimento: pessoas com próximo comparecimento nos próximos
+ * comparecimento.prazo_alerta_dias dias recebem um lembrete por data de comparecimento.
+ * As pessoas são lidas por data, em lotes de IDs (paginação por chave sobre o índice de próximo comparecimento),
+ * sem carregar entidades. Os lembretes já enviados ficam em um conjunto compacto de IDs por data e partição
+ * ({@link LembretesEnviados}),
+ * gravado na mesma transação do lote que enfileira as notificações (outbox): reexecuções e datas que continuam
+ * na janela nos dias seguintes não repetem o lembrete. As partições (id % total) são distribuídas entre as
+ * instâncias pelo {@link CoordenadorJobs}.
+ */
+@Service
+public class LembreteComparecimentoService {
+
+    private static final String JOB = "lembrete.comparecimento";
+
+    @Autowired
+    private RegimeComparecimentoRepository regimeRepository;
+
+    @Autowired
+    private LembretesEnviadosRepository lembretesRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CoordenadorJobs coordenadorJobs;
+
+    @Value("${lembrete.lote:2000}")
+    private int tamanhoLote;
+
+    @Value("${lembrete.particoes:4}")
+    private int totalParticoes;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+    private TransactionTemplate transactionTemplate;
+
+    private volatile ExecucaoLembretes ultimaExecucao;
+
+    /**
+     * Resumo de uma execução: janela de datas, lembretes enfileirados, pessoas já lembradas (ignoradas),
+     * duração e erro do último lote com falha
+     */
+    public record ExecucaoLembretes(LocalDateTime inicio,
+                                    LocalDateTime fim,
+                                    long duracaoMs,
+                                    LocalDate dataInicial,
+                                    LocalDate dataFinal,
+                                    int lotes,
+                                    int lotesComFalha,
+                                    long lembretesEnfileirados,
+                                    long jaLembradas,
+                                    String ultimoErro) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Enfileirar os lembretes do dia (8h por padrão); as partições ainda não concluídas no dia são divididas
+     * entre as instâncias
+     */
+    @Scheduled(cron = "${lembrete.cron:0 0 8 * * *}")
+    public void executarAgendado() {
+        executar(CoordenadorJobs.referencia(ChronoUnit.DAYS));
+    }
+
+    /**
+     * Enfileirar lembretes fora do agendamento (pessoas já lembradas são ignoradas)
+     */
+    public ExecucaoLembretes executar() {
+        return executar("manual " + LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public ExecucaoLembretes getUltimaExecucao() {
+        return ultimaExecucao;
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private ExecucaoLembretes executar(String referencia) {
+        if (!execucao.tryLock()) {
+            return ultimaExecucao;
+        }
+
+        try {
+            LocalDateTime inicio = LocalDateTime.now();
+            LocalDate hoje = inicio.toLocalDate();
+            Integer prazo = configService.getNotificationConfig().getPrazoAlertaDias();
+            Totais totais = new Totais();
+
+            // 1. Janela de alerta: de amanhã até hoje + prazo
+            LocalDate dataInicial = hoje.plusDays(1);
+            LocalDate dataFinal = hoje.plusDays(prazo != null ? prazo : 0);
+
+            // 2. Registros de datas já passadas não são mais consultados
+            coordenadorJobs.executarEmTransacao(JOB + ".limpeza", referencia,
+                    () -> lembretesRepository.deleteByDataComparecimentoAntes(hoje));
+
+            // 3. Partições por ID (coordenadas entre instâncias), cada uma percorrida por data e em lotes
+            if (!dataFinal.isBefore(dataInicial)) {
+                coordenadorJobs.executarParticionado(JOB, referencia, totalParticoes,
+                        particao -> lembrarParticao(particao, dataInicial, dataFinal, totais));
+            }
+
+            // 4. Métricas da execução nesta instância
+            LocalDateTime fim = LocalDateTime.now();
+            ultimaExecucao = new ExecucaoLembretes(inicio, fim,
+                    Duration.between(inicio, fim).toMillis(),
+                    dataInicial,
+                    dataFinal,
+                    totais.lotes,
+                    totais.lotesComFalha,
+                    totais.enfileirados,
+                    totais.jaLembradas,
+                    totais.ultimoErro);
+            return ultimaExecucao;
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private long lembrarParticao(CoordenadorJobs.Particao particao, LocalDate dataInicial, LocalDate dataFinal,
+                                 Totais totais) {
+        long enfileiradosNaParticao = 0;
+        int falhasNaParticao = 0;
+
+        for (LocalDate data = dataInicial; !data.isAfter(dataFinal); data = data.plusDays(1)) {
+            LocalDate dataComparecimento = data;
+            long ultimoId = 0;
+            boolean continuar = true;
+
+            // Uma transação por lote: falha isolada (a data é retomada na próxima execução)
+            while (continuar) {
+                long aPartirDe = ultimoId;
+                totais.lotes++;
+                try {
+                    Lote lote = transactionTemplate.execute(
+                            status -> lembrarLote(dataComparecimento, aPartirDe, particao));
+                    enfileiradosNaParticao += lote.enfileirados();
+                    totais.enfileirados += lote.enfileirados();
+                    totais.jaLembradas += lote.lidos() - lote.enfileirados();
+                    ultimoId = lote.ultimoId();
+                    continuar = lote.lidos() == tamanhoLote;
+                } catch (RuntimeException e) {
+                    falhasNaParticao++;
+                    totais.lotesComFalha++;
+                    totais.ultimoErro = "Data " + dataComparecimento + ", IDs após " + aPartirDe + ": " + e.getMessage();
+                    continuar = false;
+                }
+            }
+        }
+
+        // Partição com datas pendentes fica registrada como falha em job_execucoes
+        if (falhasNaParticao > 0) {
+            throw new BusinessException(enfileiradosNaParticao + " lembretes enfileirados; " + falhasNaParticao
+                    + " lotes com falha (" + totais.ultimoErro + ")");
+        }
+        return enfileiradosNaParticao;
+    }
+
+    private Lote lembrarLote(LocalDate data, long ultimoId, CoordenadorJobs.Particao particao) {
+        // 1. Próximo lote de IDs da data
+        List<Long> pessoaIds = regimeRepository.findPessoaIdsComComparecimentoEm(data, ultimoId,
+                particao.indice(), particao.total(), PageRequest.of(0, tamanhoLote));
+        if (pessoaIds.isEmpty()) {
+            return new Lote(ultimoId, 0, 0);
+        }
+
+        // 2. Descartar pessoas já lembradas para a data
+        LembretesEnviados registro = lembretesRepository
+                .findByDataComparecimentoAndParticaoAndTotalParticoes(data, particao.indice(), particao.total())
+                .orElseGet(() -> new LembretesEnviados(data, particao.indice(), particao.total()));
+        long[] lembradas = registro.getPessoaIds();
+
+        List<Long> novos = new ArrayList<>(pessoaIds.size());
+        for (Long pessoaId : pessoaIds) {
+            if (Arrays.binarySearch(lembradas, pessoaId) < 0) {
+                novos.add(pessoaId);
+            }
+        }
+
+        // 3. Enfileirar lembretes e gravar os IDs lembrados na mesma transação
+        if (!novos.isEmpty()) {
+            notificationService.sendLembreteComparecimentoNotifications(novos, data);
+            registro.setPessoaIds(intercalar(lembradas, novos));
+            lembretesRepository.save(registro);
+        }
+        return new Lote(pessoaIds.get(pessoaIds.size() - 1), pessoaIds.size(), novos.size());
+    }
+
+    /**
+     * Intercalar os IDs já lembrados com os novos (ambos em ordem crescente e disjuntos)
+     */
+    private static long[] intercalar(long[] lembradas, List<Long> novos) {
+        long[] todas = new long[lembradas.length + novos.size()];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < todas.length; k++) {
+            todas[k] = j >= novos.size() || (i < lembradas.length && lembradas[i] < novos.get(j))
+                    ? lembradas[i++] : novos.get(j++);
+        }
+        return todas;
+    }
+
+    private record Lote(long ultimoId, int lidos, int enfileirados) {
+    }
+
+    /**
+     * Totais acumulados pelas partições executadas nesta instância
+     */
+    private static final class Totais {
+
+        private int lotes;
+        private int lotesComFalha;
+        private long enfileirados;
+        private long jaLembradas;
+        private String ultimoErro;
+    }
+}
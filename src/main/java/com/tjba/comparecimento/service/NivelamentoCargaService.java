@@ -0,0 +1,270 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.event.ComparecimentoRegistrado;
+import com.tjba.comparecimento.event.ConsumidorEventos;
+import com.tjba.comparecimento.event.EventoDominio;
+import com.tjba.comparecimento.event.PessoaAtualizada;
+import com.tjba.comparecimento.event.PessoaCadastrada;
+import com.tjba.comparecimento.event.ProximoComparecimentoAlterado;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.repository.RegimeComparecimentoRepository;
+import com.tjba.comparecimento.util.CargaDiaria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nivelamento de carga dos vencimentos: com o modo ativo (nivelamento.ativo), o próximo comparecimento é o dia útil
+ * menos carregado da vara dentro de uma janela de tolerância em torno da data nominal (base + periodicidade, no
+ * calendário forense), em vez de sempre a data nominal. Assim os picos (ex.: segundas-feiras) se diluem a cada ciclo.
+ * A carga é mantida em memória, por vara e dia ({@link CargaDiaria}, sem locks), com a posição de cada pessoa:
+ * a decisão já reserva o dia escolhido e os eventos do barramento aplicam as demais alterações de data. Transações
+ * desfeitas e alterações feitas fora dos eventos são corrigidas na reconciliação diária com o banco.
+ */
+@Service
+public class NivelamentoCargaService implements ConsumidorEventos {
+
+    private static final Set<Class<? extends EventoDominio>> TIPOS_EVENTO = Set.of(
+            ComparecimentoRegistrado.class, ProximoComparecimentoAlterado.class,
+            PessoaCadastrada.class, PessoaAtualizada.class);
+
+    @Autowired
+    private RegimeComparecimentoRepository regimeRepository;
+
+    @Autowired
+    private CalendarioForenseService calendarioForense;
+
+    @Value("${nivelamento.ativo:false}")
+    private boolean ativo;
+
+    @Value("${nivelamento.tolerancia-dias:2}")
+    private int toleranciaDias;
+
+    @Value("${nivelamento.horizonte-dias:400}")
+    private int horizonte;
+
+    private volatile Estado estado = new Estado();
+
+    // Pessoas alteradas durante uma recarga: reconsultadas sobre o estado recém-carregado
+    private volatile Set<Long> alteradasDuranteCarga;
+
+    private final AtomicLong decisoes = new AtomicLong();
+    private final AtomicLong deslocadas = new AtomicLong();
+
+    /**
+     * Estatísticas do nivelamento: decisões tomadas e quantas saíram da data nominal
+     */
+    public record EstatisticasNivelamento(boolean ativo, int toleranciaDias, int varas, int pessoas,
+                                          long decisoes, long deslocadas, LocalDateTime carregadaEm) {
+    }
+
+    /**
+     * Dia da vara em que a pessoa está contada
+     */
+    private record Posicao(CargaDiaria carga, LocalDate data) {
+    }
+
+    /**
+     * Carga por vara e posição por pessoa, substituídas juntas na recarga
+     */
+    private static final class Estado {
+
+        private final Map<String, CargaDiaria> porVara = new ConcurrentHashMap<>();
+        private final Map<Long, Posicao> porPessoa = new ConcurrentHashMap<>();
+        private LocalDateTime carregadoEm;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarAoIniciar() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            // Banco indisponível na subida: a carga é preenchida pelos eventos até a próxima recarga
+        }
+    }
+
+    /**
+     * Reconciliar a carga com o banco (3h15 por padrão)
+     */
+    @Scheduled(cron = "${nivelamento.recarga.cron:0 15 3 * * *}")
+    public void recarregar() {
+        LocalDate hoje = LocalDate.now();
+        Set<Long> alteradas = ConcurrentHashMap.newKeySet();
+        alteradasDuranteCarga = alteradas;
+
+        try {
+            // 1. Carregar fora do estado atual: decisões e eventos continuam sendo aplicados a ele
+            Estado novo = new Estado();
+            for (Object[] row : regimeRepository.findCargaAPartirDe(hoje)) {
+                mover(novo, (Long) row[0], (String) row[1], (String) row[2], (LocalDate) row[3], hoje);
+            }
+            novo.carregadoEm = LocalDateTime.now();
+
+            // 2. Publicar
+            estado = novo;
+        } finally {
+            alteradasDuranteCarga = null;
+        }
+
+        // 3. Reaplicar alterações ocorridas durante a carga
+        if (!alteradas.isEmpty()) {
+            consultarEMover(alteradas);
+        }
+    }
+
+    /**
+     * Próximo comparecimento a partir da data base: a data nominal no calendário forense da comarca ou, com o
+     * nivelamento ativo, o dia útil menos carregado da vara na janela de tolerância (já reservado para a pessoa)
+     */
+    public LocalDate calcularVencimento(Long pessoaId, String comarca, String vara, LocalDate base,
+                                        int periodicidadeDias) {
+        LocalDate nominal = calendarioForense.calcularVencimento(comarca, base, periodicidadeDias);
+        if (!ativo || comarca == null || vara == null) {
+            return nominal;
+        }
+
+        // 1. Janela proporcional à periodicidade (regimes semanais variam no máximo um dia)
+        int janela = Math.min(toleranciaDias, periodicidadeDias / 4);
+        Estado atual = estado;
+        CargaDiaria carga = atual.porVara.computeIfAbsent(chave(comarca, vara), chave -> new CargaDiaria(horizonte));
+
+        // 2. Dia útil menos carregado; empates ficam com o mais próximo da data nominal
+        LocalDate escolhida = nominal;
+        int menorCarga = carga.contar(nominal);
+        for (int distancia = 1; distancia <= janela && menorCarga > 0; distancia++) {
+            for (LocalDate candidata : List.of(nominal.minusDays(distancia), nominal.plusDays(distancia))) {
+                if (!candidata.isAfter(base) || !calendarioForense.isDiaUtil(comarca, candidata)) {
+                    continue;
+                }
+                int cargaCandidata = carga.contar(candidata);
+                if (cargaCandidata < menorCarga) {
+                    escolhida = candidata;
+                    menorCarga = cargaCandidata;
+                }
+            }
+        }
+
+        // 3. Reservar o dia escolhido (o evento do commit confirma sem alterar a contagem)
+        mover(atual, pessoaId, comarca, vara, escolhida, LocalDate.now());
+        decisoes.incrementAndGet();
+        if (!escolhida.equals(nominal)) {
+            deslocadas.incrementAndGet();
+        }
+        return escolhida;
+    }
+
+    /**
+     * Pessoas por dia na vara entre as datas (inclusive)
+     */
+    public Map<LocalDate, Integer> getCarga(String comarca, String vara, LocalDate de, LocalDate ate) {
+        if (ate.isBefore(de) || ate.isAfter(de.plusDays(horizonte))) {
+            throw new BusinessException("Período deve terminar após o início e ter no máximo " + horizonte + " dias");
+        }
+
+        Map<LocalDate, Integer> carga = new LinkedHashMap<>();
+        CargaDiaria contadores = estado.porVara.get(chave(comarca, vara));
+        for (LocalDate data = de; !data.isAfter(ate); data = data.plusDays(1)) {
+            carga.put(data, contadores != null ? contadores.contar(data) : 0);
+        }
+        return carga;
+    }
+
+    public EstatisticasNivelamento getEstatisticas() {
+        Estado atual = estado;
+        return new EstatisticasNivelamento(ativo, toleranciaDias, atual.porVara.size(), atual.porPessoa.size(),
+                decisoes.get(), deslocadas.get(), atual.carregadoEm);
+    }
+
+    // === EVENTOS ===
+
+    @Override
+    public String getNome() {
+        return "nivelamento-carga";
+    }
+
+    @Override
+    public Set<Class<? extends EventoDominio>> getTiposEvento() {
+        return TIPOS_EVENTO;
+    }
+
+    @Override
+    public void processar(List<EventoDominio> lote) {
+        // Alterações de data de pessoas já posicionadas mantêm a vara; demais casos consultam o banco
+        Estado atual = estado;
+        LocalDate hoje = LocalDate.now();
+        Set<Long> consultar = new HashSet<>();
+        for (EventoDominio evento : lote) {
+            LocalDate data = null;
+            if (evento instanceof ComparecimentoRegistrado comparecimento) {
+                data = comparecimento.proximoComparecimento();
+            } else if (evento instanceof ProximoComparecimentoAlterado alterado) {
+                data = alterado.proximoComparecimento();
+            }
+
+            Posicao posicao = atual.porPessoa.get(evento.pessoaId());
+            if (data != null && posicao != null) {
+                mover(atual, evento.pessoaId(), posicao.carga(), data, hoje);
+            } else {
+                consultar.add(evento.pessoaId());
+            }
+        }
+
+        if (!consultar.isEmpty()) {
+            consultarEMover(consultar);
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void consultarEMover(Set<Long> pessoaIds) {
+        Estado atual = estado;
+        LocalDate hoje = LocalDate.now();
+        for (Object[] row : regimeRepository.findCargaByPessoaIds(pessoaIds)) {
+            mover(atual, (Long) row[0], (String) row[1], (String) row[2], (LocalDate) row[3], hoje);
+        }
+    }
+
+    private void mover(Estado alvo, Long pessoaId, String comarca, String vara, LocalDate data, LocalDate hoje) {
+        if (comarca == null || vara == null || data == null) {
+            return;
+        }
+        CargaDiaria carga = alvo.porVara.computeIfAbsent(chave(comarca, vara), chave -> new CargaDiaria(horizonte));
+        mover(alvo, pessoaId, carga, data, hoje);
+    }
+
+    private void mover(Estado alvo, Long pessoaId, CargaDiaria carga, LocalDate data, LocalDate hoje) {
+        Set<Long> alteradas = alteradasDuranteCarga;
+        if (alteradas != null && alvo == estado) {
+            alteradas.add(pessoaId);
+        }
+
+        // Troca atômica da posição: cada alteração desconta o dia anterior uma única vez
+        Posicao nova = new Posicao(carga, data);
+        Posicao anterior = alvo.porPessoa.put(pessoaId, nova);
+        if (nova.equals(anterior)) {
+            return;
+        }
+        if (anterior != null) {
+            anterior.carga().ajustar(anterior.data(), -1, hoje);
+        }
+        carga.ajustar(data, 1, hoje);
+    }
+
+    private static String chave(String comarca, String vara) {
+        return comarca.trim().toUpperCase(Locale.ROOT) + "|" + vara.trim().toUpperCase(Locale.ROOT);
+    }
+}
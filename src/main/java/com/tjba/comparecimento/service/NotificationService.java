@@ -0,0 +1,110 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.dto.response.ComparecimentoResponse;
+import com.tjba.comparecimento.entity.HistoricoComparecimento;
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.PessoaMonitorada;
+import com.tjba.comparecimento.entity.enums.TipoNotificacao;
+import com.tjba.comparecimento.repository.NotificacaoPendenteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * Service de notificações: apenas grava a notificação na fila (outbox), na transação de quem chama.
+ * O envio é feito depois pelo {@link EnvioNotificacoesService}; se a transação for desfeita, nada é enviado.
+ * O contato da pessoa monitorada é resolvido no envio, de modo que o caminho da requisição não faz consultas.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class NotificationService {
+
+    private static final DateTimeFormatter DATA_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Autowired
+    private NotificacaoPendenteRepository notificacaoRepository;
+
+    public void sendComparecimentoRegistradoNotification(ComparecimentoResponse comparecimento) {
+        enfileirarParaPessoa(TipoNotificacao.COMPARECIMENTO_REGISTRADO, comparecimento.getPessoaId(),
+                "Comparecimento registrado em " + formatar(comparecimento.getDataComparecimento())
+                        + ". Próximo comparecimento: " + formatar(comparecimento.getProximoComparecimento()) + ".");
+    }
+
+    public void sendComparecimentoRegistradoNotification(Long pessoaId, LocalDate data, LocalDate proximoComparecimento) {
+        enfileirarParaPessoa(TipoNotificacao.COMPARECIMENTO_REGISTRADO, pessoaId,
+                "Comparecimento registrado em " + formatar(data)
+                        + ". Próximo comparecimento: " + formatar(proximoComparecimento) + ".");
+    }
+
+    public void sendJustificativaRegistradaNotification(PessoaMonitorada pessoa, HistoricoComparecimento historico) {
+        enfileirar(TipoNotificacao.JUSTIFICATIVA_REGISTRADA, pessoa.getContato(), pessoa.getId(), null,
+                "Justificativa de ausência em " + formatar(historico.getDataComparecimento()) + " registrada.");
+    }
+
+    public void sendComparecimentoReagendadoNotification(PessoaMonitorada pessoa, LocalDate novaData) {
+        enfileirar(TipoNotificacao.COMPARECIMENTO_REAGENDADO, pessoa.getContato(), pessoa.getId(), null,
+                "Seu próximo comparecimento foi reagendado para " + formatar(novaData) + ".");
+    }
+
+    public void sendComparecimentoReagendadoNotifications(Collection<Long> pessoaIds, LocalDate novaData) {
+        for (Long pessoaId : pessoaIds) {
+            enfileirarParaPessoa(TipoNotificacao.COMPARECIMENTO_REAGENDADO, pessoaId,
+                    "Seu próximo comparecimento foi reagendado para " + formatar(novaData) + ".");
+        }
+    }
+
+    public void sendCadastroNotification(PessoaMonitorada pessoa) {
+        enfileirar(TipoNotificacao.CADASTRO_PESSOA, pessoa.getContato(), pessoa.getId(), null,
+                "Cadastro realizado no sistema de comparecimento. Próximo comparecimento: "
+                        + formatar(pessoa.getRegimeComparecimento().getProximoComparecimento()) + ".");
+    }
+
+    public void sendInadimplenciaNotifications(Collection<Long> pessoaIds) {
+        for (Long pessoaId : pessoaIds) {
+            enfileirarParaPessoa(TipoNotificacao.INADIMPLENCIA, pessoaId,
+                    "Comparecimento em atraso. Procure a vara responsável o quanto antes.");
+        }
+    }
+
+    public void sendLembreteComparecimentoNotifications(Collection<Long> pessoaIds, LocalDate data) {
+        for (Long pessoaId : pessoaIds) {
+            enfileirarParaPessoa(TipoNotificacao.LEMBRETE_COMPARECIMENTO, pessoaId,
+                    "Lembrete: seu comparecimento está agendado para " + formatar(data) + ".");
+        }
+    }
+
+    public void sendWelcomeEmail(String email, String senha) {
+        enfileirar(TipoNotificacao.BOAS_VINDAS_USUARIO, email, null, "Acesso ao sistema de comparecimento",
+                "Seu usuário foi criado. Senha inicial: " + senha + "\nAltere a senha no primeiro acesso.");
+    }
+
+    public void sendTemporaryPasswordEmail(String email, String senha) {
+        enfileirar(TipoNotificacao.SENHA_TEMPORARIA, email, null, "Nova senha de acesso",
+                "Sua senha foi redefinida. Senha temporária: " + senha + "\nAltere a senha no próximo acesso.");
+    }
+
+    public void sendPasswordResetEmail(String email, String resetToken) {
+        enfileirar(TipoNotificacao.RESET_SENHA, email, null, "Redefinição de senha",
+                "Use o código a seguir para redefinir sua senha: " + resetToken);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void enfileirarParaPessoa(TipoNotificacao tipo, Long pessoaId, String conteudo) {
+        enfileirar(tipo, null, pessoaId, null, conteudo);
+    }
+
+    private void enfileirar(TipoNotificacao tipo, String destinatario, Long pessoaId, String assunto, String conteudo) {
+        // ID reservado pela sequência pooled: um único INSERT, enviado no flush da transação
+        notificacaoRepository.save(new NotificacaoPendente(tipo, destinatario, pessoaId, assunto, conteudo));
+    }
+
+    private String formatar(LocalDate data) {
+        return data != null ? data.format(DATA_FORMATTER) : "-";
+    }
+}
@@ -6,6 +6,10 @@ import com.tjba.comparecimento.dto.response.PessoaDetalheResponse;
 import com.tjba.comparecimento.dto.response.PessoaResponse;
 import com.tjba.comparecimento.entity.*;
 import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+import com.tjba.comparecimento.event.BarramentoEventos;
+import com.tjba.comparecimento.event.PessoaAtualizada;
+import com.tjba.comparecimento.event.PessoaCadastrada;
+import com.tjba.comparecimento.event.StatusAlterado;
 import com.tjba.comparecimento.exception.BusinessException;
 import com.tjba.comparecimento.exception.ResourceNotFoundException;
 import com.tjba.comparecimento.repository.*;
@@ -16,10 +20,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +37,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class PessoaMonitoradaService {
 
+    private static final int LOTE_CARGA_POR_ID = 1000;
+
     @Autowired
     private PessoaMonitoradaRepository pessoaRepository;
 
@@ -44,11 +54,23 @@ public class PessoaMonitoradaService {
     @Autowired
     private HistoricoComparecimentoRepository historicoRepository;
 
+    @Autowired
+    private BarramentoEventos barramentoEventos;
+
     // TODO: Injetar ViaCepService quando implementar
     // @Autowired private ViaCepService viaCepService;
 
-    // TODO: Injetar NotificationService quando implementar
-    // @Autowired private NotificationService notificationService;
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ExecucaoPorPessoa execucaoPorPessoa;
+
+    @Autowired
+    private AgendaComparecimentosService agendaComparecimentos;
+
+    @Autowired
+    private CalendarioForenseService calendarioForense;
 
     /**
      * Buscar pessoas com filtros e paginação
@@ -64,7 +86,7 @@ public class PessoaMonitoradaService {
 
         // 2. Buscar com filtros
         Page<PessoaMonitorada> pessoasPage = pessoaRepository.findAllWithFilters(
-                nome, cpf, rg, status, comarca, proximoComparecimento, pageable);
+                nome, cpf, rg, status, comarca, proximoComparecimento, LocalDate.now(), pageable);
 
         // 3. Converter para DTO
         return pessoasPage.map(this::convertToPessoaResponse);
@@ -98,7 +120,6 @@ public class PessoaMonitoradaService {
         pessoa.setRg(request.getRg());
         pessoa.setContato(request.getContato());
         pessoa.setContatoEmergencia(request.getContatoEmergencia());
-        pessoa.setStatus(StatusComparecimento.EM_CONFORMIDADE);
         pessoa.setObservacoes(request.getObservacoes());
 
         // 4. Salvar pessoa primeiro
@@ -120,7 +141,9 @@ public class PessoaMonitoradaService {
         RegimeComparecimento regime = new RegimeComparecimento();
         regime.setPeriodicidadeDias(request.getPeriodicidadeDias());
         regime.setDataComparecimentoInicial(request.getDataComparecimentoInicial());
-        regime.setProximoComparecimento(request.getDataComparecimentoInicial());
+        // Primeiro comparecimento no próximo dia útil forense da comarca
+        regime.setProximoComparecimento(calendarioForense.proximoDiaUtil(request.getComarca(),
+                request.getDataComparecimentoInicial()));
         regime.setPessoaMonitorada(savedPessoa);
 
         RegimeComparecimento savedRegime = regimeRepository.save(regime);
@@ -143,8 +166,9 @@ public class PessoaMonitoradaService {
         // 8. Salvar pessoa atualizada
         savedPessoa = pessoaRepository.save(savedPessoa);
 
-        // 9. Enviar notificação de cadastro
-        // TODO: notificationService.sendCadastroNotification(savedPessoa);
+        // 9. Enfileirar notificação de cadastro
+        notificationService.sendCadastroNotification(savedPessoa);
+        barramentoEventos.publicar(new PessoaCadastrada(savedPessoa.getId()));
 
         // 10. Log da ação
         // TODO: auditService.logPessoaCreation(savedPessoa.getId(), savedPessoa.getNomeCompleto());
@@ -155,7 +179,12 @@ public class PessoaMonitoradaService {
     /**
      * Atualizar dados da pessoa
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PessoaResponse updatePessoa(Long id, UpdatePessoaRequest request) {
+        return execucaoPorPessoa.executar(id, () -> atualizarPessoa(id, request));
+    }
+
+    private PessoaResponse atualizarPessoa(Long id, UpdatePessoaRequest request) {
         // 1. Buscar pessoa
         PessoaMonitorada pessoa = pessoaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pessoa não encontrada com ID: " + id));
@@ -174,12 +203,21 @@ public class PessoaMonitoradaService {
         pessoa.setContatoEmergencia(request.getContatoEmergencia());
         pessoa.setObservacoes(request.getObservacoes());
 
+        StatusComparecimento statusAnterior = pessoa.getStatus();
         if (request.getStatus() != null) {
-            pessoa.setStatus(request.getStatus());
+            // Status igual ao calculado pela data remove a definição manual
+            LocalDate proximoComparecimento = pessoa.getRegimeComparecimento() != null
+                    ? pessoa.getRegimeComparecimento().getProximoComparecimento() : null;
+            StatusComparecimento calculado = StatusComparecimento.calcular(proximoComparecimento, LocalDate.now());
+            pessoa.setStatusManual(request.getStatus() != calculado ? request.getStatus() : null);
         }
 
         // 5. Salvar alterações
         PessoaMonitorada updatedPessoa = pessoaRepository.save(pessoa);
+        barramentoEventos.publicar(new PessoaAtualizada(updatedPessoa.getId()));
+        if (updatedPessoa.getStatus() != statusAnterior) {
+            barramentoEventos.publicar(new StatusAlterado(updatedPessoa.getId(), statusAnterior, updatedPessoa.getStatus()));
+        }
 
         // 6. Log da ação
         // TODO: auditService.logPessoaUpdate(updatedPessoa.getId(), updatedPessoa.getNomeCompleto());
@@ -193,7 +231,9 @@ public class PessoaMonitoradaService {
     @Transactional(readOnly = true)
     public List<PessoaResponse> findComparecimentosHoje() {
         LocalDate hoje = LocalDate.now();
-        List<PessoaMonitorada> pessoas = pessoaRepository.findByProximoComparecimento(hoje);
+        List<PessoaMonitorada> pessoas = agendaComparecimentos.listar(hoje, hoje)
+                .map(ids -> carregarNaOrdem(ids, hoje, hoje))
+                .orElseGet(() -> pessoaRepository.findByProximoComparecimento(hoje));
 
         return pessoas.stream()
                 .map(this::convertToPessoaResponse)
@@ -206,7 +246,9 @@ public class PessoaMonitoradaService {
     @Transactional(readOnly = true)
     public List<PessoaResponse> findPessoasAtrasadas() {
         LocalDate hoje = LocalDate.now();
-        List<PessoaMonitorada> pessoas = pessoaRepository.findAtrasadas(hoje);
+        List<PessoaMonitorada> pessoas = agendaComparecimentos.listarVencidos()
+                .map(ids -> carregarNaOrdem(ids, LocalDate.MIN, hoje.minusDays(1)))
+                .orElseGet(() -> pessoaRepository.findAtrasadas(hoje));
 
         return pessoas.stream()
                 .map(this::convertToPessoaResponse)
@@ -244,27 +286,6 @@ public class PessoaMonitoradaService {
         return convertToPessoaResponse(pessoa);
     }
 
-    /**
-     * Atualizar status automaticamente baseado nas datas
-     */
-    public void atualizarStatusAutomatico() {
-        LocalDate hoje = LocalDate.now();
-
-        // 1. Buscar pessoas com próximo comparecimento vencido
-        List<PessoaMonitorada> pessoasVencidas = pessoaRepository.findComProximoComparecimentoVencido(hoje,StatusComparecimento.EM_CONFORMIDADE);
-
-        // 2. Atualizar status para inadimplente
-        for (PessoaMonitorada pessoa : pessoasVencidas) {
-            if (pessoa.getStatus() == StatusComparecimento.EM_CONFORMIDADE) {
-                pessoa.setStatus(StatusComparecimento.INADIMPLENTE);
-                pessoaRepository.save(pessoa);
-
-                // 3. Enviar notificação de inadimplência
-                // TODO: notificationService.sendInadimplenciaNotification(pessoa);
-            }
-        }
-    }
-
     /**
      * Buscar pessoas por comarca
      */
@@ -279,7 +300,7 @@ public class PessoaMonitoradaService {
      */
     @Transactional(readOnly = true)
     public long countByStatus(StatusComparecimento status) {
-        return pessoaRepository.countByStatus(status);
+        return pessoaRepository.countByStatus(status, LocalDate.now());
     }
 
     /**
@@ -290,7 +311,9 @@ public class PessoaMonitoradaService {
         LocalDate hoje = LocalDate.now();
         LocalDate dataLimite = hoje.plusDays(dias);
 
-        List<PessoaMonitorada> pessoas = pessoaRepository.findProximosVencimentos(hoje, dataLimite);
+        List<PessoaMonitorada> pessoas = agendaComparecimentos.listar(hoje, dataLimite)
+                .map(ids -> carregarNaOrdem(ids, hoje, dataLimite))
+                .orElseGet(() -> pessoaRepository.findProximosVencimentos(hoje, dataLimite));
 
         return pessoas.stream()
                 .map(this::convertToPessoaResponse)
@@ -299,6 +322,35 @@ public class PessoaMonitoradaService {
 
     // === MÉTODOS AUXILIARES ===
 
+    private List<PessoaMonitorada> carregarNaOrdem(List<Long> pessoaIds, LocalDate de, LocalDate ate) {
+        // 1. IDs da agenda (em ordem de data) carregados por chave primária, em lotes para o limite de parâmetros
+        Map<Long, PessoaMonitorada> porId = new HashMap<>(pessoaIds.size() * 2);
+        for (int i = 0; i < pessoaIds.size(); i += LOTE_CARGA_POR_ID) {
+            pessoaRepository.findByIdInWithDetails(pessoaIds.subList(i, Math.min(i + LOTE_CARGA_POR_ID, pessoaIds.size())))
+                    .forEach(pessoa -> porId.put(pessoa.getId(), pessoa));
+        }
+
+        // 2. Conferir a data no regime carregado: a agenda pode estar defasada (outra instância, evento perdido)
+        List<PessoaMonitorada> pessoas = new ArrayList<>(pessoaIds.size());
+        Map<Long, LocalDate> defasadas = new HashMap<>();
+        for (Long pessoaId : pessoaIds) {
+            PessoaMonitorada pessoa = porId.get(pessoaId);
+            LocalDate data = pessoa != null && pessoa.getRegimeComparecimento() != null
+                    ? pessoa.getRegimeComparecimento().getProximoComparecimento() : null;
+            if (data != null && !data.isBefore(de) && !data.isAfter(ate)) {
+                pessoas.add(pessoa);
+            } else {
+                defasadas.put(pessoaId, data);
+            }
+        }
+
+        // 3. Corrigir a agenda com as datas lidas
+        if (!defasadas.isEmpty()) {
+            agendaComparecimentos.atualizar(defasadas);
+        }
+        return pessoas;
+    }
+
     private PessoaResponse convertToPessoaResponse(PessoaMonitorada pessoa) {
         return new PessoaResponse(
                 pessoa.getId(),
@@ -315,7 +367,7 @@ public class PessoaMonitoradaService {
         );
     }
 
-    private PessoaDetalheResponse convertToPessoaDetalheResponse(PessoaMonitorada pessoa) {
+    PessoaDetalheResponse convertToPessoaDetalheResponse(PessoaMonitorada pessoa) {
         return new PessoaDetalheResponse(
                 pessoa.getId(),
                 pessoa.getNomeCompleto(),
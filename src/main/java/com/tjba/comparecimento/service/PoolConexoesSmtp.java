@@ -0,0 +1,215 @@
+package com.tjba.comparecimento.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexões SMTP de longa duração (configuradas em spring.mail.*): a conexão, o STARTTLS e a
+ * autenticação são feitos uma vez e a conexão envia muitas mensagens, em vez de uma conexão por lote.
+ * A conexão ociosa mais recente é reaproveitada primeiro; conexões ociosas além do limite (que o servidor
+ * costuma encerrar) e conexões que atingiram o máximo de mensagens são fechadas e reabertas.
+ */
+@Component
+public class PoolConexoesSmtp {
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Value("${notificacao.email.pool.conexoes:3}")
+    private int maximoConexoes;
+
+    @Value("${notificacao.email.pool.mensagens-por-conexao:500}")
+    private int mensagensPorConexao;
+
+    @Value("${notificacao.email.pool.ociosidade-maxima:60s}")
+    private Duration ociosidadeMaxima;
+
+    @Value("${notificacao.email.pool.espera-conexao:10s}")
+    private Duration esperaConexao;
+
+    private final LinkedBlockingDeque<ConexaoSmtp> ociosas = new LinkedBlockingDeque<>();
+    private final AtomicLong abertas = new AtomicLong();
+    private final AtomicLong fechadas = new AtomicLong();
+    private final AtomicLong reutilizadas = new AtomicLong();
+
+    private Semaphore emUso;
+
+    /**
+     * Conexão SMTP emprestada do pool
+     */
+    public static final class ConexaoSmtp {
+
+        private final Transport transporte;
+        private long ultimoUso = System.nanoTime();
+        private int enviadas;
+
+        private ConexaoSmtp(Transport transporte) {
+            this.transporte = transporte;
+        }
+
+        public Transport getTransporte() {
+            return transporte;
+        }
+
+        public void registrarEnvio() {
+            enviadas++;
+        }
+    }
+
+    public PoolConexoesSmtp() {
+    }
+
+    /**
+     * Pool fora do contexto Spring (testes com servidor SMTP local); chamar iniciar() antes do uso
+     */
+    PoolConexoesSmtp(JavaMailSenderImpl mailSender, int maximoConexoes, int mensagensPorConexao,
+                     Duration ociosidadeMaxima, Duration esperaConexao) {
+        this.mailSender = mailSender;
+        this.maximoConexoes = maximoConexoes;
+        this.mensagensPorConexao = mensagensPorConexao;
+        this.ociosidadeMaxima = ociosidadeMaxima;
+        this.esperaConexao = esperaConexao;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        emUso = new Semaphore(Math.max(1, maximoConexoes));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        ConexaoSmtp conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            fechar(conexao);
+        }
+    }
+
+    public int getMaximoConexoes() {
+        return Math.max(1, maximoConexoes);
+    }
+
+    public Session getSession() {
+        return mailSender.getSession();
+    }
+
+    /**
+     * Obter conexão (ociosa ou nova), aguardando até espera-conexao quando todas estão em uso
+     */
+    public ConexaoSmtp obter() throws MessagingException {
+        try {
+            if (!emUso.tryAcquire(esperaConexao.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Nenhuma conexão SMTP disponível em " + esperaConexao.toSeconds() + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrompido aguardando conexão SMTP");
+        }
+
+        try {
+            ConexaoSmtp conexao;
+            while ((conexao = ociosas.pollFirst()) != null) {
+                if (isUtilizavel(conexao)) {
+                    reutilizadas.incrementAndGet();
+                    return conexao;
+                }
+                fechar(conexao);
+            }
+            return abrir();
+        } catch (MessagingException | RuntimeException e) {
+            emUso.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devolver conexão ao pool; conexão com erro de comunicação é fechada
+     */
+    public void devolver(ConexaoSmtp conexao, boolean valida) {
+        try {
+            conexao.ultimoUso = System.nanoTime();
+            if (valida && conexao.enviadas < mensagensPorConexao && conexao.transporte.isConnected()) {
+                ociosas.offerFirst(conexao);
+            } else {
+                fechar(conexao);
+            }
+        } finally {
+            emUso.release();
+        }
+    }
+
+    /**
+     * Fechar conexões ociosas além do limite (a cada 30s por padrão)
+     */
+    @Scheduled(fixedDelayString = "${notificacao.email.pool.verificacao:30s}")
+    public void fecharOciosas() {
+        for (Iterator<ConexaoSmtp> it = ociosas.descendingIterator(); it.hasNext(); ) {
+            ConexaoSmtp conexao = it.next();
+            if (isExpirada(conexao) && ociosas.removeLastOccurrence(conexao)) {
+                fechar(conexao);
+            }
+        }
+    }
+
+    public int getEmUso() {
+        return getMaximoConexoes() - emUso.availablePermits();
+    }
+
+    public int getOciosas() {
+        return ociosas.size();
+    }
+
+    public long getAbertas() {
+        return abertas.get();
+    }
+
+    public long getFechadas() {
+        return fechadas.get();
+    }
+
+    public long getReutilizadas() {
+        return reutilizadas.get();
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private ConexaoSmtp abrir() throws MessagingException {
+        // Sem protocolo configurado, o mesmo padrão do JavaMailSenderImpl ("smtp")
+        String protocolo = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport transporte = mailSender.getSession().getTransport(protocolo);
+        transporte.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        abertas.incrementAndGet();
+        return new ConexaoSmtp(transporte);
+    }
+
+    private boolean isUtilizavel(ConexaoSmtp conexao) {
+        return !isExpirada(conexao) && conexao.transporte.isConnected();
+    }
+
+    private boolean isExpirada(ConexaoSmtp conexao) {
+        return System.nanoTime() - conexao.ultimoUso > ociosidadeMaxima.toNanos();
+    }
+
+    private void fechar(ConexaoSmtp conexao) {
+        fechadas.incrementAndGet();
+        try {
+            conexao.transporte.close();
+        } catch (MessagingException e) {
+            // Conexão já encerrada pelo servidor
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pré-geração, fora do horário de expediente, dos relatórios padrão consultados no início do dia
+ * (comparecimentos de ontem e dos últimos 30 dias por comarca, e lista de inadimplentes).
+ * O horário vem da configuração "relatorio.pregeracao.horario" (ou "relatorio.pregeracao.horario-padrao", se
+ * ausente ou inválida) e o trabalho é distribuído em um pool limitado para não sobrecarregar o banco.
+ * CSV e HTML são escritos direto nos arquivos do {@link ArmazenamentoRelatorios}.
+ */
+@Service
+public class PreGeracaoRelatorioService implements SchedulingConfigurer {
+
+    public static final String CONFIG_ATIVO = "relatorio.pregeracao.automatica";
+    public static final String CONFIG_HORARIO = "relatorio.pregeracao.horario";
+
+    private static final DateTimeFormatter HORARIO_FORMATTER = DateTimeFormatter.ofPattern("H:mm");
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    @Autowired
+    private ConfigService configService;
+
+    @Autowired
+    private ArmazenamentoRelatorios armazenamento;
+
+    @Value("${relatorio.pregeracao.threads:2}")
+    private int threads;
+
+    @Value("${relatorio.pregeracao.horario-padrao:04:00}")
+    private LocalTime horarioPadrao;
+
+    @Value("${relatorio.pregeracao.validade-inadimplentes:6h}")
+    private Duration validadeInadimplentes;
+
+    private ExecutorService executor;
+
+    private volatile ResultadoPreGeracao ultimaExecucao;
+
+    /**
+     * Resumo da última execução da pré-geração
+     */
+    public record ResultadoPreGeracao(LocalDateTime inicio, LocalDateTime fim, int relatoriosGerados, int falhas) {
+    }
+
+    @PostConstruct
+    void iniciarPool() {
+        AtomicInteger sequencia = new AtomicInteger();
+        // Fila limitada + CallerRuns: quando cheia, a thread do agendador executa a tarefa e reduz o ritmo
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(threads * 50),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "relatorio-pregeracao-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void encerrarPool() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        // Horário relido a cada agendamento: alterações na configuração valem a partir da próxima execução
+        registrar.addTriggerTask(this::executarPreGeracao, contexto -> proximaExecucao());
+    }
+
+    /**
+     * Executar a pré-geração de todos os relatórios padrão
+     */
+    public ResultadoPreGeracao executarPreGeracao() {
+        if (!Boolean.TRUE.equals(configService.getValorConfiguracaoAsBoolean(CONFIG_ATIVO))) {
+            return ultimaExecucao;
+        }
+
+        // 1. Períodos padrão (encerrados em ontem, portanto estáveis durante o dia)
+        LocalDateTime inicio = LocalDateTime.now();
+        LocalDate ontem = inicio.toLocalDate().minusDays(1);
+        LocalDate inicio30Dias = ontem.minusDays(29);
+
+        // 2. Comarcas (null = todas)
+        List<String> comarcas = new ArrayList<>(pessoaRepository.findDistinctComarcas());
+        comarcas.add(null);
+
+        // 3. Submeter tarefas ao pool limitado
+        AtomicInteger falhas = new AtomicInteger();
+        List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+
+        for (String comarca : comarcas) {
+            for (LocalDate dataInicio : List.of(ontem, inicio30Dias)) {
+                tarefas.add(agendarConteudo(falhas, inicio, new ArmazenamentoRelatorios.Chave(TipoRelatorio.COMPARECIMENTOS_CSV, dataInicio, ontem, comarca),
+                        out -> relatorioService.escreverRelatorioComparecimentosCSV(dataInicio, ontem, comarca, out)));
+                tarefas.add(agendarConteudo(falhas, inicio, new ArmazenamentoRelatorios.Chave(TipoRelatorio.COMPARECIMENTOS_HTML, dataInicio, ontem, comarca),
+                        out -> relatorioService.escreverRelatorioComparecimentosHTML(dataInicio, ontem, comarca, out)));
+            }
+        }
+
+        tarefas.add(agendar(falhas, chaveInadimplentes(), relatorioService::gerarRelatorioInadimplentes));
+
+        // 4. Aguardar conclusão e descartar relatórios de ciclos anteriores
+        CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+        armazenamento.removerGeradosAntesDe(inicio);
+
+        ultimaExecucao = new ResultadoPreGeracao(inicio, LocalDateTime.now(),
+                tarefas.size() - falhas.get(), falhas.get());
+        return ultimaExecucao;
+    }
+
+    /**
+     * Chave do relatório de inadimplentes (não possui período nem comarca)
+     */
+    public ArmazenamentoRelatorios.Chave chaveInadimplentes() {
+        return new ArmazenamentoRelatorios.Chave(TipoRelatorio.INADIMPLENTES, null, null, null);
+    }
+
+    public Duration getValidadeInadimplentes() {
+        return validadeInadimplentes;
+    }
+
+    public ResultadoPreGeracao getUltimaExecucao() {
+        return ultimaExecucao;
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private CompletableFuture<Void> agendar(AtomicInteger falhas, ArmazenamentoRelatorios.Chave chave,
+                                            Supplier<Object> gerador) {
+        return contarFalha(falhas, CompletableFuture.runAsync(() -> armazenamento.armazenar(chave, gerador.get()), executor));
+    }
+
+    private CompletableFuture<Void> agendarConteudo(AtomicInteger falhas, LocalDateTime inicioCiclo,
+                                                    ArmazenamentoRelatorios.Chave chave,
+                                                    ArmazenamentoRelatorios.EscritaConteudo escrita) {
+        return contarFalha(falhas, CompletableFuture.runAsync(() -> {
+            try {
+                armazenamento.armazenarConteudo(chave, inicioCiclo, escrita);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor));
+    }
+
+    private CompletableFuture<Void> contarFalha(AtomicInteger falhas, CompletableFuture<Void> tarefa) {
+        return tarefa.exceptionally(e -> {
+            // Falha isolada (inclusive limite de armazenamento): o endpoint gera o relatório sob demanda
+            falhas.incrementAndGet();
+            return null;
+        });
+    }
+
+    private Instant proximaExecucao() {
+        LocalTime horario = horarioConfigurado();
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime proxima = agora.toLocalDate().atTime(horario);
+
+        if (!proxima.isAfter(agora)) {
+            proxima = proxima.plusDays(1);
+        }
+
+        return proxima.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Horário da configuração; ausente ou inválido usa o padrão (uma exceção aqui encerraria o agendamento)
+     */
+    private LocalTime horarioConfigurado() {
+        try {
+            String valor = configService.getValorConfiguracao(CONFIG_HORARIO);
+            return valor != null ? LocalTime.parse(valor.trim(), HORARIO_FORMATTER) : horarioPadrao;
+        } catch (RuntimeException e) {
+            return horarioPadrao;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.dto.request.ReagendamentoMassaRequest;
+import com.tjba.comparecimento.dto.response.ReagendamentoMassaResponse;
+import com.tjba.comparecimento.entity.AuditoriaReagendamento;
+import com.tjba.comparecimento.entity.FeriadoForense;
+import com.tjba.comparecimento.entity.ReagendamentoMassa;
+import com.tjba.comparecimento.entity.enums.RegraReagendamento;
+import com.tjba.comparecimento.entity.enums.ResultadoJob;
+import com.tjba.comparecimento.event.BarramentoEventos;
+import com.tjba.comparecimento.event.ProximoComparecimentoAlterado;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.exception.ResourceNotFoundException;
+import com.tjba.comparecimento.repository.AuditoriaReagendamentoRepository;
+import com.tjba.comparecimento.repository.FeriadoForenseRepository;
+import com.tjba.comparecimento.repository.ReagendamentoMassaRepository;
+import com.tjba.comparecimento.repository.RegimeComparecimentoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reagendamento em massa dos próximos comparecimentos de uma comarca (ou vara) em um período, para fechamentos
+ * do fórum (greve, enchente, recesso extraordinário).
+ * Executado em segundo plano, data a data (da última para a primeira) e em lotes: cada lote é um único UPDATE que
+ * move até N pessoas de uma data para a nova data, uma linha de auditoria com os IDs movidos, as notificações e o
+ * progresso da operação, na mesma transação. As novas datas são sempre posteriores às anteriores, então quem já
+ * foi movido não é lido de novo; solicitar a mesma operação outra vez move apenas quem restou.
+ * Regimes alterados por aqui incrementam a versão: gravações concorrentes por pessoa são refeitas.
+ */
+@Service
+public class ReagendamentoMassaService {
+
+    @Autowired
+    private ReagendamentoMassaRepository reagendamentoRepository;
+
+    @Autowired
+    private AuditoriaReagendamentoRepository auditoriaRepository;
+
+    @Autowired
+    private RegimeComparecimentoRepository regimeRepository;
+
+    @Autowired
+    private FeriadoForenseRepository feriadoRepository;
+
+    @Autowired
+    private CalendarioForenseService calendarioForense;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private BarramentoEventos barramentoEventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reagendamento.lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${reagendamento.periodo-maximo-dias:366}")
+    private int periodoMaximoDias;
+
+    // Sem lote concluído nesse intervalo, a operação é considerada interrompida (queda da instância)
+    @Value("${reagendamento.inatividade-maxima:10m}")
+    private Duration inatividadeMaxima;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void iniciar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Uma operação por vez: lotes de operações diferentes não disputam o banco
+        AtomicInteger sequencia = new AtomicInteger();
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reagendamento-massa-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registrar o reagendamento e iniciar a execução em segundo plano
+     */
+    public ReagendamentoMassaResponse iniciar(ReagendamentoMassaRequest request) {
+        // 1. Validar período
+        validarPeriodo(request);
+
+        // 2. Registrar operação (e a suspensão de expediente, se solicitada)
+        boolean registrarSuspensao = request.isRegistrarSuspensao() && request.getVara() == null;
+        ReagendamentoMassa reagendamento = transactionTemplate.execute(status -> registrar(request, registrarSuspensao));
+
+        // 3. Suspensão passa a valer para as novas datas
+        if (registrarSuspensao) {
+            calendarioForense.recarregar();
+        }
+
+        // 4. Executar em segundo plano
+        Long id = reagendamento.getId();
+        executor.execute(() -> executar(id));
+
+        return ReagendamentoMassaResponse.de(reagendamento);
+    }
+
+    /**
+     * Situação e progresso de um reagendamento
+     */
+    public ReagendamentoMassaResponse buscar(Long id) {
+        return reagendamentoRepository.findById(id)
+                .map(ReagendamentoMassaResponse::de)
+                .orElseThrow(() -> new ResourceNotFoundException("Reagendamento não encontrado com ID: " + id));
+    }
+
+    /**
+     * Últimos reagendamentos solicitados
+     */
+    public List<ReagendamentoMassaResponse> listarRecentes() {
+        return reagendamentoRepository.findTop20ByOrderByInicioDesc().stream()
+                .map(ReagendamentoMassaResponse::de)
+                .toList();
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private ReagendamentoMassa registrar(ReagendamentoMassaRequest request, boolean registrarSuspensao) {
+        // 1. Uma operação ativa por comarca; operações sem progresso recente são encerradas como interrompidas
+        LocalDateTime limiteAtividade = LocalDateTime.now().minus(inatividadeMaxima);
+        for (ReagendamentoMassa ativo : reagendamentoRepository.findByComarcaAndSituacao(
+                request.getComarca(), ResultadoJob.EM_ANDAMENTO)) {
+            LocalDateTime ultimaAtividade = ativo.getAtualizadoEm() != null ? ativo.getAtualizadoEm() : ativo.getInicio();
+            if (ultimaAtividade.isAfter(limiteAtividade)) {
+                throw new BusinessException("Já existe um reagendamento em andamento para a comarca (ID: "
+                        + ativo.getId() + ")");
+            }
+            ativo.registrarFalha("Interrompido: sem progresso desde " + ultimaAtividade.truncatedTo(ChronoUnit.SECONDS));
+        }
+
+        // 2. Suspensão de expediente da comarca no calendário forense
+        if (registrarSuspensao) {
+            feriadoRepository.save(new FeriadoForense(request.getDataInicio(), request.getDataFim(),
+                    "Suspensão: " + request.getMotivo(), request.getComarca(), false));
+        }
+
+        // 3. Operação com o total previsto para o progresso
+        ReagendamentoMassa reagendamento = new ReagendamentoMassa(request.getComarca(), request.getVara(),
+                request.getDataInicio(), request.getDataFim(), request.getRegra(),
+                request.getRegra() == RegraReagendamento.ADIAR_DIAS ? request.getDias() : null,
+                request.getMotivo(), request.getSolicitadoPor());
+        reagendamento.setTotalPrevisto(regimeRepository.countParaReagendamento(request.getComarca(),
+                request.getVara(), request.getDataInicio(), request.getDataFim()));
+        return reagendamentoRepository.save(reagendamento);
+    }
+
+    private void executar(Long id) {
+        ReagendamentoMassa reagendamento = reagendamentoRepository.findById(id).orElseThrow();
+        LocalDate hoje = LocalDate.now();
+
+        try {
+            // Da última data para a primeira: pessoas movidas para datas do período não são lidas de novo
+            for (LocalDate data = reagendamento.getDataFim(); !data.isBefore(reagendamento.getDataInicio());
+                 data = data.minusDays(1)) {
+                LocalDate dataAnterior = data;
+                LocalDate novaData = calcularNovaData(reagendamento, dataAnterior, hoje);
+
+                Integer movidas;
+                do {
+                    movidas = transactionTemplate.execute(status -> reagendarLote(id, dataAnterior, novaData));
+                } while (movidas != null && movidas == tamanhoLote);
+            }
+            finalizar(id, null);
+        } catch (RuntimeException e) {
+            finalizar(id, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private int reagendarLote(Long id, LocalDate dataAnterior, LocalDate novaData) {
+        ReagendamentoMassa reagendamento = reagendamentoRepository.findById(id).orElseThrow();
+
+        // 1. Um comando move o lote
+        List<Long> pessoaIds = regimeRepository.reagendarLote(reagendamento.getComarca(), reagendamento.getVara(),
+                dataAnterior, novaData, tamanhoLote);
+        if (pessoaIds.isEmpty()) {
+            return 0;
+        }
+
+        // 2. Auditoria do lote, notificações e eventos (entregues após o commit)
+        auditoriaRepository.save(new AuditoriaReagendamento(reagendamento, dataAnterior, novaData, pessoaIds,
+                reagendamento.getMotivo(), reagendamento.getSolicitadoPor()));
+        notificationService.sendComparecimentoReagendadoNotifications(pessoaIds, novaData);
+        for (Long pessoaId : pessoaIds) {
+            barramentoEventos.publicar(new ProximoComparecimentoAlterado(pessoaId, novaData));
+        }
+
+        // 3. Progresso
+        reagendamento.registrarLote(pessoaIds.size());
+        return pessoaIds.size();
+    }
+
+    private LocalDate calcularNovaData(ReagendamentoMassa reagendamento, LocalDate dataAnterior, LocalDate hoje) {
+        String comarca = reagendamento.getComarca();
+        LocalDate aposFechamento = calendarioForense.proximoDiaUtil(comarca,
+                max(reagendamento.getDataFim().plusDays(1), hoje));
+
+        if (reagendamento.getRegra() == RegraReagendamento.PROXIMO_DIA_UTIL) {
+            return aposFechamento;
+        }
+
+        // ADIAR_DIAS: data ainda dentro do fechamento (ou já passada) vai para o primeiro dia útil depois dele
+        LocalDate adiada = calendarioForense.proximoDiaUtil(comarca,
+                max(dataAnterior.plusDays(reagendamento.getDias()), hoje));
+        return adiada.isAfter(reagendamento.getDataFim()) ? adiada : aposFechamento;
+    }
+
+    private void finalizar(Long id, String erro) {
+        transactionTemplate.executeWithoutResult(status -> {
+            ReagendamentoMassa reagendamento = reagendamentoRepository.findById(id).orElseThrow();
+            if (erro == null) {
+                reagendamento.concluir();
+            } else {
+                reagendamento.registrarFalha(erro);
+            }
+        });
+    }
+
+    private void validarPeriodo(ReagendamentoMassaRequest request) {
+        if (request.getDataFim().isBefore(request.getDataInicio())) {
+            throw new BusinessException("Data de fim não pode ser anterior à data de início");
+        }
+
+        if (ChronoUnit.DAYS.between(request.getDataInicio(), request.getDataFim()) >= periodoMaximoDias) {
+            throw new BusinessException("Período não pode ser superior a " + periodoMaximoDias + " dias");
+        }
+
+        if (request.getRegra() == RegraReagendamento.ADIAR_DIAS && (request.getDias() == null || request.getDias() < 1)) {
+            throw new BusinessException("Informe a quantidade de dias (mínimo 1) para a regra ADIAR_DIAS");
+        }
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,106 @@
+package com.tjba.comparecimento.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tjba.comparecimento.dto.response.ComparecimentoRelatorioItem;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Escrita de relatórios JSON em streaming (JsonGenerator) no formato do envelope ApiResponse.
+ * Evita montar o grafo completo de objetos em memória antes da serialização.
+ */
+@Component
+public class RelatorioJsonWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public RelatorioJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Abrir o envelope; o gerador retornado fica posicionado no valor do campo "data".
+     * O campo "success" é escrito ao fechar, quando o resultado da geração é conhecido.
+     */
+    public JsonGenerator iniciarResposta(OutputStream out, String message) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        json.writeStartObject();
+        json.writeStringField("message", message);
+        json.writeFieldName("data");
+        return json;
+    }
+
+    /**
+     * Fechar o envelope aberto em {@link #iniciarResposta} e descarregar o buffer
+     */
+    public void finalizarResposta(JsonGenerator json) throws IOException {
+        json.writeBooleanField("success", true);
+        json.writeNumberField("statusCode", HttpStatus.OK.value());
+        json.writeObjectField("timestamp", LocalDateTime.now());
+        json.writeEndObject();
+        json.close();
+    }
+
+    /**
+     * Fechar o envelope após falha com a resposta já iniciada: encerra arrays e objetos abertos e registra
+     * success=false, statusCode 503 e o motivo em "errors", distinguindo o relatório incompleto do completo
+     */
+    public void finalizarComFalha(JsonGenerator json, String mensagem) throws IOException {
+        while (!json.getOutputContext().getParent().inRoot()) {
+            if (json.getOutputContext().inArray()) {
+                json.writeEndArray();
+            } else {
+                json.writeEndObject();
+            }
+        }
+        json.writeBooleanField("success", false);
+        json.writeArrayFieldStart("errors");
+        json.writeString(mensagem);
+        json.writeEndArray();
+        json.writeNumberField("statusCode", HttpStatus.SERVICE_UNAVAILABLE.value());
+        json.writeObjectField("timestamp", LocalDateTime.now());
+        json.writeEndObject();
+        json.close();
+    }
+
+    /**
+     * Serializar um item do relatório campo a campo (sem introspecção por registro)
+     */
+    public void escreverComparecimento(JsonGenerator json, ComparecimentoRelatorioItem item) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", item.id());
+        json.writeStringField("data", item.data());
+        json.writeStringField("horario", item.horario());
+
+        json.writeObjectFieldStart("pessoa");
+        json.writeNumberField("id", item.pessoa().id());
+        json.writeStringField("nome", item.pessoa().nome());
+        json.writeStringField("cpf", item.pessoa().cpf());
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("processo");
+        if (item.processo() != null) {
+            json.writeStringField("numero", item.processo().numero());
+            json.writeStringField("vara", item.processo().vara());
+            json.writeStringField("comarca", item.processo().comarca());
+        }
+        json.writeEndObject();
+
+        json.writeObjectFieldStart("validacao");
+        json.writeStringField("tipo", item.validacao().tipo());
+        json.writeStringField("tipoLabel", item.validacao().tipoLabel());
+        json.writeStringField("validadoPor", item.validacao().validadoPor());
+        json.writeEndObject();
+
+        json.writeStringField("observacoes", item.observacoes());
+        json.writeEndObject();
+    }
+}
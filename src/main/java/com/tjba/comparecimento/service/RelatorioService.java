@@ -1,28 +1,55 @@
 package com.tjba.comparecimento.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.tjba.comparecimento.dto.response.ComparecimentoRelatorioItem;
+import com.tjba.comparecimento.dto.response.EstatisticaComarcaRelatorio;
+import com.tjba.comparecimento.dto.response.EstatisticasComparecimentos;
+import com.tjba.comparecimento.dto.response.LinhaExportacaoComparecimento;
+import com.tjba.comparecimento.dto.response.LinhaRelatorioComparecimento;
+import com.tjba.comparecimento.dto.response.MetadadosRelatorio;
 import com.tjba.comparecimento.dto.response.RelatorioEstatisticoResponse;
 import com.tjba.comparecimento.dto.response.RelatorioInadimplentesResponse;
+import com.tjba.comparecimento.dto.response.ResumoGeralEstatisticas;
 import com.tjba.comparecimento.entity.HistoricoComparecimento;
 import com.tjba.comparecimento.entity.PessoaMonitorada;
 import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
 import com.tjba.comparecimento.entity.enums.TipoValidacao;
 import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.exception.RelatorioCanceladoException;
 import com.tjba.comparecimento.repository.HistoricoComparecimentoRepository;
 import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import com.tjba.comparecimento.util.CsvUtil;
+import com.tjba.comparecimento.util.EscritorColunar;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service para geração de relatórios em formatos CSV, JSON e HTML.
@@ -37,59 +64,139 @@ public class RelatorioService {
     @Autowired
     private PessoaMonitoradaRepository pessoaRepository;
 
+    @Autowired
+    private ControleExecucaoRelatorio controleExecucao;
+
+    @Autowired
+    private RelatorioJsonWriter relatorioJsonWriter;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    // Flush periódico: envia dados ao cliente e detecta desconexão durante a geração
+    private static final int LINHAS_POR_FLUSH = 500;
+    private static final int TAMANHO_BUFFER_SAIDA = 64 * 1024;
+
+    // Linhas por grupo da exportação colunar (cada grupo é gravado e enviado ao completar)
+    private static final int LINHAS_POR_GRUPO_COLUNAR = 65_536;
+
     /**
      * Gerar relatório de comparecimentos em CSV
      */
     public Resource gerarRelatorioComparecimentosCSV(LocalDate dataInicio, LocalDate dataFim, String comarca) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        escreverRelatorioComparecimentosCSV(dataInicio, dataFim, comarca, out);
+        return new ByteArrayResource(out.toByteArray());
+    }
+
+    /**
+     * Escrever relatório de comparecimentos em CSV diretamente no stream de saída.
+     * As linhas são lidas por cursor e a geração é interrompida ao exceder o prazo
+     * ou quando o cliente desconecta (cursor e statement são fechados). Se a falha ocorrer depois que parte do
+     * arquivo já foi enviada, é anexada a linha final "#RELATORIO_INCOMPLETO,{motivo}".
+     */
+    public void escreverRelatorioComparecimentosCSV(LocalDate dataInicio, LocalDate dataFim, String comarca,
+                                                    OutputStream out) {
+        SaidaRelatorio saida = new SaidaRelatorio(out);
+        Writer csv = novoWriter(saida);
         try {
             // 1. Validar período
             validatePeriodo(dataInicio, dataFim);
 
-            // 2. Buscar dados
-            List<HistoricoComparecimento> comparecimentos = historicoRepository.findByPeriodoWithFiltersForReport(
-                    dataInicio, dataFim, comarca);
+            // 2. Aplicar prazo de execução
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.COMPARECIMENTOS_CSV);
 
             // 3. Gerar CSV
-            StringBuilder csv = new StringBuilder();
 
             // Header
-            csv.append("Data,Horário,Nome,CPF,Tipo,Validado Por,Processo,Vara,Comarca,Observações\n");
+            csv.write("Data,Horário,Nome,CPF,Tipo,Validado Por,Processo,Vara,Comarca,Observações\n");
 
             // Dados
-            for (HistoricoComparecimento comp : comparecimentos) {
-                csv.append(formatCsvValue(comp.getDataComparecimento().format(DATE_FORMATTER)))
-                        .append(",")
-                        .append(formatCsvValue(comp.getHoraComparecimento() != null ? comp.getHoraComparecimento().toString() : ""))
-                        .append(",")
-                        .append(formatCsvValue(comp.getPessoaMonitorada().getNomeCompleto()))
-                        .append(",")
-                        .append(formatCsvValue(comp.getPessoaMonitorada().getCpf()))
-                        .append(",")
-                        .append(formatCsvValue(comp.getTipoValidacao().getLabel()))
-                        .append(",")
-                        .append(formatCsvValue(comp.getValidadoPor()))
-                        .append(",")
-                        .append(formatCsvValue(comp.getPessoaMonitorada().getProcessoJudicial() != null ?
-                                comp.getPessoaMonitorada().getProcessoJudicial().getNumeroProcesso() : ""))
-                        .append(",")
-                        .append(formatCsvValue(comp.getPessoaMonitorada().getProcessoJudicial() != null ?
-                                comp.getPessoaMonitorada().getProcessoJudicial().getVara() : ""))
-                        .append(",")
-                        .append(formatCsvValue(comp.getPessoaMonitorada().getProcessoJudicial() != null ?
-                                comp.getPessoaMonitorada().getProcessoJudicial().getComarca() : ""))
-                        .append(",")
-                        .append(formatCsvValue(comp.getObservacoes()))
-                        .append("\n");
+            try (Stream<LinhaRelatorioComparecimento> linhas = historicoRepository.streamByPeriodoForReport(
+                    dataInicio, dataFim, comarca)) {
+                Iterator<LinhaRelatorioComparecimento> iterator = linhas.iterator();
+                int escritas = 0;
+
+                while (iterator.hasNext()) {
+                    execucao.verificarPrazo();
+                    LinhaRelatorioComparecimento comp = iterator.next();
+
+                    csv.append(CsvUtil.formatValue(comp.dataComparecimento().format(DATE_FORMATTER)))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.horaComparecimento() != null ? comp.horaComparecimento().toString() : ""))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.nomeCompleto()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.cpf()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.tipoValidacao().getLabel()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.validadoPor()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.numeroProcesso()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.vara()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.comarca()))
+                            .append(",")
+                            .append(CsvUtil.formatValue(comp.observacoes()))
+                            .append("\n");
+
+                    if (++escritas % LINHAS_POR_FLUSH == 0) {
+                        csv.flush();
+                    }
+                }
             }
 
-            byte[] csvBytes = csv.toString().getBytes(StandardCharsets.UTF_8);
-            return new ByteArrayResource(csvBytes);
+            csv.flush();
 
         } catch (Exception e) {
-            throw new BusinessException("Erro ao gerar relatório CSV: " + e.getMessage());
+            RuntimeException falha = tratarFalha(TipoRelatorio.COMPARECIMENTOS_CSV, "Erro ao gerar relatório CSV: ", e);
+            anexarMarcadorFalha(saida, falha, mensagem -> {
+                csv.write("#RELATORIO_INCOMPLETO," + CsvUtil.formatValue(mensagem) + "\n");
+                csv.flush();
+            });
+            throw falha;
+        }
+    }
+
+    /**
+     * Escrever exportação colunar binária de comparecimentos (formato descrito em {@link EscritorColunar}) para
+     * ferramentas de análise. Lida por cursor e gravada por grupos de linhas; tipo, comarca, vara, processo e
+     * validador são codificados por dicionário, datas como número do dia, ambos em sequências de repetição.
+     * Um arquivo interrompido não tem o rodapé e é rejeitado pelo leitor.
+     */
+    public void escreverExportacaoComparecimentosColunar(LocalDate dataInicio, LocalDate dataFim, String comarca,
+                                                         OutputStream out) {
+        try {
+            // 1. Validar período
+            validatePeriodo(dataInicio, dataFim);
+
+            // 2. Aplicar prazo de execução
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.COMPARECIMENTOS_COLUNAR);
+
+            // 3. Gerar arquivo colunar
+            EscritorColunar escritor = new EscritorColunar(new BufferedOutputStream(out, TAMANHO_BUFFER_SAIDA),
+                    LINHAS_POR_GRUPO_COLUNAR);
+
+            try (Stream<LinhaExportacaoComparecimento> linhas = historicoRepository.streamByPeriodoForExport(
+                    dataInicio, dataFim, comarca)) {
+                Iterator<LinhaExportacaoComparecimento> iterator = linhas.iterator();
+
+                while (iterator.hasNext()) {
+                    execucao.verificarPrazo();
+                    LinhaExportacaoComparecimento linha = iterator.next();
+
+                    escritor.adicionar(linha.id(), linha.dataComparecimento(), linha.horaComparecimento(),
+                            linha.tipoValidacao().name(), linha.pessoaId(), linha.numeroProcesso(), linha.vara(),
+                            linha.comarca(), linha.validadoPor());
+                }
+            }
+
+            escritor.finalizar();
+
+        } catch (Exception e) {
+            throw tratarFalha(TipoRelatorio.COMPARECIMENTOS_COLUNAR, "Erro ao gerar exportação colunar: ", e);
         }
     }
 
@@ -98,8 +205,10 @@ public class RelatorioService {
      */
     public Resource gerarRelatorioPessoasCSV(String comarca, String status) {
         try {
-            // 1. Buscar dados
-            List<PessoaMonitorada> pessoas = pessoaRepository.findForRelatorio(comarca, status);
+            // 1. Aplicar prazo de execução e buscar dados
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.PESSOAS_CSV);
+            List<PessoaMonitorada> pessoas = pessoaRepository.findForRelatorio(comarca,
+                    StatusComparecimento.fromString(status), LocalDate.now());
 
             // 2. Gerar CSV
             StringBuilder csv = new StringBuilder();
@@ -109,33 +218,34 @@ public class RelatorioService {
 
             // Dados
             for (PessoaMonitorada pessoa : pessoas) {
-                csv.append(formatCsvValue(pessoa.getNomeCompleto()))
+                execucao.verificarPrazo();
+                csv.append(CsvUtil.formatValue(pessoa.getNomeCompleto()))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getCpf()))
+                        .append(CsvUtil.formatValue(pessoa.getCpf()))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getRg()))
+                        .append(CsvUtil.formatValue(pessoa.getRg()))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getContato()))
+                        .append(CsvUtil.formatValue(pessoa.getContato()))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getStatus().getLabel()))
+                        .append(CsvUtil.formatValue(pessoa.getStatus().getLabel()))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getProcessoJudicial() != null ?
+                        .append(CsvUtil.formatValue(pessoa.getProcessoJudicial() != null ?
                                 pessoa.getProcessoJudicial().getNumeroProcesso() : ""))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getProcessoJudicial() != null ?
+                        .append(CsvUtil.formatValue(pessoa.getProcessoJudicial() != null ?
                                 pessoa.getProcessoJudicial().getVara() : ""))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getProcessoJudicial() != null ?
+                        .append(CsvUtil.formatValue(pessoa.getProcessoJudicial() != null ?
                                 pessoa.getProcessoJudicial().getComarca() : ""))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getRegimeComparecimento() != null &&
+                        .append(CsvUtil.formatValue(pessoa.getRegimeComparecimento() != null &&
                                 pessoa.getRegimeComparecimento().getProximoComparecimento() != null ?
                                 pessoa.getRegimeComparecimento().getProximoComparecimento().format(DATE_FORMATTER) : ""))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getRegimeComparecimento() != null ?
+                        .append(CsvUtil.formatValue(pessoa.getRegimeComparecimento() != null ?
                                 pessoa.getRegimeComparecimento().getPeriodicidadeDescricao() : ""))
                         .append(",")
-                        .append(formatCsvValue(pessoa.getObservacoes()))
+                        .append(CsvUtil.formatValue(pessoa.getObservacoes()))
                         .append("\n");
             }
 
@@ -143,7 +253,7 @@ public class RelatorioService {
             return new ByteArrayResource(csvBytes);
 
         } catch (Exception e) {
-            throw new BusinessException("Erro ao gerar relatório CSV: " + e.getMessage());
+            throw tratarFalha(TipoRelatorio.PESSOAS_CSV, "Erro ao gerar relatório CSV: ", e);
         }
     }
 
@@ -152,13 +262,15 @@ public class RelatorioService {
      */
     public RelatorioInadimplentesResponse gerarRelatorioInadimplentes() {
         try {
-            // 1. Buscar pessoas inadimplentes
-            List<PessoaMonitorada> inadimplentes = pessoaRepository.findByStatus(StatusComparecimento.INADIMPLENTE);
+            // 1. Aplicar prazo de execução e buscar pessoas inadimplentes
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.INADIMPLENTES);
             LocalDate hoje = LocalDate.now();
+            List<PessoaMonitorada> inadimplentes = pessoaRepository.findInadimplentes(hoje);
 
             // 2. Processar dados
             var dadosInadimplentes = inadimplentes.stream()
                     .map(pessoa -> {
+                        execucao.verificarPrazo();
                         Optional<HistoricoComparecimento> ultimoComparecimento = historicoRepository.findLastComparecimentoByPessoa(pessoa.getId());
 
                         return Map.of(
@@ -189,7 +301,7 @@ public class RelatorioService {
                     .build();
 
         } catch (Exception e) {
-            throw new BusinessException("Erro ao gerar relatório de inadimplentes: " + e.getMessage());
+            throw tratarFalha(TipoRelatorio.INADIMPLENTES, "Erro ao gerar relatório de inadimplentes: ", e);
         }
     }
 
@@ -201,28 +313,31 @@ public class RelatorioService {
             // 1. Validar período
             validatePeriodo(dataInicio, dataFim);
 
-            // 2. Buscar comarcas
+            // 2. Aplicar prazo de execução e buscar comarcas
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.ESTATISTICAS_COMARCA);
             List<String> comarcas = pessoaRepository.findDistinctComarcas();
+            LocalDate hoje = LocalDate.now();
 
             // 3. Calcular estatísticas por comarca
-            var estatisticasPorComarca = comarcas.stream()
+            List<EstatisticaComarcaRelatorio> estatisticasPorComarca = comarcas.stream()
                     .map(comarca -> {
+                        execucao.verificarPrazo();
                         Long totalPessoas = pessoaRepository.countByComarca(comarca);
-                        Long emConformidade = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.EM_CONFORMIDADE);
-                        Long inadimplentes = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.INADIMPLENTE);
+                        Long emConformidade = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.EM_CONFORMIDADE, hoje);
+                        Long inadimplentes = pessoaRepository.countByComarcaAndStatus(comarca, StatusComparecimento.INADIMPLENTE, hoje);
                         Long comparecimentosPeriodo = historicoRepository.countByPeriodo(dataInicio, dataFim, comarca, null);
 
                         Double percentualConformidade = totalPessoas > 0 ?
                                 (emConformidade.doubleValue() / totalPessoas.doubleValue()) * 100.0 : 0.0;
 
-                        return Map.<String, Object>of(
-                                "comarca", comarca,
-                                "totalPessoas", totalPessoas,
-                                "emConformidade", emConformidade,
-                                "inadimplentes", inadimplentes,
-                                "percentualConformidade", Math.round(percentualConformidade * 100.0) / 100.0,
-                                "comparecimentosPeriodo", comparecimentosPeriodo,
-                                "taxaComparecimento", totalPessoas > 0 ?
+                        return new EstatisticaComarcaRelatorio(
+                                comarca,
+                                totalPessoas,
+                                emConformidade,
+                                inadimplentes,
+                                Math.round(percentualConformidade * 100.0) / 100.0,
+                                comparecimentosPeriodo,
+                                totalPessoas > 0 ?
                                         Math.round((comparecimentosPeriodo.doubleValue() / totalPessoas.doubleValue()) * 100.0) / 100.0 : 0.0
                         );
                     })
@@ -230,18 +345,18 @@ public class RelatorioService {
 
             // 4. Calcular totais gerais
             Long totalGeralPessoas = pessoaRepository.count();
-            Long totalGeralConformidade = pessoaRepository.countByStatus(StatusComparecimento.EM_CONFORMIDADE);
-            Long totalGeralInadimplentes = pessoaRepository.countByStatus(StatusComparecimento.INADIMPLENTE);
+            Long totalGeralConformidade = pessoaRepository.countByStatus(StatusComparecimento.EM_CONFORMIDADE, hoje);
+            Long totalGeralInadimplentes = pessoaRepository.countByStatus(StatusComparecimento.INADIMPLENTE, hoje);
             Long totalGeralComparecimentos = historicoRepository.countByPeriodo(dataInicio, dataFim, null, null);
 
-            var resumoGeral = Map.<String, Object>of(
-                    "totalPessoas", totalGeralPessoas,
-                    "totalConformidade", totalGeralConformidade,
-                    "totalInadimplentes", totalGeralInadimplentes,
-                    "percentualGeralConformidade", totalGeralPessoas > 0 ?
+            ResumoGeralEstatisticas resumoGeral = new ResumoGeralEstatisticas(
+                    totalGeralPessoas,
+                    totalGeralConformidade,
+                    totalGeralInadimplentes,
+                    totalGeralPessoas > 0 ?
                             Math.round((totalGeralConformidade.doubleValue() / totalGeralPessoas.doubleValue()) * 100.0 * 100.0) / 100.0 : 0.0,
-                    "totalComparecimentosPeriodo", totalGeralComparecimentos,
-                    "totalComarcas", comarcas.size()
+                    totalGeralComparecimentos,
+                    comarcas.size()
             );
 
             // 5. Montar resposta
@@ -254,7 +369,7 @@ public class RelatorioService {
                     .build();
 
         } catch (Exception e) {
-            throw new BusinessException("Erro ao gerar relatório estatístico: " + e.getMessage());
+            throw tratarFalha(TipoRelatorio.ESTATISTICAS_COMARCA, "Erro ao gerar relatório estatístico: ", e);
         }
     }
 
@@ -262,18 +377,38 @@ public class RelatorioService {
      * Gerar relatório HTML de comparecimentos
      */
     public Resource gerarRelatorioComparecimentosHTML(LocalDate dataInicio, LocalDate dataFim, String comarca) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        escreverRelatorioComparecimentosHTML(dataInicio, dataFim, comarca, out);
+        return new ByteArrayResource(out.toByteArray());
+    }
+
+    /**
+     * Escrever relatório HTML de comparecimentos diretamente no stream de saída.
+     * O resumo é agregado no banco e as linhas da tabela são lidas por cursor; a geração é
+     * interrompida ao exceder o prazo ou quando o cliente desconecta. Se parte da página já foi enviada, a
+     * tabela é fechada com um aviso de relatório incompleto (elemento com id "relatorio-incompleto").
+     */
+    public void escreverRelatorioComparecimentosHTML(LocalDate dataInicio, LocalDate dataFim, String comarca,
+                                                     OutputStream out) {
+        SaidaRelatorio saida = new SaidaRelatorio(out);
+        Writer html = novoWriter(saida);
         try {
             // 1. Validar período
             validatePeriodo(dataInicio, dataFim);
 
-            // 2. Buscar dados
-            List<HistoricoComparecimento> comparecimentos = historicoRepository.findByPeriodoWithFiltersForReport(
-                    dataInicio, dataFim, comarca);
+            // 2. Aplicar prazo de execução
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.COMPARECIMENTOS_HTML);
+
+            // 3. Resumo por tipo (agregado no banco, antes da leitura das linhas)
+            Map<TipoValidacao, Long> resumoPorTipo = new EnumMap<>(TipoValidacao.class);
+            for (Object[] row : historicoRepository.countByTipoInPeriodAndComarca(dataInicio, dataFim, comarca)) {
+                resumoPorTipo.put((TipoValidacao) row[0], (Long) row[1]);
+            }
+            long totalRegistros = resumoPorTipo.values().stream().mapToLong(Long::longValue).sum();
 
-            // 3. Gerar HTML
-            StringBuilder html = new StringBuilder();
+            // 4. Gerar HTML
 
-            html.append("""
+            html.write("""
                 <!DOCTYPE html>
                 <html lang="pt-BR">
                 <head>
@@ -315,17 +450,10 @@ public class RelatorioService {
                     .append(LocalDateTime.now().format(DATETIME_FORMATTER))
                     .append("</p>")
                     .append("<p><strong>Total de Registros:</strong> ")
-                    .append(comparecimentos.size())
+                    .append(String.valueOf(totalRegistros))
                     .append("</p>")
                     .append("</div>");
 
-            // Resumo por tipo
-            Map<TipoValidacao, Long> resumoPorTipo = comparecimentos.stream()
-                    .collect(Collectors.groupingBy(
-                            HistoricoComparecimento::getTipoValidacao,
-                            Collectors.counting()
-                    ));
-
             html.append("<div class=\"summary\">")
                     .append("<h3>Resumo por Tipo de Validação</h3>");
 
@@ -333,7 +461,7 @@ public class RelatorioService {
                 html.append("<p><strong>")
                         .append(entry.getKey().getLabel())
                         .append(":</strong> ")
-                        .append(entry.getValue())
+                        .append(String.valueOf(entry.getValue()))
                         .append(" registro")
                         .append(entry.getValue() > 1 ? "s" : "")
                         .append("</p>");
@@ -341,7 +469,7 @@ public class RelatorioService {
             html.append("</div>");
 
             // Tabela de dados
-            html.append("""
+            html.write("""
                 <table>
                     <thead>
                         <tr>
@@ -358,22 +486,33 @@ public class RelatorioService {
                     <tbody>
                 """);
 
-            for (HistoricoComparecimento comp : comparecimentos) {
-                html.append("<tr>")
-                        .append("<td>").append(comp.getDataComparecimento().format(DATE_FORMATTER)).append("</td>")
-                        .append("<td>").append(comp.getHoraComparecimento() != null ? comp.getHoraComparecimento().toString() : "").append("</td>")
-                        .append("<td>").append(escapeHtml(comp.getPessoaMonitorada().getNomeCompleto())).append("</td>")
-                        .append("<td>").append(comp.getPessoaMonitorada().getCpf() != null ? comp.getPessoaMonitorada().getCpf() : "").append("</td>")
-                        .append("<td>").append(comp.getTipoValidacao().getLabel()).append("</td>")
-                        .append("<td>").append(comp.getPessoaMonitorada().getProcessoJudicial() != null ?
-                                comp.getPessoaMonitorada().getProcessoJudicial().getNumeroProcesso() : "").append("</td>")
-                        .append("<td>").append(comp.getPessoaMonitorada().getProcessoJudicial() != null ?
-                                comp.getPessoaMonitorada().getProcessoJudicial().getComarca() : "").append("</td>")
-                        .append("<td>").append(escapeHtml(comp.getValidadoPor())).append("</td>")
-                        .append("</tr>");
+            try (Stream<LinhaRelatorioComparecimento> linhas = historicoRepository.streamByPeriodoForReport(
+                    dataInicio, dataFim, comarca)) {
+                Iterator<LinhaRelatorioComparecimento> iterator = linhas.iterator();
+                int escritas = 0;
+
+                while (iterator.hasNext()) {
+                    execucao.verificarPrazo();
+                    LinhaRelatorioComparecimento comp = iterator.next();
+
+                    html.append("<tr>")
+                            .append("<td>").append(comp.dataComparecimento().format(DATE_FORMATTER)).append("</td>")
+                            .append("<td>").append(comp.horaComparecimento() != null ? comp.horaComparecimento().toString() : "").append("</td>")
+                            .append("<td>").append(escapeHtml(comp.nomeCompleto())).append("</td>")
+                            .append("<td>").append(comp.cpf() != null ? comp.cpf() : "").append("</td>")
+                            .append("<td>").append(comp.tipoValidacao().getLabel()).append("</td>")
+                            .append("<td>").append(comp.numeroProcesso()).append("</td>")
+                            .append("<td>").append(comp.comarca()).append("</td>")
+                            .append("<td>").append(escapeHtml(comp.validadoPor())).append("</td>")
+                            .append("</tr>");
+
+                    if (++escritas % LINHAS_POR_FLUSH == 0) {
+                        html.flush();
+                    }
+                }
             }
 
-            html.append("""
+            html.write("""
                     </tbody>
                 </table>
                 
@@ -386,75 +525,113 @@ public class RelatorioService {
                 </html>
                 """);
 
-            byte[] htmlBytes = html.toString().getBytes(StandardCharsets.UTF_8);
-            return new ByteArrayResource(htmlBytes);
+            html.flush();
 
         } catch (Exception e) {
-            throw new BusinessException("Erro ao gerar relatório HTML: " + e.getMessage());
+            RuntimeException falha = tratarFalha(TipoRelatorio.COMPARECIMENTOS_HTML, "Erro ao gerar relatório HTML: ", e);
+            anexarMarcadorFalha(saida, falha, mensagem -> {
+                html.append("</tbody></table>")
+                        .append("<div id=\"relatorio-incompleto\" class=\"summary\"><p><strong>Relatório incompleto:</strong> ")
+                        .append(escapeHtml(mensagem))
+                        .append("</p></div></body></html>\n");
+                html.flush();
+            });
+            throw falha;
         }
     }
 
     /**
-     * Gerar dados estruturados para relatório personalizado
+     * Escrever dados estruturados do relatório personalizado (JSON) diretamente no stream de saída.
+     * Os comparecimentos são lidos por cursor e serializados um a um; as estatísticas e o total
+     * de registros são acumulados durante a leitura e escritos após a lista. Se a falha ocorrer depois que parte
+     * da resposta já foi enviada, o envelope é fechado com statusCode 503 e o motivo em "errors".
      */
-    public Map<String, Object> gerarDadosRelatorioPersonalizado(
+    public void escreverDadosRelatorioPersonalizado(
             LocalDate dataInicio,
             LocalDate dataFim,
             String comarca,
             List<String> tiposValidacao,
-            boolean incluirEstatisticas) {
+            boolean incluirEstatisticas,
+            OutputStream out) {
 
+        SaidaRelatorio saida = new SaidaRelatorio(out);
+        JsonGenerator json = null;
         try {
+            // 1. Validar período e filtro de tipos (antes de escrever qualquer byte)
             validatePeriodo(dataInicio, dataFim);
 
-            // Buscar comparecimentos
-            List<HistoricoComparecimento> comparecimentos = historicoRepository.findByPeriodoWithFiltersForReport(
-                    dataInicio, dataFim, comarca);
-
-            // Filtrar por tipos de validação se especificado
+            Set<TipoValidacao> tipos = null;
             if (tiposValidacao != null && !tiposValidacao.isEmpty()) {
-                List<TipoValidacao> tipos = tiposValidacao.stream()
-                        .map(TipoValidacao::valueOf)
-                        .collect(Collectors.toList());
+                tipos = EnumSet.noneOf(TipoValidacao.class);
+                for (String tipo : tiposValidacao) {
+                    tipos.add(TipoValidacao.valueOf(tipo));
+                }
+            }
+
+            // 2. Aplicar prazo de execução
+            ControleExecucaoRelatorio.Execucao execucao = controleExecucao.iniciar(TipoRelatorio.PERSONALIZADO);
+
+            // 3. Escrever comparecimentos por cursor
+            json = relatorioJsonWriter.iniciarResposta(saida, "Dados do relatório gerados com sucesso");
+            json.writeStartObject();
+            json.writeObjectFieldStart("dados");
+            json.writeArrayFieldStart("comparecimentos");
+
+            AcumuladorEstatisticas estatisticas = new AcumuladorEstatisticas();
+
+            try (Stream<LinhaRelatorioComparecimento> linhas = historicoRepository.streamByPeriodoForReport(
+                    dataInicio, dataFim, comarca)) {
+                Iterator<LinhaRelatorioComparecimento> iterator = linhas.iterator();
+
+                while (iterator.hasNext()) {
+                    execucao.verificarPrazo();
+                    LinhaRelatorioComparecimento comp = iterator.next();
+
+                    if (tipos != null && !tipos.contains(comp.tipoValidacao())) {
+                        continue;
+                    }
 
-                comparecimentos = comparecimentos.stream()
-                        .filter(comp -> tipos.contains(comp.getTipoValidacao()))
-                        .collect(Collectors.toList());
+                    relatorioJsonWriter.escreverComparecimento(json, mapearComparecimentoParaRelatorio(comp));
+                    estatisticas.registrar(comp);
+
+                    if (estatisticas.getTotal() % LINHAS_POR_FLUSH == 0) {
+                        json.flush();
+                    }
+                }
             }
 
-            // Dados básicos
-            var dadosRelatorio = Map.<String, Object>of(
-                    "metadados", Map.of(
-                            "dataInicio", dataInicio.format(DATE_FORMATTER),
-                            "dataFim", dataFim.format(DATE_FORMATTER),
-                            "comarca", comarca != null ? comarca : "TODAS",
-                            "totalRegistros", comparecimentos.size(),
-                            "dataGeracao", LocalDateTime.now().format(DATETIME_FORMATTER)
-                    ),
-                    "comparecimentos", comparecimentos.stream()
-                            .map(this::mapearComparecimentoParaRelatorio)
-                            .collect(Collectors.toList())
-            );
+            json.writeEndArray();
+
+            // 4. Metadados e estatísticas acumuladas
+            json.writeObjectField("metadados", new MetadadosRelatorio(
+                    dataInicio.format(DATE_FORMATTER),
+                    dataFim.format(DATE_FORMATTER),
+                    comarca != null ? comarca : "TODAS",
+                    estatisticas.getTotal(),
+                    LocalDateTime.now().format(DATETIME_FORMATTER)));
+            json.writeEndObject();
 
-            // Adicionar estatísticas se solicitado
             if (incluirEstatisticas) {
-                var estatisticas = calcularEstatisticasComparecimentos(comparecimentos);
-                return Map.of(
-                        "dados", dadosRelatorio,
-                        "estatisticas", estatisticas
-                );
+                json.writeObjectField("estatisticas", estatisticas.toEstatisticas());
             }
 
-            return Map.of("dados", dadosRelatorio);
+            json.writeEndObject();
+            relatorioJsonWriter.finalizarResposta(json);
 
         } catch (Exception e) {
-            throw new BusinessException("Erro ao gerar dados do relatório: " + e.getMessage());
+            RuntimeException falha = tratarFalha(TipoRelatorio.PERSONALIZADO, "Erro ao gerar dados do relatório: ", e);
+            if (json != null) {
+                JsonGenerator gerador = json;
+                anexarMarcadorFalha(saida, falha, mensagem -> relatorioJsonWriter.finalizarComFalha(gerador, mensagem));
+            }
+            throw falha;
         }
     }
 
-    // === MÉTODOS AUXILIARES ===
-
-    private void validatePeriodo(LocalDate dataInicio, LocalDate dataFim) {
+    /**
+     * Validar período do relatório (usado antes de iniciar respostas em streaming)
+     */
+    public void validatePeriodo(LocalDate dataInicio, LocalDate dataFim) {
         if (dataInicio.isAfter(dataFim)) {
             throw new BusinessException("Data de início não pode ser posterior à data de fim");
         }
@@ -464,18 +641,38 @@ public class RelatorioService {
         }
     }
 
-    private String formatCsvValue(String value) {
-        if (value == null) {
-            return "";
+    // === MÉTODOS AUXILIARES ===
+
+    /**
+     * Falhas de cancelamento (prazo/desconexão) são propagadas como tal; as demais viram BusinessException
+     */
+    private RuntimeException tratarFalha(TipoRelatorio tipo, String mensagem, Exception e) {
+        RelatorioCanceladoException cancelamento = controleExecucao.traduzirCancelamento(tipo, e);
+        if (cancelamento != null) {
+            return cancelamento;
         }
+        return new BusinessException(mensagem + e.getMessage());
+    }
 
-        // Escapar aspas e adicionar aspas se contém vírgula, quebra de linha ou aspas
-        String escaped = value.replace("\"", "\"\"");
-        if (escaped.contains(",") || escaped.contains("\n") || escaped.contains("\"")) {
-            return "\"" + escaped + "\"";
+    /**
+     * Com a resposta já iniciada (status 200 enviado), o handler de erros não pode mais responder: anexa o
+     * marcador de relatório incompleto para o cliente distinguir o arquivo truncado do completo. A exceção é
+     * relançada em seguida e o contêiner encerra a conexão. Nada é anexado se o cliente desconectou.
+     */
+    private void anexarMarcadorFalha(SaidaRelatorio saida, RuntimeException falha, MarcadorFalha marcador) {
+        if (!saida.isIniciada() || (falha instanceof RelatorioCanceladoException cancelamento
+                && cancelamento.getMotivo() == RelatorioCanceladoException.Motivo.CLIENTE_DESCONECTADO)) {
+            return;
+        }
+        try {
+            marcador.escrever(falha.getMessage());
+        } catch (IOException | RuntimeException ignored) {
+            // Cliente desconectou durante a escrita do marcador
         }
+    }
 
-        return escaped;
+    private Writer novoWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), TAMANHO_BUFFER_SAIDA);
     }
 
     private String escapeHtml(String text) {
@@ -490,58 +687,85 @@ public class RelatorioService {
                 .replace("'", "&#x27;");
     }
 
-    private Map<String, Object> mapearComparecimentoParaRelatorio(HistoricoComparecimento comp) {
-        return Map.of(
-                "id", comp.getId(),
-                "data", comp.getDataComparecimento().format(DATE_FORMATTER),
-                "horario", comp.getHoraComparecimento() != null ? comp.getHoraComparecimento().toString() : "",
-                "pessoa", Map.of(
-                        "id", comp.getPessoaMonitorada().getId(),
-                        "nome", comp.getPessoaMonitorada().getNomeCompleto(),
-                        "cpf", comp.getPessoaMonitorada().getCpf() != null ? comp.getPessoaMonitorada().getCpf() : ""
-                ),
-                "processo", comp.getPessoaMonitorada().getProcessoJudicial() != null ? Map.of(
-                        "numero", comp.getPessoaMonitorada().getProcessoJudicial().getNumeroProcesso(),
-                        "vara", comp.getPessoaMonitorada().getProcessoJudicial().getVara(),
-                        "comarca", comp.getPessoaMonitorada().getProcessoJudicial().getComarca()
-                ) : Map.of(),
-                "validacao", Map.of(
-                        "tipo", comp.getTipoValidacao().name(),
-                        "tipoLabel", comp.getTipoValidacao().getLabel(),
-                        "validadoPor", comp.getValidadoPor()
-                ),
-                "observacoes", comp.getObservacoes() != null ? comp.getObservacoes() : ""
-        );
+    private ComparecimentoRelatorioItem mapearComparecimentoParaRelatorio(LinhaRelatorioComparecimento comp) {
+        return new ComparecimentoRelatorioItem(
+                comp.id(),
+                comp.dataComparecimento().format(DATE_FORMATTER),
+                comp.horaComparecimento() != null ? comp.horaComparecimento().toString() : "",
+                new ComparecimentoRelatorioItem.Pessoa(
+                        comp.pessoaId(),
+                        comp.nomeCompleto(),
+                        comp.cpf() != null ? comp.cpf() : ""),
+                new ComparecimentoRelatorioItem.Processo(
+                        comp.numeroProcesso(),
+                        comp.vara(),
+                        comp.comarca()),
+                new ComparecimentoRelatorioItem.Validacao(
+                        comp.tipoValidacao().name(),
+                        comp.tipoValidacao().getLabel(),
+                        comp.validadoPor()),
+                comp.observacoes() != null ? comp.observacoes() : "");
+    }
+
+    /**
+     * Escrita do marcador de falha no formato do relatório
+     */
+    @FunctionalInterface
+    private interface MarcadorFalha {
+        void escrever(String mensagem) throws IOException;
+    }
+
+    /**
+     * Stream de saída que registra se algum byte já foi repassado ao cliente (resposta iniciada)
+     */
+    private static class SaidaRelatorio extends FilterOutputStream {
+        private boolean iniciada;
+
+        SaidaRelatorio(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            iniciada = true;
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            iniciada |= len > 0;
+            out.write(b, off, len);
+        }
+
+        boolean isIniciada() {
+            return iniciada;
+        }
     }
 
-    private Map<String, Object> calcularEstatisticasComparecimentos(List<HistoricoComparecimento> comparecimentos) {
-        // Estatísticas por tipo
-        Map<String, Long> porTipo = comparecimentos.stream()
-                .collect(Collectors.groupingBy(
-                        comp -> comp.getTipoValidacao().getLabel(),
-                        Collectors.counting()
-                ));
-
-        // Estatísticas por comarca
-        Map<String, Long> porComarca = comparecimentos.stream()
-                .collect(Collectors.groupingBy(
-                        comp -> comp.getPessoaMonitorada().getProcessoJudicial() != null ?
-                                comp.getPessoaMonitorada().getProcessoJudicial().getComarca() : "SEM COMARCA",
-                        Collectors.counting()
-                ));
-
-        // Estatísticas por validador
-        Map<String, Long> porValidador = comparecimentos.stream()
-                .collect(Collectors.groupingBy(
-                        HistoricoComparecimento::getValidadoPor,
-                        Collectors.counting()
-                ));
-
-        return Map.of(
-                "porTipo", porTipo,
-                "porComarca", porComarca,
-                "porValidador", porValidador,
-                "totalComparecimentos", comparecimentos.size()
-        );
+    /**
+     * Contadores incrementais das estatísticas do relatório personalizado
+     */
+    private static class AcumuladorEstatisticas {
+        private final Map<TipoValidacao, Long> porTipo = new EnumMap<>(TipoValidacao.class);
+        private final Map<String, Long> porComarca = new HashMap<>();
+        private final Map<String, Long> porValidador = new HashMap<>();
+        private long total;
+
+        void registrar(LinhaRelatorioComparecimento comp) {
+            porTipo.merge(comp.tipoValidacao(), 1L, Long::sum);
+            porComarca.merge(comp.comarca() != null ? comp.comarca() : "SEM COMARCA", 1L, Long::sum);
+            porValidador.merge(comp.validadoPor(), 1L, Long::sum);
+            total++;
+        }
+
+        long getTotal() {
+            return total;
+        }
+
+        EstatisticasComparecimentos toEstatisticas() {
+            Map<String, Long> porTipoLabel = new LinkedHashMap<>();
+            porTipo.forEach((tipo, quantidade) -> porTipoLabel.put(tipo.getLabel(), quantidade));
+            return new EstatisticasComparecimentos(porTipoLabel, porComarca, porValidador, total);
+        }
     }
 }
\ No newline at end of file
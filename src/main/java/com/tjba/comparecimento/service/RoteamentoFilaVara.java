@@ -0,0 +1,223 @@
+package com.tjba.comparecimento.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Roteamento da fila de atendimento entre as instâncias atrás do balanceador. Cada vara tem uma única instância
+ * dona (hashing de rendezvous da vara sobre "fila.roteamento.instancias"), que mantém a fila em memória e o journal;
+ * as demais encaminham a ela, por HTTP e sem acesso ao banco, a reserva e a confirmação das senhas dos check-ins e
+ * as chamadas e consultas de guichês e painéis. Com a lista vazia (instância única) toda vara é local.
+ * A mesma lista deve ser configurada em todas as instâncias; ao mudar a lista, filas do dia não migram.
+ */
+@Component
+public class RoteamentoFilaVara {
+
+    public static final String CABECALHO_TOKEN = "X-Fila-Token";
+    private static final int TENTATIVAS_CONFIRMACAO = 3;
+
+    @Value("${fila.roteamento.instancias:}")
+    private List<String> instancias;
+
+    @Value("${fila.roteamento.instancia-local:}")
+    private String instanciaLocal;
+
+    @Value("${fila.roteamento.token:}")
+    private String token;
+
+    @Value("${fila.roteamento.timeout:2s}")
+    private Duration timeout;
+
+    private final AtomicLong falhasReserva = new AtomicLong();
+    private final AtomicLong falhasConfirmacao = new AtomicLong();
+
+    private RestTemplate restTemplate;
+    private ExecutorService confirmacoes;
+
+    @PostConstruct
+    void iniciar() {
+        instancias = instancias.stream().map(RoteamentoFilaVara::normalizar).filter(url -> !url.isEmpty()).toList();
+        instanciaLocal = normalizar(instanciaLocal);
+        if (!instancias.isEmpty() && !instancias.contains(instanciaLocal)) {
+            throw new IllegalStateException("fila.roteamento.instancia-local deve estar em fila.roteamento.instancias");
+        }
+
+        // Timeout curto: a reserva está no caminho do check-in
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout((int) timeout.toMillis());
+        factory.setReadTimeout((int) timeout.toMillis());
+        restTemplate = new RestTemplate(factory);
+
+        // Confirmações enviadas fora da thread do check-in, na ordem dos commits
+        confirmacoes = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fila-atendimento-roteamento");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        confirmacoes.shutdown();
+        confirmacoes.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * URL base da instância dona da fila da vara, ou null se a dona é esta instância
+     */
+    public String dono(String comarca, String vara) {
+        if (instancias.isEmpty()) {
+            return null;
+        }
+
+        String chave = FilaAtendimentoService.chave(comarca, vara);
+        String dono = null;
+        long maiorPeso = Long.MIN_VALUE;
+        for (String instancia : instancias) {
+            long peso = UUID.nameUUIDFromBytes((instancia + "|" + chave).getBytes(StandardCharsets.UTF_8))
+                    .getMostSignificantBits();
+            if (peso > maiorPeso) {
+                maiorPeso = peso;
+                dono = instancia;
+            }
+        }
+        return dono.equals(instanciaLocal) ? null : dono;
+    }
+
+    /**
+     * Conferir o token de uma chamada entre instâncias (sem token configurado, nenhuma é aceita)
+     */
+    public boolean isTokenValido(String recebido) {
+        return !token.isEmpty() && recebido != null
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), recebido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reservar o número da senha na instância dona; null se a dona não respondeu (check-in segue sem senha)
+     */
+    public Integer reservar(String dono, String comarca, String vara) {
+        URI uri = UriComponentsBuilder.fromUriString(dono).path("/fila/interno/reservas")
+                .queryParam("comarca", comarca)
+                .queryParam("vara", vara)
+                .encode().build().toUri();
+        try {
+            return restTemplate.postForObject(uri, new HttpEntity<>(cabecalhosInternos()), Integer.class);
+        } catch (RestClientException e) {
+            falhasReserva.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Confirmar na instância dona a senha reservada (após o commit do check-in, em segundo plano)
+     */
+    public void confirmar(String dono, String comarca, String vara, int numero, Long pessoaId,
+                          LocalDateTime emitidaEm) {
+        URI uri = UriComponentsBuilder.fromUriString(dono).path("/fila/interno/confirmacoes")
+                .queryParam("comarca", comarca)
+                .queryParam("vara", vara)
+                .queryParam("numero", numero)
+                .queryParam("pessoaId", pessoaId)
+                .queryParam("emitidaEm", emitidaEm)
+                .encode().build().toUri();
+
+        confirmacoes.execute(() -> {
+            for (int tentativa = 1; ; tentativa++) {
+                try {
+                    restTemplate.postForEntity(uri, new HttpEntity<>(cabecalhosInternos()), Void.class);
+                    return;
+                } catch (RestClientException e) {
+                    if (tentativa >= TENTATIVAS_CONFIRMACAO) {
+                        falhasConfirmacao.incrementAndGet();
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Encaminhar a requisição de guichê ou painel à instância dona, com a autenticação do usuário, e devolver a
+     * resposta dela (inclusive erros) sem alteração
+     */
+    public ResponseEntity<String> encaminhar(String dono, HttpMethod metodo, String caminho,
+                                             Map<String, String> parametros, Object corpo, String authorization) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(dono).path(caminho);
+        parametros.forEach(builder::queryParam);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+
+        ResponseEntity<String> resposta;
+        try {
+            resposta = restTemplate.exchange(builder.encode().build().toUri(), metodo,
+                    new HttpEntity<>(corpo, headers), String.class);
+        } catch (HttpStatusCodeException e) {
+            resposta = ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+        } catch (RestClientException e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).contentType(MediaType.APPLICATION_JSON)
+                    .body("{\"success\":false,\"message\":\"Instância da fila da vara indisponível\"}");
+        }
+        return ResponseEntity.status(resposta.getStatusCode()).contentType(MediaType.APPLICATION_JSON)
+                .body(resposta.getBody());
+    }
+
+    /**
+     * URL da instância dona para o redirecionamento do painel (SSE)
+     */
+    public URI urlNoDono(String dono, String caminho, Map<String, String> parametros) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(dono).path(caminho);
+        parametros.forEach(builder::queryParam);
+        return builder.encode().build().toUri();
+    }
+
+    public long getFalhasReserva() {
+        return falhasReserva.get();
+    }
+
+    public long getFalhasConfirmacao() {
+        return falhasConfirmacao.get();
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private HttpHeaders cabecalhosInternos() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CABECALHO_TOKEN, token);
+        return headers;
+    }
+
+    private static String normalizar(String url) {
+        String valor = url == null ? "" : url.trim();
+        return valor.endsWith("/") ? valor.substring(0, valor.length() - 1) : valor;
+    }
+}
@@ -0,0 +1,238 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.enums.CanalNotificacao;
+import com.tjba.comparecimento.util.LimiteTaxa;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transporte de e-mail sobre o {@link PoolConexoesSmtp}: o lote é dividido entre as conexões do pool e cada
+ * parte é enviada em sequência na mesma conexão, respeitando o limite de mensagens por segundo do provedor.
+ * Erro de comunicação descarta a conexão e a mensagem é refeita em outra, com espera crescente; recusa do
+ * servidor (destinatário inválido etc.) é falha da mensagem, reagendada pelo despacho da fila.
+ */
+@Component
+public class TransporteEmail implements TransporteNotificacao {
+
+    @Autowired
+    private PoolConexoesSmtp pool;
+
+    @Value("${notificacao.email.remetente:${spring.mail.username}}")
+    private String remetente;
+
+    @Value("${notificacao.email.limite-por-segundo:10}")
+    private double limitePorSegundo;
+
+    @Value("${notificacao.email.retry.tentativas:3}")
+    private int maxTentativas;
+
+    @Value("${notificacao.email.retry.espera-base:500ms}")
+    private Duration esperaBase;
+
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong recusadas = new AtomicLong();
+    private final AtomicLong falhasConexao = new AtomicLong();
+    private final AtomicLong retentativas = new AtomicLong();
+    private final AtomicLong esperasPorLimite = new AtomicLong();
+    private final AtomicLong esperaLimiteMs = new AtomicLong();
+    private final AtomicLong tempoEnvioNanos = new AtomicLong();
+
+    private LimiteTaxa limiteTaxa;
+    private ExecutorService executor;
+
+    /**
+     * Métricas de entrega desde o início da aplicação: conexões do pool, mensagens enviadas e recusadas,
+     * falhas de conexão, retentativas, esperas pelo limite do provedor e tempo médio por mensagem
+     */
+    public record MetricasEmail(int conexoesEmUso,
+                                int conexoesOciosas,
+                                long conexoesAbertas,
+                                long conexoesFechadas,
+                                long conexoesReutilizadas,
+                                long enviadas,
+                                long recusadas,
+                                long falhasConexao,
+                                long retentativas,
+                                long esperasPorLimite,
+                                long esperaLimiteMs,
+                                double mediaEnvioMs) {
+    }
+
+    public TransporteEmail() {
+    }
+
+    /**
+     * Transporte fora do contexto Spring (testes com servidor SMTP local); chamar iniciar() antes do uso
+     */
+    TransporteEmail(PoolConexoesSmtp pool, String remetente, double limitePorSegundo, int maxTentativas,
+                    Duration esperaBase) {
+        this.pool = pool;
+        this.remetente = remetente;
+        this.limitePorSegundo = limitePorSegundo;
+        this.maxTentativas = maxTentativas;
+        this.esperaBase = esperaBase;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        limiteTaxa = new LimiteTaxa(limitePorSegundo, (int) Math.max(1, Math.ceil(limitePorSegundo)));
+
+        // Uma thread por conexão do pool
+        AtomicInteger sequencia = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(pool.getMaximoConexoes(), runnable -> {
+            Thread thread = new Thread(runnable, "email-envio-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CanalNotificacao getCanal() {
+        return CanalNotificacao.EMAIL;
+    }
+
+    @Override
+    public Map<Long, String> enviar(List<NotificacaoPendente> lote) {
+        // 1. Dividir o lote entre as conexões (partes contíguas)
+        int partes = Math.min(pool.getMaximoConexoes(), lote.size());
+        List<CompletableFuture<Map<Long, String>>> envios = new ArrayList<>(partes);
+        for (int i = 0; i < partes; i++) {
+            List<NotificacaoPendente> parte = lote.subList(i * lote.size() / partes, (i + 1) * lote.size() / partes);
+            envios.add(CompletableFuture.supplyAsync(() -> enviarNaConexao(parte), executor));
+        }
+
+        // 2. Reunir as falhas de todas as partes
+        Map<Long, String> falhas = new HashMap<>();
+        envios.forEach(envio -> falhas.putAll(envio.join()));
+        return falhas;
+    }
+
+    public MetricasEmail getMetricas() {
+        long total = enviadas.get() + recusadas.get();
+        return new MetricasEmail(pool.getEmUso(), pool.getOciosas(), pool.getAbertas(), pool.getFechadas(),
+                pool.getReutilizadas(), enviadas.get(), recusadas.get(), falhasConexao.get(), retentativas.get(),
+                esperasPorLimite.get(), esperaLimiteMs.get(),
+                total > 0 ? tempoEnvioNanos.get() / 1_000_000.0 / total : 0.0);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private Map<Long, String> enviarNaConexao(List<NotificacaoPendente> parte) {
+        Map<Long, String> falhas = new HashMap<>();
+        PoolConexoesSmtp.ConexaoSmtp conexao = null;
+        int proxima = 0;
+
+        try {
+            for (; proxima < parte.size(); proxima++) {
+                NotificacaoPendente notificacao = parte.get(proxima);
+                MimeMessage mensagem;
+                try {
+                    mensagem = criarMensagem(notificacao);
+                } catch (MessagingException e) {
+                    falhas.put(notificacao.getId(), "Mensagem inválida: " + e.getMessage());
+                    continue;
+                }
+
+                for (int tentativa = 1; ; tentativa++) {
+                    try {
+                        if (conexao == null) {
+                            conexao = pool.obter();
+                        }
+                        aguardarLimite();
+                        long inicio = System.nanoTime();
+                        try {
+                            conexao.getTransporte().sendMessage(mensagem, mensagem.getAllRecipients());
+                            conexao.registrarEnvio();
+                            enviadas.incrementAndGet();
+                        } finally {
+                            tempoEnvioNanos.addAndGet(System.nanoTime() - inicio);
+                        }
+                        break;
+                    } catch (MessagingException e) {
+                        // Recusa do servidor: a conexão continua utilizável (a queda da conexão no meio do envio
+                        // também chega como SendFailedException, por isso a conexão é conferida)
+                        if (e instanceof SendFailedException && conexao != null
+                                && conexao.getTransporte().isConnected()) {
+                            recusadas.incrementAndGet();
+                            falhas.put(notificacao.getId(), e.getMessage());
+                            break;
+                        }
+
+                        // Erro de comunicação: descartar a conexão e refazer em outra
+                        falhasConexao.incrementAndGet();
+                        if (conexao != null) {
+                            pool.devolver(conexao, false);
+                            conexao = null;
+                        }
+                        if (tentativa >= maxTentativas) {
+                            falhas.put(notificacao.getId(), e.getMessage());
+                            break;
+                        }
+                        retentativas.incrementAndGet();
+                        aguardar(tentativa);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parte.subList(proxima, parte.size())
+                    .forEach(notificacao -> falhas.put(notificacao.getId(), "Envio interrompido"));
+        } finally {
+            if (conexao != null) {
+                pool.devolver(conexao, true);
+            }
+        }
+        return falhas;
+    }
+
+    private MimeMessage criarMensagem(NotificacaoPendente notificacao) throws MessagingException {
+        MimeMessage mensagem = new MimeMessage(pool.getSession());
+        mensagem.setFrom(new InternetAddress(remetente));
+        mensagem.setRecipients(MimeMessage.RecipientType.TO, InternetAddress.parse(notificacao.getDestinatario()));
+        mensagem.setSubject(notificacao.getAssunto(), StandardCharsets.UTF_8.name());
+        mensagem.setText(notificacao.getConteudo(), StandardCharsets.UTF_8.name());
+        mensagem.saveChanges();
+        return mensagem;
+    }
+
+    private void aguardarLimite() throws InterruptedException {
+        long espera = limiteTaxa.aguardar();
+        if (espera > 0) {
+            esperasPorLimite.incrementAndGet();
+            esperaLimiteMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(espera));
+        }
+    }
+
+    private void aguardar(int tentativa) throws InterruptedException {
+        // Espera crescente com metade aleatória: conexões refeitas não voltam ao provedor ao mesmo tempo
+        long intervalo = esperaBase.toMillis() << Math.min(tentativa - 1, 10);
+        Thread.sleep(intervalo / 2 + ThreadLocalRandom.current().nextLong(intervalo / 2 + 1));
+    }
+}
@@ -0,0 +1,20 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.enums.CanalNotificacao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transporte de um canal de notificação, usado pelo despacho da fila.
+ */
+public interface TransporteNotificacao {
+
+    CanalNotificacao getCanal();
+
+    /**
+     * Enviar lote do canal; retorna o erro de cada notificação não enviada, por ID (vazio = todas enviadas)
+     */
+    Map<Long, String> enviar(List<NotificacaoPendente> lote);
+}
@@ -0,0 +1,52 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.enums.CanalNotificacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transporte de SMS via gateway HTTP (notificacao.sms.url): uma requisição por mensagem,
+ * reaproveitando as conexões keep-alive do RestTemplate.
+ */
+@Component
+public class TransporteSms implements TransporteNotificacao {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${notificacao.sms.url:}")
+    private String url;
+
+    @Override
+    public CanalNotificacao getCanal() {
+        return CanalNotificacao.SMS;
+    }
+
+    @Override
+    public Map<Long, String> enviar(List<NotificacaoPendente> lote) {
+        Map<Long, String> falhas = new HashMap<>();
+
+        for (NotificacaoPendente notificacao : lote) {
+            if (url == null || url.isBlank()) {
+                falhas.put(notificacao.getId(), "Gateway de SMS não configurado");
+                continue;
+            }
+            try {
+                restTemplate.postForEntity(url, Map.of(
+                        "destinatario", notificacao.getDestinatario(),
+                        "mensagem", notificacao.getConteudo()), Void.class);
+            } catch (RestClientException e) {
+                falhas.put(notificacao.getId(), e.getMessage());
+            }
+        }
+        return falhas;
+    }
+}
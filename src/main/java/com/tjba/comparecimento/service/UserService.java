@@ -34,8 +34,8 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    // TODO: Injetar EmailService quando implementar
-    // @Autowired private EmailService emailService;
+    @Autowired
+    private NotificationService notificationService;
 
     // TODO: Injetar AuditService quando implementar
     // @Autowired private AuditService auditService;
@@ -105,8 +105,8 @@ public class UserService {
         // 4. Salvar usuário
         User savedUser = userRepository.save(user);
 
-        // 5. Enviar email de boas-vindas
-        // TODO: emailService.sendWelcomeEmail(savedUser.getEmail(), request.getPassword());
+        // 5. Enfileirar email de boas-vindas
+        notificationService.sendWelcomeEmail(savedUser.getEmail(), request.getPassword());
 
         // 6. Log da ação
         // TODO: auditService.logUserCreation(savedUser.getId(), savedUser.getEmail());
@@ -211,8 +211,8 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
 
-        // 4. Enviar nova senha por email
-        // TODO: emailService.sendPasswordResetEmail(user.getEmail(), newPassword);
+        // 4. Enfileirar nova senha por email
+        notificationService.sendTemporaryPasswordEmail(user.getEmail(), newPassword);
 
         // 5. Log da ação
         // TODO: auditService.logPasswordReset(user.getId(), user.getEmail());
@@ -0,0 +1,142 @@
+package com.tjba.comparecimento.util;
+
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Calendário de dias úteis forenses pré-calculado para um intervalo de datas: um bitset por comarca
+ * (bit i = dia inicio + i é útil). Comarcas sem suspensões próprias usam o bitset geral.
+ * "Próximo dia útil a partir da data" é uma varredura de bits por palavra (nextSetBit), limitada pelo maior
+ * período sem expediente (recesso). Fora do intervalo, apenas fins de semana são considerados.
+ * Imutável depois de construído; publique uma nova instância para alterar.
+ */
+public final class CalendarioForense {
+
+    private final LocalDate inicio;
+    private final LocalDate fim;
+    private final int dias;
+    private final BitSet geral;
+    private final Map<String, BitSet> porComarca;
+
+    /**
+     * Dias sem expediente, do início ao fim (inclusive)
+     */
+    public record Suspensao(LocalDate inicio, LocalDate fim) {
+
+        public static Suspensao dia(LocalDate data) {
+            return new Suspensao(data, data);
+        }
+    }
+
+    /**
+     * @param gerais      suspensões de todas as comarcas (feriados nacionais e estaduais, recesso)
+     * @param porComarca  suspensões próprias de cada comarca (feriados municipais etc.)
+     */
+    public CalendarioForense(LocalDate inicio, LocalDate fim, Collection<Suspensao> gerais,
+                             Map<String, ? extends Collection<Suspensao>> porComarca) {
+        this.inicio = inicio;
+        this.fim = fim;
+        this.dias = (int) (fim.toEpochDay() - inicio.toEpochDay()) + 1;
+
+        // 1. Dias úteis da semana, menos as suspensões gerais
+        this.geral = new BitSet(dias);
+        for (int i = 0; i < dias; i++) {
+            if (!isFimDeSemana(inicio.plusDays(i))) {
+                geral.set(i);
+            }
+        }
+        gerais.forEach(suspensao -> suspender(geral, suspensao));
+
+        // 2. Uma cópia do geral por comarca com suspensões próprias
+        this.porComarca = new HashMap<>();
+        porComarca.forEach((comarca, suspensoes) -> {
+            BitSet bits = (BitSet) geral.clone();
+            suspensoes.forEach(suspensao -> suspender(bits, suspensao));
+            this.porComarca.put(chave(comarca), bits);
+        });
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public LocalDate getFim() {
+        return fim;
+    }
+
+    public int getComarcasComCalendarioProprio() {
+        return porComarca.size();
+    }
+
+    public boolean isDiaUtil(String comarca, LocalDate data) {
+        int posicao = posicao(data);
+        return posicao >= 0 && posicao < dias ? bits(comarca).get(posicao) : !isFimDeSemana(data);
+    }
+
+    /**
+     * Próximo dia útil na comarca a partir da data (a própria data, se útil)
+     */
+    public LocalDate proximoDiaUtil(String comarca, LocalDate data) {
+        int posicao = posicao(data);
+        if (posicao >= 0 && posicao < dias) {
+            int util = bits(comarca).nextSetBit(posicao);
+            if (util >= 0 && util < dias) {
+                return inicio.plusDays(util);
+            }
+            data = fim.plusDays(1);
+        }
+
+        // Fora do intervalo pré-calculado
+        while (isFimDeSemana(data)) {
+            data = data.plusDays(1);
+        }
+        return data;
+    }
+
+    /**
+     * Vencimento de um comparecimento: data base + periodicidade, adiada para o próximo dia útil da comarca
+     */
+    public LocalDate calcularVencimento(String comarca, LocalDate base, int periodicidadeDias) {
+        return proximoDiaUtil(comarca, base.plusDays(periodicidadeDias));
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private BitSet bits(String comarca) {
+        if (comarca == null || porComarca.isEmpty()) {
+            return geral;
+        }
+        return porComarca.getOrDefault(chave(comarca), geral);
+    }
+
+    private int posicao(LocalDate data) {
+        long posicao = data.toEpochDay() - inicio.toEpochDay();
+        return posicao < 0 ? -1 : (int) Math.min(posicao, Integer.MAX_VALUE);
+    }
+
+    private void suspender(BitSet bits, Suspensao suspensao) {
+        int de = Math.max(0, posicao(suspensao.inicio()));
+        int ate = Math.min(dias - 1, (int) (suspensao.fim().toEpochDay() - inicio.toEpochDay()));
+        if (de <= ate) {
+            bits.clear(de, ate + 1);
+        }
+    }
+
+    private static boolean isFimDeSemana(LocalDate data) {
+        DayOfWeek dia = data.getDayOfWeek();
+        return dia == DayOfWeek.SATURDAY || dia == DayOfWeek.SUNDAY;
+    }
+
+    private static String chave(String comarca) {
+        // "Feira de Santana" e "FEIRA DE SANTANA" (com ou sem acentos) são a mesma comarca
+        return Normalizer.normalize(comarca.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase(Locale.ROOT);
+    }
+}
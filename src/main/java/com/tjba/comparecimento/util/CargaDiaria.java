@@ -0,0 +1,74 @@
+package com.tjba.comparecimento.util;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores de pessoas por dia em um anel de dias, sem locks: cada posição guarda o dia (epoch day) e a contagem
+ * em um único long, alterado por compare-and-set. Uma posição com dia diferente do consultado vale zero e é
+ * reaproveitada pelo novo dia no primeiro incremento; dias fora do anel (passados ou além do horizonte) não são
+ * contados. Thread-safe.
+ */
+public final class CargaDiaria {
+
+    private final AtomicLongArray posicoes;
+    private final int horizonte;
+
+    public CargaDiaria(int horizonte) {
+        this.horizonte = horizonte;
+        this.posicoes = new AtomicLongArray(horizonte);
+    }
+
+    /**
+     * Pessoas no dia (zero se o dia não estiver no anel)
+     */
+    public int contar(LocalDate data) {
+        long dia = data.toEpochDay();
+        long valor = posicoes.get(slot(dia));
+        return dia(valor) == dia ? contagem(valor) : 0;
+    }
+
+    /**
+     * Somar (ou subtrair) pessoas do dia; hoje é o primeiro dia do anel
+     */
+    public void ajustar(LocalDate data, int delta, LocalDate hoje) {
+        long dia = data.toEpochDay();
+        long primeiro = hoje.toEpochDay();
+        if (dia < primeiro || dia >= primeiro + horizonte) {
+            return;
+        }
+
+        int slot = slot(dia);
+        while (true) {
+            long atual = posicoes.get(slot);
+            long diaAtual = dia(atual);
+            // Posição ocupada por dia posterior: o dia informado já saiu do anel
+            if (diaAtual > dia) {
+                return;
+            }
+            int contagem = diaAtual == dia ? contagem(atual) : 0;
+            long novo = empacotar(dia, Math.max(0, contagem + delta));
+            if (posicoes.compareAndSet(slot, atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private int slot(long dia) {
+        return (int) Math.floorMod(dia, (long) horizonte);
+    }
+
+    private static long empacotar(long dia, int contagem) {
+        return (dia << 32) | (contagem & 0xFFFFFFFFL);
+    }
+
+    private static long dia(long valor) {
+        return valor >> 32;
+    }
+
+    private static int contagem(long valor) {
+        return (int) valor;
+    }
+}
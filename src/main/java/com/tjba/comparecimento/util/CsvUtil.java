@@ -0,0 +1,28 @@
+package com.tjba.comparecimento.util;
+
+/**
+ * Utilitário para escrita de valores em arquivos CSV.
+ */
+public class CsvUtil {
+
+    private CsvUtil() {
+        // Classe utilitária - construtor privado
+    }
+
+    /**
+     * Formata um valor para CSV, escapando aspas e delimitando quando necessário
+     */
+    public static String formatValue(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        // Escapar aspas e adicionar aspas se contém vírgula, quebra de linha ou aspas
+        String escaped = value.replace("\"", "\"\"");
+        if (escaped.contains(",") || escaped.contains("\n") || escaped.contains("\"")) {
+            return "\"" + escaped + "\"";
+        }
+
+        return escaped;
+    }
+}
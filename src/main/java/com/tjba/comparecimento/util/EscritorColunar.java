@@ -0,0 +1,248 @@
+package com.tjba.comparecimento.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritor do formato colunar binário de comparecimentos (exportação para análise estatística).
+ * As linhas são acumuladas em grupos de N linhas; cada grupo é gravado coluna a coluna e enviado ao stream, então
+ * a exportação é feita em streaming com memória limitada ao grupo. Inteiros são varints (LEB128, com zigzag para
+ * valores com sinal).
+ * <pre>
+ * arquivo  := MAGIC colunas grupo* 0 totalLinhas MAGIC
+ * colunas  := quantidade (nome:texto codificacao:byte)*
+ * grupo    := linhas (tamanho:varint bytes)*      -- um bloco por coluna, na ordem do cabeçalho
+ * texto    := tamanho+1 UTF-8                     -- 0 = nulo
+ * INT64_DELTA    (1): zigzag(valor - anterior) por linha, anterior inicia em 0 no grupo
+ * DATA_RLE       (2): (zigzag(dia - dia da sequência anterior), repetições)*; dia = epoch day
+ * HORA           (3): segundos do dia + 1 por linha (0 = nulo)
+ * DICIONARIO_RLE (4): novas entradas (quantidade texto*), (índice, repetições)*; o dicionário é acumulado ao
+ *                     longo do arquivo e cada grupo traz apenas as entradas que ainda não apareceram
+ * </pre>
+ * A leitura é feita por {@link LeitorColunar}. Não é thread-safe.
+ */
+public final class EscritorColunar {
+
+    public static final byte[] MAGIC = "TJCOL1".getBytes(StandardCharsets.US_ASCII);
+
+    public static final byte INT64_DELTA = 1;
+    public static final byte DATA_RLE = 2;
+    public static final byte HORA = 3;
+    public static final byte DICIONARIO_RLE = 4;
+
+    private static final String[] NOMES = {"id", "data_comparecimento", "hora_comparecimento", "tipo_validacao",
+            "pessoa_id", "numero_processo", "vara", "comarca", "validado_por"};
+    private static final byte[] CODIFICACOES = {INT64_DELTA, DATA_RLE, HORA, DICIONARIO_RLE,
+            INT64_DELTA, DICIONARIO_RLE, DICIONARIO_RLE, DICIONARIO_RLE, DICIONARIO_RLE};
+    private static final int TEXTOS = 5;
+
+    private final OutputStream out;
+    private final int linhasPorGrupo;
+
+    private final long[] ids;
+    private final int[] dias;
+    private final int[] horas;
+    private final long[] pessoaIds;
+    private final String[][] textos;
+    private final List<Map<String, Integer>> dicionarios = new ArrayList<>();
+    private final int[] indicesNulos = new int[TEXTOS];
+    private int linhas;
+    private long totalLinhas;
+
+    public EscritorColunar(OutputStream out, int linhasPorGrupo) throws IOException {
+        this.out = out;
+        this.linhasPorGrupo = linhasPorGrupo;
+        this.ids = new long[linhasPorGrupo];
+        this.dias = new int[linhasPorGrupo];
+        this.horas = new int[linhasPorGrupo];
+        this.pessoaIds = new long[linhasPorGrupo];
+        this.textos = new String[TEXTOS][linhasPorGrupo];
+        for (int coluna = 0; coluna < TEXTOS; coluna++) {
+            dicionarios.add(new HashMap<>());
+            indicesNulos[coluna] = -1;
+        }
+
+        // Cabeçalho com o esquema
+        out.write(MAGIC);
+        ByteArrayOutputStream cabecalho = new ByteArrayOutputStream();
+        escreverVarint(cabecalho, NOMES.length);
+        for (int i = 0; i < NOMES.length; i++) {
+            escreverTexto(cabecalho, NOMES[i]);
+            cabecalho.write(CODIFICACOES[i]);
+        }
+        cabecalho.writeTo(out);
+    }
+
+    /**
+     * Adicionar uma linha; o grupo é gravado ao completar
+     */
+    public void adicionar(long id, LocalDate data, LocalTime hora, String tipoValidacao, long pessoaId,
+                          String numeroProcesso, String vara, String comarca, String validadoPor) throws IOException {
+        ids[linhas] = id;
+        dias[linhas] = (int) data.toEpochDay();
+        horas[linhas] = hora != null ? hora.toSecondOfDay() + 1 : 0;
+        pessoaIds[linhas] = pessoaId;
+        textos[0][linhas] = tipoValidacao;
+        textos[1][linhas] = numeroProcesso;
+        textos[2][linhas] = vara;
+        textos[3][linhas] = comarca;
+        textos[4][linhas] = validadoPor;
+
+        if (++linhas == linhasPorGrupo) {
+            gravarGrupo();
+        }
+    }
+
+    /**
+     * Gravar o grupo pendente e o rodapé (total de linhas)
+     */
+    public void finalizar() throws IOException {
+        if (linhas > 0) {
+            gravarGrupo();
+        }
+        ByteArrayOutputStream rodape = new ByteArrayOutputStream();
+        escreverVarint(rodape, 0);
+        escreverVarint(rodape, totalLinhas);
+        rodape.write(MAGIC);
+        rodape.writeTo(out);
+        out.flush();
+    }
+
+    public long getTotalLinhas() {
+        return totalLinhas;
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void gravarGrupo() throws IOException {
+        ByteArrayOutputStream grupo = new ByteArrayOutputStream();
+        escreverVarint(grupo, linhas);
+
+        escreverBloco(grupo, codificarDelta(ids));
+        escreverBloco(grupo, codificarDatas());
+        escreverBloco(grupo, codificarHoras());
+        escreverBloco(grupo, codificarDicionario(0));
+        escreverBloco(grupo, codificarDelta(pessoaIds));
+        for (int coluna = 1; coluna < TEXTOS; coluna++) {
+            escreverBloco(grupo, codificarDicionario(coluna));
+        }
+
+        grupo.writeTo(out);
+        out.flush();
+        totalLinhas += linhas;
+        linhas = 0;
+    }
+
+    private ByteArrayOutputStream codificarDelta(long[] valores) {
+        ByteArrayOutputStream bloco = new ByteArrayOutputStream();
+        long anterior = 0;
+        for (int i = 0; i < linhas; i++) {
+            escreverVarint(bloco, zigzag(valores[i] - anterior));
+            anterior = valores[i];
+        }
+        return bloco;
+    }
+
+    private ByteArrayOutputStream codificarDatas() {
+        // Exportação ordenada por data: poucas sequências por grupo
+        ByteArrayOutputStream bloco = new ByteArrayOutputStream();
+        long anterior = 0;
+        int inicio = 0;
+        for (int i = 1; i <= linhas; i++) {
+            if (i == linhas || dias[i] != dias[inicio]) {
+                escreverVarint(bloco, zigzag(dias[inicio] - anterior));
+                escreverVarint(bloco, i - inicio);
+                anterior = dias[inicio];
+                inicio = i;
+            }
+        }
+        return bloco;
+    }
+
+    private ByteArrayOutputStream codificarHoras() {
+        ByteArrayOutputStream bloco = new ByteArrayOutputStream();
+        for (int i = 0; i < linhas; i++) {
+            escreverVarint(bloco, horas[i]);
+        }
+        return bloco;
+    }
+
+    private ByteArrayOutputStream codificarDicionario(int coluna) {
+        // 1. Índices no dicionário da coluna, registrando as entradas novas (nulo também é uma entrada)
+        String[] valores = textos[coluna];
+        Map<String, Integer> indices = dicionarios.get(coluna);
+        int tamanhoAnterior = indices.size() + (indicesNulos[coluna] >= 0 ? 1 : 0);
+        List<String> novas = new ArrayList<>();
+        int[] codigos = new int[linhas];
+        for (int i = 0; i < linhas; i++) {
+            String valor = valores[i];
+            if (valor == null) {
+                if (indicesNulos[coluna] < 0) {
+                    indicesNulos[coluna] = tamanhoAnterior + novas.size();
+                    novas.add(null);
+                }
+                codigos[i] = indicesNulos[coluna];
+                continue;
+            }
+            Integer indice = indices.get(valor);
+            if (indice == null) {
+                indice = tamanhoAnterior + novas.size();
+                novas.add(valor);
+                indices.put(valor, indice);
+            }
+            codigos[i] = indice;
+        }
+
+        ByteArrayOutputStream bloco = new ByteArrayOutputStream();
+        escreverVarint(bloco, novas.size());
+        for (String entrada : novas) {
+            escreverTexto(bloco, entrada);
+        }
+
+        // 2. Índices em sequências (índice, repetições)
+        int inicio = 0;
+        for (int i = 1; i <= linhas; i++) {
+            if (i == linhas || codigos[i] != codigos[inicio]) {
+                escreverVarint(bloco, codigos[inicio]);
+                escreverVarint(bloco, i - inicio);
+                inicio = i;
+            }
+        }
+        return bloco;
+    }
+
+    private static void escreverBloco(ByteArrayOutputStream grupo, ByteArrayOutputStream bloco) {
+        escreverVarint(grupo, bloco.size());
+        grupo.writeBytes(bloco.toByteArray());
+    }
+
+    private static void escreverTexto(ByteArrayOutputStream out, String texto) {
+        if (texto == null) {
+            escreverVarint(out, 0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarint(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void escreverVarint(ByteArrayOutputStream out, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            out.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        out.write((int) valor);
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+}
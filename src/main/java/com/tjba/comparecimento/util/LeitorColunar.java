@@ -0,0 +1,251 @@
+package com.tjba.comparecimento.util;
+
+import com.tjba.comparecimento.dto.response.LinhaExportacaoComparecimento;
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor do formato colunar binário de comparecimentos gravado por {@link EscritorColunar}.
+ * Lê um grupo de linhas por vez; cada coluna é decodificada pela codificação declarada no cabeçalho, então
+ * arquivos com colunas em outra ordem também são lidos. Arquivos truncados (sem o rodapé) ou com total de linhas
+ * divergente são rejeitados com IOException, o que distingue uma exportação interrompida de uma completa.
+ * Não é thread-safe.
+ */
+public final class LeitorColunar {
+
+    /**
+     * Coluna declarada no cabeçalho
+     */
+    public record Coluna(String nome, byte codificacao) {
+    }
+
+    private final DataInputStream in;
+    private final List<Coluna> colunas = new ArrayList<>();
+    private final Map<String, Integer> posicoes = new HashMap<>();
+    private final List<List<String>> dicionarios = new ArrayList<>();
+    private long totalLinhas;
+    private boolean finalizado;
+
+    public LeitorColunar(InputStream in) throws IOException {
+        this.in = new DataInputStream(in);
+
+        // Cabeçalho com o esquema
+        verificarMagic();
+        long quantidade = lerVarint(this.in);
+        for (int i = 0; i < quantidade; i++) {
+            String nome = lerTexto(this.in);
+            byte codificacao = this.in.readByte();
+            if (codificacao < EscritorColunar.INT64_DELTA || codificacao > EscritorColunar.DICIONARIO_RLE) {
+                throw new IOException("Codificação desconhecida na coluna " + nome + ": " + codificacao);
+            }
+            posicoes.put(nome, i);
+            colunas.add(new Coluna(nome, codificacao));
+            dicionarios.add(new ArrayList<>());
+        }
+    }
+
+    public List<Coluna> getColunas() {
+        return List.copyOf(colunas);
+    }
+
+    /**
+     * Ler o próximo grupo de linhas; retorna null ao chegar ao rodapé (total de linhas conferido)
+     */
+    public List<LinhaExportacaoComparecimento> proximoGrupo() throws IOException {
+        if (finalizado) {
+            return null;
+        }
+
+        long linhas = lerVarint(in);
+        if (linhas == 0) {
+            verificarRodape();
+            return null;
+        }
+
+        // 1. Decodificar cada bloco de coluna
+        int quantidade = Math.toIntExact(linhas);
+        Object[] valores = new Object[colunas.size()];
+        for (int coluna = 0; coluna < colunas.size(); coluna++) {
+            byte[] bloco = new byte[Math.toIntExact(lerVarint(in))];
+            in.readFully(bloco);
+            DataInputStream dados = new DataInputStream(new ByteArrayInputStream(bloco));
+            valores[coluna] = switch (colunas.get(coluna).codificacao()) {
+                case EscritorColunar.INT64_DELTA -> decodificarDelta(dados, quantidade);
+                case EscritorColunar.DATA_RLE -> decodificarDatas(dados, quantidade);
+                case EscritorColunar.HORA -> decodificarHoras(dados, quantidade);
+                default -> decodificarDicionario(dados, quantidade, dicionarios.get(coluna));
+            };
+            if (dados.available() > 0) {
+                throw new IOException("Bloco da coluna " + colunas.get(coluna).nome() + " com bytes excedentes");
+            }
+        }
+
+        // 2. Montar as linhas
+        long[] ids = coluna(valores, "id", long[].class);
+        LocalDate[] datas = coluna(valores, "data_comparecimento", LocalDate[].class);
+        LocalTime[] horas = coluna(valores, "hora_comparecimento", LocalTime[].class);
+        String[] tipos = coluna(valores, "tipo_validacao", String[].class);
+        long[] pessoaIds = coluna(valores, "pessoa_id", long[].class);
+        String[] processos = coluna(valores, "numero_processo", String[].class);
+        String[] varas = coluna(valores, "vara", String[].class);
+        String[] comarcas = coluna(valores, "comarca", String[].class);
+        String[] validadores = coluna(valores, "validado_por", String[].class);
+
+        List<LinhaExportacaoComparecimento> grupo = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            grupo.add(new LinhaExportacaoComparecimento(ids[i], datas[i], horas[i],
+                    tipos[i] != null ? TipoValidacao.valueOf(tipos[i]) : null, validadores[i], pessoaIds[i],
+                    processos[i], varas[i], comarcas[i]));
+        }
+        totalLinhas += quantidade;
+        return grupo;
+    }
+
+    /**
+     * Ler todas as linhas restantes do arquivo
+     */
+    public List<LinhaExportacaoComparecimento> lerTodas() throws IOException {
+        List<LinhaExportacaoComparecimento> linhas = new ArrayList<>();
+        List<LinhaExportacaoComparecimento> grupo;
+        while ((grupo = proximoGrupo()) != null) {
+            linhas.addAll(grupo);
+        }
+        return linhas;
+    }
+
+    public long getTotalLinhas() {
+        return totalLinhas;
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private <T> T coluna(Object[] valores, String nome, Class<T> tipo) throws IOException {
+        Integer posicao = posicoes.get(nome);
+        if (posicao == null || !tipo.isInstance(valores[posicao])) {
+            throw new IOException("Coluna ausente ou com codificação incompatível: " + nome);
+        }
+        return tipo.cast(valores[posicao]);
+    }
+
+    private static long[] decodificarDelta(DataInputStream dados, int quantidade) throws IOException {
+        long[] valores = new long[quantidade];
+        long anterior = 0;
+        for (int i = 0; i < quantidade; i++) {
+            anterior += dezigzag(lerVarint(dados));
+            valores[i] = anterior;
+        }
+        return valores;
+    }
+
+    private static LocalDate[] decodificarDatas(DataInputStream dados, int quantidade) throws IOException {
+        LocalDate[] valores = new LocalDate[quantidade];
+        long dia = 0;
+        int posicao = 0;
+        while (posicao < quantidade) {
+            dia += dezigzag(lerVarint(dados));
+            int repeticoes = repeticoes(dados, posicao, quantidade);
+            Arrays.fill(valores, posicao, posicao + repeticoes, LocalDate.ofEpochDay(dia));
+            posicao += repeticoes;
+        }
+        return valores;
+    }
+
+    private static LocalTime[] decodificarHoras(DataInputStream dados, int quantidade) throws IOException {
+        LocalTime[] valores = new LocalTime[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            long segundos = lerVarint(dados);
+            valores[i] = segundos == 0 ? null : LocalTime.ofSecondOfDay(segundos - 1);
+        }
+        return valores;
+    }
+
+    private static String[] decodificarDicionario(DataInputStream dados, int quantidade, List<String> dicionario)
+            throws IOException {
+        // 1. Entradas novas do grupo (acumuladas ao dicionário da coluna)
+        long novas = lerVarint(dados);
+        for (long i = 0; i < novas; i++) {
+            dicionario.add(lerTexto(dados));
+        }
+
+        // 2. Sequências (índice, repetições)
+        String[] valores = new String[quantidade];
+        int posicao = 0;
+        while (posicao < quantidade) {
+            long indice = lerVarint(dados);
+            if (indice >= dicionario.size()) {
+                throw new IOException("Índice de dicionário inválido: " + indice);
+            }
+            int repeticoes = repeticoes(dados, posicao, quantidade);
+            Arrays.fill(valores, posicao, posicao + repeticoes, dicionario.get((int) indice));
+            posicao += repeticoes;
+        }
+        return valores;
+    }
+
+    private static int repeticoes(DataInputStream dados, int posicao, int quantidade) throws IOException {
+        long repeticoes = lerVarint(dados);
+        if (repeticoes <= 0 || repeticoes > quantidade - posicao) {
+            throw new IOException("Sequência com repetições inválidas: " + repeticoes);
+        }
+        return (int) repeticoes;
+    }
+
+    private void verificarRodape() throws IOException {
+        long total = lerVarint(in);
+        verificarMagic();
+        if (total != totalLinhas) {
+            throw new IOException("Total de linhas do rodapé (" + total + ") difere das linhas lidas (" + totalLinhas + ")");
+        }
+        finalizado = true;
+    }
+
+    private void verificarMagic() throws IOException {
+        byte[] magic = new byte[EscritorColunar.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, EscritorColunar.MAGIC)) {
+            throw new IOException("Arquivo não está no formato colunar de comparecimentos");
+        }
+    }
+
+    private static String lerTexto(DataInputStream in) throws IOException {
+        long tamanho = lerVarint(in);
+        if (tamanho == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.toIntExact(tamanho - 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long lerVarint(DataInputStream in) throws IOException {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Arquivo colunar truncado");
+            }
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint inválido");
+    }
+
+    private static long dezigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.tjba.comparecimento.util;
+
+/**
+ * Limite de taxa (mensagens por segundo) com rajada: cada reserva recebe o próximo instante livre e a espera
+ * até ele. Permite até {@code rajada} reservas imediatas após um período ocioso. Thread-safe.
+ * Taxa zero ou negativa desativa o limite.
+ */
+public final class LimiteTaxa {
+
+    private final long intervaloNanos;
+    private final long rajadaNanos;
+    private long proximoLivre = Long.MIN_VALUE;
+
+    public LimiteTaxa(double porSegundo, int rajada) {
+        this.intervaloNanos = porSegundo > 0 ? (long) (1_000_000_000L / porSegundo) : 0L;
+        this.rajadaNanos = Math.max(0, rajada - 1) * intervaloNanos;
+    }
+
+    /**
+     * Reservar uma passagem; retorna a espera necessária em nanossegundos (0 = imediata)
+     */
+    public long reservar() {
+        if (intervaloNanos == 0) {
+            return 0L;
+        }
+
+        long agora = System.nanoTime();
+        synchronized (this) {
+            long livre = proximoLivre == Long.MIN_VALUE
+                    ? agora - rajadaNanos
+                    : Math.max(proximoLivre, agora - rajadaNanos);
+            proximoLivre = livre + intervaloNanos;
+            return Math.max(0L, livre - agora);
+        }
+    }
+
+    /**
+     * Reservar e aguardar a passagem; retorna a espera em nanossegundos
+     */
+    public long aguardar() throws InterruptedException {
+        long espera = reservar();
+        if (espera > 0) {
+            Thread.sleep(espera / 1_000_000L, (int) (espera % 1_000_000L));
+        }
+        return espera;
+    }
+}
@@ -0,0 +1,151 @@
+package com.tjba.comparecimento.util;
+
+/**
+ * Tabela hash de endereçamento aberto (sondagem linear) com chaves long e valores int primitivos:
+ * sem objeto por entrada nem boxing. Não é thread-safe; publique cópias ({@link #copia()}) para leitura concorrente.
+ */
+public final class MapaLongInt {
+
+    public static final int AUSENTE = -1;
+
+    private static final long LIVRE = 0L;
+    private static final int CAPACIDADE_MINIMA = 8;
+
+    private long[] chaves;
+    private int[] valores;
+    private int mascara;
+    private int tamanho;
+
+    // A chave 0 marca posição livre: seu valor é guardado à parte
+    private boolean possuiZero;
+    private int valorZero;
+
+    public MapaLongInt(int capacidadeEsperada) {
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_MINIMA, capacidadeEsperada * 2) - 1) << 1;
+        this.chaves = new long[capacidade];
+        this.valores = new int[capacidade];
+        this.mascara = capacidade - 1;
+    }
+
+    private MapaLongInt(MapaLongInt origem) {
+        this.chaves = origem.chaves.clone();
+        this.valores = origem.valores.clone();
+        this.mascara = origem.mascara;
+        this.tamanho = origem.tamanho;
+        this.possuiZero = origem.possuiZero;
+        this.valorZero = origem.valorZero;
+    }
+
+    /**
+     * Valor associado à chave ou {@link #AUSENTE}
+     */
+    public int get(long chave) {
+        if (chave == LIVRE) {
+            return possuiZero ? valorZero : AUSENTE;
+        }
+
+        for (int i = posicao(chave, mascara); ; i = (i + 1) & mascara) {
+            long atual = chaves[i];
+            if (atual == chave) {
+                return valores[i];
+            }
+            if (atual == LIVRE) {
+                return AUSENTE;
+            }
+        }
+    }
+
+    public void put(long chave, int valor) {
+        if (chave == LIVRE) {
+            if (!possuiZero) {
+                tamanho++;
+            }
+            possuiZero = true;
+            valorZero = valor;
+            return;
+        }
+
+        // Fator de carga máximo de 1/2: sondagens curtas e sempre há posição livre
+        if ((tamanho + 1) * 2 > chaves.length) {
+            redimensionar(chaves.length * 2);
+        }
+
+        int i = posicao(chave, mascara);
+        while (chaves[i] != LIVRE && chaves[i] != chave) {
+            i = (i + 1) & mascara;
+        }
+        if (chaves[i] == LIVRE) {
+            tamanho++;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+    }
+
+    public void remove(long chave) {
+        if (chave == LIVRE) {
+            if (possuiZero) {
+                tamanho--;
+            }
+            possuiZero = false;
+            return;
+        }
+
+        int i = posicao(chave, mascara);
+        while (chaves[i] != chave) {
+            if (chaves[i] == LIVRE) {
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        tamanho--;
+
+        // Remoção com deslocamento: recua as entradas seguintes da sequência (sem marcadores de remoção)
+        for (int j = (i + 1) & mascara; chaves[j] != LIVRE; j = (j + 1) & mascara) {
+            int ideal = posicao(chaves[j], mascara);
+            boolean permanece = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+            if (!permanece) {
+                chaves[i] = chaves[j];
+                valores[i] = valores[j];
+                i = j;
+            }
+        }
+        chaves[i] = LIVRE;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public MapaLongInt copia() {
+        return new MapaLongInt(this);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private void redimensionar(int capacidade) {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+
+        chaves = new long[capacidade];
+        valores = new int[capacidade];
+        mascara = capacidade - 1;
+
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            long chave = chavesAntigas[i];
+            if (chave != LIVRE) {
+                int j = posicao(chave, mascara);
+                while (chaves[j] != LIVRE) {
+                    j = (j + 1) & mascara;
+                }
+                chaves[j] = chave;
+                valores[j] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private static int posicao(long chave, int mascara) {
+        // Espalhamento multiplicativo: CPFs próximos não caem em posições consecutivas
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
@@ -0,0 +1,235 @@
+package com.tjba.comparecimento.util;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Roda de tempo por dia: um balde de IDs (long primitivos) para cada dia do horizonte a partir de hoje,
+ * um balde de vencidos (antes de hoje) e um balde de transbordo (depois do horizonte).
+ * Contar ou listar um intervalo percorre apenas os baldes dos dias do intervalo. Ao virar o dia, o balde
+ * de ontem passa para os vencidos e o transbordo que entrou no horizonte desce para o balde do seu dia.
+ * Cada pessoa está em um único balde; inclusão, remoção e mudança de dia são O(1).
+ * Não é thread-safe.
+ */
+public final class RodaDias {
+
+    private final int horizonte;
+    private final Balde[] dias;
+    private final Balde vencidos = new Balde();
+    private final Balde transbordo = new Balde();
+
+    // Dia (epoch day) do primeiro balde da roda, ou seja, "hoje"
+    private long inicio;
+
+    private final MapaLongInt diaPorPessoa;
+    private final MapaLongInt posicaoPorPessoa;
+
+    public RodaDias(LocalDate hoje, int horizonte, int capacidadeEsperada) {
+        this.horizonte = horizonte;
+        this.dias = new Balde[horizonte];
+        for (int i = 0; i < horizonte; i++) {
+            dias[i] = new Balde();
+        }
+        this.inicio = hoje.toEpochDay();
+        this.diaPorPessoa = new MapaLongInt(capacidadeEsperada);
+        this.posicaoPorPessoa = new MapaLongInt(capacidadeEsperada);
+    }
+
+    public LocalDate getHoje() {
+        return LocalDate.ofEpochDay(inicio);
+    }
+
+    public int tamanho() {
+        return diaPorPessoa.tamanho();
+    }
+
+    /**
+     * Definir o dia da pessoa (nulo = remover)
+     */
+    public void definir(long pessoaId, LocalDate data) {
+        remover(pessoaId);
+        if (data == null) {
+            return;
+        }
+
+        int dia = (int) data.toEpochDay();
+        diaPorPessoa.put(pessoaId, dia);
+        posicaoPorPessoa.put(pessoaId, balde(dia).incluir(pessoaId));
+    }
+
+    public void remover(long pessoaId) {
+        int dia = diaPorPessoa.get(pessoaId);
+        if (dia == MapaLongInt.AUSENTE) {
+            return;
+        }
+
+        Balde balde = balde(dia);
+        long movida = balde.removerEm(posicaoPorPessoa.get(pessoaId));
+        if (movida != pessoaId) {
+            posicaoPorPessoa.put(movida, posicaoPorPessoa.get(pessoaId));
+        }
+        diaPorPessoa.remove(pessoaId);
+        posicaoPorPessoa.remove(pessoaId);
+    }
+
+    /**
+     * Avançar a roda até o dia informado
+     */
+    public void avancar(LocalDate hoje) {
+        long alvo = hoje.toEpochDay();
+        if (alvo <= inicio) {
+            return;
+        }
+
+        // 1. Baldes dos dias que passaram vão para os vencidos (no máximo uma volta completa)
+        for (long dia = inicio; dia < alvo && dia < inicio + horizonte; dia++) {
+            Balde balde = dias[slot(dia)];
+            for (int i = 0; i < balde.tamanho; i++) {
+                posicaoPorPessoa.put(balde.ids[i], vencidos.incluir(balde.ids[i]));
+            }
+            balde.limpar();
+        }
+        inicio = alvo;
+
+        // 2. Transbordo que passou a caber no horizonte (ou já vencido) desce para o balde do dia
+        for (int i = transbordo.tamanho - 1; i >= 0; i--) {
+            long pessoaId = transbordo.ids[i];
+            int dia = diaPorPessoa.get(pessoaId);
+            if (dia < inicio + horizonte) {
+                long movida = transbordo.removerEm(i);
+                if (movida != pessoaId) {
+                    posicaoPorPessoa.put(movida, i);
+                }
+                posicaoPorPessoa.put(pessoaId, balde(dia).incluir(pessoaId));
+            }
+        }
+    }
+
+    /**
+     * Contar pessoas com dia entre as datas (inclusive)
+     */
+    public long contar(LocalDate de, LocalDate ate) {
+        long primeiro = de.toEpochDay();
+        long ultimo = ate.toEpochDay();
+        long total = 0;
+
+        if (primeiro < inicio) {
+            total += contarFiltrando(vencidos, primeiro, ultimo);
+        }
+        for (long dia = Math.max(primeiro, inicio); dia <= Math.min(ultimo, inicio + horizonte - 1); dia++) {
+            total += dias[slot(dia)].tamanho;
+        }
+        if (ultimo >= inicio + horizonte) {
+            total += contarFiltrando(transbordo, primeiro, ultimo);
+        }
+        return total;
+    }
+
+    /**
+     * Contar pessoas com dia anterior a hoje
+     */
+    public long contarVencidos() {
+        return vencidos.tamanho;
+    }
+
+    /**
+     * IDs das pessoas com dia entre as datas (inclusive), em ordem de dia
+     */
+    public long[] listar(LocalDate de, LocalDate ate) {
+        long primeiro = de.toEpochDay();
+        long ultimo = ate.toEpochDay();
+        long[] resultado = new long[(int) Math.min(Integer.MAX_VALUE - 8, contar(de, ate))];
+        int quantidade = 0;
+
+        if (primeiro < inicio) {
+            quantidade = copiarFiltrando(vencidos, primeiro, ultimo, resultado, quantidade);
+        }
+        for (long dia = Math.max(primeiro, inicio); dia <= Math.min(ultimo, inicio + horizonte - 1); dia++) {
+            Balde balde = dias[slot(dia)];
+            System.arraycopy(balde.ids, 0, resultado, quantidade, balde.tamanho);
+            quantidade += balde.tamanho;
+        }
+        if (ultimo >= inicio + horizonte) {
+            quantidade = copiarFiltrando(transbordo, primeiro, ultimo, resultado, quantidade);
+        }
+        return quantidade == resultado.length ? resultado : Arrays.copyOf(resultado, quantidade);
+    }
+
+    /**
+     * IDs das pessoas com dia anterior a hoje
+     */
+    public long[] listarVencidos() {
+        return Arrays.copyOf(vencidos.ids, vencidos.tamanho);
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private Balde balde(long dia) {
+        if (dia < inicio) {
+            return vencidos;
+        }
+        return dia < inicio + horizonte ? dias[slot(dia)] : transbordo;
+    }
+
+    private int slot(long dia) {
+        return (int) Math.floorMod(dia, (long) horizonte);
+    }
+
+    private long contarFiltrando(Balde balde, long primeiro, long ultimo) {
+        long total = 0;
+        for (int i = 0; i < balde.tamanho; i++) {
+            int dia = diaPorPessoa.get(balde.ids[i]);
+            if (dia >= primeiro && dia <= ultimo) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private int copiarFiltrando(Balde balde, long primeiro, long ultimo, long[] destino, int quantidade) {
+        for (int i = 0; i < balde.tamanho; i++) {
+            int dia = diaPorPessoa.get(balde.ids[i]);
+            if (dia >= primeiro && dia <= ultimo) {
+                destino[quantidade++] = balde.ids[i];
+            }
+        }
+        return quantidade;
+    }
+
+    /**
+     * Vetor de IDs sem lacunas: a remoção move o último ID para a posição liberada
+     */
+    private static final class Balde {
+
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        int incluir(long pessoaId) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1) + 1);
+            }
+            ids[tamanho] = pessoaId;
+            return tamanho++;
+        }
+
+        /**
+         * Remover a posição; retorna o ID que passou a ocupá-la (o próprio removido se era o último)
+         */
+        long removerEm(int posicao) {
+            long removida = ids[posicao];
+            int ultima = --tamanho;
+            if (posicao != ultima) {
+                ids[posicao] = ids[ultima];
+                return ids[posicao];
+            }
+            return removida;
+        }
+
+        void limpar() {
+            tamanho = 0;
+            if (ids.length > 1024) {
+                ids = new long[4];
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.dto.request.RegistrarComparecimentoPresencialRequest;
+import com.tjba.comparecimento.dto.response.ComparecimentoResponse;
+import com.tjba.comparecimento.entity.FeriadoForense;
+import com.tjba.comparecimento.entity.HistoricoComparecimento;
+import com.tjba.comparecimento.entity.PessoaMonitorada;
+import com.tjba.comparecimento.entity.ProcessoJudicial;
+import com.tjba.comparecimento.entity.RegimeComparecimento;
+import com.tjba.comparecimento.entity.enums.StatusComparecimento;
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import com.tjba.comparecimento.exception.BusinessException;
+import com.tjba.comparecimento.exception.ResourceNotFoundException;
+import com.tjba.comparecimento.repository.FeriadoForenseRepository;
+import com.tjba.comparecimento.repository.HistoricoComparecimentoRepository;
+import com.tjba.comparecimento.repository.PessoaMonitoradaRepository;
+import com.tjba.comparecimento.repository.ProcessoJudicialRepository;
+import com.tjba.comparecimento.repository.RegimeComparecimentoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o registro presencial em comando único (CTE) com o fluxo anterior via entidades JPA:
+ * histórico, regime e status resultantes devem ser iguais. Os vencimentos são conferidos com datas literais
+ * (fim de semana, São João de Salvador e recesso forense), com o calendário montado por um relógio fixo em 2025.
+ * Requer o banco configurado para a aplicação; cada teste é desfeito ao final.
+ */
+@SpringBootTest
+@Transactional
+class ComparecimentoServiceIntegrationTest {
+
+    private static final int PERIODICIDADE_DIAS = 30;
+
+    @TestConfiguration
+    static class RelogioFixo {
+
+        @Bean
+        @Primary
+        Clock relogioFixo() {
+            return Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneId.of("America/Bahia"));
+        }
+    }
+
+    @Autowired
+    private ComparecimentoService comparecimentoService;
+
+    @Autowired
+    private PessoaMonitoradaRepository pessoaRepository;
+
+    @Autowired
+    private RegimeComparecimentoRepository regimeRepository;
+
+    @Autowired
+    private HistoricoComparecimentoRepository historicoRepository;
+
+    @Autowired
+    private ProcessoJudicialRepository processoRepository;
+
+    @Autowired
+    private FeriadoForenseRepository feriadoRepository;
+
+    @Autowired
+    private CalendarioForenseService calendarioForense;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void registrarPresencialProduzMesmoEstadoQueFluxoJpa() {
+        PessoaMonitorada pessoaJpa = criarPessoaInadimplente();
+        PessoaMonitorada pessoaCte = criarPessoaInadimplente();
+
+        registrarViaJpa(pessoaJpa.getId(), "Servidor Teste", "Comparecimento regular");
+        ComparecimentoResponse response = comparecimentoService.registrarPresencial(
+                request(pessoaCte.getId(), "Servidor Teste", "Comparecimento regular"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Resposta
+        assertEquals(TipoValidacao.PRESENCIAL, response.getTipoValidacao());
+
+        // Estado persistido
+        PessoaMonitorada esperada = pessoaRepository.findById(pessoaJpa.getId()).orElseThrow();
+        PessoaMonitorada obtida = pessoaRepository.findById(pessoaCte.getId()).orElseThrow();
+        assertEquals(StatusComparecimento.EM_CONFORMIDADE, obtida.getStatus());
+        assertEquals(esperada.getStatus(), obtida.getStatus());
+        assertEquals(esperada.getVersion(), obtida.getVersion());
+        assertEquals(esperada.getRegimeComparecimento().getProximoComparecimento(),
+                obtida.getRegimeComparecimento().getProximoComparecimento());
+        assertEquals(response.getProximoComparecimento(), obtida.getRegimeComparecimento().getProximoComparecimento());
+
+        HistoricoComparecimento historicoEsperado = unicoHistorico(pessoaJpa.getId());
+        HistoricoComparecimento historicoObtido = unicoHistorico(pessoaCte.getId());
+        assertEquals(response.getId(), historicoObtido.getId());
+        assertEquals(historicoEsperado.getDataComparecimento(), historicoObtido.getDataComparecimento());
+        assertEquals(historicoEsperado.getTipoValidacao(), historicoObtido.getTipoValidacao());
+        assertEquals(historicoEsperado.getValidadoPor(), historicoObtido.getValidadoPor());
+        assertEquals(historicoEsperado.getObservacoes(), historicoObtido.getObservacoes());
+        assertNotNull(historicoObtido.getCriadoEm());
+    }
+
+    @Test
+    void vencimentoNoSabadoPassaParaSegunda() {
+        // 06/02/2025 (quinta) + 30 dias = 08/03/2025 (sábado)
+        PessoaMonitorada pessoa = criarPessoa("Salvador", PERIODICIDADE_DIAS);
+
+        assertVencimento(pessoa, LocalDate.of(2025, 2, 6), LocalDate.of(2025, 3, 10));
+    }
+
+    @Test
+    void vencimentoNoSaoJoaoPassaParaODiaSeguinteApenasEmSalvador() {
+        // 17/06/2025 (terça) + 7 dias = 24/06/2025 (terça), feriado municipal de Salvador
+        feriadoRepository.save(new FeriadoForense(LocalDate.of(2025, 6, 24), LocalDate.of(2025, 6, 24),
+                "São João", "Salvador", true));
+        entityManager.flush();
+        calendarioForense.recarregar();
+
+        PessoaMonitorada salvador = criarPessoa("Salvador", 7);
+        PessoaMonitorada feira = criarPessoa("Feira de Santana", 7);
+
+        assertVencimento(salvador, LocalDate.of(2025, 6, 17), LocalDate.of(2025, 6, 25));
+        assertVencimento(feira, LocalDate.of(2025, 6, 17), LocalDate.of(2025, 6, 24));
+    }
+
+    @Test
+    void vencimentoNoRecessoPassaParaOPrimeiroDiaUtilDeJaneiro() {
+        // 01/12/2025 + 30 dias = 31/12/2025, no recesso forense (20/12 a 06/01)
+        PessoaMonitorada pessoa = criarPessoa("Salvador", PERIODICIDADE_DIAS);
+
+        assertVencimento(pessoa, LocalDate.of(2025, 12, 1), LocalDate.of(2026, 1, 7));
+    }
+
+    @Test
+    void registrarPresencialRejeitaSegundoComparecimentoNoDia() {
+        PessoaMonitorada pessoa = criarPessoaInadimplente();
+        comparecimentoService.registrarPresencial(request(pessoa.getId(), "Servidor Teste", null));
+
+        BusinessException erro = assertThrows(BusinessException.class,
+                () -> comparecimentoService.registrarPresencial(request(pessoa.getId(), "Servidor Teste", null)));
+        assertTrue(erro.getMessage().startsWith("Já existe um comparecimento registrado"));
+    }
+
+    @Test
+    void registrarPresencialInformaPessoaInexistente() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> comparecimentoService.registrarPresencial(request(-1L, "Servidor Teste", null)));
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    // Fluxo anterior: histórico e regime gravados como entidades (status calculado pela data)
+    private void registrarViaJpa(Long pessoaId, String validadoPor, String observacoes) {
+        PessoaMonitorada pessoa = pessoaRepository.findById(pessoaId).orElseThrow();
+
+        HistoricoComparecimento historico = new HistoricoComparecimento();
+        historico.setPessoaMonitorada(pessoa);
+        historico.setDataComparecimento(LocalDate.now());
+        historico.setHoraComparecimento(LocalTime.now());
+        historico.setTipoValidacao(TipoValidacao.PRESENCIAL);
+        historico.setValidadoPor(validadoPor);
+        historico.setObservacoes(observacoes);
+        historicoRepository.save(historico);
+
+        RegimeComparecimento regime = pessoa.getRegimeComparecimento();
+        regime.setProximoComparecimento(
+                calendarioForense.calcularVencimento(null, LocalDate.now(), regime.getPeriodicidadeDias()));
+        regimeRepository.save(regime);
+    }
+
+    private void assertVencimento(PessoaMonitorada pessoa, LocalDate dataComparecimento, LocalDate esperado) {
+        ComparecimentoResponse response = comparecimentoService.registrarPresencialOcorridoEm(
+                request(pessoa.getId(), "Servidor Teste", null), null, dataComparecimento.atTime(10, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(esperado, response.getProximoComparecimento());
+        assertEquals(esperado, regimeRepository.findByPessoaMonitoradaId(pessoa.getId()).orElseThrow()
+                .getProximoComparecimento());
+    }
+
+    private PessoaMonitorada criarPessoa(String comarca, int periodicidadeDias) {
+        PessoaMonitorada pessoa = new PessoaMonitorada("Pessoa de Teste", "(71) 99999-0000");
+        pessoa.setRg(String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)));
+        pessoa = pessoaRepository.save(pessoa);
+
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        ProcessoJudicial processo = new ProcessoJudicial(
+                String.format("%07d-%02d.2025.8.05.%04d", aleatorio.nextInt(10_000_000), aleatorio.nextInt(100),
+                        aleatorio.nextInt(10_000)),
+                "1ª Vara Criminal", comarca, LocalDate.of(2025, 1, 2));
+        processo.setPessoaMonitorada(pessoa);
+        processoRepository.save(processo);
+
+        RegimeComparecimento regime = new RegimeComparecimento(periodicidadeDias, LocalDate.of(2025, 1, 6));
+        regime.setPessoaMonitorada(pessoa);
+        regimeRepository.save(regime);
+
+        entityManager.flush();
+        entityManager.clear();
+        return pessoa;
+    }
+
+    private PessoaMonitorada criarPessoaInadimplente() {
+        PessoaMonitorada pessoa = new PessoaMonitorada("Pessoa de Teste", "(71) 99999-0000");
+        pessoa.setRg(String.valueOf(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)));
+        pessoa = pessoaRepository.save(pessoa);
+
+        RegimeComparecimento regime = new RegimeComparecimento(PERIODICIDADE_DIAS, LocalDate.now().minusDays(40));
+        regime.setPessoaMonitorada(pessoa);
+        regimeRepository.save(regime);
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(StatusComparecimento.INADIMPLENTE,
+                pessoaRepository.findById(pessoa.getId()).orElseThrow().getStatus());
+        return pessoa;
+    }
+
+    private HistoricoComparecimento unicoHistorico(Long pessoaId) {
+        List<HistoricoComparecimento> historicos = historicoRepository.findByPessoaMonitoradaIdOrderByDataComparecimentoDesc(pessoaId);
+        assertEquals(1, historicos.size());
+        return historicos.get(0);
+    }
+
+    private RegistrarComparecimentoPresencialRequest request(Long pessoaId, String validadoPor, String observacoes) {
+        RegistrarComparecimentoPresencialRequest request = new RegistrarComparecimentoPresencialRequest();
+        request.setPessoaId(pessoaId);
+        request.setValidadoPor(validadoPor);
+        request.setObservacoes(observacoes);
+        return request;
+    }
+}
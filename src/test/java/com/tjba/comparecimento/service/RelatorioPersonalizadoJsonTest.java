@@ -0,0 +1,215 @@
+package com.tjba.comparecimento.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tjba.comparecimento.dto.response.ApiResponse;
+import com.tjba.comparecimento.dto.response.LinhaRelatorioComparecimento;
+import com.tjba.comparecimento.entity.enums.TipoRelatorio;
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import com.tjba.comparecimento.repository.HistoricoComparecimentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a serialização do relatório personalizado: lista de Map montada em memória + ObjectMapper (versão
+ * anterior) versus {@link RelatorioService#escreverDadosRelatorioPersonalizado}, com o cursor do repositório e o
+ * controle de prazo substituídos por stubs. As duas versões produzem o mesmo payload (comparecimentos, metadados e
+ * estatísticas); a medição de vazão e alocação só é executada com -Dbenchmark=true.
+ */
+class RelatorioPersonalizadoJsonTest {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String MENSAGEM = "Dados do relatório gerados com sucesso";
+    private static final String DATA_GERACAO = "01/01/2025 08:00";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final LocalDate dataInicio = LocalDate.now().minusYears(1);
+    private final LocalDate dataFim = dataInicio.plusDays(364);
+    private RelatorioService relatorioService;
+    private List<LinhaRelatorioComparecimento> linhasDoCursor = List.of();
+
+    @BeforeEach
+    void iniciar() {
+        // Cursor do repositório: somente streamByPeriodoForReport é usado pelo relatório personalizado
+        HistoricoComparecimentoRepository historicoRepository = (HistoricoComparecimentoRepository) Proxy.newProxyInstance(
+                HistoricoComparecimentoRepository.class.getClassLoader(),
+                new Class<?>[]{HistoricoComparecimentoRepository.class},
+                (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("streamByPeriodoForReport")) {
+                        return linhasDoCursor.stream();
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+
+        // Prazo sem statement_timeout no banco
+        ControleExecucaoRelatorio controleExecucao = new ControleExecucaoRelatorio() {
+            @Override
+            public Execucao iniciar(TipoRelatorio tipo) {
+                return new Execucao(tipo, System.nanoTime() + Duration.ofMinutes(5).toNanos());
+            }
+        };
+
+        relatorioService = new RelatorioService();
+        injetar(relatorioService, "historicoRepository", historicoRepository);
+        injetar(relatorioService, "controleExecucao", controleExecucao);
+        injetar(relatorioService, "relatorioJsonWriter", new RelatorioJsonWriter(objectMapper));
+    }
+
+    @Test
+    void versoesProduzemMesmoPayload() throws Exception {
+        List<LinhaRelatorioComparecimento> dados = gerarLinhas(1_000);
+
+        ByteArrayOutputStream map = new ByteArrayOutputStream();
+        ByteArrayOutputStream streaming = new ByteArrayOutputStream();
+        versaoMap(dados, map);
+        versaoStreaming(dados, streaming);
+
+        JsonNode esperado = semDataGeracao(objectMapper.readTree(map.toByteArray()));
+        JsonNode obtido = semDataGeracao(objectMapper.readTree(streaming.toByteArray()));
+        assertEquals(1_000, obtido.at("/data/dados/comparecimentos").size());
+        assertEquals(1_000, obtido.at("/data/estatisticas/totalComparecimentos").asLong());
+        assertEquals(esperado, obtido);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void medirVazaoEAlocacao() throws Exception {
+        int linhas = Integer.getInteger("benchmark.linhas", 10_000);
+        int iteracoes = Integer.getInteger("benchmark.iteracoes", 50);
+        List<LinhaRelatorioComparecimento> dados = gerarLinhas(linhas);
+
+        medir("Map + ObjectMapper", iteracoes, () -> versaoMap(dados, OutputStream.nullOutputStream()));
+        medir("RelatorioService (cursor)", iteracoes, () -> versaoStreaming(dados, OutputStream.nullOutputStream()));
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private interface Cenario {
+        void executar() throws Exception;
+    }
+
+    private static void medir(String nome, int iteracoes, Cenario cenario) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Aquecimento do JIT
+        for (int i = 0; i < iteracoes; i++) {
+            cenario.executar();
+        }
+
+        long alocadoInicio = threads.getThreadAllocatedBytes(threadId);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < iteracoes; i++) {
+            cenario.executar();
+        }
+        long duracao = System.nanoTime() - inicio;
+        long alocado = threads.getThreadAllocatedBytes(threadId) - alocadoInicio;
+
+        System.out.printf("%-24s %10.1f relatórios/s %12.1f KB alocados/relatório%n",
+                nome,
+                iteracoes / (duracao / 1_000_000_000.0),
+                alocado / 1024.0 / iteracoes);
+    }
+
+    // Versão anterior: grafo de Map montado por completo antes da serialização
+    private void versaoMap(List<LinhaRelatorioComparecimento> dados, OutputStream out) throws Exception {
+        List<Map<String, Object>> comparecimentos = dados.stream()
+                .map(comp -> Map.<String, Object>of(
+                        "id", comp.id(),
+                        "data", comp.dataComparecimento().format(DATE_FORMATTER),
+                        "horario", comp.horaComparecimento().toString(),
+                        "pessoa", Map.of("id", comp.pessoaId(), "nome", comp.nomeCompleto(), "cpf", comp.cpf()),
+                        "processo", Map.of("numero", comp.numeroProcesso(), "vara", comp.vara(), "comarca", comp.comarca()),
+                        "validacao", Map.of(
+                                "tipo", comp.tipoValidacao().name(),
+                                "tipoLabel", comp.tipoValidacao().getLabel(),
+                                "validadoPor", comp.validadoPor()),
+                        "observacoes", comp.observacoes()))
+                .collect(Collectors.toList());
+
+        Map<String, Object> metadados = Map.of(
+                "dataInicio", dataInicio.format(DATE_FORMATTER),
+                "dataFim", dataFim.format(DATE_FORMATTER),
+                "comarca", "TODAS",
+                "totalRegistros", dados.size(),
+                "dataGeracao", DATA_GERACAO);
+
+        Map<String, Object> estatisticas = Map.of(
+                "porTipo", dados.stream().collect(Collectors.groupingBy(c -> c.tipoValidacao().getLabel(), Collectors.counting())),
+                "porComarca", dados.stream().collect(Collectors.groupingBy(LinhaRelatorioComparecimento::comarca, Collectors.counting())),
+                "porValidador", dados.stream().collect(Collectors.groupingBy(LinhaRelatorioComparecimento::validadoPor, Collectors.counting())),
+                "totalComparecimentos", dados.size());
+
+        Map<String, Object> resposta = Map.of(
+                "dados", Map.of("comparecimentos", comparecimentos, "metadados", metadados),
+                "estatisticas", estatisticas);
+
+        objectMapper.writeValue(out, ApiResponse.success(resposta, MENSAGEM));
+    }
+
+    // Versão atual: RelatorioService lendo o cursor (stub) e escrevendo item a item
+    private void versaoStreaming(List<LinhaRelatorioComparecimento> dados, OutputStream out) {
+        linhasDoCursor = dados;
+        relatorioService.escreverDadosRelatorioPersonalizado(dataInicio, dataFim, null, null, true, out);
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) {
+        Field field = ReflectionUtils.findField(alvo.getClass(), campo);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, alvo, valor);
+    }
+
+    private static JsonNode semDataGeracao(JsonNode resposta) {
+        // Instantes da geração diferem entre as duas versões
+        ((ObjectNode) resposta).remove("timestamp");
+        ((ObjectNode) resposta.at("/data/dados/metadados")).remove("dataGeracao");
+        return resposta;
+    }
+
+    private List<LinhaRelatorioComparecimento> gerarLinhas(int quantidade) {
+        String[] comarcas = {"Salvador", "Feira de Santana", "Vitória da Conquista", "Camaçari", "Itabuna"};
+        TipoValidacao[] tipos = TipoValidacao.values();
+        List<LinhaRelatorioComparecimento> linhas = new ArrayList<>(quantidade);
+
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new LinhaRelatorioComparecimento(
+                    (long) i,
+                    dataInicio.plusDays(i % 365),
+                    LocalTime.of(8 + i % 9, i % 60),
+                    tipos[i % tipos.length],
+                    "Servidor " + (i % 20),
+                    i % 3 == 0 ? "Comparecimento regular" : "",
+                    (long) (i % 2000),
+                    "Pessoa Monitorada " + i,
+                    String.format("%03d.%03d.%03d-%02d", i % 1000, i % 999, i % 998, i % 100),
+                    String.format("%07d-%02d.2024.8.05.%04d", i, i % 100, i % 10000),
+                    (i % 12 + 1) + "ª Vara Criminal",
+                    comarcas[i % comarcas.length]));
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,243 @@
+package com.tjba.comparecimento.service;
+
+import com.tjba.comparecimento.entity.NotificacaoPendente;
+import com.tjba.comparecimento.entity.enums.TipoNotificacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Envio pelo {@link TransporteEmail} e {@link PoolConexoesSmtp} contra um servidor SMTP local mínimo: a conexão
+ * é reaproveitada entre mensagens e lotes, erro de comunicação descarta a conexão e refaz a mensagem em outra,
+ * e recusa do destinatário é falha só da mensagem, sem descartar a conexão.
+ */
+class TransporteEmailTest {
+
+    private ServidorSmtp servidor;
+    private PoolConexoesSmtp pool;
+    private TransporteEmail transporte;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        servidor = new ServidorSmtp();
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(servidor.getPorta());
+        Properties propriedades = new Properties();
+        propriedades.setProperty("mail.smtp.connectiontimeout", "2000");
+        propriedades.setProperty("mail.smtp.timeout", "2000");
+        mailSender.setJavaMailProperties(propriedades);
+
+        // Uma conexão: o lote inteiro passa pela mesma conexão, em ordem
+        pool = new PoolConexoesSmtp(mailSender, 1, 500, Duration.ofMinutes(1), Duration.ofSeconds(2));
+        pool.iniciar();
+        transporte = new TransporteEmail(pool, "comparecimento@tjba.jus.br", 0, 3, Duration.ofMillis(1));
+        transporte.iniciar();
+    }
+
+    @AfterEach
+    void encerrar() throws IOException {
+        transporte.encerrar();
+        pool.encerrar();
+        servidor.close();
+    }
+
+    @Test
+    void conexaoReaproveitadaEntreMensagensELotes() {
+        assertTrue(transporte.enviar(notificacoes("ana@exemplo.com", "bruno@exemplo.com", "carla@exemplo.com")).isEmpty());
+        assertTrue(transporte.enviar(notificacoes("davi@exemplo.com")).isEmpty());
+
+        assertEquals(1, servidor.getConexoes());
+        assertEquals(List.of("ana@exemplo.com", "bruno@exemplo.com", "carla@exemplo.com", "davi@exemplo.com"),
+                servidor.getEntregues());
+        assertEquals(1, pool.getAbertas());
+        assertEquals(1, pool.getReutilizadas());
+        assertEquals(4, transporte.getMetricas().enviadas());
+    }
+
+    @Test
+    void erroDeComunicacaoDescartaConexaoERefazMensagem() {
+        // O servidor encerra a conexão ao receber a segunda mensagem
+        servidor.derrubarConexaoNaMensagem(2);
+
+        Map<Long, String> falhas = transporte.enviar(
+                notificacoes("ana@exemplo.com", "bruno@exemplo.com", "carla@exemplo.com"));
+
+        assertTrue(falhas.isEmpty(), falhas.toString());
+        assertEquals(2, servidor.getConexoes());
+        assertEquals(List.of("ana@exemplo.com", "bruno@exemplo.com", "carla@exemplo.com"), servidor.getEntregues());
+        assertEquals(2, pool.getAbertas());
+        assertEquals(1, pool.getFechadas());
+
+        TransporteEmail.MetricasEmail metricas = transporte.getMetricas();
+        assertEquals(3, metricas.enviadas());
+        assertEquals(1, metricas.falhasConexao());
+        assertEquals(1, metricas.retentativas());
+        assertEquals(0, metricas.recusadas());
+    }
+
+    @Test
+    void recusaDoDestinatarioNaoDescartaConexao() {
+        Map<Long, String> falhas = transporte.enviar(
+                notificacoes("ana@exemplo.com", "recusado@exemplo.com", "carla@exemplo.com"));
+
+        assertEquals(Set.of(2L), falhas.keySet());
+        assertEquals(1, servidor.getConexoes());
+        assertEquals(List.of("ana@exemplo.com", "carla@exemplo.com"), servidor.getEntregues());
+        assertEquals(0, pool.getFechadas());
+
+        TransporteEmail.MetricasEmail metricas = transporte.getMetricas();
+        assertEquals(2, metricas.enviadas());
+        assertEquals(1, metricas.recusadas());
+        assertEquals(0, metricas.falhasConexao());
+        assertEquals(0, metricas.retentativas());
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private static List<NotificacaoPendente> notificacoes(String... destinatarios) {
+        List<NotificacaoPendente> notificacoes = new ArrayList<>(destinatarios.length);
+        for (int i = 0; i < destinatarios.length; i++) {
+            NotificacaoPendente notificacao = new NotificacaoPendente(TipoNotificacao.BOAS_VINDAS_USUARIO,
+                    destinatarios[i], null, "Lembrete " + (i + 1), "Comparecimento agendado.");
+            notificacao.setId(i + 1L);
+            notificacoes.add(notificacao);
+        }
+        return notificacoes;
+    }
+
+    /**
+     * Servidor SMTP mínimo em memória: aceita qualquer remetente, recusa destinatários "recusado@..." (550) e
+     * pode encerrar a conexão sem resposta ao receber a N-ésima mensagem (MAIL FROM)
+     */
+    private static final class ServidorSmtp implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        private final List<String> entregues = new CopyOnWriteArrayList<>();
+        private final AtomicInteger mensagens = new AtomicInteger();
+        private volatile int derrubarNaMensagem;
+
+        ServidorSmtp() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread aceite = new Thread(this::aceitar, "smtp-teste");
+            aceite.setDaemon(true);
+            aceite.start();
+        }
+
+        int getPorta() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getConexoes() {
+            return sockets.size();
+        }
+
+        List<String> getEntregues() {
+            return List.copyOf(entregues);
+        }
+
+        void derrubarConexaoNaMensagem(int mensagem) {
+            derrubarNaMensagem = mensagem;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+
+        private void aceitar() {
+            try {
+                while (true) {
+                    Socket socket = serverSocket.accept();
+                    sockets.add(socket);
+                    Thread sessao = new Thread(() -> atender(socket), "smtp-teste-sessao");
+                    sessao.setDaemon(true);
+                    sessao.start();
+                }
+            } catch (IOException e) {
+                // Servidor encerrado
+            }
+        }
+
+        private void atender(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+                responder(out, "220 localhost ESMTP");
+                List<String> destinatarios = new ArrayList<>();
+
+                String linha;
+                while ((linha = in.readLine()) != null) {
+                    String comando = linha.toUpperCase(Locale.ROOT);
+                    if (comando.startsWith("EHLO") || comando.startsWith("HELO")) {
+                        responder(out, "250 localhost");
+                    } else if (comando.startsWith("MAIL FROM")) {
+                        if (mensagens.incrementAndGet() == derrubarNaMensagem) {
+                            return;
+                        }
+                        destinatarios.clear();
+                        responder(out, "250 OK");
+                    } else if (comando.startsWith("RCPT TO")) {
+                        String destinatario = linha.substring(linha.indexOf('<') + 1, linha.indexOf('>'));
+                        if (destinatario.startsWith("recusado@")) {
+                            responder(out, "550 5.1.1 Destinatario inexistente");
+                        } else {
+                            destinatarios.add(destinatario);
+                            responder(out, "250 OK");
+                        }
+                    } else if (comando.equals("DATA")) {
+                        responder(out, "354 Fim com <CRLF>.<CRLF>");
+                        while ((linha = in.readLine()) != null && !linha.equals(".")) {
+                            // Conteúdo da mensagem descartado
+                        }
+                        entregues.addAll(destinatarios);
+                        responder(out, "250 OK");
+                    } else if (comando.equals("RSET") || comando.equals("NOOP")) {
+                        destinatarios.clear();
+                        responder(out, "250 OK");
+                    } else if (comando.equals("QUIT")) {
+                        responder(out, "221 Bye");
+                        return;
+                    } else {
+                        responder(out, "502 Comando nao implementado");
+                    }
+                }
+            } catch (IOException e) {
+                // Conexão encerrada pelo cliente
+            }
+        }
+
+        private static void responder(Writer out, String resposta) throws IOException {
+            out.write(resposta + "\r\n");
+            out.flush();
+        }
+    }
+}
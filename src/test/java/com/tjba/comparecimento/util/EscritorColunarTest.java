@@ -0,0 +1,119 @@
+package com.tjba.comparecimento.util;
+
+import com.tjba.comparecimento.dto.response.LinhaExportacaoComparecimento;
+import com.tjba.comparecimento.entity.enums.TipoValidacao;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ida e volta do formato colunar: o que o {@link EscritorColunar} grava deve ser lido igual pelo
+ * {@link LeitorColunar}, em todas as codificações (delta, datas em sequência, hora com nulo e dicionário
+ * acumulado entre grupos).
+ */
+class EscritorColunarTest {
+
+    @Test
+    void idaEVoltaEmVariosGrupos() throws IOException {
+        List<LinhaExportacaoComparecimento> linhas = gerarLinhas(23);
+
+        // Grupos de 5 linhas: dicionários reaproveitados entre grupos e último grupo incompleto
+        List<LinhaExportacaoComparecimento> lidas = new LeitorColunar(
+                new ByteArrayInputStream(gravar(linhas, 5))).lerTodas();
+
+        assertEquals(linhas, lidas);
+    }
+
+    @Test
+    void cabecalhoDeclaraTodasAsCodificacoes() throws IOException {
+        LeitorColunar leitor = new LeitorColunar(new ByteArrayInputStream(gravar(gerarLinhas(3), 10)));
+
+        assertEquals(List.of("id", "data_comparecimento", "hora_comparecimento", "tipo_validacao", "pessoa_id",
+                        "numero_processo", "vara", "comarca", "validado_por"),
+                leitor.getColunas().stream().map(LeitorColunar.Coluna::nome).toList());
+        assertEquals(Set.of(EscritorColunar.INT64_DELTA, EscritorColunar.DATA_RLE, EscritorColunar.HORA,
+                        EscritorColunar.DICIONARIO_RLE),
+                leitor.getColunas().stream().map(LeitorColunar.Coluna::codificacao).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void valoresExtremosENulos() throws IOException {
+        List<LinhaExportacaoComparecimento> linhas = List.of(
+                new LinhaExportacaoComparecimento(Long.MAX_VALUE, LocalDate.of(2099, 12, 31), LocalTime.MAX.withNano(0),
+                        TipoValidacao.PRESENCIAL, null, 0L, null, null, null),
+                new LinhaExportacaoComparecimento(0L, LocalDate.of(1970, 1, 1), null,
+                        TipoValidacao.ONLINE, "", Long.MAX_VALUE, "", "", ""),
+                new LinhaExportacaoComparecimento(-1L, LocalDate.of(1969, 12, 31), LocalTime.MIDNIGHT,
+                        TipoValidacao.JUSTIFICADO, "Servidor José Ção", -5L, "0000001-01.2024.8.05.0001",
+                        "1ª Vara Criminal", "Vitória da Conquista"));
+
+        assertEquals(linhas, new LeitorColunar(new ByteArrayInputStream(gravar(linhas, 2))).lerTodas());
+    }
+
+    @Test
+    void exportacaoVazia() throws IOException {
+        LeitorColunar leitor = new LeitorColunar(new ByteArrayInputStream(gravar(List.of(), 8)));
+
+        assertNull(leitor.proximoGrupo());
+        assertEquals(0, leitor.getTotalLinhas());
+    }
+
+    @Test
+    void arquivoTruncadoERejeitado() throws IOException {
+        byte[] completo = gravar(gerarLinhas(12), 4);
+
+        // Sem o rodapé (exportação interrompida) e cortado no meio de um grupo
+        for (int tamanho : new int[]{completo.length - EscritorColunar.MAGIC.length, completo.length / 2}) {
+            byte[] truncado = Arrays.copyOf(completo, tamanho);
+            assertThrows(IOException.class,
+                    () -> new LeitorColunar(new ByteArrayInputStream(truncado)).lerTodas());
+        }
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private static byte[] gravar(List<LinhaExportacaoComparecimento> linhas, int linhasPorGrupo) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EscritorColunar escritor = new EscritorColunar(out, linhasPorGrupo);
+        for (LinhaExportacaoComparecimento linha : linhas) {
+            escritor.adicionar(linha.id(), linha.dataComparecimento(), linha.horaComparecimento(),
+                    linha.tipoValidacao().name(), linha.pessoaId(), linha.numeroProcesso(), linha.vara(),
+                    linha.comarca(), linha.validadoPor());
+        }
+        escritor.finalizar();
+        assertEquals(linhas.size(), escritor.getTotalLinhas());
+        return out.toByteArray();
+    }
+
+    private static List<LinhaExportacaoComparecimento> gerarLinhas(int quantidade) {
+        String[] comarcas = {"Salvador", "Feira de Santana", "Camaçari"};
+        TipoValidacao[] tipos = TipoValidacao.values();
+        List<LinhaExportacaoComparecimento> linhas = new ArrayList<>(quantidade);
+
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new LinhaExportacaoComparecimento(
+                    // IDs fora de ordem (deltas negativos) e datas repetidas em sequência, com um retorno no meio
+                    (long) (i % 2 == 0 ? 1_000 + i : 500 - i),
+                    LocalDate.of(2025, 3, 1).plusDays(i / 4 - (i == 13 ? 10 : 0)),
+                    i % 5 == 0 ? null : LocalTime.of(8 + i % 9, i % 60, i % 7),
+                    tipos[i % tipos.length],
+                    i % 6 == 0 ? null : "Servidor " + i % 3,
+                    (long) (i * 37 % 11),
+                    String.format("%07d-%02d.2025.8.05.%04d", i % 4, i % 100, i),
+                    (i / 3 % 2 + 1) + "ª Vara Criminal",
+                    i % 7 == 0 ? null : comarcas[i / 5 % comarcas.length]));
+        }
+        return linhas;
+    }
+}